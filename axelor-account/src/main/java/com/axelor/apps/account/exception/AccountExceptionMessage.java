@@ -477,6 +477,8 @@ public final class AccountExceptionMessage {
       "Account balances of %s accounting situation has not been updated, you must run the contact account batch update." /*)*/;
   public static final String BATCH_ACCOUNT_5 = /*$$(*/
       "Account balances from all accounts situations (%s) has been updated." /*)*/;
+  public static final String BATCH_ACCOUNT_6 = /*$$(*/
+      "* %s Account(s) situation(s) balances corrected" /*)*/;
 
   /** Batch doubtful customer */
   public static final String BATCH_DOUBTFUL_1 = /*$$(*/
@@ -1452,6 +1454,9 @@ public final class AccountExceptionMessage {
   public static final String IMPORT_FEC_PERIOD_NOT_FOUND = /*$$(*/
       "No period found for the date %s and the company %s. The move cannot be created." /*)*/;
 
+  public static final String IMPORT_FEC_CHUNK_ERRORS = /*$$(*/
+      "Chunk %s: %s of %s moves could not be completed or validated (%s)." /*)*/;
+
   public static final String ACCOUNT_MANAGEMENT_CASH_ACCOUNT_MISSING_PAYMENT = /*$$(*/
       "Please select a cash account in config of the payment mode %s" /*)*/;
 
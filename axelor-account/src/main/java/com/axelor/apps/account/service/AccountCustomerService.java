@@ -103,6 +103,30 @@ public interface AccountCustomerService {
       boolean updateDueDebtRecoveryCustAccount)
       throws AxelorException;
 
+  /**
+   * Get the current contribution of the move lines to the balance of their partners, to be given to
+   * {@link #updatePartnerAccountingSituation(PartnerBalanceSnapshot)} once the move lines are
+   * changed.
+   *
+   * @param moveLineList The move lines about to be changed
+   * @param company A Company
+   * @return The snapshot of the contribution of the move lines
+   */
+  public PartnerBalanceSnapshot getPartnerBalanceSnapshot(
+      List<MoveLine> moveLineList, Company company);
+
+  /**
+   * Update the balance of the partners of the snapshot by the difference between the current
+   * contribution of its move lines and the one of the snapshot, instead of computing it again from
+   * all the move lines of the partners. The balance due of these partners depends on the current
+   * date, so it is computed again in full.
+   *
+   * @param partnerBalanceSnapshot The snapshot taken before the move lines were changed
+   * @throws AxelorException
+   */
+  public void updatePartnerAccountingSituation(PartnerBalanceSnapshot partnerBalanceSnapshot)
+      throws AxelorException;
+
   public Account getPartnerAccount(Partner partner, Company company, boolean isSupplierInvoice)
       throws AxelorException;
 }
@@ -43,8 +43,17 @@ import com.google.inject.persist.Transactional;
 import java.lang.invoke.MethodHandles;
 import java.math.BigDecimal;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import javax.persistence.FlushModeType;
 import javax.persistence.Query;
 import javax.persistence.TemporalType;
 import org.slf4j.Logger;
@@ -369,6 +378,135 @@ public class AccountCustomerServiceImpl implements AccountCustomerService {
     return accountingSituation;
   }
 
+  @Override
+  public PartnerBalanceSnapshot getPartnerBalanceSnapshot(
+      List<MoveLine> moveLineList, Company company) {
+    PartnerBalanceSnapshot partnerBalanceSnapshot =
+        new PartnerBalanceSnapshot(company, new ArrayList<>(moveLineList));
+
+    // The snapshot must reflect what has already been taken into account in the balances, so
+    // pending changes on the move lines are not flushed.
+    this.computeBalanceContributions(
+        partnerBalanceSnapshot.getMoveLineList(),
+        company,
+        FlushModeType.COMMIT,
+        partnerBalanceSnapshot.getBalanceMap());
+
+    return partnerBalanceSnapshot;
+  }
+
+  @Override
+  @Transactional(rollbackOn = {Exception.class})
+  public void updatePartnerAccountingSituation(PartnerBalanceSnapshot partnerBalanceSnapshot)
+      throws AxelorException {
+    Company company = partnerBalanceSnapshot.getCompany();
+    Map<Long, BigDecimal> balanceMap = new HashMap<>();
+
+    JPA.flush();
+    this.computeBalanceContributions(
+        partnerBalanceSnapshot.getMoveLineList(), company, FlushModeType.AUTO, balanceMap);
+
+    Set<Long> partnerIdSet = new TreeSet<>();
+    partnerIdSet.addAll(partnerBalanceSnapshot.getBalanceMap().keySet());
+    partnerIdSet.addAll(balanceMap.keySet());
+    // the balance due of every partner of the move lines is computed again, even without delta
+    partnerBalanceSnapshot.getMoveLineList().stream()
+        .map(MoveLine::getPartner)
+        .filter(Objects::nonNull)
+        .map(Partner::getId)
+        .forEach(partnerIdSet::add);
+
+    for (Long partnerId : partnerIdSet) {
+      BigDecimal balanceDelta =
+          balanceMap
+              .getOrDefault(partnerId, BigDecimal.ZERO)
+              .subtract(
+                  partnerBalanceSnapshot.getBalanceMap().getOrDefault(partnerId, BigDecimal.ZERO));
+
+      Partner partner = JPA.find(Partner.class, partnerId);
+      AccountingSituation accountingSituation =
+          accountingSituationService.getAccountingSituation(partner, company);
+
+      if (accountingSituation == null) {
+        this.updatePartnerAccountingSituation(List.of(partner), company, true, true, false);
+      } else {
+        this.updateAccountingSituationBalances(accountingSituation, balanceDelta);
+      }
+    }
+  }
+
+  /**
+   * Add the delta to the balance of the accounting situation. The balance due includes the terms
+   * which fell due since its last computation, so it is computed again in full.
+   */
+  protected void updateAccountingSituationBalances(
+      AccountingSituation accountingSituation, BigDecimal balanceDelta) throws AxelorException {
+    Partner partner = accountingSituation.getPartner();
+    Company company = accountingSituation.getCompany();
+
+    log.debug(
+        "Update customer account by delta (Partner : {}, Company : {}, Balance : {})",
+        partner.getName(),
+        company.getName(),
+        balanceDelta);
+
+    accountingSituation.setBalanceCustAccount(
+        Optional.ofNullable(accountingSituation.getBalanceCustAccount())
+            .orElse(BigDecimal.ZERO)
+            .add(balanceDelta));
+    accountingSituation.setBalanceDueCustAccount(this.getBalanceDue(partner, company, null));
+    accSituationRepo.save(accountingSituation);
+  }
+
+  /**
+   * Compute, by partner id, the contribution of the move lines to the balance, with the same rules
+   * as {@link #getBalance(Partner, Company)}.
+   */
+  protected void computeBalanceContributions(
+      List<MoveLine> moveLineList,
+      Company company,
+      FlushModeType flushMode,
+      Map<Long, BigDecimal> balanceMap) {
+    List<Long> moveLineIdList =
+        moveLineList.stream()
+            .map(MoveLine::getId)
+            .filter(Objects::nonNull)
+            .distinct()
+            .collect(Collectors.toList());
+
+    if (moveLineIdList.isEmpty()) {
+      return;
+    }
+
+    Query balanceQuery =
+        JPA.em()
+            .createNativeQuery(
+                "SELECT ml.partner, SUM(ml.amount_remaining) "
+                    + "FROM account_move_line AS ml  "
+                    + "LEFT OUTER JOIN account_account AS account ON (ml.account = account.id) "
+                    + "LEFT OUTER JOIN account_move AS move ON (ml.move = move.id) "
+                    + "WHERE ml.id IN (:moveLineIds) AND ml.partner IS NOT NULL AND move.company = :company "
+                    + "AND move.ignore_in_accounting_ok IN ('false', null) AND account.use_for_partner_balance IS TRUE "
+                    + "AND move.status_select IN (:statusValidated, :statusDaybook) AND ABS(ml.amount_remaining) > 0 "
+                    + "GROUP BY ml.partner")
+            .setFlushMode(flushMode)
+            .setParameter("moveLineIds", moveLineIdList)
+            .setParameter("company", company)
+            .setParameter("statusValidated", MoveRepository.STATUS_ACCOUNTED)
+            .setParameter("statusDaybook", MoveRepository.STATUS_DAYBOOK);
+
+    this.fillBalanceMap(balanceQuery, balanceMap);
+  }
+
+  @SuppressWarnings("unchecked")
+  protected void fillBalanceMap(Query query, Map<Long, BigDecimal> balanceMap) {
+    for (Object[] row : (List<Object[]>) query.getResultList()) {
+      if (row[1] != null) {
+        balanceMap.put(((Number) row[0]).longValue(), (BigDecimal) row[1]);
+      }
+    }
+  }
+
   @Override
   public Account getPartnerAccount(Partner partner, Company company, boolean isSupplierInvoice)
       throws AxelorException {
@@ -20,10 +20,8 @@ package com.axelor.apps.account.service;
 
 import com.axelor.apps.account.db.AccountingReport;
 import com.axelor.apps.account.db.AccountingReportType;
-import com.axelor.apps.account.db.Journal;
 import com.axelor.apps.account.db.Move;
 import com.axelor.apps.account.db.MoveLine;
-import com.axelor.apps.account.db.ReconcileGroup;
 import com.axelor.apps.account.db.repo.AccountRepository;
 import com.axelor.apps.account.db.repo.AccountingReportRepository;
 import com.axelor.apps.account.db.repo.JournalRepository;
@@ -43,12 +41,12 @@ import com.axelor.apps.base.db.repo.TraceBackRepository;
 import com.axelor.apps.base.exceptions.BaseExceptionMessage;
 import com.axelor.apps.base.service.PartnerService;
 import com.axelor.apps.base.service.administration.SequenceService;
+import com.axelor.common.csv.CSVFile;
 import com.axelor.db.JPA;
 import com.axelor.i18n.I18n;
 import com.axelor.inject.Beans;
 import com.axelor.meta.MetaFiles;
 import com.axelor.meta.db.MetaFile;
-import com.axelor.utils.helpers.file.CsvHelper;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
 import com.google.inject.Inject;
@@ -62,12 +60,20 @@ import java.math.BigDecimal;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.persistence.Query;
+import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -93,6 +99,12 @@ public class MoveLineExportServiceImpl implements MoveLineExportService {
   protected static final String DATE_FORMAT_YYYYMMDD = "yyyyMMdd";
   protected static final String DATE_FORMAT_YYYYMMDDHHMMSS = "yyyyMMddHHmmss";
   protected static final int EXPORT_LINES_LIMIT = 10000;
+  protected static final Pattern EXPORT_FORBIDDEN_CHARACTERS =
+      Pattern.compile("(\r\n|\n\r|\r|\n|\\|)");
+
+  protected static final int EXPORT_ROW_MOVE_ID = 1;
+  protected static final int EXPORT_ROW_DEBIT = 14;
+  protected static final int EXPORT_ROW_CREDIT = 15;
 
   @Inject
   public MoveLineExportServiceImpl(
@@ -128,25 +140,38 @@ public class MoveLineExportServiceImpl implements MoveLineExportService {
       LocalDate localDate,
       String exportNumber) {
 
-    int i = 0;
-
-    int moveListSize = moveList.size();
-
-    for (Move move : moveList) {
+    this.updateMoveIdList(
+        moveList.stream().map(Move::getId).collect(Collectors.toList()),
+        accountingReport,
+        localDate,
+        exportNumber);
+  }
 
-      this.updateMove(
-          moveRepo.find(move.getId()),
-          accountingReportRepo.find(accountingReport.getId()),
-          localDate,
-          exportNumber);
+  /** Flags the given moves as exported with a single bulk update. */
+  protected void updateMoveIdList(
+      Collection<Long> moveIdList,
+      AccountingReport accountingReport,
+      LocalDate localDate,
+      String exportNumber) {
 
-      if (i % 10 == 0) {
-        JPA.clear();
-      }
-      if (i++ % 100 == 0) {
-        log.debug("Process : {} / {}", i, moveListSize);
-      }
+    if (moveIdList.isEmpty()) {
+      return;
     }
+
+    // the version is incremented so that the moves opened meanwhile can not be saved over it
+    JPA.em()
+        .createQuery(
+            "UPDATE Move self SET self.exportNumber = :exportNumber,"
+                + " self.exportDate = :exportDate, self.accountingOk = true,"
+                + " self.accountingReport = :accountingReport,"
+                + " self.version = self.version + 1"
+                + " WHERE self.id IN :moveIds")
+        .setParameter("exportNumber", exportNumber)
+        .setParameter("exportDate", localDate)
+        .setParameter("accountingReport", accountingReportRepo.find(accountingReport.getId()))
+        .setParameter("moveIds", moveIdList)
+        .executeUpdate();
+    log.debug("Moves flagged as exported : {}", moveIdList.size());
   }
 
   @Transactional
@@ -162,54 +187,6 @@ public class MoveLineExportServiceImpl implements MoveLineExportService {
     return move;
   }
 
-  public BigDecimal getSumDebit(String queryFilter, List<? extends Move> moveList) {
-
-    Query q =
-        JPA.em()
-            .createQuery(
-                "select SUM(self.debit) FROM MoveLine as self WHERE " + queryFilter,
-                BigDecimal.class);
-    q.setParameter(1, moveList);
-
-    BigDecimal result = (BigDecimal) q.getSingleResult();
-    log.debug("Total debit : {}", result);
-
-    if (result != null) {
-      return result;
-    } else {
-      return BigDecimal.ZERO;
-    }
-  }
-
-  public BigDecimal getSumCredit(String queryFilter, List<Move> moveList) {
-
-    Query q =
-        JPA.em()
-            .createQuery(
-                "select SUM(self.credit) FROM MoveLine as self WHERE " + queryFilter,
-                BigDecimal.class);
-    q.setParameter(1, moveList);
-
-    BigDecimal result = (BigDecimal) q.getSingleResult();
-    log.debug("Total credit : {}", result);
-
-    if (result != null) {
-      return result;
-    } else {
-      return BigDecimal.ZERO;
-    }
-  }
-
-  public BigDecimal getSumCredit(List<MoveLine> moveLineList) {
-
-    BigDecimal sumCredit = BigDecimal.ZERO;
-    for (MoveLine moveLine : moveLineList) {
-      sumCredit = sumCredit.add(moveLine.getCredit());
-    }
-
-    return sumCredit;
-  }
-
   public BigDecimal getTotalAmount(List<MoveLine> moveLinelst) {
 
     BigDecimal totDebit = BigDecimal.ZERO;
@@ -347,7 +324,6 @@ public class MoveLineExportServiceImpl implements MoveLineExportService {
       throws AxelorException, IOException {
 
     log.info("In Export type 1000 service : ");
-    List<String[]> allMoveLineData = new ArrayList<>();
     Company company = accountingReport.getCompany();
 
     LocalDate interfaceDate = accountingReport.getDate();
@@ -408,102 +384,122 @@ public class MoveLineExportServiceImpl implements MoveLineExportService {
     String moveLineQueryStr = StringUtils.join(moveLineQueryList, " AND ");
 
     List<Long> idList =
-        moveLineRepo
-            .all()
-            .filter(moveLineQueryStr)
-            .order("move.accountingDate")
-            .order("date")
-            .order("name")
-            .select("id")
-            .fetch(0, 0)
-            .stream()
-            .map(m -> (Long) m.get("id"))
-            .collect(Collectors.toList());
-
-    int offset = 0;
-    List<Long> moveLineIdList;
-    List<Move> moveList = new ArrayList<>();
+        JPA.em()
+            .createQuery(
+                "SELECT self.id FROM MoveLine self WHERE "
+                    + moveLineQueryStr
+                    + " ORDER BY self.move.accountingDate, self.date, self.name",
+                Long.class)
+            .getResultList();
+
+    String fileName = this.setFileName(accountingReport);
+    Path path = this.getExportFilePath(company, fileName);
     String exportNumber = null;
-    int endSubListIndex = Math.min(idList.size(), EXPORT_LINES_LIMIT);
 
-    while (!(moveLineIdList = idList.subList(offset, endSubListIndex)).isEmpty()) {
-      for (Long id : moveLineIdList) {
-        MoveLine moveLine = moveLineRepo.find(id);
-        offset++;
-        allMoveLineData.add(createItemForExportMoveLine(moveLine, moveList));
-      }
+    try (CSVPrinter printer = createExportPrinter(path)) {
+      this.writeExportRow(printer, this.createHeaderForJournalEntry());
+
+      for (int offset = 0; offset < idList.size(); offset += EXPORT_LINES_LIMIT) {
+        List<Long> moveLineIdList =
+            idList.subList(offset, Math.min(idList.size(), offset + EXPORT_LINES_LIMIT));
+        Map<Long, Object[]> rowMap = this.fetchExportMoveLineRows(moveLineIdList);
+        Set<Long> moveIdSet = new LinkedHashSet<>();
+
+        for (Long id : moveLineIdList) {
+          Object[] row = rowMap.get(id);
+          if (row == null) {
+            continue;
+          }
+          moveIdSet.add((Long) row[EXPORT_ROW_MOVE_ID]);
+          this.writeExportRow(printer, this.createItemForExportMoveLine(row));
+        }
 
-      JPA.clear();
-      company = companyRepository.find(company.getId());
-      if (!administration) {
-        exportNumber = exportNumber != null ? exportNumber : this.getSaleExportNumber(company);
-        this.updateMoveList(moveList, accountingReport, interfaceDate, exportNumber);
+        if (!administration) {
+          exportNumber = exportNumber != null ? exportNumber : this.getSaleExportNumber(company);
+          this.updateMoveIdList(moveIdSet, accountingReport, interfaceDate, exportNumber);
+        }
+        JPA.clear();
+        company = companyRepository.find(company.getId());
       }
-
-      moveList.clear();
-      endSubListIndex = Math.min(idList.size(), (endSubListIndex + EXPORT_LINES_LIMIT));
     }
 
     accountingReport = accountingReportRepo.find(accountingReport.getId());
-
-    String fileName = this.setFileName(accountingReport);
     accountingReportRepo.save(accountingReport);
-    return writeMoveLineToCsvFile(
-        company, fileName, this.createHeaderForJournalEntry(), allMoveLineData, accountingReport);
+    return this.attachExportFile(path, fileName, accountingReport);
   }
 
-  protected String[] createItemForExportMoveLine(MoveLine moveLine, List<Move> moveList) {
-    String[] items = new String[18];
-    Move move = moveLine.getMove();
-    if (!moveList.contains(move)) {
-      moveList.add(move);
+  /**
+   * Loads the columns of the FEC export for a page of move lines with a single projection query, so
+   * that no move line, move or account entity is loaded in the persistence context.
+   */
+  protected Map<Long, Object[]> fetchExportMoveLineRows(List<Long> moveLineIdList) {
+    List<Object[]> resultList =
+        JPA.em()
+            .createQuery(
+                "SELECT self.id, move.id, journal.code, journal.name, move.reference, self.date, "
+                    + "account.code, account.name, accountType.isManageSubsidiaryAccount, "
+                    + "partner.partnerSeq, partner.name, self.origin, self.originDate, "
+                    + "self.description, self.debit, self.credit, reconcileGroup.statusSelect, "
+                    + "reconcileGroup.code, reconcileGroup.letteringDateTime, "
+                    + "move.accountingDate, self.currencyAmount, currency.codeISO "
+                    + "FROM MoveLine self "
+                    + "JOIN self.move move "
+                    + "LEFT JOIN move.journal journal "
+                    + "LEFT JOIN move.currency currency "
+                    + "LEFT JOIN self.account account "
+                    + "LEFT JOIN account.accountType accountType "
+                    + "LEFT JOIN self.partner partner "
+                    + "LEFT JOIN self.reconcileGroup reconcileGroup "
+                    + "WHERE self.id IN :moveLineIds",
+                Object[].class)
+            .setParameter("moveLineIds", moveLineIdList)
+            .getResultList();
+
+    Map<Long, Object[]> rowMap = new HashMap<>();
+    for (Object[] result : resultList) {
+      rowMap.put((Long) result[0], result);
     }
-    Journal journal = move.getJournal();
-    items[0] = journal.getCode();
-    items[1] = journal.getName();
-    items[2] = moveLine.getMove().getReference();
-    items[3] = moveLine.getDate().format(DateTimeFormatter.ofPattern(DATE_FORMAT_YYYYMMDD));
-    items[4] = moveLine.getAccount().getCode();
-    items[5] = moveLine.getAccount().getName();
+    return rowMap;
+  }
+
+  protected String[] createItemForExportMoveLine(Object[] row) {
+    DateTimeFormatter formatter = DateTimeFormatter.ofPattern(DATE_FORMAT_YYYYMMDD);
+    String[] items = new String[18];
+    items[0] = (String) row[2];
+    items[1] = (String) row[3];
+    items[2] = (String) row[4];
+    items[3] = ((LocalDate) row[5]).format(formatter);
+    items[4] = (String) row[6];
+    items[5] = (String) row[7];
     items[6] = "";
     items[7] = "";
-    Partner partner = moveLine.getPartner();
-    if (partner != null && moveLine.getAccount().getAccountType().getIsManageSubsidiaryAccount()) {
-      items[6] = partner.getPartnerSeq();
-      items[7] = partner.getName();
+    if (row[9] != null && Boolean.TRUE.equals(row[8])) {
+      items[6] = (String) row[9];
+      items[7] = (String) row[10];
     }
-    String origin = moveLine.getOrigin();
+    String origin = (String) row[11];
     items[8] = Strings.isNullOrEmpty(origin) ? "NA" : origin;
-    if (moveLine.getOriginDate() != null) {
-      items[9] = moveLine.getOriginDate().format(DateTimeFormatter.ofPattern(DATE_FORMAT_YYYYMMDD));
+    if (row[12] != null) {
+      items[9] = ((LocalDate) row[12]).format(formatter);
     }
-    items[10] = moveLine.getDescription();
-    items[11] = moveLine.getDebit().toString().replace('.', ',');
-    items[12] = moveLine.getCredit().toString().replace('.', ',');
-
-    ReconcileGroup reconcileGroup = moveLine.getReconcileGroup();
-    if (reconcileGroup != null
-        && reconcileGroup.getStatusSelect() == ReconcileGroupRepository.STATUS_BALANCED) {
-      items[13] = reconcileGroup.getCode();
-      items[14] =
-          reconcileGroup
-              .getLetteringDateTime()
-              .format(DateTimeFormatter.ofPattern(DATE_FORMAT_YYYYMMDD));
+    items[10] = (String) row[13];
+    items[11] = row[EXPORT_ROW_DEBIT].toString().replace('.', ',');
+    items[12] = row[EXPORT_ROW_CREDIT].toString().replace('.', ',');
+
+    if (row[16] != null && (Integer) row[16] == ReconcileGroupRepository.STATUS_BALANCED) {
+      items[13] = (String) row[17];
+      items[14] = ((LocalDateTime) row[18]).format(formatter);
     } else {
       items[13] = "";
       items[14] = "";
     }
 
-    if (move.getAccountingDate() != null) {
-      items[15] =
-          move.getAccountingDate().format(DateTimeFormatter.ofPattern(DATE_FORMAT_YYYYMMDD));
+    if (row[19] != null) {
+      items[15] = ((LocalDate) row[19]).format(formatter);
     }
 
-    items[16] = moveLine.getCurrencyAmount().toString().replace('.', ',');
-
-    if (move.getCurrency() != null) {
-      items[17] = move.getCurrency().getCodeISO();
-    }
+    items[16] = row[20].toString().replace('.', ',');
+    items[17] = (String) row[21];
     return items;
   }
 
@@ -515,23 +511,44 @@ public class MoveLineExportServiceImpl implements MoveLineExportService {
       AccountingReport accountingReport)
       throws AxelorException, IOException {
 
-    String filePath = accountConfigService.getAccountConfig(company).getExportPath();
-    String dataExportDir = appAccountService.getDataExportDir();
-
-    for (String[] items : allMoveData) {
-      for (int i = 0; i < items.length; i++) {
-        if (items[i] != null) {
-          items[i] = items[i].replaceAll("(\r\n|\n\r|\r|\n|\\|)", " ");
-        }
+    Path path = this.getExportFilePath(company, fileName);
+    try (CSVPrinter printer = createExportPrinter(path)) {
+      if (columnHeader != null) {
+        this.writeExportRow(printer, columnHeader);
+      }
+      for (String[] items : allMoveData) {
+        this.writeExportRow(printer, items);
       }
     }
+    return this.attachExportFile(path, fileName, accountingReport);
+  }
+
+  protected Path getExportFilePath(Company company, String fileName) throws AxelorException {
+    String filePath = accountConfigService.getAccountConfig(company).getExportPath();
+    String dataExportDir = appAccountService.getDataExportDir();
 
     filePath = filePath == null ? dataExportDir : dataExportDir + filePath;
     new File(filePath).mkdirs();
 
     log.debug("Full path to export : {}{}", filePath, fileName);
-    CsvHelper.csvWriter(filePath, fileName, '|', columnHeader, allMoveData);
-    Path path = Paths.get(filePath, fileName);
+    return Paths.get(filePath, fileName);
+  }
+
+  protected CSVPrinter createExportPrinter(Path path) throws IOException {
+    return CSVFile.DEFAULT.withDelimiter('|').withQuoteAll().write(path.toFile());
+  }
+
+  protected void writeExportRow(CSVPrinter printer, String[] items) throws IOException {
+    for (int i = 0; i < items.length; i++) {
+      if (items[i] != null) {
+        items[i] = EXPORT_FORBIDDEN_CHARACTERS.matcher(items[i]).replaceAll(" ");
+      }
+    }
+    printer.printRecord((Object[]) items);
+  }
+
+  protected MetaFile attachExportFile(Path path, String fileName, AccountingReport accountingReport)
+      throws IOException {
     try (InputStream is = new FileInputStream(path.toFile())) {
       return Beans.get(MetaFiles.class).attach(is, fileName, accountingReport).getMetaFile();
     }
@@ -0,0 +1,54 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.account.service;
+
+import com.axelor.apps.account.db.MoveLine;
+import com.axelor.apps.base.db.Company;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contribution of a set of move lines to the balance of their partners, by partner id, taken before
+ * these move lines are changed.
+ */
+public class PartnerBalanceSnapshot {
+
+  protected final Company company;
+  protected final List<MoveLine> moveLineList;
+  protected final Map<Long, BigDecimal> balanceMap = new HashMap<>();
+
+  public PartnerBalanceSnapshot(Company company, List<MoveLine> moveLineList) {
+    this.company = company;
+    this.moveLineList = moveLineList;
+  }
+
+  public Company getCompany() {
+    return company;
+  }
+
+  public List<MoveLine> getMoveLineList() {
+    return moveLineList;
+  }
+
+  public Map<Long, BigDecimal> getBalanceMap() {
+    return balanceMap;
+  }
+}
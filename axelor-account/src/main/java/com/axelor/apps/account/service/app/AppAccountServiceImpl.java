@@ -30,8 +30,6 @@ import com.axelor.meta.db.repo.MetaModuleRepository;
 import com.axelor.studio.app.service.AppVersionService;
 import com.axelor.studio.db.AppAccount;
 import com.axelor.studio.db.AppInvoice;
-import com.axelor.studio.db.repo.AppAccountRepository;
-import com.axelor.studio.db.repo.AppInvoiceRepository;
 import com.axelor.studio.db.repo.AppRepository;
 import com.axelor.studio.service.AppSettingsStudioService;
 import com.google.inject.Inject;
@@ -42,10 +40,6 @@ import java.util.List;
 @Singleton
 public class AppAccountServiceImpl extends AppBaseServiceImpl implements AppAccountService {
 
-  protected AppAccountRepository appAccountRepo;
-
-  protected AppInvoiceRepository appInvoiceRepo;
-
   protected AccountConfigRepository accountConfigRepo;
 
   protected CompanyRepository companyRepo;
@@ -59,8 +53,6 @@ public class AppAccountServiceImpl extends AppBaseServiceImpl implements AppAcco
       AppSettingsStudioService appSettingsService,
       MetaModuleRepository metaModuleRepo,
       MetaFileRepository metaFileRepo,
-      AppAccountRepository appAccountRepo,
-      AppInvoiceRepository appInvoiceRepo,
       AccountConfigRepository accountConfigRepo,
       CompanyRepository companyRepo) {
     super(
@@ -71,20 +63,18 @@ public class AppAccountServiceImpl extends AppBaseServiceImpl implements AppAcco
         appSettingsService,
         metaModuleRepo,
         metaFileRepo);
-    this.appAccountRepo = appAccountRepo;
-    this.appInvoiceRepo = appInvoiceRepo;
     this.accountConfigRepo = accountConfigRepo;
     this.companyRepo = companyRepo;
   }
 
   @Override
   public AppAccount getAppAccount() {
-    return appAccountRepo.all().fetchOne();
+    return getAppConfigSnapshotService().getApp(AppAccount.class);
   }
 
   @Override
   public AppInvoice getAppInvoice() {
-    return appInvoiceRepo.all().fetchOne();
+    return getAppConfigSnapshotService().getApp(AppInvoice.class);
   }
 
   @Transactional
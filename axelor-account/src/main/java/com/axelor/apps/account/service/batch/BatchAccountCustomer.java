@@ -31,7 +31,9 @@ import com.axelor.db.JPA;
 import com.axelor.i18n.I18n;
 import com.google.inject.Inject;
 import java.lang.invoke.MethodHandles;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +43,8 @@ public class BatchAccountCustomer extends BatchStrategy {
 
   protected AccountingSituationRepository accountingSituationRepo;
 
+  protected int correctedCount = 0;
+
   @Inject
   public BatchAccountCustomer(
       AccountCustomerService accountCustomerService,
@@ -75,14 +79,22 @@ public class BatchAccountCustomer extends BatchStrategy {
     for (AccountingSituation accountingSituation : accountingSituationList) {
       try {
 
+        accountingSituation = accountingSituationRepo.find(accountingSituation.getId());
+        BigDecimal balance = accountingSituation.getBalanceCustAccount();
+        BigDecimal balanceDue = accountingSituation.getBalanceDueCustAccount();
+
         accountingSituation =
             accountCustomerService.updateAccountingSituationCustomerAccount(
-                accountingSituationRepo.find(accountingSituation.getId()),
+                accountingSituation,
                 updateCustAccountOk,
                 updateDueCustAccountOk,
                 updateDueDebtRecoveryCustAccountOk);
 
         if (accountingSituation != null) {
+          this.checkBalanceDrift(
+              accountingSituation,
+              updateCustAccountOk ? balance : accountingSituation.getBalanceCustAccount(),
+              updateDueCustAccountOk ? balanceDue : accountingSituation.getBalanceDueCustAccount());
           this.updateAccountingSituation(accountingSituation);
           i++;
         }
@@ -113,6 +125,34 @@ public class BatchAccountCustomer extends BatchStrategy {
     }
   }
 
+  /**
+   * The balances are updated incrementally when moves are validated or reconciled: count the
+   * accounting situations for which the full computation differs from these balances.
+   */
+  protected void checkBalanceDrift(
+      AccountingSituation accountingSituation, BigDecimal balance, BigDecimal balanceDue) {
+    if (isSameAmount(balance, accountingSituation.getBalanceCustAccount())
+        && isSameAmount(balanceDue, accountingSituation.getBalanceDueCustAccount())) {
+      return;
+    }
+
+    log.debug(
+        "Balances of accounting situation {} corrected : balance {} -> {}, balance due {} -> {}",
+        accountingSituation.getName(),
+        balance,
+        accountingSituation.getBalanceCustAccount(),
+        balanceDue,
+        accountingSituation.getBalanceDueCustAccount());
+    correctedCount++;
+  }
+
+  protected boolean isSameAmount(BigDecimal amount1, BigDecimal amount2) {
+    return Optional.ofNullable(amount1)
+            .orElse(BigDecimal.ZERO)
+            .compareTo(Optional.ofNullable(amount2).orElse(BigDecimal.ZERO))
+        == 0;
+  }
+
   /**
    * As {@code batch} entity can be detached from the session, call {@code Batch.find()} get the
    * entity in the persistant context. Warning : {@code batch} entity have to be saved before.
@@ -124,6 +164,9 @@ public class BatchAccountCustomer extends BatchStrategy {
     comment +=
         String.format(
             "\t" + I18n.get(AccountExceptionMessage.BATCH_ACCOUNT_3) + "\n", batch.getDone());
+    comment +=
+        String.format(
+            "\t" + I18n.get(AccountExceptionMessage.BATCH_ACCOUNT_6) + "\n", correctedCount);
     comment +=
         String.format("\t" + I18n.get(BaseExceptionMessage.BASE_BATCH_3), batch.getAnomaly());
 
@@ -65,13 +65,13 @@ public class BatchControlMovesConsistency extends BatchStrategy {
             moveValidateService.checkConsistencyPreconditions(move);
             incrementDone();
           } catch (AxelorException e) {
-            TraceBackService.trace(
+            TraceBackService.traceEachOccurrence(
                 new AxelorException(move, e.getCategory(), I18n.get(e.getMessage())),
                 null,
                 batch.getId());
             incrementAnomaly();
           } catch (Exception e) {
-            TraceBackService.trace(
+            TraceBackService.traceEachOccurrence(
                 new AxelorException(e, move, TraceBackRepository.CATEGORY_INCONSISTENCY),
                 null,
                 batch.getId());
@@ -18,8 +18,10 @@
  */
 package com.axelor.apps.account.service.batch;
 
+import com.axelor.apps.account.db.AccountConfig;
 import com.axelor.apps.account.db.DebtRecovery;
 import com.axelor.apps.account.db.repo.DebtRecoveryRepository;
+import com.axelor.apps.account.db.repo.MoveRepository;
 import com.axelor.apps.account.exception.AccountExceptionMessage;
 import com.axelor.apps.account.service.debtrecovery.DebtRecoveryActionService;
 import com.axelor.apps.account.service.debtrecovery.DebtRecoveryService;
@@ -33,21 +35,43 @@ import com.axelor.apps.base.db.repo.PartnerRepository;
 import com.axelor.apps.base.exceptions.BaseExceptionMessage;
 import com.axelor.apps.base.service.BlockingService;
 import com.axelor.apps.base.service.exception.TraceBackService;
-import com.axelor.db.EntityHelper;
 import com.axelor.db.JPA;
 import com.axelor.db.Model;
-import com.axelor.db.Query;
+import com.axelor.db.tenants.TenantAware;
+import com.axelor.db.tenants.TenantResolver;
 import com.axelor.i18n.I18n;
 import com.axelor.inject.Beans;
 import com.axelor.message.db.repo.MessageRepository;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import javax.persistence.Table;
+import javax.persistence.TemporalType;
+import javax.persistence.TypedQuery;
 import org.apache.commons.collections.CollectionUtils;
 
 public class BatchDebtRecovery extends BatchStrategy {
 
+  /** Number of partner chunks processed at the same time. */
+  protected static final int DEBT_RECOVERY_THREAD_COUNT = 4;
+
+  protected static final int PARTNER_ID_CHUNK_SIZE = 500;
+
   protected boolean stopping = false;
   protected PartnerRepository partnerRepository;
   protected MessageRepository messageRepository;
@@ -113,133 +137,317 @@ public class BatchDebtRecovery extends BatchStrategy {
       }
     }
 
-    Query<Partner> query =
-        partnerRepository
-            .all()
-            .filter(
-                "self.isContact = false "
-                    + "AND :_company MEMBER OF self.companySet "
-                    + "AND self.accountingSituationList IS NOT EMPTY "
-                    + "AND self.isCustomer = true "
-                    + "AND self.id NOT IN ("
-                    + Beans.get(BlockingService.class)
-                        .listOfBlockedPartner(company, BlockingRepository.REMINDER_BLOCKING)
-                    + ")")
-            .bind("_company", company)
-            .order("id");
-
-    int offset = 0;
-    List<Partner> partnerList;
-
-    while (!(partnerList = query.fetch(getFetchLimit(), offset)).isEmpty()) {
-
-      for (Partner partner : partnerList) {
-        ++offset;
-
-        boolean remindedOk;
-        // if recovery handled by trading name
-        if (!CollectionUtils.isEmpty(tradingNameList)) {
-          boolean incrementPartner = false;
-          for (TradingName tradingName : tradingNameList) {
-            try {
-              remindedOk = debtRecoveryService.debtRecoveryGenerate(partner, company, tradingName);
-              if (remindedOk) {
-                DebtRecovery debtRecovery =
-                    debtRecoveryService.getDebtRecovery(partner, company, tradingName);
-                addBatchToModel(debtRecovery);
-                incrementPartner = true;
-              }
-              // Catching exceptions
-            } catch (AxelorException e) {
-              TraceBackService.trace(
-                  new AxelorException(
-                      e,
-                      e.getCategory(),
-                      I18n.get("Partner") + " %s, " + I18n.get("Trading name") + " %s",
-                      partner.getName(),
-                      tradingName.getName()),
-                  ExceptionOriginRepository.DEBT_RECOVERY,
-                  batch.getId());
-              incrementAnomaly(partner);
-              break;
-            } catch (Exception e) {
-              TraceBackService.trace(
-                  new Exception(
-                      String.format(
-                          I18n.get("Partner") + " %s, " + I18n.get("Trading name") + " %s",
-                          partner.getName(),
-                          tradingName.getName()),
-                      e),
-                  ExceptionOriginRepository.DEBT_RECOVERY,
-                  batch.getId());
-              incrementAnomaly(partner);
-              break;
-            }
-            // \Catching exceptions
-          }
-          if (incrementPartner) {
-            incrementDone(partner);
-          }
-        } else { // if recovery handled by company
+    final Long companyId = company.getId();
+    final List<Long> tradingNameIdList =
+        CollectionUtils.isEmpty(tradingNameList)
+            ? Collections.emptyList()
+            : tradingNameList.stream().map(TradingName::getId).collect(Collectors.toList());
+    final String tenantId = TenantResolver.currentTenantIdentifier();
+
+    final List<List<Long>> partnerIdChunks =
+        Lists.partition(getPartnerIdsToRemind(company, tradingNameIdList), getFetchLimit());
+    final Map<Long, List<Long>> debtRecoveryIdMap = new ConcurrentHashMap<>();
+    final Map<Long, Exception> errorMap = new ConcurrentHashMap<>();
+    final List<Future<?>> futures = new ArrayList<>();
+    final ExecutorService executor =
+        Executors.newFixedThreadPool(
+            DEBT_RECOVERY_THREAD_COUNT,
+            new ThreadFactoryBuilder().setNameFormat("debt-recovery-%d").setDaemon(true).build());
+
+    try {
+      for (List<Long> partnerIdList : partnerIdChunks) {
+        futures.add(
+            executor.submit(
+                new TenantAware(
+                        () ->
+                            debtRecoveryPartners(
+                                partnerIdList,
+                                companyId,
+                                tradingNameIdList,
+                                debtRecoveryIdMap,
+                                errorMap))
+                    .tenantId(tenantId)
+                    .withTransaction(false)));
+      }
+
+      for (int i = 0; i < futures.size(); i++) {
+        futures.get(i).get();
+        updateBatch(partnerIdChunks.get(i), debtRecoveryIdMap, errorMap);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      TraceBackService.trace(e, ExceptionOriginRepository.DEBT_RECOVERY, batch.getId());
+    } catch (ExecutionException e) {
+      TraceBackService.trace(e, ExceptionOriginRepository.DEBT_RECOVERY, batch.getId());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Partners with no recoverable balance and no debt recovery in progress are skipped by the debt
+   * recovery generation, so they are filtered out beforehand:
+   *
+   * <ul>
+   *   <li>partners with a positive recoverable balance, computed with a single aggregate query on
+   *       the same invoice terms as {@link
+   *       com.axelor.apps.account.service.AccountCustomerService#getBalanceDueDebtRecovery}. When
+   *       the debt recovery is done by trading name, only the debit terms are summed since each
+   *       trading name has its own balance;
+   *   <li>partners whose debt recovery still has a method line or a balance, so that it is reset.
+   * </ul>
+   */
+  protected List<Long> getPartnerIdsToRemind(Company company, List<Long> tradingNameIdList) {
+    Set<Long> candidatePartnerIdSet =
+        new TreeSet<>(getOverduePartnerIds(company, tradingNameIdList));
+    candidatePartnerIdSet.addAll(getDebtRecoveryPartnerIds(company, tradingNameIdList));
+    List<Long> candidatePartnerIdList = new ArrayList<>(candidatePartnerIdSet);
+
+    String blockedPartnerIds =
+        Beans.get(BlockingService.class)
+            .listOfBlockedPartner(company, BlockingRepository.REMINDER_BLOCKING);
+    List<Long> partnerIdList = new ArrayList<>();
+
+    for (List<Long> idList : Lists.partition(candidatePartnerIdList, PARTNER_ID_CHUNK_SIZE)) {
+      partnerIdList.addAll(
+          JPA.em()
+              .createQuery(
+                  "SELECT self.id FROM Partner self "
+                      + "WHERE self.id IN (:ids) "
+                      + "AND self.isContact = false "
+                      + "AND :company MEMBER OF self.companySet "
+                      + "AND self.accountingSituationList IS NOT EMPTY "
+                      + "AND self.isCustomer = true "
+                      + "AND self.id NOT IN ("
+                      + blockedPartnerIds
+                      + ") "
+                      + "ORDER BY self.id",
+                  Long.class)
+              .setParameter("ids", idList)
+              .setParameter("company", company)
+              .getResultList());
+    }
+
+    return partnerIdList;
+  }
+
+  protected List<Long> getOverduePartnerIds(Company company, List<Long> tradingNameIdList) {
+    boolean byTradingName = !tradingNameIdList.isEmpty();
+    AccountConfig accountConfig = company.getAccountConfig();
+    int mailTransitTime = accountConfig != null ? accountConfig.getMailTransitTime() : 0;
+
+    // debit terms count once due, credit terms once their move date plus the mail transit time has
+    // passed, and a term amount is counted once per move line as in the balance computation
+    javax.persistence.Query query =
+        JPA.em()
+            .createNativeQuery(
+                "SELECT ml.partner "
+                    + "FROM ( "
+                    + "SELECT DISTINCT term.move_line AS term_ml, term.amount_remaining AS term_amount_remaining "
+                    + "FROM account_invoice_term AS term "
+                    + "JOIN account_move_line AS termMoveLine ON (termMoveLine.id = term.move_line) "
+                    + "JOIN account_move AS termMove ON (termMove.id = termMoveLine.move) "
+                    + "WHERE (termMoveLine.debit > 0 AND term.due_date IS NOT NULL AND term.due_date <= :todayDate) "
+                    + "OR (termMoveLine.credit > 0 AND termMove.date_val IS NOT NULL "
+                    + "AND (termMove.date_val + :mailTransitTime) <= :todayDate) "
+                    + ") AS t "
+                    + "JOIN account_move_line AS ml ON t.term_ml = ml.id "
+                    + "LEFT OUTER JOIN account_account AS account ON ml.account = account.id "
+                    + "LEFT OUTER JOIN account_move AS move ON ml.move = move.id "
+                    + "LEFT JOIN account_invoice AS invoice ON move.invoice = invoice.id "
+                    + "WHERE ml.partner IS NOT NULL AND move.company = :company "
+                    + (byTradingName ? "AND move.trading_name IN (:tradingNames) " : "")
+                    + "AND move.ignore_in_accounting_ok IN ('false', null) AND account.use_for_partner_balance IS TRUE "
+                    + "AND move.status_select IN (:statusValidated, :statusDaybook) AND ABS(ml.amount_remaining) > 0 "
+                    + "AND (invoice IS NULL OR invoice.debt_recovery_blocking_ok IN ('false', null)) "
+                    + "GROUP BY ml.partner "
+                    + "HAVING SUM(CASE WHEN ml.debit > 0 THEN t.term_amount_remaining "
+                    + (byTradingName
+                        ? "ELSE 0 END) > 0"
+                        : "ELSE t.term_amount_remaining * -1 END) > 0"))
+            .setParameter("mailTransitTime", mailTransitTime)
+            .setParameter(
+                "todayDate",
+                Date.from(
+                    appBaseService
+                        .getTodayDate(company)
+                        .atStartOfDay()
+                        .atZone(ZoneOffset.UTC)
+                        .toInstant()),
+                TemporalType.DATE)
+            .setParameter("company", company.getId())
+            .setParameter("statusValidated", MoveRepository.STATUS_ACCOUNTED)
+            .setParameter("statusDaybook", MoveRepository.STATUS_DAYBOOK);
+
+    if (byTradingName) {
+      query.setParameter("tradingNames", tradingNameIdList);
+    }
+
+    @SuppressWarnings("unchecked")
+    List<Number> partnerIdList = query.getResultList();
+    return partnerIdList.stream().map(Number::longValue).collect(Collectors.toList());
+  }
+
+  protected List<Long> getDebtRecoveryPartnerIds(Company company, List<Long> tradingNameIdList) {
+    boolean byTradingName = !tradingNameIdList.isEmpty();
+    String accountingSituation =
+        byTradingName
+            ? "debtRecovery.tradingNameAccountingSituation"
+            : "debtRecovery.accountingSituation";
+
+    TypedQuery<Long> query =
+        JPA.em()
+            .createQuery(
+                "SELECT DISTINCT "
+                    + accountingSituation
+                    + ".partner.id FROM DebtRecovery debtRecovery "
+                    + "WHERE "
+                    + accountingSituation
+                    + ".company = :company "
+                    + (byTradingName ? "AND debtRecovery.tradingName.id IN (:tradingNames) " : "")
+                    + "AND (debtRecovery.debtRecoveryMethodLine IS NOT NULL "
+                    + "OR debtRecovery.balanceDue != 0 "
+                    + "OR debtRecovery.balanceDueDebtRecovery != 0)",
+                Long.class)
+            .setParameter("company", company);
+
+    if (byTradingName) {
+      query.setParameter("tradingNames", tradingNameIdList);
+    }
+
+    return query.getResultList();
+  }
+
+  /**
+   * Runs the debt recovery of a chunk of partners in the current thread. Generated debt recoveries
+   * and errors are collected by partner id, the batch itself is only updated by the batch thread.
+   */
+  protected void debtRecoveryPartners(
+      List<Long> partnerIdList,
+      Long companyId,
+      List<Long> tradingNameIdList,
+      Map<Long, List<Long>> debtRecoveryIdMap,
+      Map<Long, Exception> errorMap) {
+    Company company = JPA.find(Company.class, companyId);
+    List<TradingName> tradingNameList =
+        tradingNameIdList.stream()
+            .map(id -> JPA.find(TradingName.class, id))
+            .collect(Collectors.toList());
+
+    for (Long partnerId : partnerIdList) {
+      Partner partner = JPA.find(Partner.class, partnerId);
+      List<Long> debtRecoveryIdList = new ArrayList<>();
+
+      // if recovery handled by trading name
+      if (!tradingNameList.isEmpty()) {
+        for (TradingName tradingName : tradingNameList) {
           try {
-            remindedOk = debtRecoveryService.debtRecoveryGenerate(partner, company, null);
-            if (remindedOk) {
-              DebtRecovery debtRecovery = debtRecoveryService.getDebtRecovery(partner, company);
-              addBatchToModel(debtRecovery);
-              incrementDone(partner);
+            if (debtRecoveryService.debtRecoveryGenerate(partner, company, tradingName)) {
+              debtRecoveryIdList.add(
+                  debtRecoveryService.getDebtRecovery(partner, company, tradingName).getId());
             }
-            // Catching exceptions
           } catch (AxelorException e) {
-            TraceBackService.trace(
+            errorMap.put(
+                partnerId,
                 new AxelorException(
-                    e, e.getCategory(), I18n.get("Partner") + " %s", partner.getName()),
-                ExceptionOriginRepository.DEBT_RECOVERY,
-                batch.getId());
-            incrementAnomaly(partner);
+                    e,
+                    e.getCategory(),
+                    I18n.get("Partner") + " %s, " + I18n.get("Trading name") + " %s",
+                    partner.getName(),
+                    tradingName.getName()));
             break;
           } catch (Exception e) {
-            TraceBackService.trace(
-                new Exception(String.format(I18n.get("Partner") + " %s", partner.getName()), e),
-                ExceptionOriginRepository.DEBT_RECOVERY,
-                batch.getId());
-            incrementAnomaly(partner);
+            errorMap.put(
+                partnerId,
+                new Exception(
+                    String.format(
+                        I18n.get("Partner") + " %s, " + I18n.get("Trading name") + " %s",
+                        partner.getName(),
+                        tradingName.getName()),
+                    e));
             break;
           }
-          // \Catching exceptions
+        }
+      } else { // if recovery handled by company
+        try {
+          if (debtRecoveryService.debtRecoveryGenerate(partner, company, null)) {
+            debtRecoveryIdList.add(debtRecoveryService.getDebtRecovery(partner, company).getId());
+          }
+        } catch (AxelorException e) {
+          errorMap.put(
+              partnerId,
+              new AxelorException(
+                  e, e.getCategory(), I18n.get("Partner") + " %s", partner.getName()));
+        } catch (Exception e) {
+          errorMap.put(
+              partnerId,
+              new Exception(String.format(I18n.get("Partner") + " %s", partner.getName()), e));
         }
       }
 
-      JPA.clear();
-      findBatch();
+      if (!debtRecoveryIdList.isEmpty()) {
+        debtRecoveryIdMap.put(partnerId, debtRecoveryIdList);
+      }
     }
   }
 
-  protected void incrementDone(Partner partner) {
-    addBatchToModel(partner);
-    _incrementDone();
-  }
+  protected void updateBatch(
+      List<Long> partnerIdList,
+      Map<Long, List<Long>> debtRecoveryIdMap,
+      Map<Long, Exception> errorMap) {
+    findBatch();
+
+    List<Long> donePartnerIdList = new ArrayList<>();
+    List<Long> debtRecoveryIdList = new ArrayList<>();
+
+    for (Long partnerId : partnerIdList) {
+      Exception error = errorMap.remove(partnerId);
+      if (error instanceof AxelorException) {
+        TraceBackService.trace(
+            (AxelorException) error, ExceptionOriginRepository.DEBT_RECOVERY, batch.getId());
+        _incrementAnomaly();
+      } else if (error != null) {
+        TraceBackService.trace(error, ExceptionOriginRepository.DEBT_RECOVERY, batch.getId());
+        _incrementAnomaly();
+      }
 
-  protected void incrementAnomaly(Partner partner) {
+      List<Long> partnerDebtRecoveryIdList = debtRecoveryIdMap.remove(partnerId);
+      if (partnerDebtRecoveryIdList != null) {
+        debtRecoveryIdList.addAll(partnerDebtRecoveryIdList);
+        donePartnerIdList.add(partnerId);
+        _incrementDone();
+      }
+    }
+
+    addBatchToModels(DebtRecovery.class, debtRecoveryIdList);
+    addBatchToModels(Partner.class, donePartnerIdList);
+
+    JPA.clear();
     findBatch();
-    partner = partnerRepository.find(partner.getId());
-    // addBatchToModel(partner);
-    _incrementAnomaly();
   }
 
-  protected void addBatchToModel(Model model) {
-    String tableName = getBatchSetTableName(model);
+  protected void addBatchToModels(Class<? extends Model> modelClass, List<Long> idList) {
+    if (idList.isEmpty()) {
+      return;
+    }
 
-    // Insert using native query for performance reasons in case of big batch set.
-    String sqlString = String.format("INSERT INTO %s VALUES (:modelId, :batchId)", tableName);
+    // Insert using one multi-row native query for performance reasons in case of big batch set.
+    String values =
+        IntStream.range(0, idList.size())
+            .mapToObj(i -> String.format("(:modelId%d, :batchId)", i))
+            .collect(Collectors.joining(", "));
+    String sqlString =
+        String.format("INSERT INTO %s VALUES %s", getBatchSetTableName(modelClass), values);
     javax.persistence.Query query = JPA.em().createNativeQuery(sqlString);
-    query.setParameter("modelId", model.getId());
+    for (int i = 0; i < idList.size(); i++) {
+      query.setParameter("modelId" + i, idList.get(i));
+    }
     query.setParameter("batchId", batch.getId());
     JPA.runInTransaction(query::executeUpdate);
   }
 
-  protected String getBatchSetTableName(Model model) {
-    String modelTableName = EntityHelper.getEntityClass(model).getAnnotation(Table.class).name();
-    return modelTableName + "_BATCH_SET";
+  protected String getBatchSetTableName(Class<? extends Model> modelClass) {
+    return modelClass.getAnnotation(Table.class).name() + "_BATCH_SET";
   }
 
   /**
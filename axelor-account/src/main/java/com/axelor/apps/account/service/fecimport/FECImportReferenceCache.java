@@ -0,0 +1,113 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.account.service.fecimport;
+
+import com.axelor.db.JPA;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import javax.persistence.TypedQuery;
+
+/**
+ * Reference data shared by all the lines of a single FEC import.
+ *
+ * <p>Journals, accounts and currencies are loaded in bulk the first time they are needed, so each
+ * line resolves its codes with a map lookup instead of a search query. Only ids are kept: entities
+ * are reloaded from the current persistence context, which is cleared between import batches.
+ */
+public class FECImportReferenceCache {
+
+  public static final String CONTEXT_KEY = "FECImportReferenceCache";
+
+  protected final Map<Long, Map<String, Long>> journalIdMap = new HashMap<>();
+  protected final Map<Long, Map<String, Long>> accountIdMap = new HashMap<>();
+  protected final Map<Long, Map<LocalDate, Long>> periodIdMap = new HashMap<>();
+  protected Map<String, Long> currencyIdMap;
+
+  protected final Map<String, Long> moveIdMap = new HashMap<>();
+  protected final Map<String, Integer> moveLineCounterMap = new HashMap<>();
+
+  public Long getJournalId(Long companyId, String code) {
+    return journalIdMap
+        .computeIfAbsent(
+            companyId,
+            id ->
+                loadCodeMap(
+                    "SELECT self.code, self.id FROM Journal self WHERE self.company.id = :companyId",
+                    id))
+        .get(code);
+  }
+
+  public Long getAccountId(Long companyId, String code) {
+    return accountIdMap
+        .computeIfAbsent(
+            companyId,
+            id ->
+                loadCodeMap(
+                    "SELECT self.code, self.id FROM Account self WHERE self.company.id = :companyId",
+                    id))
+        .get(code);
+  }
+
+  public Long getCurrencyId(String code) {
+    if (currencyIdMap == null) {
+      currencyIdMap = loadCodeMap("SELECT self.code, self.id FROM Currency self", null);
+    }
+    return currencyIdMap.get(code);
+  }
+
+  public Long getPeriodId(Long companyId, LocalDate date) {
+    return periodIdMap.computeIfAbsent(companyId, id -> new HashMap<>()).get(date);
+  }
+
+  public void putPeriodId(Long companyId, LocalDate date, Long periodId) {
+    periodIdMap.computeIfAbsent(companyId, id -> new HashMap<>()).put(date, periodId);
+  }
+
+  public Long getMoveId(String reference) {
+    return moveIdMap.get(reference);
+  }
+
+  public void putMoveId(String reference, Long moveId) {
+    moveIdMap.put(reference, moveId);
+  }
+
+  /**
+   * Returns the counter to use for the next line of the move with the given import reference. This
+   * replaces the search of the highest counter among the lines already imported for this move.
+   */
+  public int nextMoveLineCounter(String reference) {
+    return moveLineCounterMap.merge(reference, 1, Integer::sum);
+  }
+
+  protected Map<String, Long> loadCodeMap(String queryStr, Long companyId) {
+    TypedQuery<Object[]> query = JPA.em().createQuery(queryStr, Object[].class);
+    if (companyId != null) {
+      query.setParameter("companyId", companyId);
+    }
+
+    Map<String, Long> codeMap = new HashMap<>();
+    for (Object[] result : query.getResultList()) {
+      if (result[0] != null) {
+        codeMap.putIfAbsent((String) result[0], (Long) result[1]);
+      }
+    }
+    return codeMap;
+  }
+}
@@ -24,6 +24,7 @@ import com.axelor.apps.account.db.MoveLine;
 import com.axelor.apps.account.db.repo.AccountTypeRepository;
 import com.axelor.apps.account.db.repo.FECImportRepository;
 import com.axelor.apps.account.db.repo.MoveRepository;
+import com.axelor.apps.account.exception.AccountExceptionMessage;
 import com.axelor.apps.account.service.app.AppAccountService;
 import com.axelor.apps.account.service.move.MoveValidateService;
 import com.axelor.apps.account.service.moveline.MoveLineTaxService;
@@ -38,26 +39,32 @@ import com.axelor.apps.base.service.imports.listener.ImporterListener;
 import com.axelor.data.csv.CSVImporter;
 import com.axelor.db.JPA;
 import com.axelor.db.Model;
+import com.axelor.i18n.I18n;
 import com.google.common.base.Throwables;
 import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import com.google.inject.persist.Transactional;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class FECImporter extends Importer {
 
+  protected static final int MOVE_CHUNK_SIZE = 10;
+
   protected MoveValidateService moveValidateService;
   protected AppAccountService appAccountService;
   protected MoveRepository moveRepository;
   protected FECImportRepository fecImportRepository;
   protected CompanyRepository companyRepository;
   protected MoveLineTaxService moveLineTaxService;
-  private final List<Move> moveList = new ArrayList<>();
+  private final Set<Long> moveIdSet = new LinkedHashSet<>();
   private FECImport fecImport;
   private Company company;
 
@@ -102,7 +109,7 @@ public class FECImporter extends Importer {
           @Override
           public void imported(Integer total, Integer success) {
             try {
-              completeAndvalidateMoves(fecImport, moveList, this);
+              completeAndvalidateMoves(fecImport, moveIdSet, this);
             } catch (Exception e) {
               this.handle(null, e);
             }
@@ -121,6 +128,7 @@ public class FECImporter extends Importer {
       importContext = new HashMap<>();
     }
     importContext.put("FECImport", fecImport);
+    importContext.put(FECImportReferenceCache.CONTEXT_KEY, new FECImportReferenceCache());
     importer.setContext(importContext);
     importer.run();
     saveFecImport();
@@ -139,11 +147,8 @@ public class FECImporter extends Importer {
   protected void addMoveFromMoveLine(Model bean) {
     if (bean.getClass().equals(MoveLine.class)) {
       MoveLine moveLine = (MoveLine) bean;
-      if (moveLine.getMove() != null) {
-        Move move = moveLine.getMove();
-        if (!moveList.contains(move)) {
-          moveList.add(move);
-        }
+      if (moveLine.getMove() != null && moveLine.getMove().getId() != null) {
+        moveIdSet.add(moveLine.getMove().getId());
       }
     }
   }
@@ -158,31 +163,43 @@ public class FECImporter extends Importer {
     return process(bind, data, null);
   }
 
-  public List<Move> getMoves() {
-    return this.moveList;
+  public Set<Long> getMoveIds() {
+    return this.moveIdSet;
   }
 
   protected void completeAndvalidateMoves(
-      FECImport fecImport, List<Move> moveList, ImporterListener listener) {
+      FECImport fecImport, Collection<Long> moveIds, ImporterListener listener) {
     if (fecImport != null) {
-      int i = 0;
+      int chunkNumber = 0;
       Long companyId = null;
-      for (Move move : moveList) {
-        move = moveRepository.find(move.getId());
-        if (companyId == null && move != null) {
-          companyId = move.getCompany().getId();
-        }
-        // We modify move in two parts. First part we set description and fecImport on the move
-        // Second part we set reference and validate the move if necessary.
-        // We do this in two parts because reference for move must be unique, and in case there is
-        // an error the rollback must not undo description and fecImport.
-        move = setDescriptionAndFecImport(fecImport, listener, move);
-        move = setVatSystemSelect(listener, move);
-        move = setReferenceAndValidate(fecImport, listener, move);
-        if (i % 10 == 0) {
-          JPA.clear();
+      for (List<Long> chunkMoveIds : Lists.partition(new ArrayList<>(moveIds), MOVE_CHUNK_SIZE)) {
+        chunkNumber++;
+        List<Move> chunkMoveList =
+            moveRepository
+                .all()
+                .filter("self.id IN :ids")
+                .bind("ids", chunkMoveIds)
+                .order("id")
+                .fetch();
+        List<String> failedReferenceList = new ArrayList<>();
+        for (Move move : chunkMoveList) {
+          if (companyId == null) {
+            companyId = move.getCompany().getId();
+          }
+          String reference = move.getReference();
+          // We modify move in two parts. First part we set description and fecImport on the move
+          // Second part we set reference and validate the move if necessary.
+          // We do this in two parts because reference for move must be unique, and in case there
+          // is an error the rollback must not undo description and fecImport.
+          move = setDescriptionAndFecImport(fecImport, listener, move);
+          move = setVatSystemSelect(listener, move);
+          move = setReferenceAndValidate(fecImport, listener, move);
+          if (move == null) {
+            failedReferenceList.add(reference);
+          }
         }
-        i++;
+        traceChunkErrors(fecImport, chunkNumber, chunkMoveIds.size(), failedReferenceList);
+        JPA.clear();
       }
       if (companyId != null) {
         this.company = companyRepository.find(companyId);
@@ -190,6 +207,26 @@ public class FECImporter extends Importer {
     }
   }
 
+  /**
+   * Records a single summary for each chunk of moves that could not be fully completed, so that a
+   * failing chunk is reported without interrupting the completion of the following ones.
+   */
+  protected void traceChunkErrors(
+      FECImport fecImport, int chunkNumber, int chunkSize, List<String> failedReferenceList) {
+    if (failedReferenceList.isEmpty()) {
+      return;
+    }
+    TraceBackService.trace(
+        new AxelorException(
+            fecImport,
+            TraceBackRepository.CATEGORY_CONFIGURATION_ERROR,
+            I18n.get(AccountExceptionMessage.IMPORT_FEC_CHUNK_ERRORS),
+            chunkNumber,
+            failedReferenceList.size(),
+            chunkSize,
+            String.join(", ", failedReferenceList)));
+  }
+
   @Transactional
   protected Move setVatSystemSelect(ImporterListener listener, Move move) {
     try {
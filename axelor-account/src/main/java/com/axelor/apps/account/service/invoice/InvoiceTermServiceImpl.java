@@ -66,8 +66,10 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -223,13 +225,17 @@ public class InvoiceTermServiceImpl implements InvoiceTermService {
 
     invoice.clearInvoiceTermList();
 
+    // The PFP validator and the scale are the same for every term of the invoice
+    User pfpUser = this.getPfpValidatorUser(invoice);
+    int scale = currencyScaleService.getScale(invoice);
+
     Set<PaymentConditionLine> paymentConditionLines =
         new HashSet<>(invoice.getPaymentCondition().getPaymentConditionLineList());
     Iterator<PaymentConditionLine> iterator = paymentConditionLines.iterator();
     BigDecimal total = BigDecimal.ZERO;
     while (iterator.hasNext()) {
       PaymentConditionLine paymentConditionLine = iterator.next();
-      InvoiceTerm invoiceTerm = computeInvoiceTerm(invoice, paymentConditionLine);
+      InvoiceTerm invoiceTerm = computeInvoiceTerm(invoice, paymentConditionLine, pfpUser, scale);
       if (!iterator.hasNext()) {
         invoiceTerm.setAmount(invoice.getInTaxTotal().subtract(total));
         invoiceTerm.setAmountRemaining(invoice.getInTaxTotal().subtract(total));
@@ -247,20 +253,29 @@ public class InvoiceTermServiceImpl implements InvoiceTermService {
   @Override
   public InvoiceTerm computeInvoiceTerm(Invoice invoice, PaymentConditionLine paymentConditionLine)
       throws AxelorException {
+    return this.computeInvoiceTerm(
+        invoice,
+        paymentConditionLine,
+        this.getPfpValidatorUser(invoice),
+        currencyScaleService.getScale(invoice));
+  }
+
+  protected User getPfpValidatorUser(Invoice invoice) throws AxelorException {
+    if (getPfpValidatorUserCondition(invoice, null)) {
+      return invoiceTermPfpToolService.getPfpValidatorUser(
+          invoice.getPartner(), invoice.getCompany());
+    }
+    return null;
+  }
+
+  protected InvoiceTerm computeInvoiceTerm(
+      Invoice invoice, PaymentConditionLine paymentConditionLine, User pfpUser, int scale)
+      throws AxelorException {
     BigDecimal amount =
         invoice
             .getInTaxTotal()
             .multiply(paymentConditionLine.getPaymentPercentage())
-            .divide(
-                BigDecimal.valueOf(100),
-                currencyScaleService.getScale(invoice),
-                RoundingMode.HALF_UP);
-
-    User pfpUser = null;
-    if (getPfpValidatorUserCondition(invoice, null)) {
-      pfpUser =
-          invoiceTermPfpToolService.getPfpValidatorUser(invoice.getPartner(), invoice.getCompany());
-    }
+            .divide(BigDecimal.valueOf(100), scale, RoundingMode.HALF_UP);
 
     InvoiceTerm invoiceTerm =
         this.createInvoiceTerm(
@@ -621,6 +636,9 @@ public class InvoiceTermServiceImpl implements InvoiceTermService {
       PaymentMode paymentMode,
       Map<InvoiceTerm, Integer> invoiceTermPfpValidateStatusSelectMap)
       throws AxelorException {
+    Map<List<Object>, Boolean> sameCurrencyRateMap = new HashMap<>();
+    Set<Invoice> paidInvoiceSet = new LinkedHashSet<>();
+
     for (InvoiceTermPayment invoiceTermPayment : invoiceTermPaymentList) {
       InvoiceTerm invoiceTerm = invoiceTermPayment.getInvoiceTerm();
       InvoicePayment invoicePayment = invoiceTermPayment.getInvoicePayment();
@@ -640,11 +658,7 @@ public class InvoiceTermServiceImpl implements InvoiceTermService {
       boolean isSameCurrencyRate = true;
       if (invoicePayment != null) {
         isSameCurrencyRate =
-            currencyService.isSameCurrencyRate(
-                invoiceTerm.getInvoice().getInvoiceDate(),
-                invoicePayment.getPaymentDate(),
-                invoiceTerm.getCurrency(),
-                invoiceTerm.getCompanyCurrency());
+            this.isSameCurrencyRate(invoiceTerm, invoicePayment, sameCurrencyRateMap);
       }
 
       if (amountRemaining.compareTo(BigDecimal.ZERO) == 0 && isSameCurrencyRate) {
@@ -659,9 +673,8 @@ public class InvoiceTermServiceImpl implements InvoiceTermService {
       if (amountRemaining.signum() <= 0 || companyAmountRemaining.signum() <= 0) {
         amountRemaining = BigDecimal.ZERO;
         invoiceTerm.setIsPaid(true);
-        Invoice invoice = invoiceTerm.getInvoice();
-        if (invoice != null) {
-          invoice.setDueDate(InvoiceToolService.getDueDate(invoice));
+        if (invoiceTerm.getInvoice() != null) {
+          paidInvoiceSet.add(invoiceTerm.getInvoice());
         }
 
         if (companyAmountRemaining.signum() <= 0) {
@@ -676,6 +689,42 @@ public class InvoiceTermServiceImpl implements InvoiceTermService {
       invoiceTermFinancialDiscountService.computeAmountRemainingAfterFinDiscount(invoiceTerm);
       invoiceTermPfpUpdateService.updatePfp(invoiceTerm, invoiceTermPfpValidateStatusSelectMap);
     }
+
+    // The due date only depends on the term due dates, so it is computed once per invoice
+    for (Invoice invoice : paidInvoiceSet) {
+      invoice.setDueDate(InvoiceToolService.getDueDate(invoice));
+    }
+  }
+
+  /**
+   * Check if the currency rate of the invoice date is the same as the one of the payment date. The
+   * results are kept in the given map, as the terms of an invoice share the same dates and
+   * currencies.
+   */
+  protected boolean isSameCurrencyRate(
+      InvoiceTerm invoiceTerm,
+      InvoicePayment invoicePayment,
+      Map<List<Object>, Boolean> sameCurrencyRateMap)
+      throws AxelorException {
+    LocalDate invoiceDate = invoiceTerm.getInvoice().getInvoiceDate();
+    List<Object> key =
+        Arrays.asList(
+            invoiceDate,
+            invoicePayment.getPaymentDate(),
+            invoiceTerm.getCurrency(),
+            invoiceTerm.getCompanyCurrency());
+
+    Boolean isSameCurrencyRate = sameCurrencyRateMap.get(key);
+    if (isSameCurrencyRate == null) {
+      isSameCurrencyRate =
+          currencyService.isSameCurrencyRate(
+              invoiceDate,
+              invoicePayment.getPaymentDate(),
+              invoiceTerm.getCurrency(),
+              invoiceTerm.getCompanyCurrency());
+      sameCurrencyRateMap.put(key, isSameCurrencyRate);
+    }
+    return isSameCurrencyRate;
   }
 
   protected BigDecimal manageForeignExchange(
@@ -740,6 +789,7 @@ public class InvoiceTermServiceImpl implements InvoiceTermService {
   @Transactional(rollbackOn = {Exception.class})
   public void updateInvoiceTermsAmountRemaining(List<InvoiceTermPayment> invoiceTermPaymentList)
       throws AxelorException {
+    Set<Invoice> unpaidInvoiceSet = new LinkedHashSet<>();
 
     for (InvoiceTermPayment invoiceTermPayment : invoiceTermPaymentList) {
       InvoiceTerm invoiceTerm = invoiceTermPayment.getInvoiceTerm();
@@ -761,15 +811,18 @@ public class InvoiceTermServiceImpl implements InvoiceTermService {
         if (invoiceTerm.getAmountRemaining().signum() > 0) {
           invoiceTerm.setIsPaid(false);
 
-          Invoice invoice = invoiceTerm.getInvoice();
-          if (invoice != null) {
-            invoice.setDueDate(InvoiceToolService.getDueDate(invoice));
+          if (invoiceTerm.getInvoice() != null) {
+            unpaidInvoiceSet.add(invoiceTerm.getInvoice());
           }
 
           invoiceTermRepo.save(invoiceTerm);
         }
       }
     }
+
+    for (Invoice invoice : unpaidInvoiceSet) {
+      invoice.setDueDate(InvoiceToolService.getDueDate(invoice));
+    }
   }
 
   @Override
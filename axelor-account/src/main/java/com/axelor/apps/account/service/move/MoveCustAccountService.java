@@ -22,6 +22,7 @@ import com.axelor.apps.account.db.Move;
 import com.axelor.apps.account.db.MoveLine;
 import com.axelor.apps.account.service.AccountCustomerService;
 import com.axelor.apps.account.service.AccountingService;
+import com.axelor.apps.account.service.PartnerBalanceSnapshot;
 import com.axelor.apps.base.AxelorException;
 import com.axelor.apps.base.db.Company;
 import com.axelor.apps.base.db.Partner;
@@ -70,6 +71,37 @@ public class MoveCustAccountService {
     }
   }
 
+  /**
+   * Get the contribution of the move lines to the partner balances, before the move is changed
+   *
+   * @param move
+   * @return The snapshot to give to {@link #updateCustomerAccount(Move, PartnerBalanceSnapshot)}
+   */
+  public PartnerBalanceSnapshot getPartnerBalanceSnapshot(Move move) {
+
+    return accountCustomerService.getPartnerBalanceSnapshot(
+        move.getMoveLineList(), move.getCompany());
+  }
+
+  /**
+   * Update the partner balances linked to the move, by the change of the contribution of its lines
+   * since the snapshot
+   *
+   * @param move
+   * @param partnerBalanceSnapshot
+   * @throws AxelorException
+   */
+  @Transactional(rollbackOn = {Exception.class})
+  public void updateCustomerAccount(Move move, PartnerBalanceSnapshot partnerBalanceSnapshot)
+      throws AxelorException {
+
+    if (AccountingService.getUpdateCustomerAccount()) {
+      accountCustomerService.updatePartnerAccountingSituation(partnerBalanceSnapshot);
+    } else {
+      this.flagPartners(this.getPartnerOfMove(move), move.getCompany());
+    }
+  }
+
   /**
    * Get the distinct partners of an account move that impact the partner balances
    *
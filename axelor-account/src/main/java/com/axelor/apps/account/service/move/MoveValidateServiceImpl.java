@@ -41,6 +41,7 @@ import com.axelor.apps.account.db.repo.JournalTypeRepository;
 import com.axelor.apps.account.db.repo.MoveLineRepository;
 import com.axelor.apps.account.db.repo.MoveRepository;
 import com.axelor.apps.account.exception.AccountExceptionMessage;
+import com.axelor.apps.account.service.PartnerBalanceSnapshot;
 import com.axelor.apps.account.service.TaxAccountService;
 import com.axelor.apps.account.service.app.AppAccountService;
 import com.axelor.apps.account.service.config.AccountConfigService;
@@ -70,6 +71,7 @@ import com.axelor.i18n.I18n;
 import com.axelor.meta.MetaStore;
 import com.axelor.meta.schema.views.Selection.Option;
 import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import com.google.inject.persist.Transactional;
 import com.google.inject.servlet.RequestScoped;
@@ -80,8 +82,11 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -94,6 +99,7 @@ import org.slf4j.LoggerFactory;
 @RequestScoped
 public class MoveValidateServiceImpl implements MoveValidateService {
   private final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+  protected static final int ACCOUNTING_MULTIPLE_CHUNK_SIZE = 500;
   protected int jpaLimit = 20;
   protected MoveLineControlService moveLineControlService;
   protected MoveLineToolService moveLineToolService;
@@ -447,6 +453,8 @@ public class MoveValidateServiceImpl implements MoveValidateService {
     this.checkPreconditions(move);
 
     log.debug("Precondition check of move {} OK", move.getReference());
+    PartnerBalanceSnapshot partnerBalanceSnapshot =
+        updateCustomerAccount ? moveCustAccountService.getPartnerBalanceSnapshot(move) : null;
     boolean dayBookMode =
         accountConfigService.getAccountConfig(move.getCompany()).getAccountingDaybook()
             && move.getJournal().getAllowAccountingDaybook();
@@ -489,7 +497,7 @@ public class MoveValidateServiceImpl implements MoveValidateService {
     moveRepository.save(move);
 
     if (updateCustomerAccount) {
-      moveCustAccountService.updateCustomerAccount(move);
+      moveCustAccountService.updateCustomerAccount(move, partnerBalanceSnapshot);
     }
   }
 
@@ -677,48 +685,150 @@ public class MoveValidateServiceImpl implements MoveValidateService {
 
   @Override
   public String accountingMultiple(List<Integer> moveIds) {
-    String errors = "";
     if (moveIds == null) {
-      return errors;
+      return "";
     }
+
+    List<String> errorReferenceList = new ArrayList<>();
+    try {
+      this.accountingMultiple(
+          this.getMoveIdsByAccountingGroup(
+              moveIds.stream().map(Integer::longValue).collect(Collectors.toList())),
+          false,
+          errorReferenceList);
+    } catch (AxelorException e) {
+      TraceBackService.trace(e);
+    }
+
+    return String.join(", ", errorReferenceList);
+  }
+
+  public void accountingMultiple(Query<Move> moveListQuery) throws AxelorException {
+    List<Long> moveIdList =
+        moveListQuery.select("id").fetch(0, 0).stream()
+            .map(values -> (Long) values.get("id"))
+            .collect(Collectors.toList());
+
+    this.accountingMultiple(moveIdList, true, new ArrayList<>());
+  }
+
+  /**
+   * Order the moves by company, journal, period and date, so that moves sharing the same
+   * configuration and sequence are accounted one after the other.
+   */
+  protected List<Long> getMoveIdsByAccountingGroup(List<Long> moveIdList) {
+    List<Object[]> rowList = new ArrayList<>();
+
+    for (List<Long> idList : Lists.partition(moveIdList, ACCOUNTING_MULTIPLE_CHUNK_SIZE)) {
+      rowList.addAll(
+          JPA.em()
+              .createQuery(
+                  "SELECT self.id, company.id, journal.id, period.id, self.date "
+                      + "FROM Move self "
+                      + "LEFT JOIN self.company company "
+                      + "LEFT JOIN self.journal journal "
+                      + "LEFT JOIN self.period period "
+                      + "WHERE self.id IN (:ids)",
+                  Object[].class)
+              .setParameter("ids", idList)
+              .getResultList());
+    }
+
+    Comparator<Object[]> nullsLast = Comparator.nullsLast(Comparator.naturalOrder());
+    return rowList.stream()
+        .sorted(
+            Comparator.comparing((Object[] row) -> (Long) row[1], nullsLast)
+                .thenComparing(row -> (Long) row[2], nullsLast)
+                .thenComparing(row -> (Long) row[3], nullsLast)
+                .thenComparing(row -> (LocalDate) row[4], nullsLast)
+                .thenComparing(row -> (Long) row[0]))
+        .map(row -> (Long) row[0])
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Account the moves one by one, each one in its own transaction. The period authorization is
+   * checked once by period and the partner balances are updated once by partner at the end, instead
+   * of after each move.
+   *
+   * @param moveIdList The ids of the moves to account, in the order to account them
+   * @param stopOnError Whether to stop on the first error, or to trace it and continue
+   * @param errorReferenceList Filled with the references of the moves that could not be accounted
+   */
+  protected void accountingMultiple(
+      List<Long> moveIdList, boolean stopOnError, List<String> errorReferenceList)
+      throws AxelorException {
+    Map<Long, Set<Long>> partnerIdsByCompanyId = new LinkedHashMap<>();
+    Map<Long, Boolean> authorizedPeriodMap = new HashMap<>();
     User user = userService.getUser();
     int i = 0;
-    for (Integer moveId : moveIds) {
-      Move move = moveRepository.find(moveId.longValue());
-      try {
-        if (!periodCheckService.isAuthorizedToAccountOnPeriod(move, user)) {
-          throw new AxelorException(
-              TraceBackRepository.CATEGORY_CONFIGURATION_ERROR,
-              String.format(
-                  I18n.get(AccountExceptionMessage.ACCOUNT_PERIOD_TEMPORARILY_CLOSED),
-                  move.getReference()));
-        }
-        if (move.getStatusSelect() != MoveRepository.STATUS_ACCOUNTED
-            && move.getStatusSelect() != MoveRepository.STATUS_CANCELED) {
-          accounting(move);
-        }
-      } catch (Exception e) {
-        TraceBackService.trace(e);
-        if (errors.length() > 0) {
-          errors = errors.concat(", ");
-        }
-        errors = errors.concat(move.getReference());
-      } finally {
-        if (++i % jpaLimit == 0) {
-          JPA.clear();
+
+    try {
+      for (Long moveId : moveIdList) {
+        Move move = moveRepository.find(moveId);
+        try {
+          if (!this.isAuthorizedToAccountOnPeriod(move, user, authorizedPeriodMap)) {
+            throw new AxelorException(
+                TraceBackRepository.CATEGORY_CONFIGURATION_ERROR,
+                String.format(
+                    I18n.get(AccountExceptionMessage.ACCOUNT_PERIOD_TEMPORARILY_CLOSED),
+                    move.getReference()));
+          }
+          if (move.getStatusSelect() != MoveRepository.STATUS_ACCOUNTED
+              && move.getStatusSelect() != MoveRepository.STATUS_CANCELED) {
+            accounting(move, false);
+            partnerIdsByCompanyId
+                .computeIfAbsent(move.getCompany().getId(), key -> new LinkedHashSet<>())
+                .addAll(
+                    moveCustAccountService.getPartnerOfMove(move).stream()
+                        .map(Partner::getId)
+                        .collect(Collectors.toList()));
+          }
+        } catch (Exception e) {
+          if (stopOnError) {
+            throw e;
+          }
+          TraceBackService.trace(e);
+          errorReferenceList.add(move.getReference());
+        } finally {
+          if (++i % jpaLimit == 0) {
+            JPA.clear();
+          }
         }
       }
+    } finally {
+      JPA.clear();
+      this.updateCustomerAccounts(partnerIdsByCompanyId);
     }
-
-    return errors;
   }
 
-  public void accountingMultiple(Query<Move> moveListQuery) throws AxelorException {
-    Move move;
+  protected boolean isAuthorizedToAccountOnPeriod(
+      Move move, User user, Map<Long, Boolean> authorizedPeriodMap) throws AxelorException {
+    if (move.getCompany() == null
+        || move.getPeriod() == null
+        || move.getFunctionalOriginSelect() == MoveRepository.FUNCTIONAL_ORIGIN_OPENING
+        || move.getFunctionalOriginSelect() == MoveRepository.FUNCTIONAL_ORIGIN_CLOSURE) {
+      return periodCheckService.isAuthorizedToAccountOnPeriod(move, user);
+    }
 
-    while (!((move = moveListQuery.fetchOne()) == null)) {
-      accounting(move);
-      JPA.clear();
+    Boolean authorized = authorizedPeriodMap.get(move.getPeriod().getId());
+    if (authorized == null) {
+      authorized = periodCheckService.isAuthorizedToAccountOnPeriod(move.getPeriod(), user);
+      authorizedPeriodMap.put(move.getPeriod().getId(), authorized);
+    }
+    return authorized;
+  }
+
+  protected void updateCustomerAccounts(Map<Long, Set<Long>> partnerIdsByCompanyId)
+      throws AxelorException {
+    for (Map.Entry<Long, Set<Long>> entry : partnerIdsByCompanyId.entrySet()) {
+      for (List<Long> partnerIdList :
+          Lists.partition(new ArrayList<>(entry.getValue()), jpaLimit)) {
+        moveCustAccountService.updateCustomerAccount(
+            partnerIdList.stream().map(partnerRepository::find).collect(Collectors.toList()),
+            JPA.find(Company.class, entry.getKey()));
+        JPA.clear();
+      }
     }
   }
 
@@ -32,6 +32,7 @@ import com.axelor.apps.account.db.repo.MoveLineRepository;
 import com.axelor.apps.account.db.repo.MoveRepository;
 import com.axelor.apps.account.db.repo.ReconcileRepository;
 import com.axelor.apps.account.exception.AccountExceptionMessage;
+import com.axelor.apps.account.service.PartnerBalanceSnapshot;
 import com.axelor.apps.account.service.config.AccountConfigService;
 import com.axelor.apps.account.service.invoice.AdvancePaymentMoveLineCreateService;
 import com.axelor.apps.account.service.invoice.InvoiceTermToolService;
@@ -280,6 +281,8 @@ public class ReconcileServiceImpl implements ReconcileService {
     reconcileCheckService.reconcilePreconditions(
         reconcile, updateInvoicePayments, updateInvoiceTerm);
 
+    PartnerBalanceSnapshot partnerBalanceSnapshot =
+        reconcileToolService.getPartnerBalanceSnapshot(reconcile);
     MoveLine debitMoveLine = reconcile.getDebitMoveLine();
     MoveLine creditMoveLine = reconcile.getCreditMoveLine();
 
@@ -303,7 +306,7 @@ public class ReconcileServiceImpl implements ReconcileService {
 
     reconcileSequenceService.setSequence(reconcile);
 
-    reconcileToolService.updatePartnerAccountingSituation(reconcile);
+    reconcileToolService.updatePartnerAccountingSituation(reconcile, partnerBalanceSnapshot);
     reconcileToolService.updateInvoiceCompanyInTaxTotalRemaining(reconcile);
     this.setEffectiveDate(reconcile);
     this.updatePaymentTax(reconcile);
@@ -19,6 +19,7 @@
 package com.axelor.apps.account.service.reconcile;
 
 import com.axelor.apps.account.db.Reconcile;
+import com.axelor.apps.account.service.PartnerBalanceSnapshot;
 import com.axelor.apps.base.AxelorException;
 import com.axelor.apps.base.db.Partner;
 import java.util.List;
@@ -27,6 +28,11 @@ public interface ReconcileToolService {
 
   void updatePartnerAccountingSituation(Reconcile reconcile) throws AxelorException;
 
+  PartnerBalanceSnapshot getPartnerBalanceSnapshot(Reconcile reconcile);
+
+  void updatePartnerAccountingSituation(
+      Reconcile reconcile, PartnerBalanceSnapshot partnerBalanceSnapshot) throws AxelorException;
+
   List<Partner> getPartners(Reconcile reconcile);
 
   void updateInvoiceCompanyInTaxTotalRemaining(Reconcile reconcile) throws AxelorException;
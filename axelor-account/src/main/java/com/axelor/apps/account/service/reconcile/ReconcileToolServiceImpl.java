@@ -28,6 +28,7 @@ import com.axelor.apps.account.db.repo.InvoicePaymentRepository;
 import com.axelor.apps.account.db.repo.InvoiceTermPaymentRepository;
 import com.axelor.apps.account.service.AccountCustomerService;
 import com.axelor.apps.account.service.AccountingService;
+import com.axelor.apps.account.service.PartnerBalanceSnapshot;
 import com.axelor.apps.account.service.invoice.InvoiceTermService;
 import com.axelor.apps.account.service.move.MoveToolService;
 import com.axelor.apps.base.AxelorException;
@@ -85,6 +86,30 @@ public class ReconcileToolServiceImpl implements ReconcileToolService {
     }
   }
 
+  @Override
+  public PartnerBalanceSnapshot getPartnerBalanceSnapshot(Reconcile reconcile) {
+    return accountCustomerService.getPartnerBalanceSnapshot(
+        List.of(reconcile.getDebitMoveLine(), reconcile.getCreditMoveLine()),
+        reconcile.getDebitMoveLine().getMove().getCompany());
+  }
+
+  @Override
+  public void updatePartnerAccountingSituation(
+      Reconcile reconcile, PartnerBalanceSnapshot partnerBalanceSnapshot) throws AxelorException {
+
+    List<Partner> partnerList = this.getPartners(reconcile);
+
+    if (partnerList != null && !partnerList.isEmpty()) {
+
+      if (AccountingService.getUpdateCustomerAccount()) {
+        accountCustomerService.updatePartnerAccountingSituation(partnerBalanceSnapshot);
+      } else {
+        accountCustomerService.flagPartners(
+            partnerList, reconcile.getDebitMoveLine().getMove().getCompany());
+      }
+    }
+  }
+
   @Override
   public List<Partner> getPartners(Reconcile reconcile) {
 
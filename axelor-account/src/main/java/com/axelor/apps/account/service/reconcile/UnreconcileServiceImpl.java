@@ -27,6 +27,7 @@ import com.axelor.apps.account.db.repo.InvoicePaymentRepository;
 import com.axelor.apps.account.db.repo.InvoiceTermPaymentRepository;
 import com.axelor.apps.account.db.repo.ReconcileRepository;
 import com.axelor.apps.account.db.repo.SubrogationReleaseRepository;
+import com.axelor.apps.account.service.PartnerBalanceSnapshot;
 import com.axelor.apps.account.service.SubrogationReleaseWorkflowService;
 import com.axelor.apps.account.service.move.PaymentMoveLineDistributionService;
 import com.axelor.apps.account.service.moveline.MoveLineTaxService;
@@ -100,6 +101,8 @@ public class UnreconcileServiceImpl implements UnreconcileService {
     MoveLine debitMoveLine = reconcile.getDebitMoveLine();
     MoveLine creditMoveLine = reconcile.getCreditMoveLine();
     Invoice invoice = debitMoveLine.getMove().getInvoice();
+    PartnerBalanceSnapshot partnerBalanceSnapshot =
+        reconcileToolService.getPartnerBalanceSnapshot(reconcile);
 
     // Change the state
     reconcile.setStatusSelect(ReconcileRepository.STATUS_CANCELED);
@@ -112,7 +115,7 @@ public class UnreconcileServiceImpl implements UnreconcileService {
     reconcileRepository.save(reconcile);
 
     // Update amount remaining on invoice or refund
-    reconcileToolService.updatePartnerAccountingSituation(reconcile);
+    reconcileToolService.updatePartnerAccountingSituation(reconcile, partnerBalanceSnapshot);
     reconcileToolService.updateInvoiceCompanyInTaxTotalRemaining(reconcile);
     reconcileToolService.updateInvoiceTermsAmountRemaining(reconcile);
     this.updateInvoicePaymentsCanceled(reconcile);
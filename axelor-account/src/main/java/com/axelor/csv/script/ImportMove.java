@@ -26,10 +26,10 @@ import com.axelor.apps.account.db.MoveLine;
 import com.axelor.apps.account.db.repo.AccountRepository;
 import com.axelor.apps.account.db.repo.FECImportRepository;
 import com.axelor.apps.account.db.repo.JournalRepository;
-import com.axelor.apps.account.db.repo.MoveLineRepository;
 import com.axelor.apps.account.db.repo.MoveRepository;
 import com.axelor.apps.account.exception.AccountExceptionMessage;
 import com.axelor.apps.account.service.app.AppAccountService;
+import com.axelor.apps.account.service.fecimport.FECImportReferenceCache;
 import com.axelor.apps.account.service.move.MoveValidateService;
 import com.axelor.apps.account.service.moveline.MoveLineToolService;
 import com.axelor.apps.base.AxelorException;
@@ -38,6 +38,7 @@ import com.axelor.apps.base.db.Partner;
 import com.axelor.apps.base.db.Period;
 import com.axelor.apps.base.db.repo.CompanyRepository;
 import com.axelor.apps.base.db.repo.CurrencyRepository;
+import com.axelor.apps.base.db.repo.PeriodRepository;
 import com.axelor.apps.base.db.repo.TraceBackRepository;
 import com.axelor.apps.base.db.repo.YearRepository;
 import com.axelor.apps.base.service.PeriodService;
@@ -63,7 +64,6 @@ import org.apache.commons.collections.CollectionUtils;
 public class ImportMove {
 
   @Inject private MoveRepository moveRepository;
-  @Inject private MoveLineRepository moveLineRepo;
   @Inject private MoveValidateService moveValidateService;
   @Inject private MoveLineToolService moveLineToolService;
   @Inject private AppAccountService appAccountService;
@@ -71,6 +71,7 @@ public class ImportMove {
   @Inject private FECImportRepository fecImportRepository;
 
   private String lastImportDate;
+  private FECImportReferenceCache referenceCache;
 
   @Transactional(rollbackOn = {Exception.class})
   public Object importFECMove(Object bean, Map<String, Object> values) throws AxelorException {
@@ -101,26 +102,20 @@ public class ImportMove {
                 .format(DateTimeFormatter.ofPattern("yyyyMMddHH:mm:ss"));
       }
       String importReference = String.format("#%s-%s", csvReference, lastImportDate);
-
-      MoveLine mvLine =
-          moveLineRepo
-              .all()
-              .filter("self.name LIKE '" + importReference + "-%'")
-              .order("-counter")
-              .fetchOne();
-      if (mvLine != null) {
-        int counter = mvLine.getCounter() + 1;
-        moveLine.setCounter(counter);
-      }
+      FECImportReferenceCache referenceCache = getReferenceCache(values);
+      moveLine.setCounter(referenceCache.nextMoveLineCounter(importReference));
 
       if (values.get("EcritureDate") != null) {
         moveLine.setDate(parseDate(values.get("EcritureDate").toString()));
       }
 
-      Period period =
-          periodService.getPeriod(moveLine.getDate(), company, YearRepository.TYPE_FISCAL);
+      Period period = getPeriod(referenceCache, moveLine.getDate(), company);
 
-      Move move = moveRepository.all().filter("self.reference = ?", importReference).fetchOne();
+      Move move = null;
+      Long moveId = referenceCache.getMoveId(importReference);
+      if (moveId != null) {
+        move = moveRepository.find(moveId);
+      }
       if (move == null) {
         move = new Move();
         move.setFecImport(fecImport);
@@ -150,21 +145,20 @@ public class ImportMove {
         move.setPeriod(period);
 
         if (values.get("Idevise") != null) {
+          Long currencyId = referenceCache.getCurrencyId(values.get("Idevise").toString());
           move.setCurrency(
-              Beans.get(CurrencyRepository.class).findByCode(values.get("Idevise").toString()));
+              currencyId != null ? Beans.get(CurrencyRepository.class).find(currencyId) : null);
           move.setCurrencyCode(values.get("Idevise").toString());
         }
 
         Journal journal = null;
         if (values.get("JournalCode") != null) {
-          journal =
-              Beans.get(JournalRepository.class)
-                  .all()
-                  .filter(
-                      "self.code = ?1 AND self.company.id = ?2",
-                      values.get("JournalCode").toString(),
-                      move.getCompany().getId())
-                  .fetchOne();
+          Long journalId =
+              referenceCache.getJournalId(
+                  move.getCompany().getId(), values.get("JournalCode").toString());
+          if (journalId != null) {
+            journal = Beans.get(JournalRepository.class).find(journalId);
+          }
           if (journal == null) {
             throw new AxelorException(
                 fecImport,
@@ -191,17 +185,17 @@ public class ImportMove {
           }
         }
 
-        moveRepository.save(move);
+        move = moveRepository.save(move);
+        referenceCache.putMoveId(importReference, move.getId());
       }
       if (values.get("CompteNum") != null) {
-        Account account =
-            Beans.get(AccountRepository.class)
-                .all()
-                .filter(
-                    "self.code = ?1 AND self.company.id = ?2",
-                    values.get("CompteNum").toString(),
-                    move.getCompany().getId())
-                .fetchOne();
+        Account account = null;
+        Long accountId =
+            referenceCache.getAccountId(
+                move.getCompany().getId(), values.get("CompteNum").toString());
+        if (accountId != null) {
+          account = Beans.get(AccountRepository.class).find(accountId);
+        }
         if (account == null) {
           throw new AxelorException(
               fecImport,
@@ -244,6 +238,33 @@ public class ImportMove {
     return moveLine;
   }
 
+  protected FECImportReferenceCache getReferenceCache(Map<String, Object> values) {
+    Object contextCache = values.get(FECImportReferenceCache.CONTEXT_KEY);
+    if (contextCache instanceof FECImportReferenceCache) {
+      return (FECImportReferenceCache) contextCache;
+    }
+    if (referenceCache == null) {
+      referenceCache = new FECImportReferenceCache();
+    }
+    return referenceCache;
+  }
+
+  protected Period getPeriod(
+      FECImportReferenceCache referenceCache, LocalDate date, Company company) {
+    if (date == null || company == null) {
+      return periodService.getPeriod(date, company, YearRepository.TYPE_FISCAL);
+    }
+    Long periodId = referenceCache.getPeriodId(company.getId(), date);
+    if (periodId != null) {
+      return Beans.get(PeriodRepository.class).find(periodId);
+    }
+    Period period = periodService.getPeriod(date, company, YearRepository.TYPE_FISCAL);
+    if (period != null) {
+      referenceCache.putPeriodId(company.getId(), date, period.getId());
+    }
+    return period;
+  }
+
   protected void setMovePartner(Move move, MoveLine moveLine) {
     List<Partner> partnerList =
         move.getMoveLineList().stream()
@@ -0,0 +1,61 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.base.db.repo;
+
+import com.axelor.apps.base.service.app.AppConfigSnapshotService;
+import com.axelor.db.JPA;
+import com.axelor.inject.Beans;
+import com.axelor.studio.db.AppBase;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import org.hibernate.engine.spi.SessionImplementor;
+
+/**
+ * Invalidate the configuration snapshot when the base app is modified, whatever saves it (forms,
+ * web services, imports or services).
+ *
+ * <p>The snapshot is invalidated once the transaction is committed, so that it can not be reloaded
+ * with the values of the previous configuration in between.
+ */
+public class AppBaseListener {
+
+  private static final ThreadLocal<Boolean> INVALIDATION_REGISTERED = new ThreadLocal<>();
+
+  @PostPersist
+  @PostUpdate
+  @PostRemove
+  protected void onChange(AppBase appBase) {
+    if (Boolean.TRUE.equals(INVALIDATION_REGISTERED.get())) {
+      return;
+    }
+
+    INVALIDATION_REGISTERED.set(true);
+    JPA.em()
+        .unwrap(SessionImplementor.class)
+        .getActionQueue()
+        .registerProcess(
+            (success, session) -> {
+              INVALIDATION_REGISTERED.remove();
+              if (success) {
+                Beans.get(AppConfigSnapshotService.class).invalidate();
+              }
+            });
+  }
+}
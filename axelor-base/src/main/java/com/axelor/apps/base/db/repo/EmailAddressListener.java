@@ -0,0 +1,47 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.base.db.repo;
+
+import com.axelor.common.StringUtils;
+import com.axelor.message.db.EmailAddress;
+import java.util.Locale;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+
+public class EmailAddressListener {
+
+  @PrePersist
+  @PreUpdate
+  protected void computeDomainName(EmailAddress emailAddress) {
+    if (emailAddress != null) {
+      emailAddress.setDomainName(computeDomainName(emailAddress.getAddress()));
+    }
+  }
+
+  /**
+   * Normalized domain of an email address: the lower-cased part after the first '@', or null if the
+   * address has none. Keep in sync with the backfill query of EmailAddressDomainServiceImpl.
+   */
+  public static String computeDomainName(String address) {
+    if (StringUtils.isBlank(address) || !address.contains("@")) {
+      return null;
+    }
+    return address.substring(address.indexOf('@') + 1).toLowerCase(Locale.ROOT);
+  }
+}
@@ -83,6 +83,10 @@ public class ICalendarEventManagementRepository extends ICalendarEventRepository
     } catch (Exception e) {
       TraceBackService.trace(e);
     }
+    // the next synchronization must not skip the calendar as unchanged
+    if (entity.getCalendar() != null) {
+      entity.getCalendar().setRemoteCTag(null);
+    }
     super.remove(entity);
   }
 }
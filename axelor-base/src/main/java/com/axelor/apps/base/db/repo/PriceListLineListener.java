@@ -0,0 +1,56 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.base.db.repo;
+
+import com.axelor.apps.base.db.PriceList;
+import com.axelor.apps.base.db.PriceListLine;
+import com.axelor.apps.base.service.PriceListLineIndexService;
+import com.axelor.db.JPA;
+import com.axelor.inject.Beans;
+import javax.persistence.PrePersist;
+import javax.persistence.PreRemove;
+import javax.persistence.PreUpdate;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+
+/**
+ * Invalidate the index of the price list lines once the transaction saving or removing a line is
+ * committed, whatever saves it (forms, imports or services). The previous price list of a moved
+ * line is invalidated as well.
+ */
+public class PriceListLineListener {
+
+  @PrePersist
+  @PreUpdate
+  @PreRemove
+  protected void onChange(PriceListLine priceListLine) {
+    PriceListLineIndexService priceListLineIndexService =
+        Beans.get(PriceListLineIndexService.class);
+    priceListLineIndexService.invalidateOnCommit(priceListLine.getPriceList());
+
+    EntityEntry entry =
+        JPA.em().unwrap(SessionImplementor.class).getPersistenceContext().getEntry(priceListLine);
+    if (entry != null && entry.getLoadedState() != null) {
+      Object previousPriceList = entry.getLoadedValue("priceList");
+      if (previousPriceList instanceof PriceList) {
+        priceListLineIndexService.invalidateOnCommit((PriceList) previousPriceList);
+      }
+    }
+  }
+}
@@ -40,6 +40,7 @@ import com.axelor.utils.helpers.QueryBuilder;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import com.google.inject.persist.Transactional;
 import java.io.File;
@@ -61,11 +62,16 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 import javax.xml.parsers.ParserConfigurationException;
 import net.fortuna.ical4j.connector.FailedOperationException;
 import net.fortuna.ical4j.connector.ObjectStoreException;
@@ -122,6 +128,8 @@ public class ICalendarService {
 
   protected static UidGenerator generator;
 
+  protected static final int SYNC_CHUNK_SIZE = 500;
+
   @Inject protected ICalendarUserRepository iCalendarUserRepository;
 
   @Inject protected ICalendarEventRepository iEventRepo;
@@ -166,7 +174,7 @@ public class ICalendarService {
    * @return an {@link Uid} instance
    * @throws SocketException if unable to determine host name
    */
-  public static Uid nextUid() throws SocketException {
+  public static synchronized Uid nextUid() throws SocketException {
     if (generator == null) {
       HostInfo info = new SimpleHostInfo("localhost");
       try {
@@ -268,8 +276,15 @@ public class ICalendarService {
       calendar.setName(cal.getProperty(X_WR_CALNAME).getValue());
     }
 
+    List<VEvent> vEvents = new ArrayList<>();
     for (Object item : cal.getComponents(Component.VEVENT)) {
-      findOrCreateEvent((VEvent) item, calendar);
+      vEvents.add((VEvent) item);
+    }
+
+    Map<String, ICalendarEvent> eventMap = getEventsByUid(getUids(vEvents));
+    Map<String, ICalendarUser> organizerMap = getOrganizersByEmail(vEvents);
+    for (VEvent vEvent : vEvents) {
+      findOrCreateEvent(vEvent, calendar, eventMap, organizerMap);
     }
   }
 
@@ -280,18 +295,82 @@ public class ICalendarService {
     return null;
   }
 
+  protected List<String> getUids(Collection<VEvent> vEvents) {
+    return vEvents.stream()
+        .map(vEvent -> vEvent.getUid().getValue())
+        .distinct()
+        .collect(Collectors.toList());
+  }
+
+  /** Load at once the existing events matching the given uids, by uid. */
+  protected Map<String, ICalendarEvent> getEventsByUid(List<String> uids) {
+    Map<String, ICalendarEvent> eventMap = new HashMap<>();
+
+    for (List<String> uidChunk : Lists.partition(uids, SYNC_CHUNK_SIZE)) {
+      iEventRepo
+          .all()
+          .filter("self.uid IN :uids")
+          .bind("uids", uidChunk)
+          .fetch()
+          .forEach(event -> eventMap.put(event.getUid(), event));
+    }
+
+    return eventMap;
+  }
+
+  /** Load at once the existing calendar users matching the organizers of the given events. */
+  protected Map<String, ICalendarUser> getOrganizersByEmail(Collection<VEvent> vEvents) {
+    Map<String, ICalendarUser> organizerMap = new HashMap<>();
+    List<String> emails =
+        vEvents.stream()
+            .map(VEvent::getOrganizer)
+            .filter(organizer -> organizer != null && organizer.getCalAddress() != null)
+            .map(organizer -> mailto(organizer.getCalAddress().toString(), true))
+            .distinct()
+            .collect(Collectors.toList());
+
+    for (List<String> emailChunk : Lists.partition(emails, SYNC_CHUNK_SIZE)) {
+      iCalendarUserRepository
+          .all()
+          .filter("self.email IN :emails")
+          .bind("emails", emailChunk)
+          .fetch()
+          .forEach(user -> organizerMap.putIfAbsent(user.getEmail(), user));
+    }
+
+    return organizerMap;
+  }
+
   @Transactional
   protected ICalendarEvent findOrCreateEvent(VEvent vEvent, ICalendar calendar) {
+    List<VEvent> vEvents = Collections.singletonList(vEvent);
+    return findOrCreateEvent(
+        vEvent, calendar, getEventsByUid(getUids(vEvents)), getOrganizersByEmail(vEvents));
+  }
+
+  /**
+   * Update or create the event matching the given {@link VEvent}.
+   *
+   * @param eventMap the existing events by uid, completed with the created event
+   * @param organizerMap the existing calendar users by email, completed with the created organizer
+   */
+  @Transactional
+  protected ICalendarEvent findOrCreateEvent(
+      VEvent vEvent,
+      ICalendar calendar,
+      Map<String, ICalendarEvent> eventMap,
+      Map<String, ICalendarUser> organizerMap) {
 
     String uid = vEvent.getUid().getValue();
     DtStart dtStart = vEvent.getStartDate();
     DtEnd dtEnd = vEvent.getEndDate();
 
-    ICalendarEvent event = iEventRepo.findByUid(uid);
+    ICalendarEvent event = eventMap.get(uid);
     if (event == null) {
       event = ICalendarEventFactory.getNewIcalEvent(calendar);
       event.setUid(uid);
       event.setCalendar(calendar);
+      eventMap.put(uid, event);
     }
 
     ZoneId zoneId = OffsetDateTime.now().getOffset();
@@ -333,14 +412,15 @@ public class ICalendarService {
         event.setSubjectTeam(I18n.get("Busy"));
       }
     }
-    ICalendarUser organizer = findOrCreateUser(vEvent.getOrganizer(), event);
+    ICalendarUser organizer = findOrCreateUser(vEvent.getOrganizer(), event, organizerMap);
     if (organizer != null) {
       event.setOrganizer(organizer);
-      iCalendarUserRepository.save(organizer);
+      organizer = iCalendarUserRepository.save(organizer);
+      organizerMap.putIfAbsent(organizer.getEmail(), organizer);
     }
 
     for (Object item : vEvent.getProperties(Property.ATTENDEE)) {
-      ICalendarUser attendee = findOrCreateUser((Property) item, event);
+      ICalendarUser attendee = findOrCreateUser((Property) item, event, organizerMap);
       if (attendee != null) {
         event.addAttendee(attendee);
         iCalendarUserRepository.save(attendee);
@@ -390,6 +470,27 @@ public class ICalendarService {
   }
 
   protected ICalendarUser findOrCreateUser(Property source, ICalendarEvent event) {
+    Map<String, ICalendarUser> organizerMap = new HashMap<>();
+    if (source instanceof Organizer) {
+      URI addr = ((Organizer) source).getCalAddress();
+      if (addr != null) {
+        String email = mailto(addr.toString(), true);
+        ICalendarUser user =
+            iCalendarUserRepository.all().filter("self.email = ?1", email).fetchOne();
+        if (user != null) {
+          organizerMap.put(email, user);
+        }
+      }
+    }
+    return findOrCreateUser(source, event, organizerMap);
+  }
+
+  /**
+   * Find or create the calendar user of an organizer or attendee. Organizers are looked up in the
+   * given map, attendees among the attendees already linked to the event.
+   */
+  protected ICalendarUser findOrCreateUser(
+      Property source, ICalendarEvent event, Map<String, ICalendarUser> organizerMap) {
     URI addr = null;
     if (source instanceof Organizer) {
       addr = ((Organizer) source).getCalAddress();
@@ -404,13 +505,13 @@ public class ICalendarService {
     String email = mailto(addr.toString(), true);
     ICalendarUser user = null;
     if (source instanceof Organizer) {
-      user = iCalendarUserRepository.all().filter("self.email = ?1", email).fetchOne();
-    } else {
+      user = organizerMap.get(email);
+    } else if (event.getId() != null && event.getAttendees() != null) {
       user =
-          iCalendarUserRepository
-              .all()
-              .filter("self.email = ?1 AND self.event.id = ?2", email, event.getId())
-              .fetchOne();
+          event.getAttendees().stream()
+              .filter(attendee -> Objects.equals(email, attendee.getEmail()))
+              .findFirst()
+              .orElse(null);
     }
     if (user == null) {
       user = new ICalendarUser();
@@ -640,7 +741,22 @@ public class ICalendarService {
           && store.connect(calendar.getLogin(), password)) {
         List<CalDavCalendarCollection> colList = store.getCollections();
         if (!colList.isEmpty()) {
-          calendar = doSync(calendar, colList.get(0), startDate, endDate);
+          CalDavCalendarCollection collection = colList.get(0);
+          String remoteCTag = getCollectionTag(collection);
+          boolean incremental = startDate != null && endDate != null;
+
+          // nothing changed on either side since the last synchronization
+          if (incremental
+              && remoteCTag != null
+              && remoteCTag.equals(calendar.getRemoteCTag())
+              && !hasLocalChanges(calendar)) {
+            return;
+          }
+
+          calendar = doSync(calendar, collection, startDate, endDate);
+          // The tag read before the synchronization is kept so that remote changes made meanwhile
+          // are not missed, our own updates only cost one more download.
+          calendar.setRemoteCTag(remoteCTag);
           calendar.setLastSynchronizationDateT(
               Beans.get(AppBaseService.class).getTodayDateTime().toLocalDateTime());
           Beans.get(ICalendarRepository.class).save(calendar);
@@ -657,6 +773,37 @@ public class ICalendarService {
     }
   }
 
+  /**
+   * Get the tag of the remote collection, which changes whenever one of its events changes.
+   *
+   * @return the tag, or null if the server does not provide it
+   */
+  protected String getCollectionTag(CalDavCalendarCollection collection) {
+    try {
+      return collection.getCTag();
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  /**
+   * Check if an event of the calendar has been created, modified or deleted since the last
+   * synchronization. Deleted events are archived, so they are counted here too, and the removed
+   * ones clear the remote tag of their calendar.
+   */
+  protected boolean hasLocalChanges(ICalendar calendar) {
+    LocalDateTime lastSynchro = calendar.getLastSynchronizationDateT();
+    return lastSynchro == null
+        || iEventRepo
+                .all()
+                .filter(
+                    "self.calendar = ?1 AND COALESCE(self.updatedOn, self.createdOn) > ?2",
+                    calendar,
+                    lastSynchro)
+                .count()
+            > 0;
+  }
+
   @Transactional(rollbackOn = {Exception.class})
   protected ICalendar doSync(
       ICalendar calendar,
@@ -736,8 +883,11 @@ public class ICalendarService {
 
     // Process remaining modified remote events, find and update or create a
     // corresponding ICalendarEvent
-    for (Map.Entry<String, VEvent> entry : modifiedRemoteEvents.entrySet()) {
-      findOrCreateEvent(entry.getValue(), calendar);
+    Map<String, ICalendarEvent> eventMap =
+        getEventsByUid(new ArrayList<>(modifiedRemoteEvents.keySet()));
+    Map<String, ICalendarUser> organizerMap = getOrganizersByEmail(modifiedRemoteEvents.values());
+    for (VEvent vEvent : modifiedRemoteEvents.values()) {
+      findOrCreateEvent(vEvent, calendar, eventMap, organizerMap);
     }
 
     // update remote events
@@ -140,6 +140,8 @@ import com.axelor.apps.base.service.PeriodService;
 import com.axelor.apps.base.service.PeriodServiceImpl;
 import com.axelor.apps.base.service.PfxCertificateService;
 import com.axelor.apps.base.service.PfxCertificateServiceImpl;
+import com.axelor.apps.base.service.PriceListLineIndexService;
+import com.axelor.apps.base.service.PriceListLineIndexServiceImpl;
 import com.axelor.apps.base.service.PricedOrderDomainService;
 import com.axelor.apps.base.service.PricedOrderDomainServiceImpl;
 import com.axelor.apps.base.service.PrintFromBirtTemplateService;
@@ -212,6 +214,8 @@ import com.axelor.apps.base.service.advancedExport.AdvancedExportService;
 import com.axelor.apps.base.service.advancedExport.AdvancedExportServiceImpl;
 import com.axelor.apps.base.service.app.AppBaseService;
 import com.axelor.apps.base.service.app.AppBaseServiceImpl;
+import com.axelor.apps.base.service.app.AppConfigSnapshotService;
+import com.axelor.apps.base.service.app.AppConfigSnapshotServiceImpl;
 import com.axelor.apps.base.service.birt.template.BirtTemplateService;
 import com.axelor.apps.base.service.birt.template.BirtTemplateServiceImpl;
 import com.axelor.apps.base.service.connectormapper.ConnectorMapperCreateService;
@@ -240,6 +244,8 @@ import com.axelor.apps.base.service.language.LanguageService;
 import com.axelor.apps.base.service.language.LanguageServiceImpl;
 import com.axelor.apps.base.service.localization.LocalizationService;
 import com.axelor.apps.base.service.localization.LocalizationServiceImpl;
+import com.axelor.apps.base.service.message.EmailAddressDomainService;
+import com.axelor.apps.base.service.message.EmailAddressDomainServiceImpl;
 import com.axelor.apps.base.service.message.MailAccountServiceBaseImpl;
 import com.axelor.apps.base.service.message.MessageBaseService;
 import com.axelor.apps.base.service.message.MessageServiceBaseImpl;
@@ -311,6 +317,8 @@ import com.axelor.apps.base.service.user.UserService;
 import com.axelor.apps.base.service.user.UserServiceImpl;
 import com.axelor.apps.base.service.weeklyplanning.WeeklyPlanningService;
 import com.axelor.apps.base.service.weeklyplanning.WeeklyPlanningServiceImp;
+import com.axelor.apps.base.service.weeklyplanning.WorkingDayCalendarService;
+import com.axelor.apps.base.service.weeklyplanning.WorkingDayCalendarServiceImpl;
 import com.axelor.apps.base.tracking.ExportObserver;
 import com.axelor.apps.base.tracking.GlobalAuditInterceptor;
 import com.axelor.apps.base.tracking.GlobalTrackingLogService;
@@ -378,6 +386,7 @@ public class BaseModule extends AxelorModule {
     bind(MessageServiceImpl.class).to(MessageServiceBaseImpl.class);
     bind(MessageBaseService.class).to(MessageServiceBaseImpl.class);
     bind(MailAccountServiceImpl.class).to(MailAccountServiceBaseImpl.class);
+    bind(EmailAddressDomainService.class).to(EmailAddressDomainServiceImpl.class);
     bind(AccountManagementService.class).to(AccountManagementServiceImpl.class);
     bind(FiscalPositionService.class).to(FiscalPositionServiceImpl.class);
     bind(ProductService.class).to(ProductServiceImpl.class);
@@ -389,6 +398,7 @@ public class BaseModule extends AxelorModule {
     bind(SequenceRepository.class).to(SequenceBaseRepository.class);
     bind(ProductRepository.class).to(ProductBaseRepository.class);
     bind(WeeklyPlanningService.class).to(WeeklyPlanningServiceImp.class);
+    bind(WorkingDayCalendarService.class).to(WorkingDayCalendarServiceImpl.class);
     bind(MailServiceMessageImpl.class).to(MailServiceBaseImpl.class);
     bind(AddressRepository.class).to(AddressBaseRepository.class);
     bind(YearRepository.class).to(YearBaseRepository.class);
@@ -406,6 +416,7 @@ public class BaseModule extends AxelorModule {
     bind(MailBatchRepository.class).to(MailBatchBaseRepository.class);
     bind(TradingNameService.class).to(TradingNameServiceImpl.class);
     bind(PartnerPriceListService.class).to(PartnerPriceListServiceImpl.class);
+    bind(PriceListLineIndexService.class).to(PriceListLineIndexServiceImpl.class);
     bind(ICalendarEventService.class).to(ICalendarEventServiceImpl.class);
     bind(ICalendarEventRepository.class).to(ICalendarEventManagementRepository.class);
     bind(ProductMultipleQtyService.class).to(ProductMultipleQtyServiceImpl.class);
@@ -471,6 +482,7 @@ public class BaseModule extends AxelorModule {
     bind(ResearchRequestService.class).to(ResearchRequestServiceImpl.class);
     bind(BirtTemplateService.class).to(BirtTemplateServiceImpl.class);
     bind(BaseServerStartListener.class);
+    bind(AppConfigSnapshotService.class).to(AppConfigSnapshotServiceImpl.class);
     bind(PrintFromBirtTemplateService.class).to(PrintFromBirtTemplateServiceImpl.class);
     bind(BirtTemplateViewService.class).to(BirtTemplateViewServiceImpl.class);
     bind(DayPlanningService.class).to(DayPlanningServiceImpl.class);
@@ -0,0 +1,54 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.base.service;
+
+import java.math.BigDecimal;
+
+/** Quantity and worth aggregated for one product of an ABC analysis. */
+public class ABCAnalysisProductValues {
+
+  protected final Long productId;
+  protected BigDecimal qty = BigDecimal.ZERO;
+  protected BigDecimal worth = BigDecimal.ZERO;
+
+  public ABCAnalysisProductValues(Long productId) {
+    this.productId = productId;
+  }
+
+  public void add(BigDecimal qty, BigDecimal worth) {
+    this.qty = this.qty.add(qty);
+    this.worth = this.worth.add(worth);
+  }
+
+  public boolean isEmpty() {
+    return qty.signum() == 0 && worth.signum() == 0;
+  }
+
+  public Long getProductId() {
+    return productId;
+  }
+
+  public BigDecimal getQty() {
+    return qty;
+  }
+
+  public BigDecimal getWorth() {
+    return worth;
+  }
+}
@@ -18,14 +18,13 @@
  */
 package com.axelor.apps.base.service;
 
-import static com.axelor.apps.base.service.administration.AbstractBatch.FETCH_LIMIT;
-
 import com.axelor.apps.base.AxelorException;
 import com.axelor.apps.base.db.ABCAnalysis;
 import com.axelor.apps.base.db.ABCAnalysisClass;
 import com.axelor.apps.base.db.ABCAnalysisLine;
 import com.axelor.apps.base.db.Product;
 import com.axelor.apps.base.db.Sequence;
+import com.axelor.apps.base.db.Unit;
 import com.axelor.apps.base.db.repo.ABCAnalysisClassRepository;
 import com.axelor.apps.base.db.repo.ABCAnalysisLineRepository;
 import com.axelor.apps.base.db.repo.ABCAnalysisRepository;
@@ -36,16 +35,21 @@ import com.axelor.apps.base.service.administration.SequenceService;
 import com.axelor.db.JPA;
 import com.axelor.db.Query;
 import com.axelor.i18n.I18n;
-import com.axelor.utils.helpers.StringHelper;
+import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import com.google.inject.persist.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class ABCAnalysisServiceImpl implements ABCAnalysisService {
   protected ABCAnalysisLineRepository abcAnalysisLineRepository;
@@ -63,6 +67,8 @@ public class ABCAnalysisServiceImpl implements ABCAnalysisService {
 
   private final String abcAnalysisSequenceCode = "abcAnalysis";
 
+  protected static final int PRODUCT_CHUNK_SIZE = 500;
+
   private List<ABCAnalysisClass> abcAnalysisClassList;
 
   @Inject
@@ -121,7 +127,6 @@ public class ABCAnalysisServiceImpl implements ABCAnalysisService {
     start(abcAnalysis);
     getAbcAnalysisClassList(abcAnalysis);
     createAllABCAnalysisLine(abcAnalysis);
-    doAnalysis(abcAnalysisRepository.find(abcAnalysis.getId()));
     finish(abcAnalysisRepository.find(abcAnalysis.getId()));
   }
 
@@ -149,38 +154,30 @@ public class ABCAnalysisServiceImpl implements ABCAnalysisService {
     this.abcAnalysisClassList = abcAnalysisClassQuery.fetch();
   }
 
-  private Set<Product> getProductSet(ABCAnalysis abcAnalysis) {
-    Set<Product> productList = new HashSet<>();
-    String productCategoryQuery = getProductCategoryQuery();
-    String productFamilyQuery = getProductFamilyQuery();
+  protected Set<Long> getProductIdSet(ABCAnalysis abcAnalysis) {
+    Set<Long> productIdSet = new HashSet<>();
 
-    if (!abcAnalysis.getProductSet().isEmpty()) {
-      productList.addAll(abcAnalysis.getProductSet());
-    }
+    abcAnalysis.getProductSet().stream().map(Product::getId).forEach(productIdSet::add);
 
     if (!abcAnalysis.getProductCategorySet().isEmpty()) {
-      productList.addAll(
-          productRepository
-              .all()
-              .filter(
-                  productCategoryQuery,
-                  abcAnalysis.getProductCategorySet(),
-                  ProductRepository.PRODUCT_TYPE_STORABLE)
-              .fetch());
+      productIdSet.addAll(
+          fetchProductIds(getProductCategoryQuery(), abcAnalysis.getProductCategorySet()));
     }
 
     if (!abcAnalysis.getProductFamilySet().isEmpty()) {
-      productList.addAll(
-          productRepository
-              .all()
-              .filter(
-                  productFamilyQuery,
-                  abcAnalysis.getProductFamilySet(),
-                  ProductRepository.PRODUCT_TYPE_STORABLE)
-              .fetch());
+      productIdSet.addAll(
+          fetchProductIds(getProductFamilyQuery(), abcAnalysis.getProductFamilySet()));
     }
 
-    return productList;
+    return productIdSet;
+  }
+
+  protected List<Long> fetchProductIds(String filter, Set<?> categoryOrFamilySet) {
+    return JPA.em()
+        .createQuery("SELECT self.id FROM Product self WHERE " + filter, Long.class)
+        .setParameter(1, categoryOrFamilySet)
+        .setParameter(2, ProductRepository.PRODUCT_TYPE_STORABLE)
+        .getResultList();
   }
 
   protected String getProductCategoryQuery() {
@@ -191,89 +188,120 @@ public class ABCAnalysisServiceImpl implements ABCAnalysisService {
     return "self.productFamily in (?1) AND self.productTypeSelect = ?2 AND self.dtype = 'Product'";
   }
 
+  /**
+   * Aggregate the quantity and worth of every product of the analysis, then create the non-empty
+   * lines ordered by decreasing worth, with their percentages and class.
+   */
   protected void createAllABCAnalysisLine(ABCAnalysis abcAnalysis) throws AxelorException {
-    int offset = 0;
-
-    List<Product> productList;
-    Query<Product> productQuery =
-        productRepository
-            .all()
-            .filter(
-                "self.id IN (" + StringHelper.getIdListString(getProductSet(abcAnalysis)) + ")");
+    Map<Long, ABCAnalysisProductValues> productValuesMap = new HashMap<>();
+    List<Long> productIdList = new ArrayList<>(getProductIdSet(abcAnalysis));
 
-    while (!(productList = productQuery.fetch(FETCH_LIMIT, offset)).isEmpty()) {
-      abcAnalysis = abcAnalysisRepository.find(abcAnalysis.getId());
-      offset += productList.size();
+    for (List<Long> productIdChunk : Lists.partition(productIdList, PRODUCT_CHUNK_SIZE)) {
+      List<Product> productList = fetchProducts(productIdChunk);
+      computeProductValues(
+          abcAnalysisRepository.find(abcAnalysis.getId()), productList, productValuesMap);
+      JPA.clear();
+    }
 
-      for (Product product : productList) {
-        product = productRepository.find(product.getId());
-        createABCAnalysisLineForEachProduct(abcAnalysis, product);
-      }
+    List<ABCAnalysisProductValues> productValuesList =
+        productValuesMap.values().stream()
+            .filter(productValues -> !productValues.isEmpty())
+            .sorted(
+                Comparator.comparing(ABCAnalysisProductValues::getWorth)
+                    .reversed()
+                    .thenComparing(ABCAnalysisProductValues::getProductId))
+            .collect(Collectors.toList());
+
+    for (ABCAnalysisProductValues productValues : productValuesList) {
+      incTotalQty(productValues.getQty());
+      incTotalWorth(productValues.getWorth());
+    }
 
+    for (List<ABCAnalysisProductValues> productValuesChunk :
+        Lists.partition(productValuesList, PRODUCT_CHUNK_SIZE)) {
+      createABCAnalysisLines(abcAnalysis.getId(), productValuesChunk);
       JPA.clear();
     }
   }
 
-  @Transactional(rollbackOn = {Exception.class})
-  protected void createABCAnalysisLineForEachProduct(ABCAnalysis abcAnalysis, Product product)
-      throws AxelorException {
-    Optional<ABCAnalysisLine> optionalAbcAnalysisLine = createABCAnalysisLine(abcAnalysis, product);
-    optionalAbcAnalysisLine.ifPresent(
-        abcAnalysisLine -> {
-          abcAnalysisLine = abcAnalysisLineRepository.find(abcAnalysisLine.getId());
-          if (abcAnalysisLine.getDecimalWorth().compareTo(BigDecimal.ZERO) == 0
-              && abcAnalysisLine.getDecimalQty().compareTo(BigDecimal.ZERO) == 0) {
-            abcAnalysisLineRepository.remove(
-                abcAnalysisLineRepository.find(abcAnalysisLine.getId()));
-          }
-        });
-  }
-
-  @Transactional(rollbackOn = {Exception.class})
-  protected Optional<ABCAnalysisLine> createABCAnalysisLine(
-      ABCAnalysis abcAnalysis, Product product) throws AxelorException {
-    ABCAnalysisLine abcAnalysisLine = new ABCAnalysisLine();
-
-    abcAnalysisLine.setAbcAnalysis(abcAnalysis);
-    abcAnalysisLine.setProduct(product);
-
-    abcAnalysisLineRepository.save(abcAnalysisLine);
-
-    return Optional.of(abcAnalysisLine);
+  protected List<Product> fetchProducts(List<Long> productIdList) {
+    return productRepository
+        .all()
+        .filter("self.id IN :productIdList")
+        .bind("productIdList", productIdList)
+        .fetch();
   }
 
-  @Transactional
-  protected void setQtyWorth(
-      ABCAnalysisLine abcAnalysisLine, BigDecimal decimalQty, BigDecimal decimalWorth) {
-    abcAnalysisLine.setDecimalQty(decimalQty);
-    abcAnalysisLine.setDecimalWorth(decimalWorth);
-    abcAnalysisLineRepository.save(abcAnalysisLine);
+  /**
+   * Add to the map the quantity and worth of the given products over the analysis, using as few
+   * grouped queries as possible. Products without any value can be left out of the map.
+   *
+   * @param abcAnalysis the analysis
+   * @param productList a chunk of the products of the analysis
+   * @param productValuesMap the values to complete, by product id
+   * @throws AxelorException
+   */
+  protected void computeProductValues(
+      ABCAnalysis abcAnalysis,
+      List<Product> productList,
+      Map<Long, ABCAnalysisProductValues> productValuesMap)
+      throws AxelorException {
+    // no source of values in base, see the sale, purchase and stock implementations
   }
 
-  protected void doAnalysis(ABCAnalysis abcAnalysis) {
-    List<ABCAnalysisLine> abcAnalysisLineList;
-    int offset = 0;
-    Query<ABCAnalysisLine> query =
-        abcAnalysisLineRepository
-            .all()
-            .filter("self.abcAnalysis.id = :abcAnalysisId")
-            .bind("abcAnalysisId", abcAnalysis.getId())
-            .order("-decimalWorth")
-            .order("id");
-
-    while (!(abcAnalysisLineList = query.fetch(FETCH_LIMIT, offset)).isEmpty()) {
-      offset += abcAnalysisLineList.size();
-      abcAnalysisLineList.forEach(this::analyzeLine);
-      JPA.clear();
+  /**
+   * Add the values of rows grouped by product and unit, converting the quantity in the unit of the
+   * product.
+   *
+   * @param productList the products the rows were fetched for
+   * @param rows rows of product id, unit id, quantity and worth
+   * @param scale the scale of the converted quantity
+   * @param productValuesMap the values to complete, by product id
+   * @throws AxelorException
+   */
+  protected void addGroupedProductValues(
+      List<Product> productList,
+      List<Object[]> rows,
+      int scale,
+      Map<Long, ABCAnalysisProductValues> productValuesMap)
+      throws AxelorException {
+    Map<Long, Product> productMap =
+        productList.stream().collect(Collectors.toMap(Product::getId, Function.identity()));
+    for (Object[] row : rows) {
+      Product product = productMap.get((Long) row[0]);
+      Unit unit = row[1] != null ? JPA.find(Unit.class, (Long) row[1]) : null;
+      BigDecimal qty = Optional.ofNullable((BigDecimal) row[2]).orElse(BigDecimal.ZERO);
+      BigDecimal worth = Optional.ofNullable((BigDecimal) row[3]).orElse(BigDecimal.ZERO);
+      BigDecimal convertedQty =
+          unitConversionService.convert(unit, product.getUnit(), qty, scale, product);
+      productValuesMap
+          .computeIfAbsent(product.getId(), ABCAnalysisProductValues::new)
+          .add(convertedQty, worth);
     }
   }
 
-  @Transactional
-  protected void analyzeLine(ABCAnalysisLine abcAnalysisLine) {
-    computePercentage(abcAnalysisLine);
-    setABCAnalysisClass(abcAnalysisLine);
-
-    abcAnalysisLineRepository.save(abcAnalysisLine);
+  @Transactional(rollbackOn = {Exception.class})
+  protected void createABCAnalysisLines(
+      Long abcAnalysisId, List<ABCAnalysisProductValues> productValuesList) {
+    ABCAnalysis abcAnalysis = abcAnalysisRepository.find(abcAnalysisId);
+    Map<Long, Product> productMap =
+        fetchProducts(
+                productValuesList.stream()
+                    .map(ABCAnalysisProductValues::getProductId)
+                    .collect(Collectors.toList()))
+            .stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+    for (ABCAnalysisProductValues productValues : productValuesList) {
+      ABCAnalysisLine abcAnalysisLine = new ABCAnalysisLine();
+      abcAnalysisLine.setAbcAnalysis(abcAnalysis);
+      abcAnalysisLine.setProduct(productMap.get(productValues.getProductId()));
+      abcAnalysisLine.setDecimalQty(productValues.getQty());
+      abcAnalysisLine.setDecimalWorth(productValues.getWorth());
+      computePercentage(abcAnalysisLine);
+      setABCAnalysisClass(abcAnalysisLine);
+      abcAnalysisLineRepository.save(abcAnalysisLine);
+    }
   }
 
   protected void computePercentage(ABCAnalysisLine abcAnalysisLine) {
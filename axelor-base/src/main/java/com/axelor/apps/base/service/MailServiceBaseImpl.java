@@ -34,6 +34,7 @@ import com.axelor.db.JpaSecurity;
 import com.axelor.db.Model;
 import com.axelor.db.Query;
 import com.axelor.db.tenants.TenantAware;
+import com.axelor.db.tenants.TenantResolver;
 import com.axelor.inject.Beans;
 import com.axelor.mail.MailBuilder;
 import com.axelor.mail.MailException;
@@ -64,6 +65,7 @@ import com.google.common.base.Predicates;
 import com.google.common.base.Strings;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import java.io.File;
 import java.io.IOException;
@@ -77,8 +79,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.mail.MessagingException;
 import javax.mail.internet.InternetAddress;
 import javax.mail.internet.MimeMessage;
@@ -89,7 +95,29 @@ public class MailServiceBaseImpl extends MailServiceMessageImpl {
 
   private final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
-  private ExecutorService executor = Executors.newCachedThreadPool();
+  protected static final int MAIL_SENDER_THREAD_COUNT = 4;
+  protected static final int MAIL_SENDER_QUEUE_CAPACITY = 1000;
+  protected static final long MAIL_SENDER_QUEUE_TIMEOUT_SECONDS = 5;
+  protected static final int MAIL_SENDER_MAX_ATTEMPTS = 5;
+  protected static final long MAIL_SENDER_RETRY_DELAY_SECONDS = 30;
+
+  /** Emails are sent by a bounded pool shared by all instances. */
+  private static final ThreadPoolExecutor MAIL_SENDER_EXECUTOR =
+      new ThreadPoolExecutor(
+          MAIL_SENDER_THREAD_COUNT,
+          MAIL_SENDER_THREAD_COUNT,
+          60L,
+          TimeUnit.SECONDS,
+          new LinkedBlockingQueue<>(MAIL_SENDER_QUEUE_CAPACITY),
+          new ThreadFactoryBuilder().setNameFormat("mail-sender-%d").setDaemon(true).build());
+
+  /**
+   * Emails that could not be queued or sent are queued again later by this thread, with a delay
+   * doubled on each attempt.
+   */
+  private static final ScheduledExecutorService MAIL_RETRY_EXECUTOR =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder().setNameFormat("mail-sender-retry-%d").setDaemon(true).build());
 
   protected Template messageTemplate = null;
   protected Map<String, Object> templatesContext;
@@ -350,16 +378,69 @@ public class MailServiceBaseImpl extends MailServiceMessageImpl {
     }
 
     // send email using a separate process to void thread blocking
-    executor.submit(
-        new TenantAware(
-                () -> {
-                  try {
-                    send(sender, email);
-                  } catch (Exception e) {
-                    throw new RuntimeException(e);
-                  }
-                })
-            .withTransaction(false));
+    queueSending(sender, email, TenantResolver.currentTenantIdentifier(), 1);
+  }
+
+  /**
+   * Queue the email in the sending pool. When the queue is full, the caller waits a few seconds for
+   * a free slot, then the email is queued again later. The caller, which may hold a transaction,
+   * never fails because of the sending load.
+   */
+  protected void queueSending(MailSender sender, MimeMessage email, String tenantId, int attempt) {
+    Runnable sending =
+        new TenantAware(() -> sendOrRetry(sender, email, tenantId, attempt))
+            .tenantId(tenantId)
+            .withTransaction(false);
+
+    try {
+      MAIL_SENDER_EXECUTOR.execute(sending);
+    } catch (RejectedExecutionException e) {
+      if (!waitForSendingQueue(sending)) {
+        retryLater(sender, email, tenantId, attempt, e);
+      }
+    }
+  }
+
+  protected boolean waitForSendingQueue(Runnable sending) {
+    try {
+      return MAIL_SENDER_EXECUTOR
+          .getQueue()
+          .offer(sending, MAIL_SENDER_QUEUE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  protected void sendOrRetry(MailSender sender, MimeMessage email, String tenantId, int attempt) {
+    try {
+      send(sender, email);
+    } catch (Exception e) {
+      retryLater(sender, email, tenantId, attempt, e);
+    }
+  }
+
+  protected void retryLater(
+      MailSender sender, MimeMessage email, String tenantId, int attempt, Exception cause) {
+    String messageId = getMessageId(email);
+    if (attempt >= MAIL_SENDER_MAX_ATTEMPTS) {
+      log.error("Email {} not sent after {} attempts", messageId, attempt, cause);
+      return;
+    }
+
+    long delay = MAIL_SENDER_RETRY_DELAY_SECONDS << (attempt - 1);
+    log.warn(
+        "Email {} not sent, new attempt in {} seconds: {}", messageId, delay, cause.toString());
+    MAIL_RETRY_EXECUTOR.schedule(
+        () -> queueSending(sender, email, tenantId, attempt + 1), delay, TimeUnit.SECONDS);
+  }
+
+  protected String getMessageId(MimeMessage email) {
+    try {
+      return email.getMessageID();
+    } catch (MessagingException e) {
+      return null;
+    }
   }
 
   @Override
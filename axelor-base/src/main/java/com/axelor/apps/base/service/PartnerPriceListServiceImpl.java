@@ -105,29 +105,18 @@ public class PartnerPriceListServiceImpl implements PartnerPriceListService {
     if (priceListSet == null) {
       return null;
     }
+    LocalDate todayDate =
+        appBaseService.getTodayDate(
+            Optional.ofNullable(AuthUtils.getUser()).map(User::getActiveCompany).orElse(null));
     List<PriceList> priceLists =
         priceListSet.stream()
             .filter(
                 priceList ->
                     priceList.getIsActive()
                         && (priceList.getApplicationBeginDate() == null
-                            || priceList
-                                    .getApplicationBeginDate()
-                                    .compareTo(
-                                        appBaseService.getTodayDate(
-                                            Optional.ofNullable(AuthUtils.getUser())
-                                                .map(User::getActiveCompany)
-                                                .orElse(null)))
-                                <= 0)
+                            || priceList.getApplicationBeginDate().compareTo(todayDate) <= 0)
                         && (priceList.getApplicationEndDate() == null
-                            || priceList
-                                    .getApplicationEndDate()
-                                    .compareTo(
-                                        appBaseService.getTodayDate(
-                                            Optional.ofNullable(AuthUtils.getUser())
-                                                .map(User::getActiveCompany)
-                                                .orElse(null)))
-                                >= 0))
+                            || priceList.getApplicationEndDate().compareTo(todayDate) >= 0))
             .collect(Collectors.toList());
     if (priceLists.size() == 1) {
       return priceLists.get(0);
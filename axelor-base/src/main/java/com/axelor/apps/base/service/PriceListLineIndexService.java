@@ -0,0 +1,90 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.base.service;
+
+import com.axelor.apps.base.db.PriceList;
+import com.axelor.apps.base.db.Product;
+import com.axelor.apps.base.db.ProductCategory;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+public interface PriceListLineIndexService {
+
+  /**
+   * Find the ids of the lines of the price list applying to the product for the given quantity,
+   * using an in memory index of the price list lines.
+   *
+   * @param priceList a saved price list
+   * @param product a saved product
+   * @param qty the quantity
+   * @return the line ids, sorted by descending minimum quantity
+   */
+  List<Long> findPriceListLineIds(PriceList priceList, Product product, BigDecimal qty);
+
+  /**
+   * Find the ids of the lines of the price list applying to the product category for the given
+   * quantity, using an in memory index of the price list lines.
+   *
+   * @param priceList a saved price list
+   * @param productCategory a saved product category
+   * @param qty the quantity
+   * @return the line ids, sorted by descending minimum quantity
+   */
+  List<Long> findPriceListLineIds(
+      PriceList priceList, ProductCategory productCategory, BigDecimal qty);
+
+  /**
+   * Load in one query the lines of the price list applying to the given products or to their
+   * categories, so that the following price computations of a whole order do not query them line by
+   * line.
+   *
+   * @param priceList a price list, can be null
+   * @param productList the products of the order lines
+   */
+  void preloadPriceListLines(PriceList priceList, Collection<Product> productList);
+
+  /**
+   * Whether the index of the price list can be used. It can not when lines of the price list have
+   * been modified in the current transaction, or when price list lines of the session have changes
+   * not flushed yet, as the index only holds committed lines.
+   *
+   * @param priceList a saved price list
+   * @return true if the index can be used
+   */
+  boolean canUseIndex(PriceList priceList);
+
+  /**
+   * Invalidate the indexed lines of the given price list.
+   *
+   * @param priceList a price list whose index is stale
+   */
+  void invalidate(PriceList priceList);
+
+  /**
+   * Invalidate the indexed lines of the given price list once the current transaction is committed.
+   * Until then, the index of the price list is not used in the current transaction.
+   *
+   * @param priceList the price list of a line being saved or removed
+   */
+  void invalidateOnCommit(PriceList priceList);
+
+  /** Invalidate the indexed lines of every price list. */
+  void invalidate();
+}
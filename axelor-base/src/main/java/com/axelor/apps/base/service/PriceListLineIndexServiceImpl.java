@@ -0,0 +1,299 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.base.service;
+
+import com.axelor.apps.base.db.PriceList;
+import com.axelor.apps.base.db.PriceListLine;
+import com.axelor.apps.base.db.Product;
+import com.axelor.apps.base.db.ProductCategory;
+import com.axelor.apps.base.db.repo.PriceListLineRepository;
+import com.axelor.db.JPA;
+import com.axelor.db.tenants.TenantResolver;
+import com.google.inject.Inject;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+
+public class PriceListLineIndexServiceImpl implements PriceListLineIndexService {
+
+  /** Safety net for the price list lines modified outside of the application, e.g. in SQL. */
+  protected static final long INDEX_TIME_TO_LIVE = TimeUnit.MINUTES.toMillis(5);
+
+  protected static final Map<String, Map<Long, PriceListLineIndex>> INDEX_PER_TENANT =
+      new ConcurrentHashMap<>();
+
+  /** Incremented on each invalidation, so that an index loaded meanwhile is not kept. */
+  protected static final AtomicLong INVALIDATION_COUNT = new AtomicLong();
+
+  /** Ids of the price lists whose lines have been modified in the current transaction. */
+  protected static final ThreadLocal<Set<Long>> MODIFIED_PRICE_LIST_IDS = new ThreadLocal<>();
+
+  protected PriceListLineRepository priceListLineRepo;
+
+  @Inject
+  public PriceListLineIndexServiceImpl(PriceListLineRepository priceListLineRepo) {
+    this.priceListLineRepo = priceListLineRepo;
+  }
+
+  protected static class PriceListLineEntry {
+    protected final Long priceListLineId;
+    protected final BigDecimal minQty;
+
+    protected PriceListLineEntry(Long priceListLineId, BigDecimal minQty) {
+      this.priceListLineId = priceListLineId;
+      this.minQty = minQty;
+    }
+  }
+
+  protected static class PriceListLineIndex {
+    protected final Map<Long, List<PriceListLineEntry>> entriesPerProduct = new HashMap<>();
+    protected final Map<Long, List<PriceListLineEntry>> entriesPerCategory = new HashMap<>();
+    protected final long loadingTime = System.currentTimeMillis();
+
+    protected boolean isExpired() {
+      return System.currentTimeMillis() - loadingTime > INDEX_TIME_TO_LIVE;
+    }
+  }
+
+  @Override
+  public List<Long> findPriceListLineIds(PriceList priceList, Product product, BigDecimal qty) {
+    return getPriceListLineIds(getIndex(priceList).entriesPerProduct, product.getId(), qty);
+  }
+
+  @Override
+  public List<Long> findPriceListLineIds(
+      PriceList priceList, ProductCategory productCategory, BigDecimal qty) {
+    return getPriceListLineIds(
+        getIndex(priceList).entriesPerCategory, productCategory.getId(), qty);
+  }
+
+  protected List<Long> getPriceListLineIds(
+      Map<Long, List<PriceListLineEntry>> entriesMap, Long id, BigDecimal qty) {
+    if (qty == null) {
+      return Collections.emptyList();
+    }
+
+    return entriesMap.getOrDefault(id, Collections.emptyList()).stream()
+        .filter(entry -> entry.minQty.compareTo(qty) <= 0)
+        .map(entry -> entry.priceListLineId)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public void preloadPriceListLines(PriceList priceList, Collection<Product> productList) {
+    if (priceList == null || priceList.getId() == null || productList == null) {
+      return;
+    }
+
+    Set<Long> productIdSet =
+        productList.stream()
+            .filter(Objects::nonNull)
+            .map(Product::getId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+    if (productIdSet.isEmpty() || !canUseIndex(priceList)) {
+      return;
+    }
+    Set<Long> productCategoryIdSet =
+        productList.stream()
+            .filter(Objects::nonNull)
+            .map(Product::getProductCategory)
+            .filter(Objects::nonNull)
+            .map(ProductCategory::getId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+    if (productCategoryIdSet.isEmpty()) {
+      productCategoryIdSet = Collections.singleton(0L);
+    }
+
+    getIndex(priceList);
+    priceListLineRepo
+        .all()
+        .filter(
+            "self.priceList.id = :priceListId"
+                + " AND (self.product.id IN (:productIds)"
+                + " OR self.productCategory.id IN (:productCategoryIds))")
+        .bind("priceListId", priceList.getId())
+        .bind("productIds", productIdSet)
+        .bind("productCategoryIds", productCategoryIdSet)
+        .fetch();
+  }
+
+  @Override
+  public boolean canUseIndex(PriceList priceList) {
+    Set<Long> modifiedPriceListIdSet = MODIFIED_PRICE_LIST_IDS.get();
+    if (modifiedPriceListIdSet != null && modifiedPriceListIdSet.contains(priceList.getId())) {
+      return false;
+    }
+    return !hasUnflushedPriceListLines();
+  }
+
+  /** Check if a price list line of the session has been modified or removed and not flushed. */
+  protected boolean hasUnflushedPriceListLines() {
+    SessionImplementor session = JPA.em().unwrap(SessionImplementor.class);
+    for (Map.Entry<Object, EntityEntry> mapEntry :
+        session.getPersistenceContext().reentrantSafeEntityEntries()) {
+      if (!(mapEntry.getKey() instanceof PriceListLine)) {
+        continue;
+      }
+
+      EntityEntry entry = mapEntry.getValue();
+      if (entry.getStatus() != Status.MANAGED) {
+        return true;
+      }
+      if (entry.getLoadedState() == null) {
+        continue;
+      }
+      Object[] currentState = entry.getPersister().getPropertyValues(mapEntry.getKey());
+      if (entry
+              .getPersister()
+              .findDirty(currentState, entry.getLoadedState(), mapEntry.getKey(), session)
+          != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void invalidate(PriceList priceList) {
+    if (priceList == null || priceList.getId() == null) {
+      return;
+    }
+
+    invalidate(getTenantId(), Collections.singleton(priceList.getId()));
+  }
+
+  @Override
+  public void invalidateOnCommit(PriceList priceList) {
+    if (priceList == null || priceList.getId() == null) {
+      return;
+    }
+
+    Set<Long> modifiedPriceListIdSet = MODIFIED_PRICE_LIST_IDS.get();
+    if (modifiedPriceListIdSet == null) {
+      Set<Long> priceListIdSet = new HashSet<>();
+      String tenantId = getTenantId();
+      MODIFIED_PRICE_LIST_IDS.set(priceListIdSet);
+      JPA.em()
+          .unwrap(SessionImplementor.class)
+          .getActionQueue()
+          .registerProcess(
+              (success, session) -> {
+                MODIFIED_PRICE_LIST_IDS.remove();
+                if (success) {
+                  invalidate(tenantId, priceListIdSet);
+                }
+              });
+      modifiedPriceListIdSet = priceListIdSet;
+    }
+    modifiedPriceListIdSet.add(priceList.getId());
+  }
+
+  protected void invalidate(String tenantId, Collection<Long> priceListIds) {
+    INVALIDATION_COUNT.incrementAndGet();
+    Map<Long, PriceListLineIndex> indexPerPriceList = INDEX_PER_TENANT.get(tenantId);
+    if (indexPerPriceList != null) {
+      priceListIds.forEach(indexPerPriceList::remove);
+    }
+  }
+
+  @Override
+  public void invalidate() {
+    INVALIDATION_COUNT.incrementAndGet();
+    INDEX_PER_TENANT.remove(getTenantId());
+  }
+
+  protected PriceListLineIndex getIndex(PriceList priceList) {
+    Map<Long, PriceListLineIndex> indexPerPriceList =
+        INDEX_PER_TENANT.computeIfAbsent(getTenantId(), key -> new ConcurrentHashMap<>());
+    PriceListLineIndex index = indexPerPriceList.get(priceList.getId());
+    if (index == null || index.isExpired()) {
+      long invalidationCount = INVALIDATION_COUNT.get();
+      index = loadIndex(priceList);
+      // an index loaded while a transaction was committing changes may already be stale
+      if (INVALIDATION_COUNT.get() == invalidationCount) {
+        indexPerPriceList.put(priceList.getId(), index);
+      }
+    }
+    return index;
+  }
+
+  protected PriceListLineIndex loadIndex(PriceList priceList) {
+    PriceListLineIndex index = new PriceListLineIndex();
+
+    List<Object[]> resultList =
+        JPA.em()
+            .createQuery(
+                "SELECT self.id, product.id, productCategory.id, self.minQty"
+                    + " FROM PriceListLine self"
+                    + " LEFT JOIN self.product product"
+                    + " LEFT JOIN self.productCategory productCategory"
+                    + " WHERE self.priceList.id = :priceListId"
+                    + " AND self.minQty IS NOT NULL",
+                Object[].class)
+            .setParameter("priceListId", priceList.getId())
+            .getResultList();
+
+    for (Object[] result : resultList) {
+      PriceListLineEntry entry = new PriceListLineEntry((Long) result[0], (BigDecimal) result[3]);
+      if (result[1] != null) {
+        index
+            .entriesPerProduct
+            .computeIfAbsent((Long) result[1], k -> new ArrayList<>())
+            .add(entry);
+      }
+      if (result[2] != null) {
+        index
+            .entriesPerCategory
+            .computeIfAbsent((Long) result[2], k -> new ArrayList<>())
+            .add(entry);
+      }
+    }
+
+    Comparator<PriceListLineEntry> comparator =
+        Comparator.comparing((PriceListLineEntry entry) -> entry.minQty)
+            .reversed()
+            .thenComparing(entry -> entry.priceListLineId);
+    index.entriesPerProduct.values().forEach(entryList -> entryList.sort(comparator));
+    index.entriesPerCategory.values().forEach(entryList -> entryList.sort(comparator));
+
+    return index;
+  }
+
+  protected String getTenantId() {
+    return Optional.ofNullable(TenantResolver.currentTenantIdentifier()).orElse("");
+  }
+}
@@ -28,6 +28,7 @@ import com.axelor.apps.base.db.repo.PriceListRepository;
 import com.axelor.apps.base.db.repo.TraceBackRepository;
 import com.axelor.apps.base.exceptions.BaseExceptionMessage;
 import com.axelor.apps.base.service.app.AppBaseService;
+import com.axelor.db.Model;
 import com.axelor.i18n.I18n;
 import com.axelor.studio.db.repo.AppBaseRepository;
 import com.google.inject.Inject;
@@ -35,6 +36,7 @@ import com.google.inject.persist.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -47,6 +49,8 @@ public class PriceListService {
 
   @Inject protected AppBaseService appBaseService;
 
+  @Inject protected PriceListLineIndexService priceListLineIndexService;
+
   public PriceListLine getPriceListLine(
       Product product, BigDecimal qty, PriceList priceList, BigDecimal price) {
 
@@ -93,6 +97,21 @@ public class PriceListService {
 
   protected List<PriceListLine> getPriceListLineListFromProduct(
       Product product, BigDecimal qty, PriceList priceList) {
+    if (product.getId() != null
+        && priceList.getId() != null
+        && priceListLineIndexService.canUseIndex(priceList)) {
+      List<PriceListLine> priceListLineList =
+          getIndexedPriceListLineList(
+              priceListLineIndexService.findPriceListLineIds(priceList, product, qty),
+              priceList,
+              qty,
+              product,
+              null);
+      if (priceListLineList != null) {
+        return priceListLineList;
+      }
+    }
+
     return priceListLineRepo
         .all()
         .filter(
@@ -105,6 +124,21 @@ public class PriceListService {
 
   protected List<PriceListLine> getPriceListLineListFromCategory(
       ProductCategory productCategory, BigDecimal qty, PriceList priceList) {
+    if (productCategory.getId() != null
+        && priceList.getId() != null
+        && priceListLineIndexService.canUseIndex(priceList)) {
+      List<PriceListLine> priceListLineList =
+          getIndexedPriceListLineList(
+              priceListLineIndexService.findPriceListLineIds(priceList, productCategory, qty),
+              priceList,
+              qty,
+              null,
+              productCategory);
+      if (priceListLineList != null) {
+        return priceListLineList;
+      }
+    }
+
     return priceListLineRepo
         .all()
         .filter(
@@ -115,6 +149,42 @@ public class PriceListService {
         .fetch();
   }
 
+  /**
+   * Get the indexed price list lines, checking that they still match the index.
+   *
+   * @param product the product of the lines, null when looking for the lines of a category
+   * @param productCategory the product category of the lines, null when looking for the lines of a
+   *     product
+   * @return the price list lines, null if the index is stale
+   */
+  protected List<PriceListLine> getIndexedPriceListLineList(
+      List<Long> priceListLineIdList,
+      PriceList priceList,
+      BigDecimal qty,
+      Product product,
+      ProductCategory productCategory) {
+    List<PriceListLine> priceListLineList = new ArrayList<>();
+    for (Long priceListLineId : priceListLineIdList) {
+      PriceListLine priceListLine = priceListLineRepo.find(priceListLineId);
+      if (priceListLine == null
+          || !isSameModel(priceList, priceListLine.getPriceList())
+          || (product != null && !isSameModel(product, priceListLine.getProduct()))
+          || (productCategory != null
+              && !isSameModel(productCategory, priceListLine.getProductCategory()))
+          || priceListLine.getMinQty() == null
+          || priceListLine.getMinQty().compareTo(qty) > 0) {
+        priceListLineIndexService.invalidate(priceList);
+        return null;
+      }
+      priceListLineList.add(priceListLine);
+    }
+    return priceListLineList;
+  }
+
+  protected boolean isSameModel(Model model, Model otherModel) {
+    return otherModel != null && model.getId().equals(otherModel.getId());
+  }
+
   @Transactional
   public void setPriceListLineAnomaly(Product product) {
     for (PriceListLine priceListLine : product.getPriceListLineList()) {
@@ -37,6 +37,7 @@ import com.axelor.data.csv.CSVBind;
 import com.axelor.data.csv.CSVConfig;
 import com.axelor.data.csv.CSVImporter;
 import com.axelor.data.csv.CSVInput;
+import com.axelor.db.JPA;
 import com.axelor.db.Model;
 import com.axelor.db.mapper.Mapper;
 import com.axelor.db.mapper.Property;
@@ -67,9 +68,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
 import java.util.zip.ZipInputStream;
@@ -91,11 +95,17 @@ public class DataImportServiceImpl implements DataImportService {
       "call:com.axelor.csv.script.ImportDateTime:importDateTime";
   private static final String BIND_CALLABLE_META_FILE =
       "call:com.axelor.csv.script.ImportAdvancedImport:importPicture";
+  private static final String BIND_CALLABLE_REFERENCE =
+      "call:com.axelor.csv.script.ImportAdvancedImport:importReference";
+  private static final String REFERENCE_COLUMN_PREFIX = "ref_";
   private static final String MANY_TO_MANY = "ManyToMany";
   private static final String SPLIT = ".split('\\\\";
   private static final String AS_LIST = "') as List";
   private static final String REPLACE_SYMBOL = "$";
 
+  /** Number of rows written at once, sharing the queries resolving their references. */
+  protected static final int IMPORT_CHUNK_SIZE = 500;
+
   private CSVInput csvInput;
 
   private Map<String, CSVBind> parentBindMap;
@@ -104,6 +114,9 @@ public class DataImportServiceImpl implements DataImportService {
   private Map<String, Object> fieldMap;
   private Map<String, Object> titleMap;
   private Map<String, DataAdapter> adapterMap;
+  private Map<String, ReferenceColumn> referenceColumnMap;
+  private Map<String, String> selectionValueMap;
+  private Set<String> importedModelNames;
 
   private List<String> ifList;
 
@@ -135,6 +148,7 @@ public class DataImportServiceImpl implements DataImportService {
       throws IOException, AxelorException, ClassNotFoundException {
 
     adapterMap = new HashMap<String, DataAdapter>();
+    selectionValueMap = new HashMap<>();
     importContext = new HashMap<String, Object>();
     language = advancedImport.getLanguageSelect();
     dataDir = Files.createTempDir();
@@ -166,6 +180,11 @@ public class DataImportServiceImpl implements DataImportService {
     List<CSVInput> inputList = new ArrayList<CSVInput>();
 
     validatorService.sortFileTabList(advancedImport.getFileTabList());
+    importedModelNames =
+        advancedImport.getFileTabList().stream()
+            .filter(fileTab -> fileTab.getMetaModel() != null)
+            .map(fileTab -> fileTab.getMetaModel().getFullName())
+            .collect(Collectors.toSet());
 
     for (FileTab fileTab : advancedImport.getFileTabList()) {
       if (!Arrays.stream(sheets).anyMatch(sheet -> sheet.equals(fileTab.getName()))) {
@@ -178,23 +197,24 @@ public class DataImportServiceImpl implements DataImportService {
       csvInput = this.createCSVInput(fileTab, fileName);
       ifList = new ArrayList<String>();
 
-      File tempFile = new File(dataDir, fileName);
-      CSVFile csvFormat =
-          CSVFile.DEFAULT.withDelimiter(CSV_SEPRATOR).withQuoteAll().withFirstRecordAsHeader();
-      CSVPrinter printer = csvFormat.write(tempFile);
-
       int totalLines = reader.getTotalLines(fileTab.getName());
       if (totalLines == 0) {
         continue;
       }
 
+      File tempFile = new File(dataDir, fileName);
+      CSVFile csvFormat =
+          CSVFile.DEFAULT.withDelimiter(CSV_SEPRATOR).withQuoteAll().withFirstRecordAsHeader();
+      CSVPrinter printer = csvFormat.write(tempFile);
+
       Mapper mapper = advancedImportService.getMapper(fileTab.getMetaModel().getFullName());
-      List<String[]> allLines = new ArrayList<String[]>();
+      List<String[]> lines = new ArrayList<String[]>();
       int startIndex = isConfig ? 1 : linesToIgnore;
 
       String[] row = reader.read(fileTab.getName(), startIndex, 0);
       String[] headers = this.createHeader(row, fileTab, isConfig, mapper);
-      allLines.add(headers);
+      printer.printRecord((Object[]) headers);
+      int dataLength = headers.length - referenceColumnMap.size();
 
       int tabConfigRowCount = 0;
       if (isTabConfig) {
@@ -214,9 +234,14 @@ public class DataImportServiceImpl implements DataImportService {
           continue;
         }
         String[] data = this.createData(dataRow, fileTab, isConfig, mapper);
-        allLines.add(data);
+        lines.add(data);
+
+        if (lines.size() >= IMPORT_CHUNK_SIZE) {
+          this.writeLines(printer, lines, dataLength);
+          lines.clear();
+        }
       }
-      printer.printRecords(allLines);
+      this.writeLines(printer, lines, dataLength);
       printer.close();
 
       inputList.add(csvInput);
@@ -233,6 +258,7 @@ public class DataImportServiceImpl implements DataImportService {
 
   protected void initializeVariables() {
     parentBindMap = new HashMap<>();
+    referenceColumnMap = new LinkedHashMap<>();
     subBindMap = new HashMap<>();
     fullFieldName = null;
     fieldMap = new HashMap<>();
@@ -257,6 +283,7 @@ public class DataImportServiceImpl implements DataImportService {
     List<CSVBind> allBindings = new ArrayList<CSVBind>();
     int cnt = 0;
     Map<String, Object> searchMap = new HashMap<String, Object>();
+    Map<String, Integer> dataIndexMap = new HashMap<>();
 
     for (FileField fileField : fileTab.getFileFieldList()) {
       if (fileField.getImportType() == FileFieldRepository.IMPORT_TYPE_IGNORE_EMPTY) {
@@ -266,6 +293,10 @@ public class DataImportServiceImpl implements DataImportService {
       String key = (isConfig) ? validatorService.getField(fileField) : fileField.getColumnTitle();
       String column = ("cell" + (cnt + 1));
 
+      if (fileField.getIsMatchWithFile()) {
+        dataIndexMap.put(column, dataIndexMap.size());
+      }
+
       if (!CollectionUtils.isEmpty(fileTab.getSearchFieldSet())
           && fileTab.getSearchFieldSet().contains(fileField)
           && fileTab.getImportType() != FileFieldRepository.IMPORT_TYPE_NEW) {
@@ -286,6 +317,8 @@ public class DataImportServiceImpl implements DataImportService {
     fileTabBind.setExpression(fileTab.getId().toString());
     allBindings.add(fileTabBind);
 
+    this.bindReferenceColumns(headers, dataIndexMap);
+
     for (Entry<String, Object> entry : searchMap.entrySet()) {
       String field = entry.getKey(), cond1 = "", cond2 = "", condAnd = "";
       if (field.contains(".")) {
@@ -396,6 +429,153 @@ public class DataImportServiceImpl implements DataImportService {
     }
   }
 
+  /**
+   * Register the column of a relational field only found by a single key, such as <code>
+   * partner.code</code>. Its values are resolved by chunk while the data file is written, instead
+   * of running the search of the binding for each row.
+   *
+   * <p>The data files are all written before the import starts, so the references to a model
+   * imported by the same advanced import keep the search of their binding: they may target records
+   * created by an earlier sheet or row.
+   */
+  protected void addReferenceColumn(
+      String column, Property prop, FileField fileField, CSVBind parentBind)
+      throws ClassNotFoundException {
+
+    if (fileField.getImportType() != FileFieldRepository.IMPORT_TYPE_FIND
+        || !fileField.getIsMatchWithFile()
+        || MANY_TO_MANY.equals(fileField.getRelationship())
+        || !Strings.isNullOrEmpty(fileField.getExpression())
+        || prop.isCollection()
+        || prop.getTarget() == null
+        || importedModelNames.contains(prop.getTarget().getName())) {
+      return;
+    }
+
+    String[] subFields = fileField.getSubImportField().split("\\.");
+    if (subFields.length != 1
+        || !("self." + subFields[0] + " = :" + column).equals(parentBind.getSearch())) {
+      return;
+    }
+
+    Property keyProp =
+        advancedImportService.getMapper(prop.getTarget().getName()).getProperty(subFields[0]);
+    if (keyProp == null
+        || keyProp.getJavaType() != String.class
+        || !Strings.isNullOrEmpty(keyProp.getSelection())) {
+      return;
+    }
+
+    referenceColumnMap.put(
+        prop.getName(), new ReferenceColumn(column, prop.getTarget(), subFields[0]));
+  }
+
+  /**
+   * Replace the search of the registered reference columns by the id resolved in an additional
+   * column of the data file.
+   */
+  protected void bindReferenceColumns(List<String> headers, Map<String, Integer> dataIndexMap) {
+
+    referenceColumnMap
+        .values()
+        .removeIf(referenceColumn -> !headers.contains(referenceColumn.column));
+
+    for (Entry<String, ReferenceColumn> entry : referenceColumnMap.entrySet()) {
+      ReferenceColumn referenceColumn = entry.getValue();
+      referenceColumn.index = dataIndexMap.get(referenceColumn.column);
+
+      String idColumn = REFERENCE_COLUMN_PREFIX + referenceColumn.column;
+      headers.add(idColumn);
+
+      CSVBind bind = parentBindMap.get(entry.getKey());
+      bind.setSearch(null);
+      bind.setExpression(
+          BIND_CALLABLE_REFERENCE
+              + "("
+              + idColumn
+              + ", '"
+              + referenceColumn.targetClass.getName()
+              + "')");
+    }
+  }
+
+  /**
+   * Write the given lines, followed by the ids of their references. Each reference column is
+   * resolved with one query on the distinct keys of the lines.
+   */
+  protected void writeLines(CSVPrinter printer, List<String[]> lines, int dataLength)
+      throws IOException {
+
+    if (lines.isEmpty()) {
+      return;
+    }
+
+    List<ReferenceColumn> referenceColumns = new ArrayList<>(referenceColumnMap.values());
+    List<Map<String, Long>> idMaps = new ArrayList<>();
+
+    for (ReferenceColumn referenceColumn : referenceColumns) {
+      Set<String> keys =
+          lines.stream()
+              .filter(line -> referenceColumn.index < line.length)
+              .map(line -> line[referenceColumn.index])
+              .filter(StringUtils::notBlank)
+              .collect(Collectors.toSet());
+      idMaps.add(this.findReferenceIds(referenceColumn, keys));
+    }
+
+    for (String[] line : lines) {
+      String[] record = Arrays.copyOf(line, dataLength + referenceColumns.size());
+
+      for (int i = 0; i < referenceColumns.size(); i++) {
+        int index = referenceColumns.get(i).index;
+        Long id = index < line.length ? idMaps.get(i).get(line[index]) : null;
+        record[dataLength + i] = id != null ? id.toString() : "";
+      }
+
+      printer.printRecord((Object[]) record);
+    }
+  }
+
+  protected Map<String, Long> findReferenceIds(ReferenceColumn referenceColumn, Set<String> keys) {
+
+    Map<String, Long> idMap = new HashMap<>();
+    if (keys.isEmpty()) {
+      return idMap;
+    }
+
+    List<Object[]> results =
+        JPA.em()
+            .createQuery(
+                String.format(
+                    "SELECT self.%s, self.id FROM %s self WHERE self.%s IN :keys",
+                    referenceColumn.field,
+                    referenceColumn.targetClass.getName(),
+                    referenceColumn.field),
+                Object[].class)
+            .setParameter("keys", keys)
+            .getResultList();
+
+    for (Object[] result : results) {
+      idMap.putIfAbsent((String) result[0], (Long) result[1]);
+    }
+
+    return idMap;
+  }
+
+  protected static class ReferenceColumn {
+
+    protected final String column;
+    protected final Class<?> targetClass;
+    protected final String field;
+    protected int index;
+
+    protected ReferenceColumn(String column, Class<?> targetClass, String field) {
+      this.column = column;
+      this.targetClass = targetClass;
+      this.field = field;
+    }
+  }
+
   protected void writeSelectionData(
       String selection, String dataCell, int forSelectUse, List<String> dataList) {
 
@@ -409,6 +589,11 @@ public class DataImportServiceImpl implements DataImportService {
   protected String getSelectionValue(String selection, String value, int forSelectUse) {
 
     if (forSelectUse != FileFieldRepository.SELECT_USE_VALUES) {
+      String key = selection + "|" + forSelectUse + "|" + value;
+      if (selectionValueMap.containsKey(key)) {
+        return selectionValueMap.get(key);
+      }
+
       String title = null;
       if (forSelectUse == FileFieldRepository.SELECT_USE_TRANSLATED_TITLES) {
         title = translationService.getTranslationKey(value, language);
@@ -417,21 +602,19 @@ public class DataImportServiceImpl implements DataImportService {
       }
 
       MetaSelect metaSelect = metaSelectRepo.findByName(selection);
-      if (metaSelect == null) {
-        return null;
+      String selectionValue = null;
+
+      if (metaSelect != null) {
+        MetaSelectItem metaSelectItem =
+            metaSelectItemRepo
+                .all()
+                .filter("self.title = ?1 AND self.select.id = ?2", title, metaSelect.getId())
+                .fetchOne();
+        selectionValue = metaSelectItem != null ? metaSelectItem.getValue() : value;
       }
 
-      MetaSelectItem metaSelectItem =
-          metaSelectItemRepo
-              .all()
-              .filter("self.title = ?1 AND self.select.id = ?2", title, metaSelect.getId())
-              .fetchOne();
-
-      if (metaSelectItem != null) {
-        return metaSelectItem.getValue();
-      } else {
-        return value;
-      }
+      selectionValueMap.put(key, selectionValue);
+      return selectionValue;
     } else {
       return value;
     }
@@ -514,6 +697,12 @@ public class DataImportServiceImpl implements DataImportService {
       String[] subFields = fileField.getSubImportField().split("\\.");
       this.createCSVSubBinding(
           subFields, 0, column, prop, fileField, parentBind, dummyBind, isSameParentExist);
+
+      if (isSameParentExist) {
+        referenceColumnMap.remove(prop.getName());
+      } else {
+        this.addReferenceColumn(column, prop, fileField, parentBind);
+      }
     }
 
     if (!Strings.isNullOrEmpty(fileField.getNoImportIf())) {
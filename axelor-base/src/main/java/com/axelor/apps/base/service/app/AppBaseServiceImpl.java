@@ -18,7 +18,6 @@
  */
 package com.axelor.apps.base.service.app;
 
-import com.axelor.app.AppSettings;
 import com.axelor.apps.base.AxelorException;
 import com.axelor.apps.base.db.AddressTemplate;
 import com.axelor.apps.base.db.Company;
@@ -29,8 +28,8 @@ import com.axelor.apps.base.db.repo.TraceBackRepository;
 import com.axelor.apps.base.exceptions.BaseExceptionMessage;
 import com.axelor.auth.AuthUtils;
 import com.axelor.auth.db.User;
-import com.axelor.db.Query;
 import com.axelor.i18n.I18n;
+import com.axelor.inject.Beans;
 import com.axelor.meta.MetaFiles;
 import com.axelor.meta.db.repo.MetaFileRepository;
 import com.axelor.meta.db.repo.MetaModelRepository;
@@ -77,7 +76,11 @@ public class AppBaseServiceImpl extends AppServiceImpl implements AppBaseService
 
   @Override
   public AppBase getAppBase() {
-    return Query.of(AppBase.class).fetchOne();
+    return getAppConfigSnapshotService().getApp(AppBase.class);
+  }
+
+  protected AppConfigSnapshotService getAppConfigSnapshotService() {
+    return Beans.get(AppConfigSnapshotService.class);
   }
 
   @Override
@@ -92,17 +95,14 @@ public class AppBaseServiceImpl extends AppServiceImpl implements AppBaseService
       todayDateTime = LocalDateTimeHelper.getTodayDateTime(company.getTimezone());
     }
 
-    String applicationMode = AppSettings.get().get("application.mode", "prod");
+    AppConfigSnapshot snapshot = getAppConfigSnapshotService().getSnapshot();
 
-    if ("dev".equals(applicationMode)) {
+    if (snapshot.isDevMode()) {
       User user = AuthUtils.getUser();
       if (user != null && user.getTodayDateT() != null) {
         todayDateTime = user.getTodayDateT();
-      } else {
-        AppBase appBase = getAppBase();
-        if (appBase != null && appBase.getTodayDateT() != null) {
-          return appBase.getTodayDateT();
-        }
+      } else if (snapshot.getTodayDateT() != null) {
+        return snapshot.getTodayDateT();
       }
     }
 
@@ -117,14 +117,7 @@ public class AppBaseServiceImpl extends AppServiceImpl implements AppBaseService
 
   @Override
   public int getNbDecimalDigitForUnitPrice() {
-
-    AppBase appBase = getAppBase();
-
-    if (appBase != null) {
-      return appBase.getNbDecimalDigitForUnitPrice();
-    }
-
-    return DEFAULT_NB_DECIMAL_DIGITS;
+    return getAppConfigSnapshotService().getSnapshot().getNbDecimalDigitForUnitPrice();
   }
 
   @Override
@@ -138,14 +131,7 @@ public class AppBaseServiceImpl extends AppServiceImpl implements AppBaseService
 
   @Override
   public int getNbDecimalDigitForQty() {
-
-    AppBase appBase = getAppBase();
-
-    if (appBase != null) {
-      return appBase.getNbDecimalDigitForQty();
-    }
-
-    return DEFAULT_NB_DECIMAL_DIGITS;
+    return getAppConfigSnapshotService().getSnapshot().getNbDecimalDigitForQty();
   }
 
   @Override
@@ -0,0 +1,84 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.base.service.app;
+
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Configuration values read on hot paths, loaded once per tenant. The values are immutable, a new
+ * snapshot with a new version is loaded when the configuration is modified.
+ */
+public class AppConfigSnapshot {
+
+  protected final long version;
+  protected final long loadingTime = System.currentTimeMillis();
+  protected final Long appBaseId;
+  protected final int nbDecimalDigitForUnitPrice;
+  protected final int nbDecimalDigitForQty;
+  protected final ZonedDateTime todayDateT;
+  protected final boolean devMode;
+
+  /** Ids of the app configurations, filled on first access of each app. */
+  protected final Map<Class<?>, Long> appIdMap = new ConcurrentHashMap<>();
+
+  public AppConfigSnapshot(
+      long version,
+      Long appBaseId,
+      int nbDecimalDigitForUnitPrice,
+      int nbDecimalDigitForQty,
+      ZonedDateTime todayDateT,
+      boolean devMode) {
+    this.version = version;
+    this.appBaseId = appBaseId;
+    this.nbDecimalDigitForUnitPrice = nbDecimalDigitForUnitPrice;
+    this.nbDecimalDigitForQty = nbDecimalDigitForQty;
+    this.todayDateT = todayDateT;
+    this.devMode = devMode;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public long getLoadingTime() {
+    return loadingTime;
+  }
+
+  public Long getAppBaseId() {
+    return appBaseId;
+  }
+
+  public int getNbDecimalDigitForUnitPrice() {
+    return nbDecimalDigitForUnitPrice;
+  }
+
+  public int getNbDecimalDigitForQty() {
+    return nbDecimalDigitForQty;
+  }
+
+  public ZonedDateTime getTodayDateT() {
+    return todayDateT;
+  }
+
+  public boolean isDevMode() {
+    return devMode;
+  }
+}
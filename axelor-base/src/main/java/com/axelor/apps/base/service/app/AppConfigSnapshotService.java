@@ -0,0 +1,50 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.base.service.app;
+
+import com.axelor.db.Model;
+
+public interface AppConfigSnapshotService {
+
+  /**
+   * Get the configuration snapshot of the current tenant. The snapshot is loaded on first access
+   * and reloaded after an invalidation or when it is too old.
+   *
+   * @return the configuration snapshot
+   */
+  AppConfigSnapshot getSnapshot();
+
+  /**
+   * Get the app configuration of the given type. The id of the app is kept in the snapshot, so the
+   * app is found in the persistence context instead of being queried on each call.
+   *
+   * @param appClass the app configuration class, for example AppBase
+   * @return the app configuration, or null if the app is not installed
+   */
+  <T extends Model> T getApp(Class<T> appClass);
+
+  /** Invalidate the snapshot of the current tenant. */
+  void invalidate();
+
+  /** Number of reads served by a loaded snapshot. */
+  long getHitCount();
+
+  /** Number of snapshot and app id loadings. */
+  long getReloadCount();
+}
@@ -0,0 +1,142 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.base.service.app;
+
+import com.axelor.app.AppSettings;
+import com.axelor.db.JPA;
+import com.axelor.db.Model;
+import com.axelor.db.Query;
+import com.axelor.db.tenants.TenantResolver;
+import com.axelor.studio.db.AppBase;
+import java.lang.invoke.MethodHandles;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class AppConfigSnapshotServiceImpl implements AppConfigSnapshotService {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  /** Safety net for the configurations modified outside of the application, e.g. in SQL. */
+  protected static final long SNAPSHOT_TIME_TO_LIVE = TimeUnit.MINUTES.toMillis(5);
+
+  protected static final Map<String, AppConfigSnapshot> SNAPSHOT_PER_TENANT =
+      new ConcurrentHashMap<>();
+
+  protected static final AtomicLong VERSION = new AtomicLong();
+  protected static final AtomicLong HIT_COUNT = new AtomicLong();
+  protected static final AtomicLong RELOAD_COUNT = new AtomicLong();
+
+  @Override
+  public AppConfigSnapshot getSnapshot() {
+    String tenantId = getTenantId();
+    AppConfigSnapshot snapshot = SNAPSHOT_PER_TENANT.get(tenantId);
+    if (snapshot != null
+        && System.currentTimeMillis() - snapshot.getLoadingTime() <= SNAPSHOT_TIME_TO_LIVE) {
+      HIT_COUNT.incrementAndGet();
+      return snapshot;
+    }
+
+    snapshot = loadSnapshot();
+    // The snapshot is kept only once the base app is installed
+    if (snapshot.getAppBaseId() != null) {
+      SNAPSHOT_PER_TENANT.put(tenantId, snapshot);
+    }
+    return snapshot;
+  }
+
+  @Override
+  public <T extends Model> T getApp(Class<T> appClass) {
+    AppConfigSnapshot snapshot = getSnapshot();
+    Long appId = snapshot.appIdMap.get(appClass);
+    if (appId != null) {
+      T app = JPA.find(appClass, appId);
+      if (app != null) {
+        HIT_COUNT.incrementAndGet();
+        return app;
+      }
+    }
+
+    RELOAD_COUNT.incrementAndGet();
+    T app = Query.of(appClass).fetchOne();
+    if (app != null && app.getId() != null) {
+      snapshot.appIdMap.put(appClass, app.getId());
+    }
+    return app;
+  }
+
+  @Override
+  public void invalidate() {
+    SNAPSHOT_PER_TENANT.remove(getTenantId());
+  }
+
+  @Override
+  public long getHitCount() {
+    return HIT_COUNT.get();
+  }
+
+  @Override
+  public long getReloadCount() {
+    return RELOAD_COUNT.get();
+  }
+
+  protected AppConfigSnapshot loadSnapshot() {
+    RELOAD_COUNT.incrementAndGet();
+
+    boolean devMode = "dev".equals(AppSettings.get().get("application.mode", "prod"));
+    AppBase appBase = Query.of(AppBase.class).fetchOne();
+
+    AppConfigSnapshot snapshot;
+    if (appBase == null) {
+      snapshot =
+          new AppConfigSnapshot(
+              VERSION.incrementAndGet(),
+              null,
+              AppBaseService.DEFAULT_NB_DECIMAL_DIGITS,
+              AppBaseService.DEFAULT_NB_DECIMAL_DIGITS,
+              null,
+              devMode);
+    } else {
+      snapshot =
+          new AppConfigSnapshot(
+              VERSION.incrementAndGet(),
+              appBase.getId(),
+              appBase.getNbDecimalDigitForUnitPrice(),
+              appBase.getNbDecimalDigitForQty(),
+              appBase.getTodayDateT(),
+              devMode);
+      snapshot.appIdMap.put(AppBase.class, appBase.getId());
+    }
+
+    LOG.debug(
+        "Configuration snapshot {} loaded (hits: {}, reloads: {})",
+        snapshot.getVersion(),
+        HIT_COUNT.get(),
+        RELOAD_COUNT.get());
+    return snapshot;
+  }
+
+  protected String getTenantId() {
+    return Optional.ofNullable(TenantResolver.currentTenantIdentifier()).orElse("");
+  }
+}
@@ -20,8 +20,9 @@ package com.axelor.apps.base.service.batch;
 
 import com.axelor.apps.base.db.Company;
 import com.axelor.apps.base.db.ICalendar;
-import com.axelor.apps.base.db.repo.ICalendarRepository;
 import com.axelor.apps.base.ical.ICalendarService;
+import com.axelor.apps.base.service.exception.TraceBackService;
+import com.axelor.db.JPA;
 import com.google.inject.Inject;
 import java.util.List;
 
@@ -29,28 +30,34 @@ public class BatchCalendarSynchronization extends BatchStrategy {
 
   @Inject ICalendarService iCalendarService;
 
-  @Inject ICalendarRepository repo;
-
+  /**
+   * The calendars are synchronized one at a time: calendars sharing a meeting hold events with the
+   * same unique uid, so synchronizing them at the same time would make one of them fail.
+   */
   @Override
   protected void process() {
     final Company company = batch.getBaseBatch().getCompany();
+    final boolean allEvents = batch.getBaseBatch().getAllEvents();
+    final int weeks = batch.getBaseBatch().getSynchronizationDuration();
 
-    final List<ICalendar> calendars =
-        repo.all()
-            .filter("self.user.activeCompany = :company AND self.isValid = TRUE")
-            .bind("company", company)
-            .fetch();
+    final List<Long> calendarIds =
+        JPA.em()
+            .createQuery(
+                "SELECT self.id FROM ICalendar self"
+                    + " WHERE self.user.activeCompany = :company AND self.isValid = TRUE",
+                Long.class)
+            .setParameter("company", company)
+            .getResultList();
 
-    for (ICalendar calendar : calendars) {
+    for (Long calendarId : calendarIds) {
       try {
-        iCalendarService.sync(
-            calendar,
-            batch.getBaseBatch().getAllEvents(),
-            batch.getBaseBatch().getSynchronizationDuration());
+        iCalendarService.sync(JPA.find(ICalendar.class, calendarId), allEvents, weeks);
         incrementDone();
       } catch (Exception e) {
-        e.printStackTrace();
+        TraceBackService.trace(e, null, batch.getId());
         incrementAnomaly();
+      } finally {
+        JPA.clear();
       }
     }
   }
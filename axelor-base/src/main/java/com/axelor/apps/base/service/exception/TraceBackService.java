@@ -27,13 +27,17 @@ import com.axelor.db.EntityHelper;
 import com.axelor.db.JPA;
 import com.axelor.db.Model;
 import com.axelor.db.Query;
+import com.axelor.db.tenants.TenantResolver;
 import com.axelor.inject.Beans;
 import com.axelor.rpc.ActionResponse;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.lang.invoke.MethodHandles;
 import java.time.ZonedDateTime;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,6 +53,16 @@ public class TraceBackService {
   protected static final int TYPE_TECHNICAL = 0;
   protected static final int TYPE_FUNCTIONAL = 1;
 
+  protected static final int FINGERPRINT_FRAME_COUNT = 5;
+
+  /**
+   * Tracebacks already created during a batch, by fingerprint. A batch hitting the same error again
+   * (e.g. on a record retried in each chunk) increments the occurrence count of the first traceback
+   * instead of creating a new one.
+   */
+  private static final Cache<String, Long> BATCH_TRACE_BACK_CACHE =
+      CacheBuilder.newBuilder().maximumSize(10000).expireAfterAccess(1, TimeUnit.HOURS).build();
+
   /**
    * Créer un log des exceptions en tant qu'anomalie.
    *
@@ -106,6 +120,64 @@ public class TraceBackService {
     return traceBack;
   }
 
+  /**
+   * Fingerprint of an exception raised during a batch: the exception class, its category for a
+   * functional exception and its first stack frames. The referenced record and the message are left
+   * out, so that the same error raised on every record of a batch is traced once with an occurrence
+   * count. The traceback keeps the record of the first occurrence.
+   */
+  private static String _fingerprint(Throwable e, long batchId) {
+    StringBuilder fingerprint =
+        new StringBuilder()
+            .append(TenantResolver.currentTenantIdentifier())
+            .append('|')
+            .append(batchId)
+            .append('|')
+            .append(e.getClass().getName());
+
+    if (e instanceof AxelorException) {
+      fingerprint.append('|').append(((AxelorException) e).getCategory());
+    }
+
+    StackTraceElement[] stackTrace = e.getStackTrace();
+    if (stackTrace != null) {
+      for (int i = 0; i < Math.min(stackTrace.length, FINGERPRINT_FRAME_COUNT); i++) {
+        fingerprint.append('|').append(stackTrace[i]);
+      }
+    }
+    return fingerprint.toString();
+  }
+
+  /**
+   * Increment the occurrence count of the traceback already created for the same error in the same
+   * batch.
+   *
+   * @return true if such a traceback was found, false if a new traceback must be created
+   */
+  private static boolean _incrementOccurrence(String fingerprint) {
+    Long traceBackId = BATCH_TRACE_BACK_CACHE.getIfPresent(fingerprint);
+    if (traceBackId == null) {
+      return false;
+    }
+
+    int updatedCount =
+        JPA.em()
+            .createQuery(
+                "UPDATE TraceBack self "
+                    + "SET self.occurrenceCount = COALESCE(self.occurrenceCount, 1) + 1 "
+                    + "WHERE self.id = :id")
+            .setParameter("id", traceBackId)
+            .executeUpdate();
+
+    if (updatedCount == 0) {
+      BATCH_TRACE_BACK_CACHE.invalidate(fingerprint);
+      return false;
+    }
+
+    LOG.debug("Same error traced again on traceback {}", traceBackId);
+    return true;
+  }
+
   /**
    * Affiche à l'écran par l'intermédiaire d'une popup le message d'une exception.
    *
@@ -169,7 +241,39 @@ public class TraceBackService {
    */
   public static void trace(final AxelorException e, final String origin, final long batchId) {
 
-    JPA.runInTransaction(() -> LOG.trace(_create(e, origin, batchId).getTrace()));
+    _trace(e, origin, batchId, true);
+  }
+
+  /**
+   * Trace an exception raised during a batch without merging it with the same error already traced
+   * in this batch, for the batches listing their records in error from their tracebacks.
+   *
+   * @param e the exception, referencing the record in error
+   * @param origin origin of the exception
+   * @param batchId the batch id
+   */
+  public static void traceEachOccurrence(
+      final AxelorException e, final String origin, final long batchId) {
+
+    _trace(e, origin, batchId, false);
+  }
+
+  private static void _trace(
+      final AxelorException e, final String origin, final long batchId, boolean deduplicate) {
+
+    JPA.runInTransaction(
+        () -> {
+          String fingerprint = deduplicate && batchId > 0 ? _fingerprint(e, batchId) : null;
+          if (fingerprint != null && _incrementOccurrence(fingerprint)) {
+            return;
+          }
+
+          TraceBack traceBack = _create(e, origin, batchId);
+          if (fingerprint != null) {
+            BATCH_TRACE_BACK_CACHE.put(fingerprint, traceBack.getId());
+          }
+          LOG.trace(traceBack.getTrace());
+        });
   }
 
   /**
@@ -179,7 +283,19 @@ public class TraceBackService {
    */
   public static void trace(final Throwable e, final String origin, final long batchId) {
 
-    JPA.runInTransaction(() -> LOG.error(_create(e, origin, 0, batchId).getTrace()));
+    JPA.runInTransaction(
+        () -> {
+          String fingerprint = batchId > 0 ? _fingerprint(e, batchId) : null;
+          if (fingerprint != null && _incrementOccurrence(fingerprint)) {
+            return;
+          }
+
+          TraceBack traceBack = _create(e, origin, 0, batchId);
+          if (fingerprint != null) {
+            BATCH_TRACE_BACK_CACHE.put(fingerprint, traceBack.getId());
+          }
+          LOG.error(traceBack.getTrace());
+        });
   }
 
   /**
@@ -0,0 +1,36 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.base.service.message;
+
+import com.axelor.db.JPA;
+import com.google.inject.persist.Transactional;
+
+public class EmailAddressDomainServiceImpl implements EmailAddressDomainService {
+
+  @Override
+  @Transactional
+  public int fillMissingDomainNames() {
+    return JPA.em()
+        .createQuery(
+            "UPDATE EmailAddress self "
+                + "SET self.domainName = LOWER(SUBSTRING(self.address, LOCATE('@', self.address) + 1)) "
+                + "WHERE self.domainName IS NULL AND self.address LIKE '%@%'")
+        .executeUpdate();
+  }
+}
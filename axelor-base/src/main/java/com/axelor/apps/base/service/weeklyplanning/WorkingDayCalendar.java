@@ -0,0 +1,107 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.base.service.weeklyplanning;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Immutable working day calendar built from a weekly planning and a public holiday planning.
+ *
+ * <p>Working days are computed arithmetically: whole weeks are skipped at once and only the public
+ * holidays falling on a working day of the week are looked up, so computing a date far in the
+ * future does not require to check every day one by one.
+ */
+public class WorkingDayCalendar {
+
+  protected final Set<DayOfWeek> workingDays;
+  protected final NavigableSet<LocalDate> holidays = new TreeSet<>();
+
+  public WorkingDayCalendar(Collection<DayOfWeek> workingDays, Collection<LocalDate> holidays) {
+    this.workingDays =
+        workingDays.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(workingDays);
+    for (LocalDate holiday : holidays) {
+      if (this.workingDays.contains(holiday.getDayOfWeek())) {
+        this.holidays.add(holiday);
+      }
+    }
+  }
+
+  public boolean hasWorkingDays() {
+    return !workingDays.isEmpty();
+  }
+
+  public boolean isWorkingDay(LocalDate date) {
+    return workingDays.contains(date.getDayOfWeek()) && !holidays.contains(date);
+  }
+
+  /**
+   * Returns the n-th working day, the given date being the first one if it is a working day.
+   *
+   * @param fromDate the first date to consider
+   * @param days the number of working days, must be greater than zero
+   * @return the date of the n-th working day
+   */
+  public LocalDate getWorkingDay(LocalDate fromDate, int days) {
+    if (days <= 0) {
+      throw new IllegalArgumentException("The number of working days must be greater than zero.");
+    }
+    if (!hasWorkingDays()) {
+      throw new IllegalStateException("The calendar does not have any working day.");
+    }
+
+    LocalDate date = fromDate;
+    int remainingDays = days;
+
+    while (true) {
+      LocalDate toDate = getWeekWorkingDay(date, remainingDays);
+      int skippedHolidays = holidays.subSet(date, true, toDate, true).size();
+      if (skippedHolidays == 0) {
+        return toDate;
+      }
+      date = toDate.plusDays(1);
+      remainingDays = skippedHolidays;
+    }
+  }
+
+  /** Same as {@link #getWorkingDay(LocalDate, int)} without taking public holidays into account. */
+  protected LocalDate getWeekWorkingDay(LocalDate fromDate, int days) {
+    LocalDate date = fromDate;
+    while (!workingDays.contains(date.getDayOfWeek())) {
+      date = date.plusDays(1);
+    }
+
+    int remainingDays = days - 1;
+    date = date.plusWeeks(remainingDays / workingDays.size());
+    remainingDays = remainingDays % workingDays.size();
+
+    while (remainingDays > 0) {
+      date = date.plusDays(1);
+      if (workingDays.contains(date.getDayOfWeek())) {
+        remainingDays--;
+      }
+    }
+    return date;
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.base.service.weeklyplanning;
+
+import com.axelor.apps.base.db.EventsPlanning;
+import com.axelor.apps.base.db.WeeklyPlanning;
+
+public interface WorkingDayCalendarService {
+
+  /**
+   * Get the working day calendar of the given plannings. Calendars are cached and reloaded when one
+   * of the plannings is modified.
+   *
+   * @param weeklyPlanning the weekly planning, giving the working days of the week
+   * @param publicHolidayEventsPlanning the public holidays, can be null
+   * @return the working day calendar
+   */
+  WorkingDayCalendar getWorkingDayCalendar(
+      WeeklyPlanning weeklyPlanning, EventsPlanning publicHolidayEventsPlanning);
+
+  void invalidateCache();
+}
@@ -0,0 +1,118 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.base.service.weeklyplanning;
+
+import com.axelor.apps.base.db.DayPlanning;
+import com.axelor.apps.base.db.EventsPlanning;
+import com.axelor.apps.base.db.WeeklyPlanning;
+import com.axelor.common.ObjectUtils;
+import com.axelor.db.JPA;
+import com.axelor.db.tenants.TenantResolver;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.inject.Inject;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class WorkingDayCalendarServiceImpl implements WorkingDayCalendarService {
+
+  protected static final Cache<String, WorkingDayCalendar> CACHE =
+      CacheBuilder.newBuilder().maximumSize(100).expireAfterWrite(10, TimeUnit.MINUTES).build();
+
+  protected WeeklyPlanningService weeklyPlanningService;
+
+  @Inject
+  public WorkingDayCalendarServiceImpl(WeeklyPlanningService weeklyPlanningService) {
+    this.weeklyPlanningService = weeklyPlanningService;
+  }
+
+  @Override
+  public WorkingDayCalendar getWorkingDayCalendar(
+      WeeklyPlanning weeklyPlanning, EventsPlanning publicHolidayEventsPlanning) {
+    String key = computeKey(weeklyPlanning, publicHolidayEventsPlanning);
+    WorkingDayCalendar workingDayCalendar = CACHE.getIfPresent(key);
+    if (workingDayCalendar != null) {
+      return workingDayCalendar;
+    }
+
+    workingDayCalendar =
+        new WorkingDayCalendar(
+            getWorkingDays(weeklyPlanning), getPublicHolidays(publicHolidayEventsPlanning));
+    CACHE.put(key, workingDayCalendar);
+    return workingDayCalendar;
+  }
+
+  @Override
+  public void invalidateCache() {
+    CACHE.invalidateAll();
+  }
+
+  protected String computeKey(
+      WeeklyPlanning weeklyPlanning, EventsPlanning publicHolidayEventsPlanning) {
+    StringBuilder key = new StringBuilder();
+    key.append(TenantResolver.currentTenantIdentifier())
+        .append('-')
+        .append(weeklyPlanning.getId())
+        .append('-')
+        .append(weeklyPlanning.getVersion());
+    if (publicHolidayEventsPlanning != null) {
+      key.append('-')
+          .append(publicHolidayEventsPlanning.getId())
+          .append('-')
+          .append(publicHolidayEventsPlanning.getVersion());
+    }
+    return key.toString();
+  }
+
+  protected List<DayOfWeek> getWorkingDays(WeeklyPlanning weeklyPlanning) {
+    List<DayOfWeek> workingDays = new ArrayList<>();
+    if (ObjectUtils.isEmpty(weeklyPlanning.getWeekDays())) {
+      return workingDays;
+    }
+
+    LocalDate monday = LocalDate.of(2000, 1, 3);
+    for (int i = 0; i < 7; i++) {
+      LocalDate date = monday.plusDays(i);
+      DayPlanning dayPlanning = weeklyPlanningService.findDayPlanning(weeklyPlanning, date);
+      if (dayPlanning != null
+          && weeklyPlanningService.getWorkingDayValueInDays(weeklyPlanning, date) != 0) {
+        workingDays.add(date.getDayOfWeek());
+      }
+    }
+    return workingDays;
+  }
+
+  protected List<LocalDate> getPublicHolidays(EventsPlanning publicHolidayEventsPlanning) {
+    if (publicHolidayEventsPlanning == null) {
+      return Collections.emptyList();
+    }
+
+    return JPA.em()
+        .createQuery(
+            "SELECT self.date FROM EventsPlanningLine self"
+                + " WHERE self.eventsPlanning = :eventsPlanning AND self.date IS NOT NULL",
+            LocalDate.class)
+        .setParameter("eventsPlanning", publicHolidayEventsPlanning)
+        .getResultList();
+  }
+}
@@ -37,6 +37,21 @@ public interface IMessage {
       "Error in import: %s. Please check the server log" /*)*/;
   public static final String NO_MENU = /*$$(*/ "Menu not found: %s" /*)*/;
 
+  public static final String PERMISSION_IMPORT_SUMMARY = /*$$(*/
+      "%s permissions or rules to create, %s to update, %s unchanged." /*)*/;
+  public static final String PERMISSION_IMPORT_CREATE_PERMISSION = /*$$(*/
+      "Create permission %s" /*)*/;
+  public static final String PERMISSION_IMPORT_UPDATE_PERMISSION = /*$$(*/
+      "Update permission %s" /*)*/;
+  public static final String PERMISSION_IMPORT_CREATE_META_PERMISSION = /*$$(*/
+      "Create field permission %s" /*)*/;
+  public static final String PERMISSION_IMPORT_CREATE_RULE = /*$$(*/
+      "Create rule on field %s of %s" /*)*/;
+  public static final String PERMISSION_IMPORT_UPDATE_RULE = /*$$(*/
+      "Update rule on field %s of %s" /*)*/;
+  public static final String PERMISSION_IMPORT_PREVIEW_OK = /*$$(*/
+      "Preview completed, no permission has been saved. Please check log." /*)*/;
+
   public static final String ALL_PERMISSIONS_OBJECT_OK = /*$$(*/
       "All permissions' objects seem to be good." /*)*/;
 }
@@ -75,6 +75,8 @@ public class PermissionAssistantService {
 
   private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+  protected static final int IMPORT_CHUNK_SIZE = 500;
+
   @Inject private MetaPermissionRepository metaPermissionRepository;
 
   @Inject private PermissionRepository permissionRepository;
@@ -395,6 +397,20 @@ public class PermissionAssistantService {
   }
 
   public String importPermissions(PermissionAssistant permissionAssistant) {
+    return importPermissions(permissionAssistant, false);
+  }
+
+  /**
+   * Compare the permission file with the existing permissions without saving anything.
+   *
+   * @return the errors found in the file followed by the permissions and rules that the import
+   *     would create or update.
+   */
+  public String previewImport(PermissionAssistant permissionAssistant) {
+    return importPermissions(permissionAssistant, true);
+  }
+
+  protected String importPermissions(PermissionAssistant permissionAssistant, boolean dryRun) {
 
     try {
       ResourceBundle bundle = I18n.getBundle(new Locale(permissionAssistant.getLanguage()));
@@ -435,25 +451,32 @@ public class PermissionAssistantService {
           rows.add(values);
         }
 
+        PermissionImportContext context = new PermissionImportContext(dryRun);
+        MetaField field = permissionAssistant.getMetaField();
+        Boolean fieldPermission = permissionAssistant.getFieldPermission();
+
         if (permissionAssistant.getTypeSelect() == PermissionAssistantRepository.TYPE_GROUPS) {
           Map<String, Group> groupMap = checkBadGroups(groupRow);
-          processGroupCSV(
-              rows,
-              groupRow,
-              groupMap,
-              permissionAssistant.getMetaField(),
-              permissionAssistant.getFieldPermission());
-          saveGroups(groupMap);
+          loadPermissions(context, rows, groupMap.keySet(), field, fieldPermission);
+          processGroupCSV(rows, groupRow, groupMap, field, fieldPermission, context);
+          if (!dryRun) {
+            saveGroups(groupMap);
+          }
         } else if (permissionAssistant.getTypeSelect()
             == PermissionAssistantRepository.TYPE_ROLES) {
           Map<String, Role> roleMap = checkBadRoles(groupRow);
-          processRoleCSV(
-              rows,
-              groupRow,
-              roleMap,
-              permissionAssistant.getMetaField(),
-              permissionAssistant.getFieldPermission());
-          saveRoles(roleMap);
+          loadPermissions(context, rows, roleMap.keySet(), field, fieldPermission);
+          processRoleCSV(rows, groupRow, roleMap, field, fieldPermission, context);
+          if (!dryRun) {
+            saveRoles(roleMap);
+          }
+        }
+
+        String report = getImportReport(context);
+        if (dryRun) {
+          errorLog += (errorLog.isEmpty() ? "" : "\n\n") + report;
+        } else {
+          LOG.debug(report);
         }
       }
 
@@ -466,6 +489,95 @@ public class PermissionAssistantService {
     return errorLog;
   }
 
+  /**
+   * Load at once the models, permissions, meta permissions and rules that the rows of the file can
+   * refer to, so that each cell is compared in memory instead of running its own queries.
+   */
+  protected void loadPermissions(
+      PermissionImportContext context,
+      List<String[]> rows,
+      Collection<String> suffixes,
+      MetaField userField,
+      Boolean fieldPermission) {
+
+    List<String> objectNameList =
+        rows.stream()
+            .map(row -> row[0])
+            .filter(objectName -> !Strings.isNullOrEmpty(objectName))
+            .distinct()
+            .collect(Collectors.toList());
+
+    for (List<String> objectNames : Lists.partition(objectNameList, IMPORT_CHUNK_SIZE)) {
+      modelRepository
+          .all()
+          .filter("self.fullName IN :objectNames")
+          .bind("objectNames", objectNames)
+          .fetch()
+          .stream()
+          .map(MetaModel::getFullName)
+          .forEach(context::addObject);
+    }
+
+    List<String> permNameList = new ArrayList<>();
+    List<String> metaPermNameList = new ArrayList<>();
+
+    for (String objectName : objectNameList) {
+      if (!context.containsObject(objectName)) {
+        continue;
+      }
+      String simpleName = getSimpleName(objectName);
+      for (String suffix : suffixes) {
+        permNameList.add(getPermissionName(userField, simpleName, suffix));
+        metaPermNameList.add(getPermissionName(null, simpleName, suffix));
+      }
+    }
+
+    for (List<String> permNames : Lists.partition(permNameList, IMPORT_CHUNK_SIZE)) {
+      permissionRepository
+          .all()
+          .filter("self.name IN :permNames")
+          .bind("permNames", permNames)
+          .fetch()
+          .forEach(context::putPermission);
+    }
+
+    if (!fieldPermission) {
+      return;
+    }
+
+    for (List<String> metaPermNames : Lists.partition(metaPermNameList, IMPORT_CHUNK_SIZE)) {
+      metaPermissionRepository
+          .all()
+          .filter("self.name IN :metaPermNames")
+          .bind("metaPermNames", metaPermNames)
+          .fetch()
+          .forEach(context::putMetaPermission);
+      ruleRepository
+          .all()
+          .filter("self.metaPermission.name IN :metaPermNames")
+          .bind("metaPermNames", metaPermNames)
+          .fetch()
+          .forEach(rule -> context.putRule(rule.getMetaPermission().getName(), rule));
+    }
+  }
+
+  protected String getImportReport(PermissionImportContext context) {
+
+    StringBuilder report =
+        new StringBuilder(
+            String.format(
+                I18n.get(IMessage.PERMISSION_IMPORT_SUMMARY),
+                context.getCreatedCount(),
+                context.getUpdatedCount(),
+                context.getUnchangedCount()));
+
+    for (String change : context.getChangeList()) {
+      report.append("\n").append(change);
+    }
+
+    return report.toString();
+  }
+
   @Transactional
   public void saveGroups(Map<String, Group> groupMap) {
 
@@ -482,22 +594,36 @@ public class PermissionAssistantService {
     }
   }
 
-  private Map<String, Group> checkBadGroups(String[] groupRow) {
+  protected List<String> getColumnNames(String[] groupRow) {
 
-    List<String> badGroups = new ArrayList<>();
-    Map<String, Group> groupMap = new HashMap<>();
+    List<String> columnNames = new ArrayList<>();
 
     for (Integer glen = header.size() + 1; glen < groupRow.length; glen += groupHeader.size()) {
+      columnNames.add(groupRow[glen]);
+    }
 
-      String groupName = groupRow[glen];
-      Group group = groupRepository.all().filter("self.code = ?1", groupName).fetchOne();
-      if (group == null) {
-        badGroups.add(groupName);
-      } else {
-        groupMap.put(groupName, group);
-      }
+    return columnNames;
+  }
+
+  private Map<String, Group> checkBadGroups(String[] groupRow) {
+
+    List<String> groupNames = getColumnNames(groupRow);
+    Map<String, Group> groupMap = new HashMap<>();
+
+    if (!groupNames.isEmpty()) {
+      groupRepository
+          .all()
+          .filter("self.code IN :groupNames")
+          .bind("groupNames", groupNames)
+          .fetch()
+          .forEach(group -> groupMap.put(group.getCode(), group));
     }
 
+    List<String> badGroups =
+        groupNames.stream()
+            .filter(groupName -> !groupMap.containsKey(groupName))
+            .collect(Collectors.toList());
+
     if (!badGroups.isEmpty()) {
       errorLog += "\n" + String.format(I18n.get(IMessage.NO_GROUP), badGroups);
     }
@@ -507,20 +633,23 @@ public class PermissionAssistantService {
 
   private Map<String, Role> checkBadRoles(String[] roleRow) {
 
-    List<String> badroles = new ArrayList<>();
+    List<String> roleNames = getColumnNames(roleRow);
     Map<String, Role> roleMap = new HashMap<>();
 
-    for (Integer len = header.size() + 1; len < roleRow.length; len += groupHeader.size()) {
-
-      String roleName = roleRow[len];
-      Role role = roleRepo.all().filter("self.name = ?1", roleName).fetchOne();
-      if (roleName == null) {
-        badroles.add(roleName);
-      } else {
-        roleMap.put(roleName, role);
-      }
+    if (!roleNames.isEmpty()) {
+      roleRepo
+          .all()
+          .filter("self.name IN :roleNames")
+          .bind("roleNames", roleNames)
+          .fetch()
+          .forEach(role -> roleMap.put(role.getName(), role));
     }
 
+    List<String> badroles =
+        roleNames.stream()
+            .filter(roleName -> !roleMap.containsKey(roleName))
+            .collect(Collectors.toList());
+
     if (!badroles.isEmpty()) {
       errorLog += "\n" + String.format(I18n.get(IMessage.NO_ROLE), badroles);
     }
@@ -528,11 +657,9 @@ public class PermissionAssistantService {
     return roleMap;
   }
 
-  protected String checkObject(String objectName) {
-
-    MetaModel model = modelRepository.all().filter("self.fullName = ?1", objectName).fetchOne();
+  protected String checkObject(String objectName, PermissionImportContext context) {
 
-    if (model == null) {
+    if (!context.containsObject(objectName)) {
       errorLog += "\n" + String.format(I18n.get(IMessage.NO_OBJECT), objectName);
       return null;
     }
@@ -540,12 +667,18 @@ public class PermissionAssistantService {
     return objectName;
   }
 
+  protected String getSimpleName(String objectName) {
+    String[] objectNames = objectName.split("\\.");
+    return objectNames[objectNames.length - 1];
+  }
+
   protected void processGroupCSV(
       List<String[]> rows,
       String[] groupRow,
       Map<String, Group> groupMap,
       MetaField field,
-      Boolean fieldBoolean)
+      Boolean fieldBoolean,
+      PermissionImportContext context)
       throws IOException {
 
     Map<String, MetaPermission> metaPermDict = new HashMap<>();
@@ -564,16 +697,17 @@ public class PermissionAssistantService {
         String[] rowGroup = Arrays.copyOfRange(row, groupIndex, groupIndex + groupHeader.size());
 
         if (!Strings.isNullOrEmpty(groupName) && !Strings.isNullOrEmpty(row[0])) {
-          objectName = checkObject(row[0]);
+          objectName = checkObject(row[0], context);
           if (objectName == null) {
             break;
           }
           if (fieldBoolean) {
-            metaPermDict.put(groupName, getMetaPermission(groupMap.get(groupName), objectName));
+            metaPermDict.put(
+                groupName, getMetaPermission(groupMap.get(groupName), objectName, context));
           }
-          updatePermission(groupMap.get(groupName), objectName, field, rowGroup);
+          updatePermission(groupMap.get(groupName), objectName, field, rowGroup, context);
         } else if (fieldBoolean && objectName != null && !Strings.isNullOrEmpty(row[1])) {
-          updateFieldPermission(metaPermDict.get(groupName), row[1], rowGroup);
+          updateFieldPermission(metaPermDict.get(groupName), row[1], rowGroup, context);
         }
       }
     }
@@ -584,7 +718,8 @@ public class PermissionAssistantService {
       String[] roleRow,
       Map<String, Role> roleMap,
       MetaField field,
-      Boolean fieldPermission)
+      Boolean fieldPermission,
+      PermissionImportContext context)
       throws IOException {
 
     Map<String, MetaPermission> metaPermDict = new HashMap<>();
@@ -603,145 +738,221 @@ public class PermissionAssistantService {
         String[] rowGroup = Arrays.copyOfRange(row, groupIndex, groupIndex + groupHeader.size());
 
         if (!Strings.isNullOrEmpty(roleName) && !Strings.isNullOrEmpty(row[0])) {
-          objectName = checkObject(row[0]);
+          objectName = checkObject(row[0], context);
           if (objectName == null) {
             break;
           }
           if (fieldPermission) {
-            metaPermDict.put(roleName, getMetaPermission(roleMap.get(roleName), objectName));
+            metaPermDict.put(
+                roleName, getMetaPermission(roleMap.get(roleName), objectName, context));
           }
-          updatePermission(roleMap.get(roleName), objectName, field, rowGroup);
+          updatePermission(roleMap.get(roleName), objectName, field, rowGroup, context);
         } else if (fieldPermission && objectName != null && !Strings.isNullOrEmpty(row[1])) {
-          updateFieldPermission(metaPermDict.get(roleName), row[1], rowGroup);
+          updateFieldPermission(metaPermDict.get(roleName), row[1], rowGroup, context);
         }
       }
     }
   }
 
-  public MetaPermission getMetaPermission(Group group, String objectName) {
+  public MetaPermission getMetaPermission(
+      Group group, String objectName, PermissionImportContext context) {
 
-    String[] objectNames = objectName.split("\\.");
     String groupName = group.getCode();
-    String permName = getPermissionName(null, objectNames[objectNames.length - 1], group.getCode());
-    MetaPermission metaPermission =
-        metaPermissionRepository.all().filter("self.name = ?1", permName).fetchOne();
+    String permName = getPermissionName(null, getSimpleName(objectName), groupName);
+    MetaPermission metaPermission = context.getMetaPermission(permName);
 
     if (metaPermission == null) {
       LOG.debug("Create metaPermission group: {}, object: {}", groupName, objectName);
 
-      metaPermission = new MetaPermission();
-      metaPermission.setName(permName);
-      metaPermission.setObject(objectName);
-
-      group.addMetaPermission(metaPermission);
+      metaPermission = createMetaPermission(permName, objectName, context);
+      if (!context.isDryRun()) {
+        group.addMetaPermission(metaPermission);
+      }
     }
 
     return metaPermission;
   }
 
-  public MetaPermission getMetaPermission(Role role, String objectName) {
+  public MetaPermission getMetaPermission(
+      Role role, String objectName, PermissionImportContext context) {
 
-    String[] objectNames = objectName.split("\\.");
     String roleName = role.getName();
-    String permName = getPermissionName(null, objectNames[objectNames.length - 1], roleName);
-    MetaPermission metaPermission =
-        metaPermissionRepository.all().filter("self.name = ?1", permName).fetchOne();
+    String permName = getPermissionName(null, getSimpleName(objectName), roleName);
+    MetaPermission metaPermission = context.getMetaPermission(permName);
 
     if (metaPermission == null) {
       LOG.debug("Create metaPermission role: {}, object: {}", roleName, objectName);
 
-      metaPermission = new MetaPermission();
-      metaPermission.setName(permName);
-      metaPermission.setObject(objectName);
-
-      role.addMetaPermission(metaPermission);
+      metaPermission = createMetaPermission(permName, objectName, context);
+      if (!context.isDryRun()) {
+        role.addMetaPermission(metaPermission);
+      }
     }
 
     return metaPermission;
   }
 
+  protected MetaPermission createMetaPermission(
+      String permName, String objectName, PermissionImportContext context) {
+
+    MetaPermission metaPermission = new MetaPermission();
+    metaPermission.setName(permName);
+    metaPermission.setObject(objectName);
+
+    context.putMetaPermission(metaPermission);
+    context.addCreated(
+        String.format(I18n.get(IMessage.PERMISSION_IMPORT_CREATE_META_PERMISSION), permName));
+
+    return metaPermission;
+  }
+
   public MetaPermission updateFieldPermission(
-      MetaPermission metaPermission, String field, String[] row) {
+      MetaPermission metaPermission, String field, String[] row, PermissionImportContext context) {
 
-    MetaPermissionRule permissionRule =
-        ruleRepository
-            .all()
-            .filter(
-                "self.field = ?1 and self.metaPermission.name = ?2",
-                field,
-                metaPermission.getName())
-            .fetchOne();
+    MetaPermissionRule permissionRule = context.getRule(metaPermission.getName(), field);
 
     if (permissionRule == null) {
       permissionRule = new MetaPermissionRule();
       permissionRule.setMetaPermission(metaPermission);
       permissionRule.setField(field);
+      setRuleValues(permissionRule, row);
+
+      context.putRule(metaPermission.getName(), permissionRule);
+      context.addCreated(
+          String.format(
+              I18n.get(IMessage.PERMISSION_IMPORT_CREATE_RULE), field, metaPermission.getName()));
+      if (!context.isDryRun()) {
+        metaPermission.addRule(permissionRule);
+      }
+    } else if (isRuleUpToDate(permissionRule, row)) {
+      context.addUnchanged();
+    } else {
+      context.addUpdated(
+          String.format(
+              I18n.get(IMessage.PERMISSION_IMPORT_UPDATE_RULE), field, metaPermission.getName()));
+      if (!context.isDryRun()) {
+        setRuleValues(permissionRule, row);
+      }
     }
 
+    return metaPermission;
+  }
+
+  protected void setRuleValues(MetaPermissionRule permissionRule, String[] row) {
     permissionRule.setCanRead(row[0].equalsIgnoreCase("x"));
     permissionRule.setCanWrite(row[1].equalsIgnoreCase("x"));
     permissionRule.setCanExport(row[4].equalsIgnoreCase("x"));
     permissionRule.setReadonlyIf(row[5]);
     permissionRule.setHideIf(row[6]);
-    metaPermission.addRule(permissionRule);
-
-    return metaPermission;
   }
 
-  public void updatePermission(Group group, String objectName, MetaField field, String[] row) {
+  protected boolean isRuleUpToDate(MetaPermissionRule permissionRule, String[] row) {
+    return isSameCheck(permissionRule.getCanRead(), row[0])
+        && isSameCheck(permissionRule.getCanWrite(), row[1])
+        && isSameCheck(permissionRule.getCanExport(), row[4])
+        && isSameValue(permissionRule.getReadonlyIf(), row[5])
+        && isSameValue(permissionRule.getHideIf(), row[6]);
+  }
 
-    String[] objectNames = objectName.split("\\.");
-    String permName =
-        getPermissionName(field, objectNames[objectNames.length - 1], group.getCode());
+  public void updatePermission(
+      Group group,
+      String objectName,
+      MetaField field,
+      String[] row,
+      PermissionImportContext context) {
 
-    Permission permission =
-        permissionRepository.all().filter("self.name = ?1", permName).fetchOne();
-    boolean newPermission = false;
+    String permName = getPermissionName(field, getSimpleName(objectName), group.getCode());
+    Permission permission = updatePermission(permName, objectName, row, false, context);
 
-    if (permission == null) {
-      newPermission = true;
-      permission = new Permission();
-      permission.setName(permName);
-      permission.setObject(objectName);
+    if (permission != null && !context.isDryRun()) {
+      group.addPermission(permission);
     }
+  }
 
-    permission.setCanRead(row[0].equalsIgnoreCase("x"));
-    permission.setCanWrite(row[1].equalsIgnoreCase("x"));
-    permission.setCanCreate(row[2].equalsIgnoreCase("x"));
-    permission.setCanRemove(row[3].equalsIgnoreCase("x"));
-    permission.setCanExport(row[4].equalsIgnoreCase("x"));
+  public void updatePermission(
+      Role role,
+      String objectName,
+      MetaField field,
+      String[] row,
+      PermissionImportContext context) {
 
-    if (newPermission) {
-      group.addPermission(permission);
+    String permName = getPermissionName(field, getSimpleName(objectName), role.getName());
+    Permission permission = updatePermission(permName, objectName, row, true, context);
+
+    if (permission != null && !context.isDryRun()) {
+      role.addPermission(permission);
     }
   }
 
-  public void updatePermission(Role role, String objectName, MetaField field, String[] row) {
+  /**
+   * Compare the permission with the given row and create or update it if needed.
+   *
+   * @return the permission if it has just been created, null otherwise.
+   */
+  protected Permission updatePermission(
+      String permName,
+      String objectName,
+      String[] row,
+      boolean withCondition,
+      PermissionImportContext context) {
 
-    String[] objectNames = objectName.split("\\.");
-    String permName = getPermissionName(field, objectNames[objectNames.length - 1], role.getName());
-
-    Permission permission =
-        permissionRepository.all().filter("self.name = ?1", permName).fetchOne();
-    boolean newPermission = false;
+    Permission permission = context.getPermission(permName);
 
     if (permission == null) {
-      newPermission = true;
       permission = new Permission();
       permission.setName(permName);
       permission.setObject(objectName);
+      setPermissionValues(permission, row, withCondition);
+
+      context.putPermission(permission);
+      context.addCreated(
+          String.format(I18n.get(IMessage.PERMISSION_IMPORT_CREATE_PERMISSION), permName));
+      return permission;
     }
 
+    if (isPermissionUpToDate(permission, row, withCondition)) {
+      context.addUnchanged();
+    } else {
+      context.addUpdated(
+          String.format(I18n.get(IMessage.PERMISSION_IMPORT_UPDATE_PERMISSION), permName));
+      if (!context.isDryRun()) {
+        setPermissionValues(permission, row, withCondition);
+      }
+    }
+
+    return null;
+  }
+
+  protected void setPermissionValues(Permission permission, String[] row, boolean withCondition) {
     permission.setCanRead(row[0].equalsIgnoreCase("x"));
     permission.setCanWrite(row[1].equalsIgnoreCase("x"));
     permission.setCanCreate(row[2].equalsIgnoreCase("x"));
     permission.setCanRemove(row[3].equalsIgnoreCase("x"));
     permission.setCanExport(row[4].equalsIgnoreCase("x"));
-    permission.setCondition(row[5]);
-    permission.setConditionParams(row[6]);
 
-    if (newPermission) {
-      role.addPermission(permission);
+    if (withCondition) {
+      permission.setCondition(row[5]);
+      permission.setConditionParams(row[6]);
     }
   }
+
+  protected boolean isPermissionUpToDate(
+      Permission permission, String[] row, boolean withCondition) {
+    return isSameCheck(permission.getCanRead(), row[0])
+        && isSameCheck(permission.getCanWrite(), row[1])
+        && isSameCheck(permission.getCanCreate(), row[2])
+        && isSameCheck(permission.getCanRemove(), row[3])
+        && isSameCheck(permission.getCanExport(), row[4])
+        && (!withCondition
+            || (isSameValue(permission.getCondition(), row[5])
+                && isSameValue(permission.getConditionParams(), row[6])));
+  }
+
+  protected boolean isSameCheck(Boolean value, String cell) {
+    return Boolean.TRUE.equals(value) == cell.equalsIgnoreCase("x");
+  }
+
+  protected boolean isSameValue(String value, String cell) {
+    return Strings.nullToEmpty(value).equals(Strings.nullToEmpty(cell));
+  }
 }
@@ -0,0 +1,128 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.auth.service;
+
+import com.axelor.auth.db.Permission;
+import com.axelor.meta.db.MetaPermission;
+import com.axelor.meta.db.MetaPermissionRule;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Existing permissions, meta permissions and rules targeted by a permission assistant import,
+ * loaded once before the file is processed, along with the changes found while processing it.
+ */
+public class PermissionImportContext {
+
+  protected final boolean dryRun;
+
+  protected final Set<String> objectNames = new HashSet<>();
+
+  protected final Map<String, Permission> permissionMap = new HashMap<>();
+
+  protected final Map<String, MetaPermission> metaPermissionMap = new HashMap<>();
+
+  protected final Map<String, MetaPermissionRule> ruleMap = new HashMap<>();
+
+  protected final List<String> changeList = new ArrayList<>();
+
+  protected int createdCount;
+
+  protected int updatedCount;
+
+  protected int unchangedCount;
+
+  public PermissionImportContext(boolean dryRun) {
+    this.dryRun = dryRun;
+  }
+
+  public boolean isDryRun() {
+    return dryRun;
+  }
+
+  public boolean containsObject(String objectName) {
+    return objectNames.contains(objectName);
+  }
+
+  public void addObject(String objectName) {
+    objectNames.add(objectName);
+  }
+
+  public Permission getPermission(String name) {
+    return permissionMap.get(name);
+  }
+
+  public void putPermission(Permission permission) {
+    permissionMap.put(permission.getName(), permission);
+  }
+
+  public MetaPermission getMetaPermission(String name) {
+    return metaPermissionMap.get(name);
+  }
+
+  public void putMetaPermission(MetaPermission metaPermission) {
+    metaPermissionMap.put(metaPermission.getName(), metaPermission);
+  }
+
+  public MetaPermissionRule getRule(String metaPermissionName, String field) {
+    return ruleMap.get(getRuleKey(metaPermissionName, field));
+  }
+
+  public void putRule(String metaPermissionName, MetaPermissionRule rule) {
+    ruleMap.put(getRuleKey(metaPermissionName, rule.getField()), rule);
+  }
+
+  protected String getRuleKey(String metaPermissionName, String field) {
+    return metaPermissionName + ":" + field;
+  }
+
+  public void addCreated(String change) {
+    createdCount++;
+    changeList.add(change);
+  }
+
+  public void addUpdated(String change) {
+    updatedCount++;
+    changeList.add(change);
+  }
+
+  public void addUnchanged() {
+    unchangedCount++;
+  }
+
+  public List<String> getChangeList() {
+    return changeList;
+  }
+
+  public int getCreatedCount() {
+    return createdCount;
+  }
+
+  public int getUpdatedCount() {
+    return updatedCount;
+  }
+
+  public int getUnchangedCount() {
+    return unchangedCount;
+  }
+}
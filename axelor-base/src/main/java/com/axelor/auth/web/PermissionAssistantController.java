@@ -70,6 +70,20 @@ public class PermissionAssistantController {
     }
   }
 
+  public void previewImport(ActionRequest request, ActionResponse response) {
+    try {
+      Long permissionAssistantId = (Long) request.getContext().get("id");
+      String log =
+          Beans.get(PermissionAssistantService.class)
+              .previewImport(
+                  Beans.get(PermissionAssistantRepository.class).find(permissionAssistantId));
+      response.setValue("log", log);
+      response.setInfo(I18n.get(IMessage.PERMISSION_IMPORT_PREVIEW_OK));
+    } catch (Exception e) {
+      TraceBackService.trace(response, e);
+    }
+  }
+
   public void fillObjects(ActionRequest request, ActionResponse response) {
     try {
       PermissionAssistant assistant = request.getContext().asType(PermissionAssistant.class);
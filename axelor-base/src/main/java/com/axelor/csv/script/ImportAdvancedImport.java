@@ -162,6 +162,17 @@ public class ImportAdvancedImport {
     fileTab.setAttrs(context.get("attrs").toString());
   }
 
+  /** Get the record whose id has been resolved while writing the data file, without querying it. */
+  @SuppressWarnings("unchecked")
+  public Object importReference(String id, String className) throws ClassNotFoundException {
+    if (Strings.isNullOrEmpty(id)) {
+      return null;
+    }
+
+    Class<? extends Model> klass = (Class<? extends Model>) Class.forName(className);
+    return JPA.em().getReference(klass, Long.valueOf(id));
+  }
+
   public Object importPicture(String value, String pathVal) throws IOException {
     if (Strings.isNullOrEmpty(value)) {
       return null;
@@ -0,0 +1,108 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.base.service.weeklyplanning;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class TestWorkingDayCalendar {
+
+  private static WorkingDayCalendar workingDayCalendar;
+
+  @BeforeAll
+  static void prepare() {
+    List<DayOfWeek> workingDays =
+        Arrays.asList(
+            DayOfWeek.MONDAY,
+            DayOfWeek.TUESDAY,
+            DayOfWeek.WEDNESDAY,
+            DayOfWeek.THURSDAY,
+            DayOfWeek.FRIDAY);
+    List<LocalDate> holidays =
+        Arrays.asList(
+            LocalDate.of(2024, 5, 1),
+            LocalDate.of(2024, 5, 8),
+            LocalDate.of(2024, 5, 9),
+            LocalDate.of(2024, 5, 20),
+            LocalDate.of(2024, 7, 14),
+            LocalDate.of(2024, 8, 15),
+            LocalDate.of(2024, 12, 25));
+    workingDayCalendar = new WorkingDayCalendar(workingDays, holidays);
+  }
+
+  @Test
+  void testFirstWorkingDayIsFromDate() {
+    Assertions.assertEquals(
+        LocalDate.of(2024, 4, 29), workingDayCalendar.getWorkingDay(LocalDate.of(2024, 4, 29), 1));
+  }
+
+  @Test
+  void testSkipWeekEnd() {
+    Assertions.assertEquals(
+        LocalDate.of(2024, 4, 29), workingDayCalendar.getWorkingDay(LocalDate.of(2024, 4, 27), 1));
+    Assertions.assertEquals(
+        LocalDate.of(2024, 4, 22), workingDayCalendar.getWorkingDay(LocalDate.of(2024, 4, 18), 3));
+  }
+
+  @Test
+  void testSkipPublicHolidays() {
+    Assertions.assertEquals(
+        LocalDate.of(2024, 5, 10), workingDayCalendar.getWorkingDay(LocalDate.of(2024, 5, 6), 3));
+  }
+
+  @Test
+  void testSameResultAsDayByDayComputation() {
+    LocalDate fromDate = LocalDate.of(2024, 1, 1);
+    for (int offset = 0; offset < 60; offset++) {
+      for (int days = 1; days <= 300; days += 7) {
+        LocalDate date = fromDate.plusDays(offset);
+        Assertions.assertEquals(
+            computeDayByDay(date, days), workingDayCalendar.getWorkingDay(date, days));
+      }
+    }
+  }
+
+  @Test
+  void testNoWorkingDay() {
+    WorkingDayCalendar emptyCalendar =
+        new WorkingDayCalendar(Collections.emptyList(), Collections.emptyList());
+    Assertions.assertThrows(
+        IllegalStateException.class,
+        () -> emptyCalendar.getWorkingDay(LocalDate.of(2024, 1, 1), 1));
+  }
+
+  private LocalDate computeDayByDay(LocalDate fromDate, int days) {
+    LocalDate date = fromDate;
+    LocalDate toDate = null;
+    while (days > 0) {
+      if (workingDayCalendar.isWorkingDay(date)) {
+        toDate = date;
+        days--;
+      }
+      date = date.plusDays(1);
+    }
+    return toDate;
+  }
+}
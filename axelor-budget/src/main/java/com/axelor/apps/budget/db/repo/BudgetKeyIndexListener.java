@@ -0,0 +1,82 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.budget.db.repo;
+
+import com.axelor.apps.budget.db.GlobalBudget;
+import com.axelor.apps.budget.service.BudgetKeyIndexService;
+import com.axelor.auth.db.AuditableModel;
+import com.axelor.db.EntityHelper;
+import com.axelor.db.JPA;
+import com.axelor.db.Model;
+import com.axelor.db.mapper.Mapper;
+import com.axelor.inject.Beans;
+import java.util.Objects;
+import javax.persistence.PrePersist;
+import javax.persistence.PreRemove;
+import javax.persistence.PreUpdate;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+
+/**
+ * Invalidate the index of the budget keys once the transaction saving or removing a budget or a
+ * global budget is committed, whatever saves it (forms, imports or services). Updates that do not
+ * modify an indexed field, such as the computation of the totals, keep the index.
+ */
+public class BudgetKeyIndexListener {
+
+  protected static final String[] BUDGET_INDEXED_FIELDS = {
+    "budgetKey", "fromDate", "toDate", "globalBudget"
+  };
+  protected static final String[] GLOBAL_BUDGET_INDEXED_FIELDS = {"statusSelect"};
+
+  @PrePersist
+  @PreRemove
+  protected void onPersistOrRemove(AuditableModel model) {
+    Beans.get(BudgetKeyIndexService.class).invalidateOnCommit();
+  }
+
+  @PreUpdate
+  protected void onUpdate(AuditableModel model) {
+    EntityEntry entry =
+        JPA.em().unwrap(SessionImplementor.class).getPersistenceContext().getEntry(model);
+    String[] indexedFields =
+        model instanceof GlobalBudget ? GLOBAL_BUDGET_INDEXED_FIELDS : BUDGET_INDEXED_FIELDS;
+    if (entry == null
+        || entry.getLoadedState() == null
+        || isModified(model, entry, indexedFields)) {
+      Beans.get(BudgetKeyIndexService.class).invalidateOnCommit();
+    }
+  }
+
+  protected boolean isModified(AuditableModel model, EntityEntry entry, String[] fieldNames) {
+    Mapper mapper = Mapper.of(EntityHelper.getEntityClass(model));
+    for (String fieldName : fieldNames) {
+      Object value = mapper.get(model, fieldName);
+      Object loadedValue = entry.getLoadedValue(fieldName);
+      if (value instanceof Model && loadedValue instanceof Model) {
+        value = ((Model) value).getId();
+        loadedValue = ((Model) loadedValue).getId();
+      }
+      if (!Objects.equals(value, loadedValue)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -53,6 +53,8 @@ import com.axelor.apps.budget.service.BudgetDistributionService;
 import com.axelor.apps.budget.service.BudgetDistributionServiceImpl;
 import com.axelor.apps.budget.service.BudgetGroupService;
 import com.axelor.apps.budget.service.BudgetGroupServiceImpl;
+import com.axelor.apps.budget.service.BudgetKeyIndexService;
+import com.axelor.apps.budget.service.BudgetKeyIndexServiceImpl;
 import com.axelor.apps.budget.service.BudgetLevelResetToolService;
 import com.axelor.apps.budget.service.BudgetLevelResetToolServiceImpl;
 import com.axelor.apps.budget.service.BudgetLevelService;
@@ -166,6 +168,7 @@ public class BudgetModule extends AxelorModule {
     bind(MoveBankPaymentRepository.class).to(MoveBudgetManagementRepository.class);
     bind(BudgetAccountService.class).to(BudgetAccountServiceImpl.class);
     bind(BudgetService.class).to(BudgetServiceImpl.class);
+    bind(BudgetKeyIndexService.class).to(BudgetKeyIndexServiceImpl.class);
     bind(GlobalBudgetService.class).to(GlobalBudgetServiceImpl.class);
     bind(BudgetLevelService.class).to(BudgetLevelServiceImpl.class);
     bind(BudgetDistributionService.class).to(BudgetDistributionServiceImpl.class);
@@ -0,0 +1,43 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.budget.service;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface BudgetKeyIndexService {
+
+  /**
+   * Find the id of the budget of a valid global budget matching the key at the given date, using an
+   * in memory index of the budget keys.
+   *
+   * @param key a budget key element (company-account-axis:analytic account)
+   * @param date the imputation date
+   * @return the budget id, empty if no budget matches
+   */
+  Optional<Long> findBudgetId(String key, LocalDate date);
+
+  void invalidate();
+
+  /**
+   * Invalidate the index once the current transaction is committed, so that it can not be reloaded
+   * with the previous budgets in between.
+   */
+  void invalidateOnCommit();
+}
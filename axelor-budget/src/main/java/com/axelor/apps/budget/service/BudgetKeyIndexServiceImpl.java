@@ -0,0 +1,165 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.budget.service;
+
+import com.axelor.apps.budget.db.repo.GlobalBudgetRepository;
+import com.axelor.db.JPA;
+import com.axelor.db.tenants.TenantResolver;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.engine.spi.SessionImplementor;
+
+public class BudgetKeyIndexServiceImpl implements BudgetKeyIndexService {
+
+  /** Safety net for the budgets modified by bulk queries or by another server. */
+  protected static final long INDEX_TIME_TO_LIVE = TimeUnit.MINUTES.toMillis(5);
+
+  protected static final Map<String, BudgetKeyIndex> INDEX_PER_TENANT = new ConcurrentHashMap<>();
+
+  /** Incremented on each invalidation, so that an index loaded meanwhile is not kept. */
+  protected static final AtomicLong INVALIDATION_COUNT = new AtomicLong();
+
+  /** Set when the budgets modified in the current transaction invalidate the index on commit. */
+  protected static final ThreadLocal<Boolean> INVALIDATION_REGISTERED = new ThreadLocal<>();
+
+  protected static class BudgetKeyEntry {
+    protected final Long budgetId;
+    protected final String budgetKey;
+    protected final LocalDate fromDate;
+    protected final LocalDate toDate;
+
+    protected BudgetKeyEntry(
+        Long budgetId, String budgetKey, LocalDate fromDate, LocalDate toDate) {
+      this.budgetId = budgetId;
+      this.budgetKey = budgetKey;
+      this.fromDate = fromDate;
+      this.toDate = toDate;
+    }
+
+    protected boolean isInDates(LocalDate date) {
+      return fromDate != null
+          && toDate != null
+          && !fromDate.isAfter(date)
+          && !toDate.isBefore(date);
+    }
+  }
+
+  protected static class BudgetKeyIndex {
+    protected final Map<String, List<BudgetKeyEntry>> entriesPerKey = new HashMap<>();
+    protected final long loadingTime = System.currentTimeMillis();
+
+    protected boolean isExpired() {
+      return System.currentTimeMillis() - loadingTime > INDEX_TIME_TO_LIVE;
+    }
+  }
+
+  @Override
+  public Optional<Long> findBudgetId(String key, LocalDate date) {
+    if (key == null || date == null) {
+      return Optional.empty();
+    }
+
+    return getIndex().entriesPerKey.getOrDefault(key, Collections.emptyList()).stream()
+        .filter(entry -> entry.isInDates(date))
+        .map(entry -> entry.budgetId)
+        .findFirst();
+  }
+
+  @Override
+  public void invalidate() {
+    invalidate(getTenantId());
+  }
+
+  protected void invalidate(String tenantId) {
+    INVALIDATION_COUNT.incrementAndGet();
+    INDEX_PER_TENANT.remove(tenantId);
+  }
+
+  @Override
+  public void invalidateOnCommit() {
+    if (Boolean.TRUE.equals(INVALIDATION_REGISTERED.get())) {
+      return;
+    }
+
+    INVALIDATION_REGISTERED.set(true);
+    String tenantId = getTenantId();
+    JPA.em()
+        .unwrap(SessionImplementor.class)
+        .getActionQueue()
+        .registerProcess(
+            (success, session) -> {
+              INVALIDATION_REGISTERED.remove();
+              if (success) {
+                invalidate(tenantId);
+              }
+            });
+  }
+
+  protected BudgetKeyIndex getIndex() {
+    String tenantId = getTenantId();
+    BudgetKeyIndex index = INDEX_PER_TENANT.get(tenantId);
+    if (index == null || index.isExpired()) {
+      long invalidationCount = INVALIDATION_COUNT.get();
+      index = loadIndex();
+      // an index loaded while a transaction was committing changes may already be stale
+      if (INVALIDATION_COUNT.get() == invalidationCount) {
+        INDEX_PER_TENANT.put(tenantId, index);
+      }
+    }
+    return index;
+  }
+
+  protected BudgetKeyIndex loadIndex() {
+    BudgetKeyIndex index = new BudgetKeyIndex();
+
+    List<Object[]> resultList =
+        JPA.em()
+            .createQuery(
+                "SELECT self.id, self.budgetKey, self.fromDate, self.toDate FROM Budget self"
+                    + " WHERE self.budgetKey IS NOT NULL"
+                    + " AND self.globalBudget.statusSelect = :statusSelect"
+                    + " ORDER BY self.id",
+                Object[].class)
+            .setParameter("statusSelect", GlobalBudgetRepository.GLOBAL_BUDGET_STATUS_SELECT_VALID)
+            .getResultList();
+
+    for (Object[] result : resultList) {
+      BudgetKeyEntry entry =
+          new BudgetKeyEntry(
+              (Long) result[0], (String) result[1], (LocalDate) result[2], (LocalDate) result[3]);
+      for (String key : entry.budgetKey.split(";")) {
+        index.entriesPerKey.computeIfAbsent(key, k -> new ArrayList<>()).add(entry);
+      }
+    }
+
+    return index;
+  }
+
+  protected String getTenantId() {
+    return Optional.ofNullable(TenantResolver.currentTenantIdentifier()).orElse("");
+  }
+}
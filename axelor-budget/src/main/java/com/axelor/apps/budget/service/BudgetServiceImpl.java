@@ -59,9 +59,11 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.commons.collections.CollectionUtils;
 
@@ -80,6 +82,7 @@ public class BudgetServiceImpl implements BudgetService {
   protected AnalyticDistributionLineRepository analyticDistributionLineRepo;
   protected BudgetToolsService budgetToolsService;
   protected CurrencyScaleService currencyScaleService;
+  protected BudgetKeyIndexService budgetKeyIndexService;
 
   @Inject
   public BudgetServiceImpl(
@@ -94,7 +97,8 @@ public class BudgetServiceImpl implements BudgetService {
       AccountRepository accountRepo,
       AnalyticDistributionLineRepository analyticDistributionLineRepo,
       BudgetToolsService budgetToolsService,
-      CurrencyScaleService currencyScaleService) {
+      CurrencyScaleService currencyScaleService,
+      BudgetKeyIndexService budgetKeyIndexService) {
     this.budgetLineRepository = budgetLineRepository;
     this.budgetRepository = budgetRepository;
     this.budgetLevelRepository = budgetLevelRepository;
@@ -107,6 +111,7 @@ public class BudgetServiceImpl implements BudgetService {
     this.analyticDistributionLineRepo = analyticDistributionLineRepo;
     this.budgetToolsService = budgetToolsService;
     this.currencyScaleService = currencyScaleService;
+    this.budgetKeyIndexService = budgetKeyIndexService;
   }
 
   @Override
@@ -590,24 +595,28 @@ public class BudgetServiceImpl implements BudgetService {
 
   @Override
   public Budget findBudgetWithKey(String key, LocalDate date) {
-    List<Budget> budgetList =
-        budgetRepository
-            .all()
-            .filter(
-                "self.globalBudget.statusSelect = :statusSelect AND self.budgetKey LIKE '%"
-                    + key
-                    + "%'")
-            .bind("statusSelect", GlobalBudgetRepository.GLOBAL_BUDGET_STATUS_SELECT_VALID)
-            .fetch();
-    if (!CollectionUtils.isEmpty(budgetList) && date != null) {
-      for (Budget budget : budgetList) {
-        if ((budget.getFromDate().isBefore(date) || budget.getFromDate().isEqual(date))
-            && (budget.getToDate().isAfter(date) || budget.getToDate().isEqual(date))) {
-          return budget;
-        }
-      }
+    Optional<Long> budgetId = budgetKeyIndexService.findBudgetId(key, date);
+    Budget budget = budgetId.map(budgetRepository::find).orElse(null);
+
+    if (budgetId.isPresent() && (budget == null || !isValidBudgetForKey(budget, key, date))) {
+      // the budget has been modified or removed since the index has been loaded
+      budgetKeyIndexService.invalidate();
+      budget =
+          budgetKeyIndexService.findBudgetId(key, date).map(budgetRepository::find).orElse(null);
     }
-    return null;
+    return budget;
+  }
+
+  protected boolean isValidBudgetForKey(Budget budget, String key, LocalDate date) {
+    return budget.getBudgetKey() != null
+        && Arrays.asList(budget.getBudgetKey().split(";")).contains(key)
+        && budget.getGlobalBudget() != null
+        && budget.getGlobalBudget().getStatusSelect()
+            == GlobalBudgetRepository.GLOBAL_BUDGET_STATUS_SELECT_VALID
+        && budget.getFromDate() != null
+        && budget.getToDate() != null
+        && !budget.getFromDate().isAfter(date)
+        && !budget.getToDate().isBefore(date);
   }
 
   @Override
@@ -617,25 +626,44 @@ public class BudgetServiceImpl implements BudgetService {
       Move move,
       MoveLine moveLine,
       boolean excludeMoveInSimulated) {
+    for (Budget budget : imputeLinesFromMove(budgetDistributionList, move, moveLine)) {
+      computeBudgetTotalsFromMove(budget, move, excludeMoveInSimulated);
+    }
+  }
+
+  /**
+   * Update the budget lines of the given distributions, without computing the totals of the
+   * budgets.
+   *
+   * @return the updated budgets
+   */
+  protected Set<Budget> imputeLinesFromMove(
+      List<BudgetDistribution> budgetDistributionList, Move move, MoveLine moveLine) {
+    Set<Budget> budgetSet = new LinkedHashSet<>();
     boolean isBudgetImputed = false;
     if (budgetDistributionList != null) {
       for (BudgetDistribution budgetDistribution : budgetDistributionList) {
         if (updateLineFromMove(budgetDistribution, move, moveLine)) {
           isBudgetImputed = true;
         }
-        Budget budget = budgetDistribution.getBudget();
-        if (budget != null) {
-          computeTotalAmountRealized(budget);
-          computeTotalFirmGap(budget);
-          computeTotalSimulatedAmount(move, budget, excludeMoveInSimulated);
-          computeTotalAvailableWithSimulatedAmount(budget);
-          budgetRepository.save(budget);
+        if (budgetDistribution.getBudget() != null) {
+          budgetSet.add(budgetDistribution.getBudget());
         }
       }
       if (isBudgetImputed) {
         moveLine.setIsBudgetImputed(true);
       }
     }
+    return budgetSet;
+  }
+
+  protected void computeBudgetTotalsFromMove(
+      Budget budget, Move move, boolean excludeMoveInSimulated) {
+    computeTotalAmountRealized(budget);
+    computeTotalFirmGap(budget);
+    computeTotalSimulatedAmount(move, budget, excludeMoveInSimulated);
+    computeTotalAvailableWithSimulatedAmount(budget);
+    budgetRepository.save(budget);
   }
 
   @Override
@@ -647,13 +675,18 @@ public class BudgetServiceImpl implements BudgetService {
     }
 
     if (!CollectionUtils.isEmpty(move.getMoveLineList())) {
+      // the totals only depend on the budget lines, so they are computed once per budget
+      Set<Budget> budgetSet = new LinkedHashSet<>();
       move.getMoveLineList().stream()
           .filter(moveLine -> CollectionUtils.isNotEmpty(moveLine.getBudgetDistributionList()))
           .forEach(
-              moveLine -> {
-                updateLinesFromMove(
-                    moveLine.getBudgetDistributionList(), move, moveLine, excludeMoveInSimulated);
-              });
+              moveLine ->
+                  budgetSet.addAll(
+                      imputeLinesFromMove(moveLine.getBudgetDistributionList(), move, moveLine)));
+
+      for (Budget budget : budgetSet) {
+        computeBudgetTotalsFromMove(budget, move, excludeMoveInSimulated);
+      }
     }
   }
 
@@ -49,9 +49,11 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.apache.commons.collections.CollectionUtils;
 
 public class BudgetInvoiceServiceImpl implements BudgetInvoiceService {
@@ -181,15 +183,33 @@ public class BudgetInvoiceServiceImpl implements BudgetInvoiceService {
       return;
     }
 
+    // the totals only depend on the budget lines, so they are computed once per budget
+    Set<Budget> budgetSet = new LinkedHashSet<>();
     for (InvoiceLine invoiceLine : invoiceLineList) {
-      updateLinesFromInvoice(invoiceLine.getBudgetDistributionList(), invoice, invoiceLine);
+      budgetSet.addAll(
+          imputeLinesFromInvoice(invoiceLine.getBudgetDistributionList(), invoice, invoiceLine));
     }
+    computeBudgetTotals(budgetSet);
   }
 
   @Transactional
   protected void updateLinesFromInvoice(
       List<BudgetDistribution> budgetDistributionList, Invoice invoice, InvoiceLine invoiceLine)
       throws AxelorException {
+    computeBudgetTotals(imputeLinesFromInvoice(budgetDistributionList, invoice, invoiceLine));
+  }
+
+  /**
+   * Update the budget lines of the given distributions, without computing the totals of the
+   * budgets.
+   *
+   * @return the updated budgets
+   */
+  @Transactional
+  protected Set<Budget> imputeLinesFromInvoice(
+      List<BudgetDistribution> budgetDistributionList, Invoice invoice, InvoiceLine invoiceLine)
+      throws AxelorException {
+    Set<Budget> budgetSet = new LinkedHashSet<>();
     if (!ObjectUtils.isEmpty(budgetDistributionList)) {
       for (BudgetDistribution budgetDistribution : budgetDistributionList) {
         if (invoiceLine.getInvoice().getPurchaseOrder() != null
@@ -200,15 +220,22 @@ public class BudgetInvoiceServiceImpl implements BudgetInvoiceService {
         } else {
           updateLineWithNoPO(budgetDistribution, invoice);
         }
-        Budget budget = budgetDistribution.getBudget();
-        if (budget != null) {
-          budgetService.computeTotalAmountRealized(budget);
-          budgetService.computeTotalFirmGap(budget);
-          budgetService.computeTotalAmountCommitted(budget);
-          budgetRepository.save(budget);
+        if (budgetDistribution.getBudget() != null) {
+          budgetSet.add(budgetDistribution.getBudget());
         }
       }
     }
+    return budgetSet;
+  }
+
+  @Transactional
+  protected void computeBudgetTotals(Set<Budget> budgetSet) {
+    for (Budget budget : budgetSet) {
+      budgetService.computeTotalAmountRealized(budget);
+      budgetService.computeTotalFirmGap(budget);
+      budgetService.computeTotalAmountCommitted(budget);
+      budgetRepository.save(budget);
+    }
   }
 
   @Override
@@ -19,19 +19,21 @@
 package com.axelor.apps.businessproduction.service;
 
 import com.axelor.apps.base.AxelorException;
+import com.axelor.apps.businessproject.service.ProjectTotalsTrackingService;
+import com.axelor.apps.businessproject.service.TimesheetWorkflowProjectServiceImpl;
 import com.axelor.apps.hr.db.Timesheet;
 import com.axelor.apps.hr.db.repo.TimesheetRepository;
 import com.axelor.apps.hr.service.app.AppHumanResourceService;
 import com.axelor.apps.hr.service.config.HRConfigService;
 import com.axelor.apps.hr.service.timesheet.TimesheetWorkflowCheckService;
-import com.axelor.apps.hr.service.timesheet.TimesheetWorkflowServiceImpl;
 import com.axelor.apps.production.service.app.AppProductionService;
 import com.axelor.inject.Beans;
 import com.axelor.message.service.TemplateMessageService;
 import com.google.inject.Inject;
 import com.google.inject.persist.Transactional;
 
-public class TimesheetBusinessProductionWorkflowServiceImpl extends TimesheetWorkflowServiceImpl {
+public class TimesheetBusinessProductionWorkflowServiceImpl
+    extends TimesheetWorkflowProjectServiceImpl {
 
   @Inject
   public TimesheetBusinessProductionWorkflowServiceImpl(
@@ -39,13 +41,15 @@ public class TimesheetBusinessProductionWorkflowServiceImpl extends TimesheetWor
       HRConfigService hrConfigService,
       TemplateMessageService templateMessageService,
       TimesheetRepository timesheetRepository,
-      TimesheetWorkflowCheckService timesheetWorkflowCheckService) {
+      TimesheetWorkflowCheckService timesheetWorkflowCheckService,
+      ProjectTotalsTrackingService projectTotalsTrackingService) {
     super(
         appHumanResourceService,
         hrConfigService,
         templateMessageService,
         timesheetRepository,
-        timesheetWorkflowCheckService);
+        timesheetWorkflowCheckService,
+        projectTotalsTrackingService);
   }
 
   @Override
@@ -19,9 +19,11 @@
 package com.axelor.apps.businessproject.db.repo;
 
 import com.axelor.apps.base.service.exception.TraceBackService;
+import com.axelor.apps.businessproject.service.ProjectTotalsTrackingService;
 import com.axelor.apps.businessproject.service.projecttask.ProjectTaskProgressUpdateService;
 import com.axelor.apps.hr.db.repo.ProjectTaskHRRepository;
 import com.axelor.apps.project.db.ProjectTask;
+import com.axelor.inject.Beans;
 import com.google.inject.Inject;
 import java.util.Collections;
 import javax.persistence.PersistenceException;
@@ -46,6 +48,7 @@ public class ProjectTaskBusinessProjectRepository extends ProjectTaskHRRepositor
 
   @Override
   public ProjectTask save(ProjectTask projectTask) {
+    Beans.get(ProjectTotalsTrackingService.class).markToRecomputeIfChanged(projectTask);
     projectTask = super.save(projectTask);
     try {
       projectTask =
@@ -0,0 +1,126 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.businessproject.db.repo;
+
+import com.axelor.apps.businessproject.service.ProjectTotalsTrackingService;
+import com.axelor.apps.hr.db.Employee;
+import com.axelor.apps.hr.db.TimesheetLine;
+import com.axelor.apps.project.db.ProjectTask;
+import com.axelor.apps.sale.db.SaleOrderLine;
+import com.axelor.db.JPA;
+import com.axelor.db.Model;
+import com.axelor.inject.Beans;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.persistence.PrePersist;
+import javax.persistence.PreRemove;
+import javax.persistence.PreUpdate;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.ActionQueue;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * Flag the project totals to recompute when a record used by the computation is changed outside of
+ * the project workflows: sale order lines, timesheet lines and employee costs.
+ *
+ * <p>The impacted records are only collected during the flush. The tasks are flagged once per
+ * transaction, just before it is committed.
+ */
+public class ProjectTotalsListener {
+
+  private static final ThreadLocal<Map<Class<?>, Set<Long>>> PENDING_IDS = new ThreadLocal<>();
+
+  @PrePersist
+  @PreUpdate
+  @PreRemove
+  protected void onChange(Model model) {
+    ProjectTotalsTrackingService projectTotalsTrackingService =
+        Beans.get(ProjectTotalsTrackingService.class);
+
+    if (model instanceof TimesheetLine) {
+      // the line may have been moved from another task
+      addPendingTask(((TimesheetLine) model).getProjectTask());
+      addPendingTask(
+          (ProjectTask) projectTotalsTrackingService.getPreviousValue(model, "projectTask"));
+    } else if (model instanceof SaleOrderLine) {
+      addPendingId(SaleOrderLine.class, model.getId());
+    } else if (model instanceof Employee
+        && projectTotalsTrackingService.isChanged(model, "hourlyRate")) {
+      addPendingId(Employee.class, model.getId());
+    }
+  }
+
+  protected void addPendingTask(ProjectTask projectTask) {
+    if (projectTask != null) {
+      addPendingId(ProjectTask.class, projectTask.getId());
+    }
+  }
+
+  protected void addPendingId(Class<?> modelClass, Long id) {
+    if (id == null) {
+      return;
+    }
+
+    Map<Class<?>, Set<Long>> pendingIds = PENDING_IDS.get();
+    if (pendingIds == null) {
+      pendingIds = new HashMap<>();
+      PENDING_IDS.set(pendingIds);
+      registerMarkProcess();
+    }
+    pendingIds.computeIfAbsent(modelClass, key -> new HashSet<>()).add(id);
+  }
+
+  protected void registerMarkProcess() {
+    MarkProcess process = new MarkProcess();
+    ActionQueue actionQueue = JPA.em().unwrap(SessionImplementor.class).getActionQueue();
+    actionQueue.registerProcess((BeforeTransactionCompletionProcess) process);
+    actionQueue.registerProcess((AfterTransactionCompletionProcess) process);
+  }
+
+  protected static class MarkProcess
+      implements BeforeTransactionCompletionProcess, AfterTransactionCompletionProcess {
+
+    @Override
+    public void doBeforeTransactionCompletion(SessionImplementor session) {
+      Map<Class<?>, Set<Long>> pendingIds = PENDING_IDS.get();
+      PENDING_IDS.remove();
+      if (pendingIds == null) {
+        return;
+      }
+
+      ProjectTotalsTrackingService projectTotalsTrackingService =
+          Beans.get(ProjectTotalsTrackingService.class);
+      projectTotalsTrackingService.markProjectTasksToRecompute(pendingIds.get(ProjectTask.class));
+      projectTotalsTrackingService.markSaleOrderLineTasksToRecompute(
+          pendingIds.get(SaleOrderLine.class));
+      projectTotalsTrackingService.markEmployeeTasksToRecompute(pendingIds.get(Employee.class));
+    }
+
+    @Override
+    public void doAfterTransactionCompletion(
+        boolean success, SharedSessionContractImplementor session) {
+      // nothing left to flag when the transaction has been rolled back
+      PENDING_IDS.remove();
+    }
+  }
+}
@@ -36,6 +36,15 @@ public interface ProjectBusinessService extends ProjectService {
 
   void computeProjectTotals(Project project) throws AxelorException;
 
+  /**
+   * Recompute only the top-level tasks flagged as to recompute, then roll up the project totals
+   * from the values stored on its tasks.
+   *
+   * @param project the project to compute
+   * @throws AxelorException
+   */
+  void computeProjectTotalsToRecompute(Project project) throws AxelorException;
+
   void backupToProjectHistory(Project project);
 
   Map<String, Object> processRequestToDisplayTimeReporting(Long id) throws AxelorException;
@@ -54,6 +54,7 @@ import com.axelor.apps.sale.service.saleorder.SaleOrderGeneratorService;
 import com.axelor.apps.supplychain.service.saleorder.SaleOrderStockLocationService;
 import com.axelor.auth.db.User;
 import com.axelor.common.ObjectUtils;
+import com.axelor.db.JPA;
 import com.axelor.i18n.I18n;
 import com.axelor.inject.Beans;
 import com.axelor.meta.schema.actions.ActionView;
@@ -70,6 +71,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class ProjectBusinessServiceImpl extends ProjectServiceImpl
@@ -86,6 +88,7 @@ public class ProjectBusinessServiceImpl extends ProjectServiceImpl
   protected SaleOrderStockLocationService saleOrderStockLocationService;
   protected ProjectTimeUnitService projectTimeUnitService;
   protected SaleOrderGeneratorService saleOrderGeneratorService;
+  protected ProjectTotalsTrackingService projectTotalsTrackingService;
 
   public static final int BIG_DECIMAL_SCALE = 2;
   public static final String FA_LEVEL_UP = "arrow-90deg-up";
@@ -110,7 +113,8 @@ public class ProjectBusinessServiceImpl extends ProjectServiceImpl
       UnitConversionForProjectService unitConversionForProjectService,
       SaleOrderStockLocationService saleOrderStockLocationService,
       ProjectTimeUnitService projectTimeUnitService,
-      SaleOrderGeneratorService saleOrderGeneratorService) {
+      SaleOrderGeneratorService saleOrderGeneratorService,
+      ProjectTotalsTrackingService projectTotalsTrackingService) {
     super(
         projectRepository,
         projectStatusRepository,
@@ -129,6 +133,7 @@ public class ProjectBusinessServiceImpl extends ProjectServiceImpl
     this.saleOrderStockLocationService = saleOrderStockLocationService;
     this.projectTimeUnitService = projectTimeUnitService;
     this.saleOrderGeneratorService = saleOrderGeneratorService;
+    this.projectTotalsTrackingService = projectTotalsTrackingService;
   }
 
   @Override
@@ -276,17 +281,50 @@ public class ProjectBusinessServiceImpl extends ProjectServiceImpl
 
   @Override
   public void computeProjectTotals(Project project) throws AxelorException {
+    computeProjectTotals(project, false);
+  }
+
+  @Override
+  public void computeProjectTotalsToRecompute(Project project) throws AxelorException {
+    computeProjectTotals(project, true);
+  }
+
+  protected void computeProjectTotals(Project project, boolean onlyTasksToRecompute)
+      throws AxelorException {
 
     project = projectRepository.find(project.getId());
     List<ProjectTask> projectTaskList =
         project.getProjectTaskList().stream()
             .filter(projectTask -> projectTask.getParentTask() == null)
             .collect(Collectors.toList());
+    Set<Long> projectTaskIdsToRecompute =
+        onlyTasksToRecompute
+            ? getProjectTaskIdsToRecompute(project)
+            : project.getProjectTaskList().stream()
+                .map(ProjectTask::getId)
+                .collect(Collectors.toSet());
     for (ProjectTask projectTask : projectTaskList) {
+      // parents of a changed task are flagged too, so a clean top-level task has a clean subtree
+      if (onlyTasksToRecompute && !projectTaskIdsToRecompute.contains(projectTask.getId())) {
+        continue;
+      }
       projectTaskReportingValuesComputingService.computeProjectTaskTotals(projectTask);
     }
 
     computeProjectReportingValues(project, projectTaskList);
+    projectTotalsTrackingService.clearToRecompute(project, projectTaskIdsToRecompute);
+  }
+
+  /** Tasks created before the flag existed have no value and are recomputed too. */
+  protected Set<Long> getProjectTaskIdsToRecompute(Project project) {
+    return new HashSet<>(
+        JPA.em()
+            .createQuery(
+                "SELECT self.id FROM ProjectTask self WHERE self.project = :project"
+                    + " AND (self.totalsToRecompute IS NULL OR self.totalsToRecompute = true)",
+                Long.class)
+            .setParameter("project", project)
+            .getResultList());
   }
 
   @Transactional(rollbackOn = {Exception.class})
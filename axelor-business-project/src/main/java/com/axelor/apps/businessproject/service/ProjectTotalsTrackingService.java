@@ -0,0 +1,109 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.businessproject.service;
+
+import com.axelor.apps.project.db.Project;
+import com.axelor.apps.project.db.ProjectTask;
+import com.axelor.db.Model;
+import java.util.Collection;
+
+public interface ProjectTotalsTrackingService {
+
+  /**
+   * Flag the task, its parent tasks and its project so that their totals are recomputed by the next
+   * incremental computation. The flags are set with bulk updates before the commit of the current
+   * transaction, so the versions of the flagged records are not incremented.
+   *
+   * @param projectTask the task whose reporting values are impacted, can be null
+   */
+  void markToRecompute(ProjectTask projectTask);
+
+  /**
+   * Flag the project so that its totals are recomputed by the next incremental computation.
+   *
+   * @param project the project whose reporting values are impacted, can be null
+   */
+  void markToRecompute(Project project);
+
+  /**
+   * Flag the task like {@link #markToRecompute(ProjectTask)}, but only if one of the fields used by
+   * the totals computation has changed since the task was loaded. The former parent task and
+   * project are flagged too.
+   *
+   * @param projectTask the saved task, can be null
+   */
+  void markToRecomputeIfChanged(ProjectTask projectTask);
+
+  /**
+   * Flag the given tasks, their parent tasks and their projects.
+   *
+   * @param projectTaskIds ids of the impacted tasks
+   */
+  void markProjectTasksToRecompute(Collection<Long> projectTaskIds);
+
+  /**
+   * Flag the tasks generated from the given sale order lines.
+   *
+   * @param saleOrderLineIds ids of the changed sale order lines
+   */
+  void markSaleOrderLineTasksToRecompute(Collection<Long> saleOrderLineIds);
+
+  /**
+   * Flag the tasks of the ongoing projects on which the given employees logged time.
+   *
+   * @param employeeIds ids of the employees whose cost has changed
+   */
+  void markEmployeeTasksToRecompute(Collection<Long> employeeIds);
+
+  /**
+   * Flag the given projects.
+   *
+   * @param projectIds ids of the impacted projects
+   */
+  void markProjectsToRecompute(Collection<Long> projectIds);
+
+  /**
+   * Clear the flag of the given tasks once their totals have been recomputed, and the flag of the
+   * project if none of its tasks is flagged anymore. The tasks flagged after being read keep their
+   * flag.
+   *
+   * @param project the recomputed project
+   * @param projectTaskIds ids of the recomputed tasks
+   */
+  void clearToRecompute(Project project, Collection<Long> projectTaskIds);
+
+  /**
+   * Check whether one of the given fields has changed since the record was loaded. A record which
+   * is not persisted yet is considered as changed.
+   *
+   * @param model the record
+   * @param fieldNames the fields to check
+   * @return true if one of the fields has changed
+   */
+  boolean isChanged(Model model, String... fieldNames);
+
+  /**
+   * Get the value of a field as it was when the record was loaded.
+   *
+   * @param model the record
+   * @param fieldName the field
+   * @return the loaded value, null if the record is not persisted yet
+   */
+  Object getPreviousValue(Model model, String fieldName);
+}
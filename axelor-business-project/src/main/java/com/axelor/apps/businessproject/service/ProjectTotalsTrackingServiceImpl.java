@@ -0,0 +1,347 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.businessproject.service;
+
+import com.axelor.apps.project.db.Project;
+import com.axelor.apps.project.db.ProjectTask;
+import com.axelor.common.ObjectUtils;
+import com.axelor.db.EntityHelper;
+import com.axelor.db.JPA;
+import com.axelor.db.Model;
+import com.axelor.db.mapper.Mapper;
+import com.axelor.inject.Beans;
+import com.google.common.collect.Lists;
+import com.google.inject.persist.Transactional;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.ActionQueue;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+public class ProjectTotalsTrackingServiceImpl implements ProjectTotalsTrackingService {
+
+  protected static final String TOTALS_TO_RECOMPUTE_FIELD = "totalsToRecompute";
+
+  protected static final int UPDATE_CHUNK_SIZE = 1000;
+
+  /** Tasks and projects to flag before the commit of the current transaction, by model. */
+  private static final ThreadLocal<Map<Class<?>, Set<Long>>> PENDING_IDS = new ThreadLocal<>();
+
+  /** Fields of a task used by the totals computation of the task and its project. */
+  protected static final String[] PROJECT_TASK_TOTALS_FIELDS = {
+    "project",
+    "parentTask",
+    "saleOrderLine",
+    "product",
+    "quantity",
+    "unitPrice",
+    "unitCost",
+    "timeUnit",
+    "soldTime",
+    "updatedTime",
+    "plannedTime",
+    "budgetedTime",
+    "progress",
+    "invoicingProgress"
+  };
+
+  @Override
+  public void markToRecompute(ProjectTask projectTask) {
+    ProjectTask task = projectTask;
+    while (task != null) {
+      addPendingId(task);
+      task = task.getParentTask();
+    }
+    if (projectTask != null) {
+      markToRecompute(projectTask.getProject());
+    }
+  }
+
+  @Override
+  public void markToRecompute(Project project) {
+    addPendingId(project);
+  }
+
+  @Override
+  public void markToRecomputeIfChanged(ProjectTask projectTask) {
+    if (projectTask == null || !isChanged(projectTask, PROJECT_TASK_TOTALS_FIELDS)) {
+      return;
+    }
+    // the saved task is updated anyway, so its flag is set with the other changes
+    projectTask.setTotalsToRecompute(true);
+    markToRecompute(projectTask.getParentTask());
+    markToRecompute(projectTask.getProject());
+    markToRecompute((ProjectTask) getPreviousValue(projectTask, "parentTask"));
+    markToRecompute((Project) getPreviousValue(projectTask, "project"));
+  }
+
+  /**
+   * Collect the record to flag once the transaction is flushed for the last time. A record which is
+   * not persisted yet is flagged directly, as it is inserted anyway.
+   */
+  protected void addPendingId(Model model) {
+    if (model == null) {
+      return;
+    }
+    if (model.getId() == null) {
+      Mapper.of(EntityHelper.getEntityClass(model)).set(model, TOTALS_TO_RECOMPUTE_FIELD, true);
+      return;
+    }
+
+    Map<Class<?>, Set<Long>> pendingIds = PENDING_IDS.get();
+    if (pendingIds == null) {
+      pendingIds = new HashMap<>();
+      PENDING_IDS.set(pendingIds);
+      registerMarkProcess();
+    }
+    pendingIds
+        .computeIfAbsent(EntityHelper.getEntityClass(model), key -> new HashSet<>())
+        .add(model.getId());
+  }
+
+  protected void registerMarkProcess() {
+    MarkProcess process = new MarkProcess();
+    ActionQueue actionQueue = JPA.em().unwrap(SessionImplementor.class).getActionQueue();
+    actionQueue.registerProcess((BeforeTransactionCompletionProcess) process);
+    actionQueue.registerProcess((AfterTransactionCompletionProcess) process);
+  }
+
+  protected static class MarkProcess
+      implements BeforeTransactionCompletionProcess, AfterTransactionCompletionProcess {
+
+    @Override
+    public void doBeforeTransactionCompletion(SessionImplementor session) {
+      Map<Class<?>, Set<Long>> pendingIds = PENDING_IDS.get();
+      PENDING_IDS.remove();
+      if (pendingIds == null) {
+        return;
+      }
+
+      ProjectTotalsTrackingService projectTotalsTrackingService =
+          Beans.get(ProjectTotalsTrackingService.class);
+      projectTotalsTrackingService.markProjectTasksToRecompute(pendingIds.get(ProjectTask.class));
+      projectTotalsTrackingService.markProjectsToRecompute(pendingIds.get(Project.class));
+    }
+
+    @Override
+    public void doAfterTransactionCompletion(
+        boolean success, SharedSessionContractImplementor session) {
+      // nothing left to flag when the transaction has been rolled back
+      PENDING_IDS.remove();
+    }
+  }
+
+  @Override
+  public void markProjectTasksToRecompute(Collection<Long> projectTaskIds) {
+    markToRecompute("self.id IN (:ids)", projectTaskIds);
+  }
+
+  @Override
+  public void markSaleOrderLineTasksToRecompute(Collection<Long> saleOrderLineIds) {
+    markToRecompute("self.saleOrderLine.id IN (:ids)", saleOrderLineIds);
+  }
+
+  @Override
+  public void markEmployeeTasksToRecompute(Collection<Long> employeeIds) {
+    markToRecompute(
+        "self.project.projectStatus.isCompleted = false AND self.id IN "
+            + "(SELECT timesheetLine.projectTask.id FROM TimesheetLine timesheetLine "
+            + "WHERE timesheetLine.employee.id IN (:ids))",
+        employeeIds);
+  }
+
+  @Override
+  public void markProjectsToRecompute(Collection<Long> projectIds) {
+    setTotalsToRecompute(Project.class, projectIds, true);
+  }
+
+  /** Flag the tasks matching the filter, their parent tasks and their projects. */
+  protected void markToRecompute(String filter, Collection<Long> ids) {
+    if (ObjectUtils.isEmpty(ids)) {
+      return;
+    }
+
+    Set<Long> projectTaskIdSet = new HashSet<>();
+    Set<Long> projectIdSet = new HashSet<>();
+    Collection<Long> parentTaskIds = addProjectTaskIds(filter, ids, projectTaskIdSet, projectIdSet);
+    while (!parentTaskIds.isEmpty()) {
+      parentTaskIds =
+          addProjectTaskIds("self.id IN (:ids)", parentTaskIds, projectTaskIdSet, projectIdSet);
+    }
+
+    setTotalsToRecompute(ProjectTask.class, projectTaskIdSet, true);
+    setTotalsToRecompute(Project.class, projectIdSet, true);
+  }
+
+  /**
+   * Add the ids and the project ids of the tasks matching the filter.
+   *
+   * @return the ids of their parent tasks not added yet
+   */
+  protected Collection<Long> addProjectTaskIds(
+      String filter, Collection<Long> ids, Set<Long> projectTaskIdSet, Set<Long> projectIdSet) {
+    List<Object[]> rowList =
+        JPA.em()
+            .createQuery(
+                "SELECT self.id, parentTask.id, project.id FROM ProjectTask self "
+                    + "LEFT JOIN self.parentTask parentTask "
+                    + "LEFT JOIN self.project project "
+                    + "WHERE "
+                    + filter,
+                Object[].class)
+            .setParameter("ids", ids)
+            .getResultList();
+
+    Set<Long> parentTaskIdSet = new HashSet<>();
+    for (Object[] row : rowList) {
+      projectTaskIdSet.add((Long) row[0]);
+      if (row[1] != null) {
+        parentTaskIdSet.add((Long) row[1]);
+      }
+      if (row[2] != null) {
+        projectIdSet.add((Long) row[2]);
+      }
+    }
+    parentTaskIdSet.removeAll(projectTaskIdSet);
+    return parentTaskIdSet;
+  }
+
+  @Override
+  @Transactional(rollbackOn = {Exception.class})
+  public void clearToRecompute(Project project, Collection<Long> projectTaskIds) {
+    setTotalsToRecompute(ProjectTask.class, projectTaskIds, false);
+
+    // a task flagged meanwhile keeps its project flagged
+    int updatedCount =
+        JPA.em()
+            .createQuery(
+                "UPDATE Project self SET self.totalsToRecompute = false "
+                    + "WHERE self.id = :id AND NOT EXISTS "
+                    + "(SELECT projectTask.id FROM ProjectTask projectTask "
+                    + "WHERE projectTask.project.id = self.id "
+                    + "AND (projectTask.totalsToRecompute IS NULL "
+                    + "OR projectTask.totalsToRecompute = true))")
+            .setParameter("id", project.getId())
+            .executeUpdate();
+    if (updatedCount > 0) {
+      updateSession(Project.class, Collections.singleton(project.getId()), false);
+    }
+  }
+
+  /**
+   * Set the flag with a bulk update, which does not increment the version of the records, so that
+   * the users editing them meanwhile do not get a concurrent update error.
+   */
+  protected void setTotalsToRecompute(
+      Class<? extends Model> modelClass, Collection<Long> ids, boolean totalsToRecompute) {
+    if (ObjectUtils.isEmpty(ids)) {
+      return;
+    }
+
+    for (List<Long> idList : Lists.partition(new ArrayList<>(ids), UPDATE_CHUNK_SIZE)) {
+      JPA.em()
+          .createQuery(
+              "UPDATE "
+                  + modelClass.getSimpleName()
+                  + " self SET self.totalsToRecompute = :totalsToRecompute "
+                  + "WHERE self.id IN (:ids)")
+          .setParameter("totalsToRecompute", totalsToRecompute)
+          .setParameter("ids", idList)
+          .executeUpdate();
+    }
+    updateSession(modelClass, ids, totalsToRecompute);
+  }
+
+  /**
+   * Report the flag set by a bulk update on the records loaded in the session, without making them
+   * dirty, so that a later update of these records does not write their former value back.
+   */
+  protected void updateSession(
+      Class<? extends Model> modelClass, Collection<Long> ids, boolean totalsToRecompute) {
+    SessionImplementor session = JPA.em().unwrap(SessionImplementor.class);
+    EntityPersister persister = session.getFactory().getMetamodel().entityPersister(modelClass);
+    int propertyIndex = persister.getEntityMetamodel().getPropertyIndex(TOTALS_TO_RECOMPUTE_FIELD);
+    Mapper mapper = Mapper.of(modelClass);
+
+    for (Long id : ids) {
+      Object entity =
+          session.getPersistenceContext().getEntity(session.generateEntityKey(id, persister));
+      if (entity == null) {
+        continue;
+      }
+      mapper.set(entity, TOTALS_TO_RECOMPUTE_FIELD, totalsToRecompute);
+      EntityEntry entityEntry = session.getPersistenceContext().getEntry(entity);
+      if (entityEntry != null && entityEntry.getLoadedState() != null) {
+        entityEntry.getLoadedState()[propertyIndex] = totalsToRecompute;
+      }
+    }
+  }
+
+  @Override
+  public boolean isChanged(Model model, String... fieldNames) {
+    EntityEntry entityEntry = getEntityEntry(model);
+    if (entityEntry == null) {
+      return true;
+    }
+    Mapper mapper = Mapper.of(EntityHelper.getEntityClass(model));
+    for (String fieldName : fieldNames) {
+      if (!isSameValue(entityEntry.getLoadedValue(fieldName), mapper.get(model, fieldName))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public Object getPreviousValue(Model model, String fieldName) {
+    EntityEntry entityEntry = getEntityEntry(model);
+    return entityEntry == null ? null : entityEntry.getLoadedValue(fieldName);
+  }
+
+  protected EntityEntry getEntityEntry(Model model) {
+    if (model.getId() == null) {
+      return null;
+    }
+    EntityEntry entityEntry =
+        JPA.em().unwrap(SessionImplementor.class).getPersistenceContext().getEntry(model);
+    return entityEntry == null || entityEntry.getLoadedState() == null ? null : entityEntry;
+  }
+
+  protected boolean isSameValue(Object previousValue, Object value) {
+    if (previousValue instanceof BigDecimal && value instanceof BigDecimal) {
+      return ((BigDecimal) previousValue).compareTo((BigDecimal) value) == 0;
+    }
+    if (previousValue instanceof Model && value instanceof Model) {
+      return Objects.equals(((Model) previousValue).getId(), ((Model) value).getId());
+    }
+    return Objects.equals(previousValue, value);
+  }
+}
@@ -32,6 +32,7 @@ import com.axelor.apps.supplychain.service.PurchaseOrderStockService;
 import com.axelor.apps.supplychain.service.PurchaseOrderSupplychainService;
 import com.axelor.apps.supplychain.service.PurchaseOrderWorkflowServiceSupplychainImpl;
 import com.axelor.apps.supplychain.service.app.AppSupplychainService;
+import com.axelor.inject.Beans;
 import com.google.inject.Inject;
 import com.google.inject.persist.Transactional;
 
@@ -63,10 +64,25 @@ public class PurchaseOrderWorkflowServiceProjectImpl
     this.analyticMoveLineRepository = analyticMoveLineRepository;
   }
 
+  @Override
+  @Transactional(rollbackOn = {Exception.class})
+  public void draftPurchaseOrder(PurchaseOrder purchaseOrder) throws AxelorException {
+    super.draftPurchaseOrder(purchaseOrder);
+    markProjectsToRecompute(purchaseOrder);
+  }
+
+  @Override
+  @Transactional(rollbackOn = {Exception.class})
+  public void validatePurchaseOrder(PurchaseOrder purchaseOrder) throws AxelorException {
+    super.validatePurchaseOrder(purchaseOrder);
+    markProjectsToRecompute(purchaseOrder);
+  }
+
   @Override
   @Transactional(rollbackOn = {Exception.class})
   public void cancelPurchaseOrder(PurchaseOrder purchaseOrder) throws AxelorException {
     super.cancelPurchaseOrder(purchaseOrder);
+    markProjectsToRecompute(purchaseOrder);
     for (PurchaseOrderLine purchaseOrderLine : purchaseOrder.getPurchaseOrderLineList()) {
       for (AnalyticMoveLine analyticMoveLine : purchaseOrderLine.getAnalyticMoveLineList()) {
         analyticMoveLine.setProject(null);
@@ -74,4 +90,17 @@ public class PurchaseOrderWorkflowServiceProjectImpl
       }
     }
   }
+
+  /** Real costs of tasks only count the lines of validated or finished purchase orders. */
+  protected void markProjectsToRecompute(PurchaseOrder purchaseOrder) {
+    ProjectTotalsTrackingService projectTotalsTrackingService =
+        Beans.get(ProjectTotalsTrackingService.class);
+    for (PurchaseOrderLine purchaseOrderLine : purchaseOrder.getPurchaseOrderLineList()) {
+      if (purchaseOrderLine.getProjectTask() != null) {
+        projectTotalsTrackingService.markToRecompute(purchaseOrderLine.getProjectTask());
+      } else {
+        projectTotalsTrackingService.markToRecompute(purchaseOrderLine.getProject());
+      }
+    }
+  }
 }
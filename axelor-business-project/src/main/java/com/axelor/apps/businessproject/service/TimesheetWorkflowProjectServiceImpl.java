@@ -0,0 +1,95 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.businessproject.service;
+
+import com.axelor.apps.base.AxelorException;
+import com.axelor.apps.hr.db.Timesheet;
+import com.axelor.apps.hr.db.TimesheetLine;
+import com.axelor.apps.hr.db.repo.TimesheetRepository;
+import com.axelor.apps.hr.service.app.AppHumanResourceService;
+import com.axelor.apps.hr.service.config.HRConfigService;
+import com.axelor.apps.hr.service.timesheet.TimesheetWorkflowCheckService;
+import com.axelor.apps.hr.service.timesheet.TimesheetWorkflowServiceImpl;
+import com.axelor.message.service.TemplateMessageService;
+import com.google.inject.Inject;
+import com.google.inject.persist.Transactional;
+
+public class TimesheetWorkflowProjectServiceImpl extends TimesheetWorkflowServiceImpl {
+
+  protected ProjectTotalsTrackingService projectTotalsTrackingService;
+
+  @Inject
+  public TimesheetWorkflowProjectServiceImpl(
+      AppHumanResourceService appHumanResourceService,
+      HRConfigService hrConfigService,
+      TemplateMessageService templateMessageService,
+      TimesheetRepository timesheetRepository,
+      TimesheetWorkflowCheckService timesheetWorkflowCheckService,
+      ProjectTotalsTrackingService projectTotalsTrackingService) {
+    super(
+        appHumanResourceService,
+        hrConfigService,
+        templateMessageService,
+        timesheetRepository,
+        timesheetWorkflowCheckService);
+    this.projectTotalsTrackingService = projectTotalsTrackingService;
+  }
+
+  @Override
+  @Transactional(rollbackOn = {Exception.class})
+  public void validate(Timesheet timesheet) throws AxelorException {
+    super.validate(timesheet);
+    markProjectsToRecompute(timesheet);
+  }
+
+  @Override
+  @Transactional(rollbackOn = {Exception.class})
+  public void refuse(Timesheet timesheet) throws AxelorException {
+    super.refuse(timesheet);
+    markProjectsToRecompute(timesheet);
+  }
+
+  @Override
+  @Transactional(rollbackOn = {Exception.class})
+  public void cancel(Timesheet timesheet) throws AxelorException {
+    super.cancel(timesheet);
+    markProjectsToRecompute(timesheet);
+  }
+
+  @Override
+  @Transactional
+  public void draft(Timesheet timesheet) {
+    super.draft(timesheet);
+    markProjectsToRecompute(timesheet);
+  }
+
+  /** Spent times only count validated timesheet lines, so every status change impacts them. */
+  protected void markProjectsToRecompute(Timesheet timesheet) {
+    if (timesheet.getTimesheetLineList() == null) {
+      return;
+    }
+    for (TimesheetLine timesheetLine : timesheet.getTimesheetLineList()) {
+      if (timesheetLine.getProjectTask() != null) {
+        projectTotalsTrackingService.markToRecompute(timesheetLine.getProjectTask());
+      } else {
+        projectTotalsTrackingService.markToRecompute(timesheetLine.getProject());
+      }
+    }
+  }
+}
@@ -28,6 +28,7 @@ import com.axelor.apps.purchase.db.repo.PurchaseOrderRepository;
 import com.axelor.apps.sale.db.repo.SaleOrderRepository;
 import com.axelor.apps.supplychain.service.PurchaseOrderInvoiceService;
 import com.axelor.apps.supplychain.service.saleorder.SaleOrderInvoiceService;
+import com.axelor.inject.Beans;
 import com.google.inject.Inject;
 import com.google.inject.persist.Transactional;
 
@@ -58,6 +59,8 @@ public class WorkflowCancelServiceProjectImpl extends WorkflowCancelServiceContr
   public void afterCancel(Invoice invoice) throws AxelorException {
     super.afterCancel(invoice);
 
+    Beans.get(ProjectTotalsTrackingService.class).markToRecompute(invoice.getProject());
+
     InvoicingProject invoicingProject =
         invoicingProjectRepo.all().filter("self.invoice = ?", invoice.getId()).fetchOne();
 
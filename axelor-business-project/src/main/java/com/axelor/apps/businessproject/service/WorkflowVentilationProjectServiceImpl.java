@@ -119,6 +119,8 @@ public class WorkflowVentilationProjectServiceImpl extends WorkflowVentilationCo
       return;
     }
 
+    markProjectsToRecompute(invoice);
+
     InvoicingProject invoicingProject =
         invoicingProjectRepo.all().filter("self.invoice.id = ?", invoice.getId()).fetchOne();
 
@@ -152,6 +154,21 @@ public class WorkflowVentilationProjectServiceImpl extends WorkflowVentilationCo
     }
   }
 
+  protected void markProjectsToRecompute(Invoice invoice) {
+    ProjectTotalsTrackingService projectTotalsTrackingService =
+        Beans.get(ProjectTotalsTrackingService.class);
+    projectTotalsTrackingService.markToRecompute(invoice.getProject());
+    if (invoice.getInvoiceLineList() == null) {
+      return;
+    }
+    for (InvoiceLine invoiceLine : invoice.getInvoiceLineList()) {
+      projectTotalsTrackingService.markToRecompute(invoiceLine.getProject());
+      if (invoiceLine.getProjectTaskSet() != null) {
+        invoiceLine.getProjectTaskSet().forEach(projectTotalsTrackingService::markToRecompute);
+      }
+    }
+  }
+
   protected void updateInvoicingStatus(ProjectTask projectTask) {
     BigDecimal newProgress =
         projectTask.getInvoiceLineSet().stream()
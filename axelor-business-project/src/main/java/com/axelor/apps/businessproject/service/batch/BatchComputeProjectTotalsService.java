@@ -45,18 +45,27 @@ public class BatchComputeProjectTotalsService extends BatchStrategy {
 
   @Override
   protected void process() {
-    int offset = 0;
+    boolean computeAllProjects = batch.getBusinessProjectBatch().getComputeAllProjects();
+    String filter =
+        "self.isBusinessProject = true AND self.projectStatus.isCompleted = false"
+            + " AND self.id > :lastId";
+    if (!computeAllProjects) {
+      // projects created before the flag existed have no value and are computed too
+      filter += " AND (self.totalsToRecompute IS NULL OR self.totalsToRecompute = true)";
+    }
+    // computed projects leave the filter, so page on the last id instead of an offset
+    long lastId = 0L;
     List<Project> projectList;
-    Query<Project> projectQuery =
-        projectRepository
-            .all()
-            .order("id")
-            .filter("self.isBusinessProject = true AND self.projectStatus.isCompleted = false");
-    while (!(projectList = projectQuery.fetch(getFetchLimit(), offset)).isEmpty()) {
+    Query<Project> projectQuery = projectRepository.all().order("id").filter(filter);
+    while (!(projectList = projectQuery.bind("lastId", lastId).fetch(getFetchLimit())).isEmpty()) {
       for (Project project : projectList) {
-        ++offset;
+        lastId = project.getId();
         try {
-          projectBusinessService.computeProjectTotals(project);
+          if (computeAllProjects) {
+            projectBusinessService.computeProjectTotals(project);
+          } else {
+            projectBusinessService.computeProjectTotalsToRecompute(project);
+          }
           incrementDone();
         } catch (Exception e) {
           incrementAnomaly();
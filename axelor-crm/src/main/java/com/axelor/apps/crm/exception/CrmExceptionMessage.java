@@ -157,4 +157,7 @@ public final class CrmExceptionMessage {
 
   public static final String CRM_MISSING_OPPORTUNITY_ID = /*$$(*/
       "Please make sure the opportunity was saved before generating the contract." /*)*/;
+
+  public static final String CRM_EMAIL_DOMAINS_COMPUTED = /*$$(*/
+      "%s email address domains computed." /*)*/;
 }
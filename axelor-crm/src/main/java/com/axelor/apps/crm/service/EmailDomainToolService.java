@@ -18,6 +18,7 @@
  */
 package com.axelor.apps.crm.service;
 
+import com.axelor.apps.base.db.repo.EmailAddressListener;
 import com.axelor.apps.crm.service.app.AppCrmService;
 import com.axelor.common.ObjectUtils;
 import com.axelor.db.Model;
@@ -80,17 +81,13 @@ public class EmailDomainToolService<T extends Model> {
             && Arrays.stream(emailDomainToIgnore.split(","))
                 .anyMatch(
                     emailDomain ->
-                        emailDomain.matches(computeEntityDomainNameStr(emailAddress.getName()))))) {
+                        emailDomain.matches(computeEntityDomainNameStr(emailAddress))))) {
       // false condition to always return an empty list
       return "1 != 1";
     }
 
     StringBuilder stringBuilder =
-        new StringBuilder(
-            "self.emailAddress IS NOT NULL"
-                + " AND SUBSTRING(self.emailAddress.address,"
-                + "      LOCATE('@',self.emailAddress.address)+1) IN :domainName"
-                + " AND self.id != :id");
+        new StringBuilder("self.emailAddress.domainName = :domainName AND self.id != :id");
 
     if (ObjectUtils.notEmpty(supplementaryFilter)) {
       stringBuilder.append(" AND ");
@@ -116,18 +113,20 @@ public class EmailDomainToolService<T extends Model> {
       return params;
     }
 
-    params.put("domainName", computeEntityDomainNameStr(emailAddress.getName()));
+    params.put("domainName", computeEntityDomainNameStr(emailAddress));
     params.put("id", modelId != null ? modelId : (-1));
     return params;
   }
 
   protected boolean isEmailAddressEmptyOrInvalid(EmailAddress emailAddress) {
-    return emailAddress == null
-        || ObjectUtils.isEmpty(emailAddress.getName())
-        || !emailAddress.getName().contains("@");
+    return emailAddress == null || computeEntityDomainNameStr(emailAddress) == null;
   }
 
-  protected String computeEntityDomainNameStr(String emailAddressName) {
-    return emailAddressName.split("@")[1].replace("]", "");
+  /**
+   * Compute the domain of the email address the same way as the stored domain name, so that the
+   * filter matches it.
+   */
+  protected String computeEntityDomainNameStr(EmailAddress emailAddress) {
+    return EmailAddressListener.computeDomainName(emailAddress.getAddress());
   }
 }
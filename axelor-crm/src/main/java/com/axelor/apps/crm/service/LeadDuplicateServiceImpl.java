@@ -57,8 +57,12 @@ public class LeadDuplicateServiceImpl implements LeadDuplicateService {
         .isEmpty()) {
       return "";
     }
+    List<Partner> duplicatePartnerList = getPartnersWithSameDomainName(lead);
     return String.format(
-        "%s%s%s", getDuplicateLeads(lead), getDuplicateContacts(lead), getDuplicateProspects(lead));
+        "%s%s%s",
+        getDuplicateLeads(lead),
+        getDuplicateContacts(duplicatePartnerList),
+        getDuplicateProspects(duplicatePartnerList));
   }
 
   protected String getDuplicateLeads(Lead lead) {
@@ -80,7 +84,10 @@ public class LeadDuplicateServiceImpl implements LeadDuplicateService {
   }
 
   protected String getDuplicateContacts(Lead lead) {
-    List<Partner> duplicateContactList = getPartnersWithSameDomainName(lead);
+    return getDuplicateContacts(getPartnersWithSameDomainName(lead));
+  }
+
+  protected String getDuplicateContacts(List<Partner> duplicateContactList) {
     if (ObjectUtils.isEmpty(duplicateContactList)) {
       return "";
     }
@@ -93,7 +100,10 @@ public class LeadDuplicateServiceImpl implements LeadDuplicateService {
   }
 
   protected String getDuplicateProspects(Lead lead) {
-    List<Partner> duplicateProspectList = getPartnersWithSameDomainName(lead);
+    return getDuplicateProspects(getPartnersWithSameDomainName(lead));
+  }
+
+  protected String getDuplicateProspects(List<Partner> duplicateProspectList) {
     if (ObjectUtils.isEmpty(duplicateProspectList)) {
       return "";
     }
@@ -18,7 +18,10 @@
  */
 package com.axelor.apps.crm.web;
 
+import com.axelor.apps.base.service.message.EmailAddressDomainService;
+import com.axelor.apps.crm.exception.CrmExceptionMessage;
 import com.axelor.apps.crm.service.app.AppCrmService;
+import com.axelor.i18n.I18n;
 import com.axelor.inject.Beans;
 import com.axelor.rpc.ActionRequest;
 import com.axelor.rpc.ActionResponse;
@@ -31,4 +34,12 @@ public class AppCrmController {
 
     response.setReload(true);
   }
+
+  public void computeEmailDomains(ActionRequest request, ActionResponse response) {
+
+    int count = Beans.get(EmailAddressDomainService.class).fillMissingDomainNames();
+
+    response.setInfo(
+        String.format(I18n.get(CrmExceptionMessage.CRM_EMAIL_DOMAINS_COMPUTED), count));
+  }
 }
@@ -0,0 +1,99 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.gdpr.db.repo;
+
+import com.axelor.apps.gdpr.service.GdprSearchIndexService;
+import com.axelor.auth.db.AuditableModel;
+import com.axelor.db.EntityHelper;
+import com.axelor.db.JPA;
+import com.axelor.inject.Beans;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.ActionQueue;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * Keep the GDPR search index of the listened models up to date, whatever saves them (forms,
+ * services, imports or batches).
+ *
+ * <p>The saved records are only collected during the flush. They are indexed once per transaction,
+ * just before it is committed, so that the index rows are part of the same transaction.
+ */
+public class GdprSearchIndexListener {
+
+  private static final ThreadLocal<Map<Class<?>, Set<Long>>> PENDING_IDS = new ThreadLocal<>();
+
+  @PostPersist
+  @PostUpdate
+  @PostRemove
+  protected void onChange(AuditableModel model) {
+    if (model.getId() == null) {
+      return;
+    }
+
+    Map<Class<?>, Set<Long>> pendingIds = PENDING_IDS.get();
+    if (pendingIds == null) {
+      pendingIds = new HashMap<>();
+      PENDING_IDS.set(pendingIds);
+      registerIndexProcess();
+    }
+    pendingIds
+        .computeIfAbsent(EntityHelper.getEntityClass(model), key -> new LinkedHashSet<>())
+        .add(model.getId());
+  }
+
+  protected void registerIndexProcess() {
+    SearchIndexProcess process = new SearchIndexProcess();
+    ActionQueue actionQueue = JPA.em().unwrap(SessionImplementor.class).getActionQueue();
+    actionQueue.registerProcess((BeforeTransactionCompletionProcess) process);
+    actionQueue.registerProcess((AfterTransactionCompletionProcess) process);
+  }
+
+  protected static class SearchIndexProcess
+      implements BeforeTransactionCompletionProcess, AfterTransactionCompletionProcess {
+
+    @Override
+    public void doBeforeTransactionCompletion(SessionImplementor session) {
+      Map<Class<?>, Set<Long>> pendingIds = PENDING_IDS.get();
+      PENDING_IDS.remove();
+      if (pendingIds == null) {
+        return;
+      }
+
+      GdprSearchIndexService searchIndexService = Beans.get(GdprSearchIndexService.class);
+      pendingIds.forEach(searchIndexService::updateIndex);
+      JPA.flush();
+    }
+
+    @Override
+    public void doAfterTransactionCompletion(
+        boolean success, SharedSessionContractImplementor session) {
+      // nothing left to index when the transaction has been rolled back
+      PENDING_IDS.remove();
+    }
+  }
+}
@@ -48,4 +48,7 @@ public final class GdprExceptionMessage {
 
   public static final String APP_GDPR_NO_ANONYMIZER_FOUND = /*$$(*/
       "No anonymizer found in app GDPR configuration." /*)*/;
+
+  public static final String SEARCH_INDEX_REBUILT = /*$$(*/
+      "The search index has been rebuilt, %s records indexed." /*)*/;
 }
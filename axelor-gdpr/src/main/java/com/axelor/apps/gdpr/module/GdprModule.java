@@ -25,6 +25,8 @@ import com.axelor.apps.gdpr.service.GdprErasureLogService;
 import com.axelor.apps.gdpr.service.GdprErasureLogServiceImpl;
 import com.axelor.apps.gdpr.service.GdprSearchEngineService;
 import com.axelor.apps.gdpr.service.GdprSearchEngineServiceImpl;
+import com.axelor.apps.gdpr.service.GdprSearchIndexService;
+import com.axelor.apps.gdpr.service.GdprSearchIndexServiceImpl;
 import com.axelor.apps.gdpr.service.app.AppGdprService;
 import com.axelor.apps.gdpr.service.app.AppGdprServiceImpl;
 import com.axelor.apps.gdpr.service.response.GdprDataToExcludeService;
@@ -50,5 +52,6 @@ public class GdprModule extends AxelorModule {
     bind(GdprSearchEngineService.class).to(GdprSearchEngineServiceImpl.class);
     bind(GdprGenerateFilesService.class).to(GdprGenerateFilesServiceImpl.class);
     bind(GdprDataToExcludeService.class).to(GdprDataToExcludeServiceImpl.class);
+    bind(GdprSearchIndexService.class).to(GdprSearchIndexServiceImpl.class);
   }
 }
@@ -26,32 +26,44 @@ import com.axelor.apps.gdpr.exception.GdprExceptionMessage;
 import com.axelor.apps.gdpr.service.app.AppGdprService;
 import com.axelor.auth.db.AuditableModel;
 import com.axelor.common.StringUtils;
+import com.axelor.db.JPA;
 import com.axelor.db.Query;
 import com.axelor.db.mapper.Mapper;
+import com.axelor.db.tenants.TenantAware;
+import com.axelor.db.tenants.TenantResolver;
 import com.axelor.i18n.I18n;
 import com.axelor.meta.db.MetaField;
 import com.axelor.meta.db.MetaModel;
 import com.axelor.meta.db.repo.MetaModelRepository;
 import com.axelor.rpc.Context;
 import com.axelor.script.GroovyScriptHelper;
+import com.axelor.script.ScriptHelper;
+import com.axelor.studio.db.AppGdpr;
 import com.google.inject.Inject;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 public class GdprSearchEngineServiceImpl implements GdprSearchEngineService {
 
   protected AppGdprService appGDPRService;
   protected MetaModelRepository metaModelRepo;
+  protected GdprSearchIndexService gdprSearchIndexService;
 
   @Inject
   public GdprSearchEngineServiceImpl(
-      AppGdprService appGDPRService, MetaModelRepository metaModelRepo) {
+      AppGdprService appGDPRService,
+      MetaModelRepository metaModelRepo,
+      GdprSearchIndexService gdprSearchIndexService) {
     this.appGDPRService = appGDPRService;
     this.metaModelRepo = metaModelRepo;
+    this.gdprSearchIndexService = gdprSearchIndexService;
   }
 
   @Override
@@ -61,7 +73,11 @@ public class GdprSearchEngineServiceImpl implements GdprSearchEngineService {
     List<Map<String, Object>> results = new ArrayList<>();
 
     try {
-      results = bindDataUsingSearchConfig(searchParams);
+      if (gdprSearchIndexService.isSearchIndexUsable()) {
+        results = bindDataUsingSearchIndex(searchParams);
+      } else {
+        results = bindDataUsingSearchConfig(searchParams);
+      }
 
     } catch (ClassNotFoundException e) {
       throw new AxelorException(
@@ -132,6 +148,100 @@ public class GdprSearchEngineServiceImpl implements GdprSearchEngineService {
     return results;
   }
 
+  /**
+   * search using the search index: the candidate ids are found in the index, then each model only
+   * applies its search config query on these records, every model in its own thread. The models
+   * whose index is not maintained, or whose filled search params can not be answered from the
+   * index, are searched with their search config query only.
+   *
+   * @param searchParams
+   * @return
+   * @throws ClassNotFoundException
+   * @throws AxelorException
+   */
+  @SuppressWarnings("unchecked")
+  public List<Map<String, Object>> bindDataUsingSearchIndex(Map<String, Object> searchParams)
+      throws ClassNotFoundException, AxelorException {
+    AppGdpr appGdpr = appGDPRService.getAppGDPR();
+    List<List<Map<String, Object>>> resultsPerModel = new ArrayList<>();
+    List<TenantAware> threads = new ArrayList<>();
+    AtomicReference<Exception> error = new AtomicReference<>();
+    String tenantId = TenantResolver.currentTenantIdentifier();
+
+    for (GDPRSearchConfig searchConfig : appGdpr.getSearchConfigList()) {
+      String query = buildSearchQuery(searchParams, searchConfig);
+      if (StringUtils.isBlank(query)) {
+        continue;
+      }
+
+      Class<? extends AuditableModel> modelClass =
+          (Class<? extends AuditableModel>)
+              Class.forName(searchConfig.getMetaModel().getFullName());
+      Set<Long> ids = null;
+      if (gdprSearchIndexService.getIndexedSearchConfig(modelClass).isPresent()) {
+        ids =
+            gdprSearchIndexService
+                .findCandidateIds(searchConfig, modelClass, searchParams)
+                .orElse(null);
+      }
+      if (ids != null) {
+        if (ids.isEmpty()) {
+          continue;
+        }
+        query = "self.id IN (:_candidateIds) AND (" + query + ")";
+      }
+
+      Set<Long> candidateIds = ids;
+      String filter = query;
+      Long searchConfigId = searchConfig.getId();
+      List<Map<String, Object>> modelResults = Collections.synchronizedList(new ArrayList<>());
+      resultsPerModel.add(modelResults);
+
+      TenantAware thread =
+          new TenantAware(
+                  () -> {
+                    try {
+                      GDPRSearchConfig currentSearchConfig =
+                          JPA.find(GDPRSearchConfig.class, searchConfigId);
+                      Query<? extends AuditableModel> modelQuery =
+                          Query.of(modelClass).filter(filter).bind(searchParams);
+                      if (candidateIds != null) {
+                        modelQuery.bind("_candidateIds", candidateIds);
+                      }
+                      modelQuery
+                          .fetch()
+                          .forEach(
+                              model ->
+                                  modelResults.add(
+                                      convertResultToDisplayMap(currentSearchConfig, model)));
+                    } catch (Exception e) {
+                      error.set(e);
+                    }
+                  })
+              .tenantId(tenantId);
+      thread.withTransaction(false);
+      threads.add(thread);
+      thread.start();
+    }
+
+    try {
+      for (TenantAware thread : threads) {
+        thread.join();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AxelorException(e, TraceBackRepository.CATEGORY_INCONSISTENCY);
+    }
+
+    if (error.get() != null) {
+      throw new AxelorException(error.get(), TraceBackRepository.CATEGORY_INCONSISTENCY);
+    }
+
+    List<Map<String, Object>> results = new ArrayList<>();
+    resultsPerModel.forEach(results::addAll);
+    return results;
+  }
+
   public String buildSearchQuery(Map<String, Object> searchParams, GDPRSearchConfig searchConfig) {
     StringBuilder query = new StringBuilder();
     List<GDPRSearchConfigLine> searchConfigLines = searchConfig.getSearchConfigLineList();
@@ -165,6 +275,7 @@ public class GdprSearchEngineServiceImpl implements GdprSearchEngineService {
   public Map<String, Object> convertResultToDisplayMap(
       GDPRSearchConfig searchConfig, AuditableModel reference) {
     Context scriptContext = new Context(Mapper.toMap(reference), reference.getClass());
+    ScriptHelper scriptHelper = new GroovyScriptHelper(scriptContext);
     Map<String, Object> mappedObject = new HashMap<>();
 
     mappedObject.put("type", I18n.get(reference.getClass().getSimpleName()));
@@ -173,13 +284,17 @@ public class GdprSearchEngineServiceImpl implements GdprSearchEngineService {
 
     for (GDPRSearchConfigLine searchConfigLine : searchConfig.getSearchConfigLineList()) {
       mappedObject.put(
-          searchConfigLine.getKey(), evalField(scriptContext, searchConfigLine.getMapping()));
+          searchConfigLine.getKey(), evalField(scriptHelper, searchConfigLine.getMapping()));
     }
 
     return mappedObject;
   }
 
   public String evalField(Context context, String fieldName) {
+    return evalField(new GroovyScriptHelper(context), fieldName);
+  }
+
+  protected String evalField(ScriptHelper scriptHelper, String fieldName) {
     String[] fields = fieldName.split("\\.");
     int count = 0;
     StringBuilder fieldToTest = new StringBuilder();
@@ -190,7 +305,7 @@ public class GdprSearchEngineServiceImpl implements GdprSearchEngineService {
         fieldToTest.append(".");
       }
       fieldToTest.append(fields[count]);
-      value = Optional.ofNullable(new GroovyScriptHelper(context).eval(fieldToTest.toString()));
+      value = Optional.ofNullable(scriptHelper.eval(fieldToTest.toString()));
 
       if (!value.isPresent()) {
         break;
@@ -0,0 +1,94 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.gdpr.service;
+
+import com.axelor.apps.gdpr.db.GDPRSearchConfig;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public interface GdprSearchIndexService {
+
+  /**
+   * Check if the searches can use the search index: it is enabled and has been rebuilt with the
+   * current search configurations.
+   *
+   * @return true if the search index can be used
+   */
+  boolean isSearchIndexUsable();
+
+  /**
+   * Check if the search index of the given model is kept up to date by {@link
+   * com.axelor.apps.gdpr.db.repo.GdprSearchIndexListener}.
+   *
+   * @param modelClass the class of the model
+   * @return true if the model is listened
+   */
+  boolean isIndexMaintained(Class<?> modelClass);
+
+  /**
+   * Get the search configuration of the given model if the search index is enabled and maintained
+   * for this model.
+   *
+   * @param modelClass the class of the model
+   * @return the search configuration, empty if the model is not indexed
+   */
+  Optional<GDPRSearchConfig> getIndexedSearchConfig(Class<?> modelClass);
+
+  /**
+   * Split and normalize a value into the tokens stored in the search index.
+   *
+   * @param searchKey the key of the search configuration line
+   * @param value the raw value
+   * @return the normalized tokens
+   */
+  Set<String> normalize(String searchKey, String value);
+
+  /**
+   * Reindex the given records, the ones that do not exist anymore are removed from the index. The
+   * records indexed with a field of the given records (e.g. the partners of email addresses) are
+   * reindexed too.
+   *
+   * @param modelClass the class of the records
+   * @param ids the ids of the saved or removed records
+   */
+  void updateIndex(Class<?> modelClass, Collection<Long> ids);
+
+  /**
+   * Clear and rebuild the search index of every configured model.
+   *
+   * @return the number of indexed records
+   * @throws ClassNotFoundException
+   */
+  int rebuildIndex() throws ClassNotFoundException;
+
+  /**
+   * Find the ids of the records that may match every filled search param using the search index.
+   * The search configuration queries still have to be applied on these records.
+   *
+   * @param searchConfig the search configuration of the model
+   * @param modelClass the class of the model
+   * @param searchParams the search params
+   * @return the candidate ids, empty if no filled search param can be answered from the index, in
+   *     which case the search configuration query has to be applied on every record
+   */
+  Optional<Set<Long>> findCandidateIds(
+      GDPRSearchConfig searchConfig, Class<?> modelClass, Map<String, Object> searchParams);
+}
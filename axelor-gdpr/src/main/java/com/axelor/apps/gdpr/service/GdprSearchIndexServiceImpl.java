@@ -0,0 +1,488 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.gdpr.service;
+
+import com.axelor.apps.gdpr.db.GDPRSearchConfig;
+import com.axelor.apps.gdpr.db.GDPRSearchConfigLine;
+import com.axelor.apps.gdpr.db.GDPRSearchIndex;
+import com.axelor.apps.gdpr.db.repo.GDPRSearchIndexRepository;
+import com.axelor.apps.gdpr.db.repo.GdprSearchIndexListener;
+import com.axelor.apps.gdpr.service.app.AppGdprService;
+import com.axelor.auth.db.AuditableModel;
+import com.axelor.common.ObjectUtils;
+import com.axelor.common.StringUtils;
+import com.axelor.db.EntityHelper;
+import com.axelor.db.JPA;
+import com.axelor.db.Model;
+import com.axelor.db.Query;
+import com.axelor.db.mapper.Mapper;
+import com.axelor.db.mapper.Property;
+import com.axelor.meta.db.MetaModel;
+import com.axelor.studio.db.AppGdpr;
+import com.google.inject.Inject;
+import com.google.inject.persist.Transactional;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.persistence.EntityListeners;
+
+public class GdprSearchIndexServiceImpl implements GdprSearchIndexService {
+
+  protected static final String KEY_EMAIL = "email";
+  protected static final String KEY_PHONE = "phone";
+
+  protected static final Pattern QUERY_STRING_PATTERN = Pattern.compile("'(?:[^']|'')*'");
+  protected static final Pattern QUERY_FUNCTION_PATTERN =
+      Pattern.compile("\\b(?:upper|lower|concat|trim)\\s*\\(", Pattern.CASE_INSENSITIVE);
+  protected static final Pattern QUERY_WORD_PATTERN =
+      Pattern.compile("(?<![\\w.:])[a-zA-Z_]\\w*(?:\\.[a-zA-Z_]\\w*)*(?![\\w.])");
+  protected static final Pattern QUERY_REMAINDER_PATTERN = Pattern.compile("[\\s(),=']*");
+  protected static final Set<String> QUERY_KEYWORDS =
+      new HashSet<>(Arrays.asList("like", "or", "and"));
+
+  protected static final int INDEX_VALUE_MAX_LENGTH = 255;
+  protected static final int REBUILD_FETCH_LIMIT = 500;
+
+  protected AppGdprService appGdprService;
+  protected GDPRSearchIndexRepository searchIndexRepository;
+
+  @Inject
+  public GdprSearchIndexServiceImpl(
+      AppGdprService appGdprService, GDPRSearchIndexRepository searchIndexRepository) {
+    this.appGdprService = appGdprService;
+    this.searchIndexRepository = searchIndexRepository;
+  }
+
+  @Override
+  public boolean isSearchIndexUsable() {
+    AppGdpr appGdpr = appGdprService.getAppGDPR();
+    return appGdpr != null && appGdpr.getUseSearchIndex() && appGdpr.getSearchIndexBuilt();
+  }
+
+  @Override
+  public boolean isIndexMaintained(Class<?> modelClass) {
+    EntityListeners entityListeners = modelClass.getAnnotation(EntityListeners.class);
+    return entityListeners != null
+        && Arrays.asList(entityListeners.value()).contains(GdprSearchIndexListener.class);
+  }
+
+  @Override
+  public Optional<GDPRSearchConfig> getIndexedSearchConfig(Class<?> modelClass) {
+    AppGdpr appGdpr = appGdprService.getAppGDPR();
+    if (appGdpr == null
+        || !appGdpr.getUseSearchIndex()
+        || ObjectUtils.isEmpty(appGdpr.getSearchConfigList())
+        || !isIndexMaintained(modelClass)) {
+      return Optional.empty();
+    }
+
+    return appGdpr.getSearchConfigList().stream()
+        .filter(
+            searchConfig ->
+                searchConfig.getMetaModel() != null
+                    && modelClass.getName().equals(searchConfig.getMetaModel().getFullName()))
+        .findFirst();
+  }
+
+  @Override
+  public Set<String> normalize(String searchKey, String value) {
+    Set<String> tokens = new LinkedHashSet<>();
+    if (StringUtils.isBlank(value)) {
+      return tokens;
+    }
+
+    String normalizedValue =
+        Normalizer.normalize(value.trim(), Normalizer.Form.NFD)
+            .replaceAll("\\p{M}", "")
+            .toLowerCase(Locale.ROOT);
+
+    if (KEY_PHONE.equals(searchKey)) {
+      addToken(tokens, normalizedValue.replaceAll("\\D", ""));
+    } else if (KEY_EMAIL.equals(searchKey)) {
+      addToken(tokens, normalizedValue);
+      int atIndex = normalizedValue.indexOf('@');
+      if (atIndex >= 0) {
+        addToken(tokens, normalizedValue.substring(0, atIndex));
+        addToken(tokens, normalizedValue.substring(atIndex + 1));
+      }
+    } else {
+      for (String word : normalizedValue.split("[^\\p{Alnum}]+")) {
+        addToken(tokens, word);
+      }
+    }
+
+    return tokens;
+  }
+
+  protected void addToken(Set<String> tokens, String token) {
+    if (StringUtils.isBlank(token)) {
+      return;
+    }
+    tokens.add(
+        token.length() > INDEX_VALUE_MAX_LENGTH
+            ? token.substring(0, INDEX_VALUE_MAX_LENGTH)
+            : token);
+  }
+
+  @Override
+  @Transactional
+  public void updateIndex(Class<?> modelClass, Collection<Long> ids) {
+    AppGdpr appGdpr = appGdprService.getAppGDPR();
+    if (ObjectUtils.isEmpty(ids)
+        || appGdpr == null
+        || !appGdpr.getUseSearchIndex()
+        || ObjectUtils.isEmpty(appGdpr.getSearchConfigList())) {
+      return;
+    }
+
+    for (GDPRSearchConfig searchConfig : appGdpr.getSearchConfigList()) {
+      Class<?> indexedClass = getIndexedClass(searchConfig);
+      if (indexedClass == null) {
+        continue;
+      }
+
+      Map<String, List<String>> indexedFieldMap = getIndexedFieldMap(searchConfig, indexedClass);
+      Set<Long> indexedIds = new LinkedHashSet<>();
+      if (indexedClass.equals(modelClass)) {
+        indexedIds.addAll(ids);
+      }
+      // the records indexed with a field of the saved records
+      for (String relationPath : getRelationPaths(indexedClass, indexedFieldMap, modelClass)) {
+        indexedIds.addAll(
+            JPA.em()
+                .createQuery(
+                    "SELECT self.id FROM "
+                        + indexedClass.getSimpleName()
+                        + " self WHERE self."
+                        + relationPath
+                        + ".id IN (:ids)",
+                    Long.class)
+                .setParameter("ids", ids)
+                .getResultList());
+      }
+
+      if (indexedIds.isEmpty()) {
+        continue;
+      }
+
+      removeIndex(searchConfig.getMetaModel(), indexedIds);
+      for (Long id : indexedIds) {
+        Model model = (Model) JPA.em().find(indexedClass, id);
+        // removed records are only removed from the index
+        if (model != null) {
+          addIndex(searchConfig, indexedFieldMap, model);
+        }
+      }
+    }
+  }
+
+  /**
+   * Get the class of the model of the search configuration.
+   *
+   * @return null if the search index of the model is not maintained
+   */
+  protected Class<?> getIndexedClass(GDPRSearchConfig searchConfig) {
+    if (searchConfig.getMetaModel() == null) {
+      return null;
+    }
+
+    try {
+      Class<?> modelClass = Class.forName(searchConfig.getMetaModel().getFullName());
+      return isIndexMaintained(modelClass) ? modelClass : null;
+    } catch (ClassNotFoundException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Get the fields to index for each key of the search configuration. A key is only indexed when
+   * its query is made of <code>LIKE</code> or <code>=</code> tests of fields against its own param,
+   * so that every record found by the query is found by the index. The other keys are only searched
+   * with their query.
+   *
+   * @param searchConfig the search configuration
+   * @param modelClass the class of the model of the search configuration
+   * @return the field paths to index by key
+   */
+  protected Map<String, List<String>> getIndexedFieldMap(
+      GDPRSearchConfig searchConfig, Class<?> modelClass) {
+    Map<String, List<String>> indexedFieldMap = new HashMap<>();
+    for (GDPRSearchConfigLine searchConfigLine : searchConfig.getSearchConfigLineList()) {
+      List<String> fieldPaths = getIndexedFields(searchConfigLine, modelClass);
+      if (!fieldPaths.isEmpty()) {
+        indexedFieldMap.put(searchConfigLine.getKey(), fieldPaths);
+      }
+    }
+    return indexedFieldMap;
+  }
+
+  /**
+   * Get the fields tested by the query of a search configuration line.
+   *
+   * @return the field paths, empty if the query can not be answered from the index
+   */
+  protected List<String> getIndexedFields(
+      GDPRSearchConfigLine searchConfigLine, Class<?> modelClass) {
+    if (StringUtils.isBlank(searchConfigLine.getQuery())
+        || StringUtils.isBlank(searchConfigLine.getKey())) {
+      return Collections.emptyList();
+    }
+
+    String query = QUERY_STRING_PATTERN.matcher(searchConfigLine.getQuery()).replaceAll("''");
+    query = QUERY_FUNCTION_PATTERN.matcher(query).replaceAll("(");
+    query = query.replaceAll(":" + Pattern.quote(searchConfigLine.getKey()) + "(?!\\w)", " ");
+    if (query.contains(":")) {
+      // the query uses the param of another key
+      return Collections.emptyList();
+    }
+
+    List<String> fieldPaths = new ArrayList<>();
+    StringBuffer remainder = new StringBuffer();
+    Matcher matcher = QUERY_WORD_PATTERN.matcher(query);
+    while (matcher.find()) {
+      String word = matcher.group();
+      if (!QUERY_KEYWORDS.contains(word.toLowerCase(Locale.ROOT))) {
+        String fieldPath = word.startsWith("self.") ? word.substring("self.".length()) : word;
+        if (!isIndexableField(modelClass, fieldPath)) {
+          return Collections.emptyList();
+        }
+        fieldPaths.add(fieldPath);
+      }
+      matcher.appendReplacement(remainder, " ");
+    }
+    matcher.appendTail(remainder);
+
+    if (!QUERY_REMAINDER_PATTERN.matcher(remainder).matches()) {
+      return Collections.emptyList();
+    }
+    return fieldPaths;
+  }
+
+  /** Check that the field path leads to a simple value through single relations. */
+  protected boolean isIndexableField(Class<?> modelClass, String fieldPath) {
+    Class<?> currentClass = modelClass;
+    String[] fieldNames = fieldPath.split("\\.");
+    for (int i = 0; i < fieldNames.length; i++) {
+      Property property = Mapper.of(currentClass).getProperty(fieldNames[i]);
+      if (property == null || property.isCollection()) {
+        return false;
+      }
+      boolean isLast = i == fieldNames.length - 1;
+      if (isLast == property.isReference()) {
+        return false;
+      }
+      currentClass = property.getTarget();
+    }
+    return true;
+  }
+
+  /**
+   * Get the relations, among the indexed field paths, that lead to the given model.
+   *
+   * @return the relation paths, e.g. <code>emailAddress</code> for an <code>EmailAddress</code>
+   */
+  protected Set<String> getRelationPaths(
+      Class<?> indexedClass, Map<String, List<String>> indexedFieldMap, Class<?> modelClass) {
+    Set<String> relationPaths = new LinkedHashSet<>();
+    for (List<String> fieldPaths : indexedFieldMap.values()) {
+      for (String fieldPath : fieldPaths) {
+        String[] fieldNames = fieldPath.split("\\.");
+        Class<?> currentClass = indexedClass;
+        for (int i = 0; i < fieldNames.length - 1; i++) {
+          currentClass = Mapper.of(currentClass).getProperty(fieldNames[i]).getTarget();
+          if (modelClass.equals(currentClass)) {
+            relationPaths.add(String.join(".", Arrays.copyOf(fieldNames, i + 1)));
+          }
+        }
+      }
+    }
+    return relationPaths;
+  }
+
+  protected void removeIndex(MetaModel metaModel, Collection<Long> ids) {
+    Query.of(GDPRSearchIndex.class)
+        .filter("self.metaModel = :metaModel AND self.relatedId IN (:ids)")
+        .bind("metaModel", metaModel)
+        .bind("ids", ids)
+        .delete();
+  }
+
+  protected void addIndex(
+      GDPRSearchConfig searchConfig, Map<String, List<String>> indexedFieldMap, Model model) {
+    MetaModel metaModel = searchConfig.getMetaModel();
+    for (Map.Entry<String, List<String>> indexedFields : indexedFieldMap.entrySet()) {
+      String searchKey = indexedFields.getKey();
+      Set<String> tokens = new LinkedHashSet<>();
+      for (String fieldPath : indexedFields.getValue()) {
+        Object value = getMappingValue(model, fieldPath);
+        if (value != null) {
+          tokens.addAll(normalize(searchKey, value.toString()));
+        }
+      }
+
+      for (String token : tokens) {
+        GDPRSearchIndex searchIndex = new GDPRSearchIndex();
+        searchIndex.setMetaModel(metaModel);
+        searchIndex.setRelatedId(model.getId());
+        searchIndex.setSearchKey(searchKey);
+        searchIndex.setIndexValue(token);
+        searchIndexRepository.save(searchIndex);
+      }
+    }
+  }
+
+  /**
+   * Follow a dotted field path (e.g. <code>emailAddress.address</code>) on the given model.
+   *
+   * @param model the indexed model
+   * @param fieldPath the field path tested by the search configuration line
+   * @return the value, null if any element of the path is empty
+   */
+  protected Object getMappingValue(Model model, String fieldPath) {
+    Object value = model;
+    for (String fieldName : fieldPath.split("\\.")) {
+      if (!(value instanceof Model)) {
+        return null;
+      }
+      Model currentModel = (Model) value;
+      value = Mapper.of(EntityHelper.getEntityClass(currentModel)).get(currentModel, fieldName);
+    }
+    return value;
+  }
+
+  @Override
+  public int rebuildIndex() throws ClassNotFoundException {
+    AppGdpr appGdpr = appGdprService.getAppGDPR();
+    if (appGdpr == null || ObjectUtils.isEmpty(appGdpr.getSearchConfigList())) {
+      return 0;
+    }
+
+    // searches use the live queries until the rebuild is finished
+    setSearchIndexBuilt(false);
+
+    List<Long> searchConfigIdList =
+        appGdpr.getSearchConfigList().stream()
+            .map(GDPRSearchConfig::getId)
+            .collect(Collectors.toList());
+    int indexedRecords = 0;
+    for (Long searchConfigId : searchConfigIdList) {
+      indexedRecords += rebuildIndex(searchConfigId);
+    }
+
+    setSearchIndexBuilt(true);
+    return indexedRecords;
+  }
+
+  protected void setSearchIndexBuilt(boolean searchIndexBuilt) {
+    JPA.runInTransaction(() -> appGdprService.getAppGDPR().setSearchIndexBuilt(searchIndexBuilt));
+  }
+
+  @SuppressWarnings("unchecked")
+  protected int rebuildIndex(Long searchConfigId) throws ClassNotFoundException {
+    GDPRSearchConfig searchConfig = JPA.find(GDPRSearchConfig.class, searchConfigId);
+    Class<? extends AuditableModel> modelClass =
+        (Class<? extends AuditableModel>) Class.forName(searchConfig.getMetaModel().getFullName());
+    Map<String, List<String>> indexedFieldMap = getIndexedFieldMap(searchConfig, modelClass);
+
+    JPA.runInTransaction(
+        () ->
+            Query.of(GDPRSearchIndex.class)
+                .filter("self.metaModel = :metaModel")
+                .bind("metaModel", searchConfig.getMetaModel())
+                .delete());
+
+    int indexedRecords = 0;
+    long lastId = 0L;
+    List<? extends AuditableModel> models;
+
+    while (!(models =
+            Query.of(modelClass)
+                .filter("self.id > :lastId")
+                .bind("lastId", lastId)
+                .order("id")
+                .fetch(REBUILD_FETCH_LIMIT))
+        .isEmpty()) {
+      GDPRSearchConfig currentSearchConfig = JPA.find(GDPRSearchConfig.class, searchConfigId);
+      List<? extends AuditableModel> currentModels = models;
+      JPA.runInTransaction(
+          () ->
+              currentModels.forEach(
+                  model -> addIndex(currentSearchConfig, indexedFieldMap, model)));
+
+      indexedRecords += models.size();
+      lastId = models.get(models.size() - 1).getId();
+      JPA.clear();
+    }
+
+    return indexedRecords;
+  }
+
+  @Override
+  public Optional<Set<Long>> findCandidateIds(
+      GDPRSearchConfig searchConfig, Class<?> modelClass, Map<String, Object> searchParams) {
+    Set<Long> candidateIds = null;
+
+    for (String searchKey : getIndexedFieldMap(searchConfig, modelClass).keySet()) {
+      Object param = searchParams.get(searchKey);
+      Set<String> tokens = normalize(searchKey, param == null ? null : param.toString());
+
+      // a record is a candidate for a key when every token of the search param is contained in
+      // one of its indexed values, as the queries search the param anywhere in the fields
+      for (String token : tokens) {
+        List<Long> ids =
+            JPA.em()
+                .createQuery(
+                    "SELECT DISTINCT self.relatedId FROM GDPRSearchIndex self"
+                        + " WHERE self.metaModel = :metaModel"
+                        + " AND self.searchKey = :searchKey"
+                        + " AND self.indexValue LIKE :token",
+                    Long.class)
+                .setParameter("metaModel", searchConfig.getMetaModel())
+                .setParameter("searchKey", searchKey)
+                .setParameter("token", "%" + token + "%")
+                .getResultList();
+
+        if (candidateIds == null) {
+          candidateIds = new HashSet<>(ids);
+        } else {
+          candidateIds.retainAll(ids);
+        }
+
+        if (candidateIds.isEmpty()) {
+          return Optional.of(candidateIds);
+        }
+      }
+    }
+
+    return Optional.ofNullable(candidateIds);
+  }
+}
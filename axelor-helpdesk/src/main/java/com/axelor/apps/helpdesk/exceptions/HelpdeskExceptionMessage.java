@@ -37,4 +37,9 @@ public final class HelpdeskExceptionMessage {
 
   public static final String DEFAULT_TICKET_STATUS_DONT_EXIST = /*$$(*/
       "Default ticket status does not exist. Please configure at least one." /*)*/;
+
+  public static final String SLA_NO_WORKING_DAY = /*$$(*/
+      "The weekly planning %s does not have any working day, the SLA deadline can not be computed." /*)*/;
+
+  public static final String SLA_RECOMPUTED = /*$$(*/ "SLA recomputed on %s tickets." /*)*/;
 }
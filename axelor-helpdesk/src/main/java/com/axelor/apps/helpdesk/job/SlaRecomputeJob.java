@@ -0,0 +1,39 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.helpdesk.job;
+
+import com.axelor.apps.base.job.ThreadedJob;
+import com.axelor.apps.base.job.UncheckedJobExecutionException;
+import com.axelor.apps.base.service.exception.TraceBackService;
+import com.axelor.apps.helpdesk.service.TicketSlaRecomputeService;
+import com.axelor.inject.Beans;
+import org.quartz.JobExecutionContext;
+
+public class SlaRecomputeJob extends ThreadedJob {
+
+  @Override
+  public void executeInThread(JobExecutionContext context) {
+    try {
+      Beans.get(TicketSlaRecomputeService.class).recomputeSla();
+    } catch (Exception e) {
+      TraceBackService.trace(e);
+      throw new UncheckedJobExecutionException(e);
+    }
+  }
+}
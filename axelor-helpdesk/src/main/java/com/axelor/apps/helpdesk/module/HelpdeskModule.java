@@ -31,6 +31,8 @@ import com.axelor.apps.helpdesk.service.TicketSequenceService;
 import com.axelor.apps.helpdesk.service.TicketSequenceServiceImpl;
 import com.axelor.apps.helpdesk.service.TicketService;
 import com.axelor.apps.helpdesk.service.TicketServiceImpl;
+import com.axelor.apps.helpdesk.service.TicketSlaRecomputeService;
+import com.axelor.apps.helpdesk.service.TicketSlaRecomputeServiceImpl;
 import com.axelor.apps.helpdesk.service.TicketStatusService;
 import com.axelor.apps.helpdesk.service.TicketStatusServiceImpl;
 import com.axelor.apps.helpdesk.service.TicketWorkflowService;
@@ -55,5 +57,6 @@ public class HelpdeskModule extends AxelorModule {
     bind(TicketStatusService.class).to(TicketStatusServiceImpl.class);
     bind(TicketSequenceService.class).to(TicketSequenceServiceImpl.class);
     bind(TicketAssignmentService.class).to(TicketAssignmentServiceImpl.class);
+    bind(TicketSlaRecomputeService.class).to(TicketSlaRecomputeServiceImpl.class);
   }
 }
@@ -22,13 +22,18 @@ import com.axelor.apps.base.AxelorException;
 import com.axelor.apps.helpdesk.db.Sla;
 import com.axelor.apps.helpdesk.db.Ticket;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public interface TicketService {
 
   public Sla computeSLA(Ticket ticket);
 
+  public Sla computeSLA(Ticket ticket, List<Sla> slaList);
+
   public void computeSLAAndDeadLine(Ticket ticket) throws AxelorException;
 
+  public void computeSLAAndDeadLine(Ticket ticket, List<Sla> slaList) throws AxelorException;
+
   public void checkSLAcompleted(Ticket ticket);
 
   public Long computeDuration(Ticket ticket);
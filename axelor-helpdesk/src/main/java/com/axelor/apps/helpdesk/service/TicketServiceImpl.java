@@ -20,17 +20,23 @@ package com.axelor.apps.helpdesk.service;
 
 import com.axelor.apps.base.AxelorException;
 import com.axelor.apps.base.db.Company;
+import com.axelor.apps.base.db.repo.TraceBackRepository;
 import com.axelor.apps.base.service.app.AppBaseService;
 import com.axelor.apps.base.service.publicHoliday.PublicHolidayService;
 import com.axelor.apps.base.service.weeklyplanning.WeeklyPlanningService;
+import com.axelor.apps.base.service.weeklyplanning.WorkingDayCalendar;
+import com.axelor.apps.base.service.weeklyplanning.WorkingDayCalendarService;
 import com.axelor.apps.helpdesk.db.Sla;
 import com.axelor.apps.helpdesk.db.Ticket;
 import com.axelor.apps.helpdesk.db.TicketStatus;
 import com.axelor.apps.helpdesk.db.repo.SlaRepository;
+import com.axelor.apps.helpdesk.exceptions.HelpdeskExceptionMessage;
 import com.axelor.auth.AuthUtils;
 import com.axelor.auth.db.User;
+import com.axelor.i18n.I18n;
 import com.axelor.studio.db.AppHelpdesk;
 import com.axelor.studio.db.repo.AppHelpdeskRepository;
+import com.axelor.team.db.Team;
 import com.axelor.utils.helpers.date.DurationHelper;
 import com.axelor.utils.helpers.date.LocalDateHelper;
 import com.google.inject.Inject;
@@ -39,6 +45,7 @@ import java.time.LocalDateTime;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 public class TicketServiceImpl implements TicketService {
 
@@ -52,7 +59,7 @@ public class TicketServiceImpl implements TicketService {
 
   protected AppBaseService appBaseService;
 
-  private LocalDateTime toDate;
+  protected WorkingDayCalendarService workingDayCalendarService;
 
   @Inject
   public TicketServiceImpl(
@@ -60,12 +67,14 @@ public class TicketServiceImpl implements TicketService {
       SlaRepository slaRepo,
       PublicHolidayService publicHolidayService,
       WeeklyPlanningService weeklyPlanningService,
-      AppBaseService appBaseService) {
+      AppBaseService appBaseService,
+      WorkingDayCalendarService workingDayCalendarService) {
     this.appHelpdeskRepo = appHelpdeskRepo;
     this.slaRepo = slaRepo;
     this.publicHolidayService = publicHolidayService;
     this.weeklyPlanningService = weeklyPlanningService;
     this.appBaseService = appBaseService;
+    this.workingDayCalendarService = workingDayCalendarService;
   }
 
   /**
@@ -101,35 +110,64 @@ public class TicketServiceImpl implements TicketService {
               .bind("ticketType", ticket.getTicketType())
               .fetch();
 
-      sla =
-          potentialSlaList.stream()
-              .filter(
-                  _sla ->
-                      ticket.getTicketStatus().getPriority()
-                          < Optional.ofNullable(_sla.getReachStageTicketStatus())
-                              .map(TicketStatus::getPriority)
-                              .orElse(0))
-              .min(
-                  Comparator.comparingInt(
-                      sla2 ->
-                          Optional.ofNullable(sla2.getReachStageTicketStatus())
-                              .map(TicketStatus::getPriority)
-                              .orElse(0)))
-              .orElse(null);
+      sla = selectSla(ticket, potentialSlaList);
     }
     ticket.setSlaPolicy(sla);
     return sla;
   }
 
+  /**
+   * Finding SLA among the given list without querying the database, used to compute the SLA of a
+   * lot of tickets at once.
+   */
+  @Override
+  public Sla computeSLA(Ticket ticket, List<Sla> slaList) {
+    Team team =
+        ticket.getAssignedToUser() == null ? null : ticket.getAssignedToUser().getActiveTeam();
+
+    Sla sla =
+        selectSla(
+            ticket,
+            slaList.stream()
+                .filter(_sla -> isSlaMatching(_sla, ticket, team))
+                .collect(Collectors.toList()));
+    ticket.setSlaPolicy(sla);
+    return sla;
+  }
+
+  /** Same condition as the query of {@link #computeSLA(Ticket)}: empty SLA fields match all. */
+  protected boolean isSlaMatching(Sla sla, Ticket ticket, Team team) {
+    Integer slaPrioritySelect = sla.getPrioritySelect();
+    return (sla.getTeam() == null || sla.getTeam().equals(team))
+        && (slaPrioritySelect == null || slaPrioritySelect.equals(ticket.getPrioritySelect()))
+        && (sla.getTicketType() == null || sla.getTicketType().equals(ticket.getTicketType()));
+  }
+
+  protected Sla selectSla(Ticket ticket, List<Sla> potentialSlaList) {
+    return potentialSlaList.stream()
+        .filter(
+            _sla ->
+                ticket.getTicketStatus().getPriority()
+                    < Optional.ofNullable(_sla.getReachStageTicketStatus())
+                        .map(TicketStatus::getPriority)
+                        .orElse(0))
+        .min(
+            Comparator.comparingInt(
+                sla2 ->
+                    Optional.ofNullable(sla2.getReachStageTicketStatus())
+                        .map(TicketStatus::getPriority)
+                        .orElse(0)))
+        .orElse(null);
+  }
+
   @Override
   public void computeSLAAndDeadLine(Ticket ticket) throws AxelorException {
-    Sla sla = computeSLA(ticket);
+    computeDeadLine(ticket, computeSLA(ticket));
+  }
 
-    if (sla != null) {
-      this.computeDeadLine(ticket, sla);
-    } else {
-      ticket.setDeadlineDateT(null);
-    }
+  @Override
+  public void computeSLAAndDeadLine(Ticket ticket, List<Sla> slaList) throws AxelorException {
+    computeDeadLine(ticket, computeSLA(ticket, slaList));
   }
 
   /**
@@ -141,6 +179,11 @@ public class TicketServiceImpl implements TicketService {
    */
   protected void computeDeadLine(Ticket ticket, Sla sla) throws AxelorException {
 
+    if (sla == null) {
+      ticket.setDeadlineDateT(null);
+      return;
+    }
+
     // Check assignedUserCompany -> Current user company -> else null
     Company company =
         Optional.ofNullable(ticket.getAssignedToUser())
@@ -151,7 +194,7 @@ public class TicketServiceImpl implements TicketService {
     if (sla.getIsWorkingDays() && company != null && company.getWeeklyPlanning() != null) {
       if (sla.getDays() > 0) {
         LocalDateTime fromDate = ticket.getStartDateT().plusDays(1);
-        this.calculateWorkingDays(fromDate, company, sla.getDays());
+        LocalDateTime toDate = this.calculateWorkingDays(fromDate, company, sla.getDays());
         ticket.setDeadlineDateT(toDate.plusHours(sla.getHours()));
       } else {
         ticket.setDeadlineDateT(ticket.getStartDateT().plusHours(sla.getHours()));
@@ -178,30 +221,29 @@ public class TicketServiceImpl implements TicketService {
    * checked.
    *
    * @param fromDate
-   * @param employee
+   * @param company
    * @param days
+   * @return the date & time of the last working day
    * @throws AxelorException
    */
-  protected void calculateWorkingDays(LocalDateTime fromDate, Company company, int days)
+  protected LocalDateTime calculateWorkingDays(LocalDateTime fromDate, Company company, int days)
       throws AxelorException {
 
-    if (weeklyPlanningService.getWorkingDayValueInDays(
-                company.getWeeklyPlanning(), fromDate.toLocalDate())
-            == 0
-        || publicHolidayService.checkPublicHolidayDay(
-            fromDate.toLocalDate(), company.getPublicHolidayEventsPlanning())) {
-
-      fromDate = fromDate.plusDays(1);
-      this.calculateWorkingDays(fromDate, company, days);
+    WorkingDayCalendar workingDayCalendar =
+        workingDayCalendarService.getWorkingDayCalendar(
+            company.getWeeklyPlanning(), company.getPublicHolidayEventsPlanning());
 
-    } else {
-      toDate = fromDate;
-      days--;
-      if (days != 0) {
-        fromDate = fromDate.plusDays(1);
-        this.calculateWorkingDays(fromDate, company, days);
-      }
+    if (!workingDayCalendar.hasWorkingDays()) {
+      throw new AxelorException(
+          company,
+          TraceBackRepository.CATEGORY_CONFIGURATION_ERROR,
+          I18n.get(HelpdeskExceptionMessage.SLA_NO_WORKING_DAY),
+          company.getWeeklyPlanning().getName());
     }
+
+    return workingDayCalendar
+        .getWorkingDay(fromDate.toLocalDate(), days)
+        .atTime(fromDate.toLocalTime());
   }
 
   /** Check if SLA is completed or not. */
@@ -0,0 +1,102 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.helpdesk.service;
+
+import com.axelor.apps.base.AxelorException;
+import com.axelor.apps.base.service.exception.TraceBackService;
+import com.axelor.apps.helpdesk.db.Sla;
+import com.axelor.apps.helpdesk.db.Ticket;
+import com.axelor.apps.helpdesk.db.TicketStatus;
+import com.axelor.apps.helpdesk.db.repo.SlaRepository;
+import com.axelor.apps.helpdesk.db.repo.TicketRepository;
+import com.axelor.apps.helpdesk.service.app.AppHelpdeskService;
+import com.axelor.db.JPA;
+import com.axelor.studio.db.AppHelpdesk;
+import com.google.inject.Inject;
+import java.util.List;
+
+public class TicketSlaRecomputeServiceImpl implements TicketSlaRecomputeService {
+
+  protected static final int FETCH_LIMIT = 100;
+
+  protected AppHelpdeskService appHelpdeskService;
+  protected TicketService ticketService;
+  protected TicketRepository ticketRepo;
+  protected SlaRepository slaRepo;
+
+  @Inject
+  public TicketSlaRecomputeServiceImpl(
+      AppHelpdeskService appHelpdeskService,
+      TicketService ticketService,
+      TicketRepository ticketRepo,
+      SlaRepository slaRepo) {
+    this.appHelpdeskService = appHelpdeskService;
+    this.ticketService = ticketService;
+    this.ticketRepo = ticketRepo;
+    this.slaRepo = slaRepo;
+  }
+
+  @Override
+  public int recomputeSla() {
+    AppHelpdesk appHelpdesk = appHelpdeskService.getHelpdeskApp();
+    if (!appHelpdesk.getIsSla()) {
+      return 0;
+    }
+
+    TicketStatus closedTicketStatus = appHelpdesk.getClosedTicketStatus();
+    String filter =
+        "self.id > :lastId AND self.ticketStatus IS NOT NULL AND self.startDateT IS NOT NULL";
+    if (closedTicketStatus != null) {
+      filter += " AND self.ticketStatus != :closedTicketStatus";
+    }
+
+    int recomputedTickets = 0;
+    long lastId = 0L;
+    List<Ticket> ticketList;
+
+    while (!(ticketList =
+            ticketRepo
+                .all()
+                .filter(filter)
+                .bind("lastId", lastId)
+                .bind("closedTicketStatus", closedTicketStatus)
+                .order("id")
+                .fetch(FETCH_LIMIT))
+        .isEmpty()) {
+      List<Sla> slaList = slaRepo.all().fetch();
+      List<Ticket> currentTicketList = ticketList;
+      JPA.runInTransaction(() -> currentTicketList.forEach(ticket -> recompute(ticket, slaList)));
+
+      recomputedTickets += ticketList.size();
+      lastId = ticketList.get(ticketList.size() - 1).getId();
+      JPA.clear();
+    }
+
+    return recomputedTickets;
+  }
+
+  protected void recompute(Ticket ticket, List<Sla> slaList) {
+    try {
+      ticketService.computeSLAAndDeadLine(ticket, slaList);
+      ticketService.checkSLAcompleted(ticket);
+    } catch (AxelorException e) {
+      TraceBackService.trace(e);
+    }
+  }
+}
@@ -30,6 +30,7 @@ import com.axelor.apps.helpdesk.db.repo.TicketRepository;
 import com.axelor.apps.helpdesk.exceptions.HelpdeskExceptionMessage;
 import com.axelor.apps.helpdesk.service.TicketAssignmentService;
 import com.axelor.apps.helpdesk.service.TicketService;
+import com.axelor.apps.helpdesk.service.TicketSlaRecomputeService;
 import com.axelor.apps.helpdesk.service.TicketStatusService;
 import com.axelor.apps.helpdesk.service.TicketWorkflowService;
 import com.axelor.apps.helpdesk.service.TimerTicketService;
@@ -332,4 +333,14 @@ public class TicketController {
     response.setValue("slaPolicy", ticket.getSlaPolicy());
     response.setValue("deadlineDateT", ticket.getDeadlineDateT());
   }
+
+  public void recomputeSla(ActionRequest request, ActionResponse response) {
+    try {
+      int recomputedTickets = Beans.get(TicketSlaRecomputeService.class).recomputeSla();
+      response.setInfo(
+          String.format(I18n.get(HelpdeskExceptionMessage.SLA_RECOMPUTED), recomputedTickets));
+    } catch (Exception e) {
+      TraceBackService.trace(response, e, ResponseMessageType.ERROR);
+    }
+  }
 }
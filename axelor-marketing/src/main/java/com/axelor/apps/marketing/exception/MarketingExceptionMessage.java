@@ -32,6 +32,12 @@ public final class MarketingExceptionMessage {
 
   public static final String EMAIL_SUCCESS = /*$$(*/ "Emails sent successfully" /*)*/;
 
+  public static final String EMAIL_SENDING_STARTED = /*$$(*/
+      "The emails are being sent in the background. The log file will be attached to the campaign if some of them fail." /*)*/;
+
+  public static final String EMAIL_SENDING_QUEUE_FULL = /*$$(*/
+      "Too many campaigns are already being sent with this email account. Please try again later." /*)*/;
+
   public static final String REMINDER_EMAIL1 = /*$$(*/
       "Please add atleast one invited Partner or Lead." /*)*/;
 
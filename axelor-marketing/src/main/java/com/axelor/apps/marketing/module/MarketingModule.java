@@ -19,6 +19,7 @@
 package com.axelor.apps.marketing.module;
 
 import com.axelor.app.AxelorModule;
+import com.axelor.apps.marketing.listener.MarketingServerShutdownListener;
 import com.axelor.apps.marketing.service.CampaignService;
 import com.axelor.apps.marketing.service.CampaignServiceImpl;
 import com.axelor.apps.marketing.service.TargetListService;
@@ -30,5 +31,6 @@ public class MarketingModule extends AxelorModule {
   protected void configure() {
     bind(CampaignService.class).to(CampaignServiceImpl.class);
     bind(TargetListService.class).to(TargetListServiceImpl.class);
+    bind(MarketingServerShutdownListener.class);
   }
 }
@@ -30,6 +30,23 @@ public interface CampaignService {
 
   MetaFile sendReminderEmail(Campaign campaign);
 
+  /**
+   * Send the campaign emails in the background, one campaign at a time per email account. The log
+   * of the failed emails is saved on the campaign at the end.
+   *
+   * @param campaign a saved campaign
+   * @throws AxelorException if too many campaigns are already waiting for the email account
+   */
+  void sendEmailInBackground(Campaign campaign) throws AxelorException;
+
+  /**
+   * Same as {@link #sendEmailInBackground(Campaign)} for the reminder emails.
+   *
+   * @param campaign a saved campaign
+   * @throws AxelorException if too many campaigns are already waiting for the email account
+   */
+  void sendReminderEmailInBackground(Campaign campaign) throws AxelorException;
+
   void generateEvents(Campaign campaign);
 
   void generateTargets(Campaign campaign) throws AxelorException;
@@ -20,6 +20,7 @@ package com.axelor.apps.marketing.service;
 
 import com.axelor.apps.base.AxelorException;
 import com.axelor.apps.base.db.Partner;
+import com.axelor.apps.base.db.repo.TraceBackRepository;
 import com.axelor.apps.base.service.exception.TraceBackService;
 import com.axelor.apps.crm.db.Event;
 import com.axelor.apps.crm.db.Lead;
@@ -29,7 +30,11 @@ import com.axelor.apps.marketing.db.repo.CampaignRepository;
 import com.axelor.apps.marketing.exception.MarketingExceptionMessage;
 import com.axelor.auth.db.User;
 import com.axelor.db.Model;
+import com.axelor.db.tenants.TenantAware;
+import com.axelor.db.tenants.TenantResolver;
 import com.axelor.i18n.I18n;
+import com.axelor.mail.MailException;
+import com.axelor.message.db.EmailAccount;
 import com.axelor.message.db.Message;
 import com.axelor.message.db.Template;
 import com.axelor.message.service.MessageService;
@@ -37,17 +42,40 @@ import com.axelor.message.service.TemplateMessageService;
 import com.axelor.meta.MetaFiles;
 import com.axelor.meta.db.MetaFile;
 import com.axelor.team.db.Team;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.persist.Transactional;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.mail.MessagingException;
 import wslite.json.JSONException;
 
 public class CampaignServiceImpl implements CampaignService {
 
+  protected static final int SENDING_QUEUE_CAPACITY = 10;
+
+  /** Sending rate limiters of the campaigns being sent, by tenant and campaign id. */
+  private static final Map<String, RateLimiter> RATE_LIMITER_MAP = new ConcurrentHashMap<>();
+
+  /**
+   * Background sending threads, by tenant and email account id (0 for the default account). The
+   * campaigns of an account are sent one after the other, so the account sends at the rate of the
+   * campaign being sent.
+   */
+  private static final Map<String, ExecutorService> SENDING_EXECUTOR_MAP =
+      new ConcurrentHashMap<>();
+
   protected TemplateMessageService templateMessageService;
   protected MessageService messageService;
   protected TargetListService targetListService;
@@ -93,6 +121,74 @@ public class CampaignServiceImpl implements CampaignService {
     return generateLog(errorPartners, errorLeads, campaign.getEmailLog(), campaign.getId());
   }
 
+  @Override
+  public void sendEmailInBackground(Campaign campaign) throws AxelorException {
+    submitSending(campaign, false);
+  }
+
+  @Override
+  public void sendReminderEmailInBackground(Campaign campaign) throws AxelorException {
+    submitSending(campaign, true);
+  }
+
+  protected void submitSending(Campaign campaign, boolean reminder) throws AxelorException {
+    Long campaignId = campaign.getId();
+    TenantAware sending =
+        new TenantAware(() -> sendInBackground(campaignId, reminder))
+            .tenantId(TenantResolver.currentTenantIdentifier());
+    sending.withTransaction(false);
+
+    try {
+      getSendingExecutor(getEmailAccountKey(campaign)).execute(sending);
+    } catch (RejectedExecutionException e) {
+      throw new AxelorException(
+          campaign,
+          TraceBackRepository.CATEGORY_INCONSISTENCY,
+          I18n.get(MarketingExceptionMessage.EMAIL_SENDING_QUEUE_FULL));
+    }
+  }
+
+  protected ExecutorService getSendingExecutor(String emailAccountKey) {
+    return SENDING_EXECUTOR_MAP.computeIfAbsent(
+        emailAccountKey,
+        key ->
+            new ThreadPoolExecutor(
+                1,
+                1,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(SENDING_QUEUE_CAPACITY),
+                new ThreadFactoryBuilder()
+                    .setNameFormat("campaign-sender-" + key + "-%d")
+                    .setDaemon(true)
+                    .build()));
+  }
+
+  protected void sendInBackground(Long campaignId, boolean reminder) {
+    try {
+      Campaign campaign = campaignRepository.find(campaignId);
+      MetaFile logFile = reminder ? sendReminderEmail(campaign) : sendEmail(campaign);
+      saveEmailLog(campaignId, logFile);
+    } catch (Exception e) {
+      TraceBackService.trace(e);
+    } finally {
+      RATE_LIMITER_MAP.remove(getCampaignKey(campaignId));
+    }
+  }
+
+  /** Stop the background sendings, on application shutdown. */
+  public static void shutdownSendingExecutors() {
+    SENDING_EXECUTOR_MAP.values().forEach(ExecutorService::shutdownNow);
+    SENDING_EXECUTOR_MAP.clear();
+  }
+
+  @Transactional(rollbackOn = {Exception.class})
+  protected void saveEmailLog(Long campaignId, MetaFile logFile) {
+    Campaign campaign = campaignRepository.find(campaignId);
+    campaign.setEmailLog(logFile);
+    campaignRepository.save(campaign);
+  }
+
   @Override
   public MetaFile sendReminderEmail(Campaign campaign) {
 
@@ -118,12 +214,20 @@ public class CampaignServiceImpl implements CampaignService {
   protected String sendToPartners(Set<Partner> partnerSet, Template template, Campaign campaign) {
 
     StringBuilder errors = new StringBuilder();
+    RateLimiter rateLimiter = getRateLimiter(campaign);
 
     for (Partner partner : partnerSet) {
 
       try {
+        if (rateLimiter != null) {
+          rateLimiter.acquire();
+        }
         generateAndSendMessage(campaign, partner, template);
-      } catch (ClassNotFoundException | IOException | JSONException | MessagingException e) {
+      } catch (ClassNotFoundException
+          | IOException
+          | JSONException
+          | MessagingException
+          | MailException e) {
         errors.append(partner.getName()).append("\n");
         TraceBackService.trace(e);
       }
@@ -135,12 +239,20 @@ public class CampaignServiceImpl implements CampaignService {
   protected String sendToLeads(Set<Lead> leadSet, Template template, Campaign campaign) {
 
     StringBuilder errors = new StringBuilder();
+    RateLimiter rateLimiter = getRateLimiter(campaign);
 
     for (Lead lead : leadSet) {
 
       try {
+        if (rateLimiter != null) {
+          rateLimiter.acquire();
+        }
         generateAndSendMessage(campaign, lead, template);
-      } catch (ClassNotFoundException | IOException | JSONException | MessagingException e) {
+      } catch (ClassNotFoundException
+          | IOException
+          | JSONException
+          | MessagingException
+          | MailException e) {
         errors.append(lead.getName()).append("\n");
         TraceBackService.trace(e);
       }
@@ -149,6 +261,33 @@ public class CampaignServiceImpl implements CampaignService {
     return errors.toString();
   }
 
+  /**
+   * Get the rate limiter of the campaign, shared by its partner and lead emails until the end of
+   * the sending. The campaigns of an email account being sent one at a time by its background
+   * thread, the account sends at the rate of the campaign being sent.
+   *
+   * @return null if the campaign has no sending limit
+   */
+  protected RateLimiter getRateLimiter(Campaign campaign) {
+    if (campaign.getMaxEmailsPerMinute() <= 0) {
+      return null;
+    }
+
+    double permitsPerSecond = campaign.getMaxEmailsPerMinute() / 60d;
+    return RATE_LIMITER_MAP.computeIfAbsent(
+        getCampaignKey(campaign.getId()), key -> RateLimiter.create(permitsPerSecond));
+  }
+
+  protected String getCampaignKey(Long campaignId) {
+    return TenantResolver.currentTenantIdentifier() + ":" + campaignId;
+  }
+
+  protected String getEmailAccountKey(Campaign campaign) {
+    return TenantResolver.currentTenantIdentifier()
+        + ":"
+        + Optional.ofNullable(campaign.getEmailAccount()).map(EmailAccount::getId).orElse(0L);
+  }
+
   @Transactional(rollbackOn = {Exception.class})
   protected void generateAndSendMessage(Campaign campaign, Model model, Template template)
       throws ClassNotFoundException, IOException, JSONException, MessagingException {
@@ -29,7 +29,6 @@ import com.axelor.apps.marketing.exception.MarketingExceptionMessage;
 import com.axelor.apps.marketing.service.CampaignService;
 import com.axelor.i18n.I18n;
 import com.axelor.inject.Beans;
-import com.axelor.meta.db.MetaFile;
 import com.axelor.rpc.ActionRequest;
 import com.axelor.rpc.ActionResponse;
 import com.google.inject.Singleton;
@@ -49,15 +48,8 @@ public class CampaignController {
         response.setInfo(I18n.get(MarketingExceptionMessage.EMPTY_TARGET));
         return;
       }
-      MetaFile logFile = Beans.get(CampaignService.class).sendEmail(campaign);
-
-      if (logFile == null) {
-        response.setInfo(I18n.get(MarketingExceptionMessage.EMAIL_SUCCESS));
-      } else {
-        response.setInfo(I18n.get(MarketingExceptionMessage.EMAIL_ERROR2));
-      }
-
-      response.setValue("emailLog", logFile);
+      Beans.get(CampaignService.class).sendEmailInBackground(campaign);
+      response.setInfo(I18n.get(MarketingExceptionMessage.EMAIL_SENDING_STARTED));
     } catch (Exception e) {
       TraceBackService.trace(response, e);
     }
@@ -76,15 +68,8 @@ public class CampaignController {
         return;
       }
 
-      MetaFile logFile = Beans.get(CampaignService.class).sendReminderEmail(campaign);
-
-      if (logFile == null) {
-        response.setInfo(I18n.get(MarketingExceptionMessage.EMAIL_SUCCESS));
-      } else {
-        response.setInfo(I18n.get(MarketingExceptionMessage.EMAIL_ERROR2));
-      }
-
-      response.setValue("emailLog", logFile);
+      Beans.get(CampaignService.class).sendReminderEmailInBackground(campaign);
+      response.setInfo(I18n.get(MarketingExceptionMessage.EMAIL_SENDING_STARTED));
     } catch (Exception e) {
       TraceBackService.trace(response, e);
     }
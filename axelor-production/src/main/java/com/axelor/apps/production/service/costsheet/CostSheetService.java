@@ -25,6 +25,7 @@ import com.axelor.apps.production.db.ManufOrder;
 import com.axelor.apps.production.db.UnitCostCalculation;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Set;
 
 public interface CostSheetService {
 
@@ -44,6 +45,21 @@ public interface CostSheetService {
       BillOfMaterial billOfMaterial, int origin, UnitCostCalculation unitCostCalculation)
       throws AxelorException;
 
+  /**
+   * Same as {@link #computeCostPrice(BillOfMaterial, int, UnitCostCalculation)}, except that the
+   * sub bills of materials already costed during the current unit cost calculation are not walked
+   * again.
+   *
+   * @param computedBillOfMaterialIdSet ids of the bills of materials already costed in the current
+   *     unit cost calculation
+   */
+  public CostSheet computeCostPrice(
+      BillOfMaterial billOfMaterial,
+      int origin,
+      UnitCostCalculation unitCostCalculation,
+      Set<Long> computedBillOfMaterialIdSet)
+      throws AxelorException;
+
   public CostSheet computeCostPrice(
       ManufOrder manufOrder, int calculationTypeSelect, LocalDate calculationDate)
       throws AxelorException;
@@ -60,10 +60,12 @@ import java.time.Duration;
 import java.time.LocalDate;
 import java.time.Period;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -81,6 +83,7 @@ public class CostSheetServiceImpl implements CostSheetService {
   protected Unit cycleUnit;
   protected boolean manageResidualProductOnBom;
   protected CostSheet costSheet;
+  protected Set<Long> computedBillOfMaterialIdSet = Collections.emptySet();
 
   @Inject
   public CostSheetServiceImpl(
@@ -113,8 +116,20 @@ public class CostSheetServiceImpl implements CostSheetService {
   public CostSheet computeCostPrice(
       BillOfMaterial billOfMaterial, int origin, UnitCostCalculation unitCostCalculation)
       throws AxelorException {
+    return computeCostPrice(billOfMaterial, origin, unitCostCalculation, Collections.emptySet());
+  }
+
+  @Override
+  @Transactional(rollbackOn = {Exception.class})
+  public CostSheet computeCostPrice(
+      BillOfMaterial billOfMaterial,
+      int origin,
+      UnitCostCalculation unitCostCalculation,
+      Set<Long> computedBillOfMaterialIdSet)
+      throws AxelorException {
 
     this.init();
+    this.computedBillOfMaterialIdSet = computedBillOfMaterialIdSet;
 
     billOfMaterial.addCostSheetListItem(costSheet);
 
@@ -355,7 +370,8 @@ public class CostSheetServiceImpl implements CostSheetService {
                 unitCostCalculation);
           }
 
-          if (billOfMaterialLine.getBillOfMaterial() != null) {
+          if (billOfMaterialLine.getBillOfMaterial() != null
+              && !isAlreadyCosted(billOfMaterialLine.getBillOfMaterial(), origin)) {
             this._computeCostPrice(
                 company,
                 billOfMaterialLine.getBillOfMaterial(),
@@ -369,6 +385,16 @@ public class CostSheetServiceImpl implements CostSheetService {
     }
   }
 
+  /**
+   * During a bulk unit cost calculation, the levels are computed from the leaves, so a sub bill of
+   * materials met here may already have been costed: the consumed product line then uses its
+   * computed cost and the sub tree does not need to be costed again.
+   */
+  protected boolean isAlreadyCosted(BillOfMaterial billOfMaterial, int origin) {
+    return origin == ORIGIN_BULK_UNIT_COST_CALCULATION
+        && computedBillOfMaterialIdSet.contains(billOfMaterial.getId());
+  }
+
   protected void _computeProcess(
       ProdProcess prodProcess,
       BigDecimal producedQty,
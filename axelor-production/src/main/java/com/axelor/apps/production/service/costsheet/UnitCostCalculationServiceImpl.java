@@ -101,6 +101,7 @@ public class UnitCostCalculationServiceImpl implements UnitCostCalculationServic
   protected BillOfMaterialService billOfMaterialService;
 
   protected Map<Long, Integer> productMap;
+  protected Set<Long> computedBillOfMaterialIdSet;
 
   @Inject
   public UnitCostCalculationServiceImpl(
@@ -217,6 +218,7 @@ public class UnitCostCalculationServiceImpl implements UnitCostCalculationServic
     }
 
     unitCostCalculation = unitCostCalculationRepository.find(unitCostCalculation.getId());
+    this.computedBillOfMaterialIdSet = new HashSet<>();
     this.assignProductAndLevel(
         this.getProductList(unitCostCalculation), this.getSingleCompany(unitCostCalculation));
 
@@ -287,7 +289,9 @@ public class UnitCostCalculationServiceImpl implements UnitCostCalculationServic
     }
 
     CostSheet costSheet =
-        costSheetService.computeCostPrice(billOfMaterial, origin, unitCostCalculation);
+        costSheetService.computeCostPrice(
+            billOfMaterial, origin, unitCostCalculation, computedBillOfMaterialIdSet);
+    computedBillOfMaterialIdSet.add(billOfMaterial.getId());
 
     UnitCostCalcLine unitCostCalcLine =
         unitCostCalcLineService.createUnitCostCalcLine(
@@ -411,16 +415,20 @@ public class UnitCostCalculationServiceImpl implements UnitCostCalculationServic
    */
   protected List<Product> getProductList(int level) {
 
-    List<Product> productList = Lists.newArrayList();
+    List<Long> productIdList = Lists.newArrayList();
 
-    for (Long productId : this.productMap.keySet()) {
+    for (Map.Entry<Long, Integer> entry : this.productMap.entrySet()) {
 
-      if (this.productMap.get(productId) == level) {
-        productList.add(productRepository.find(productId));
+      if (entry.getValue() == level) {
+        productIdList.add(entry.getKey());
       }
     }
 
-    return productList;
+    if (productIdList.isEmpty()) {
+      return Lists.newArrayList();
+    }
+
+    return productRepository.all().filter("self.id IN :ids").bind("ids", productIdList).fetch();
   }
 
   protected void assignProductAndLevel(Set<Product> productList, Company company)
@@ -18,29 +18,24 @@
  */
 package com.axelor.apps.purchase.service;
 
-import static com.axelor.apps.base.service.administration.AbstractBatch.FETCH_LIMIT;
-
 import com.axelor.apps.base.AxelorException;
 import com.axelor.apps.base.db.ABCAnalysis;
-import com.axelor.apps.base.db.ABCAnalysisLine;
 import com.axelor.apps.base.db.Product;
 import com.axelor.apps.base.db.repo.ABCAnalysisClassRepository;
 import com.axelor.apps.base.db.repo.ABCAnalysisLineRepository;
 import com.axelor.apps.base.db.repo.ABCAnalysisRepository;
 import com.axelor.apps.base.db.repo.ProductRepository;
+import com.axelor.apps.base.service.ABCAnalysisProductValues;
 import com.axelor.apps.base.service.ABCAnalysisServiceImpl;
 import com.axelor.apps.base.service.UnitConversionService;
 import com.axelor.apps.base.service.administration.SequenceService;
-import com.axelor.apps.purchase.db.PurchaseOrderLine;
 import com.axelor.apps.purchase.db.repo.PurchaseOrderLineRepository;
 import com.axelor.apps.purchase.db.repo.PurchaseOrderRepository;
 import com.axelor.db.JPA;
-import com.axelor.db.Query;
 import com.google.inject.Inject;
-import java.math.BigDecimal;
 import java.time.LocalTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 public class ABCAnalysisServicePurchaseImpl extends ABCAnalysisServiceImpl {
 
@@ -68,58 +63,30 @@ public class ABCAnalysisServicePurchaseImpl extends ABCAnalysisServiceImpl {
   }
 
   @Override
-  protected Optional<ABCAnalysisLine> createABCAnalysisLine(
-      ABCAnalysis abcAnalysis, Product product) throws AxelorException {
-    ABCAnalysisLine abcAnalysisLine = null;
-    BigDecimal productQty = BigDecimal.ZERO;
-    BigDecimal productWorth = BigDecimal.ZERO;
-    List<PurchaseOrderLine> purchaseOrderLineList;
-    int offset = 0;
-
-    Query<PurchaseOrderLine> purchaseOrderLineQuery =
-        purchaseOrderLineRepository
-            .all()
-            .filter(
-                "(self.purchaseOrder.statusSelect = :statusValidated OR self.purchaseOrder.statusSelect = :statusFinished) AND self.purchaseOrder.validationDateTime >= :startDate AND self.purchaseOrder.validationDateTime <= :endDate AND self.product.id = :productId")
-            .bind("statusValidated", PurchaseOrderRepository.STATUS_VALIDATED)
-            .bind("statusFinished", PurchaseOrderRepository.STATUS_FINISHED)
-            .bind("startDate", abcAnalysis.getStartDate().atStartOfDay())
-            .bind("endDate", abcAnalysis.getEndDate().atTime(LocalTime.MAX))
-            .bind("productId", product.getId())
-            .order("id");
-
-    while (!(purchaseOrderLineList = purchaseOrderLineQuery.fetch(FETCH_LIMIT, offset)).isEmpty()) {
-      offset += purchaseOrderLineList.size();
-      abcAnalysis = abcAnalysisRepository.find(abcAnalysis.getId());
-
-      if (abcAnalysisLine == null) {
-        abcAnalysisLine = super.createABCAnalysisLine(abcAnalysis, product).get();
-      }
-
-      for (PurchaseOrderLine purchaseOrderLine : purchaseOrderLineList) {
-        BigDecimal convertedQty =
-            unitConversionService.convert(
-                purchaseOrderLine.getUnit(),
-                product.getUnit(),
-                purchaseOrderLine.getQty(),
-                2,
-                product);
-        productQty = productQty.add(convertedQty);
-        productWorth = productWorth.add(purchaseOrderLine.getCompanyExTaxTotal());
-      }
-
-      super.incTotalQty(productQty);
-      super.incTotalWorth(productWorth);
-
-      JPA.clear();
-    }
-
-    if (abcAnalysisLine != null) {
-      setQtyWorth(
-          abcAnalysisLineRepository.find(abcAnalysisLine.getId()), productQty, productWorth);
-    }
-
-    return Optional.ofNullable(abcAnalysisLine);
+  protected void computeProductValues(
+      ABCAnalysis abcAnalysis,
+      List<Product> productList,
+      Map<Long, ABCAnalysisProductValues> productValuesMap)
+      throws AxelorException {
+    List<Object[]> rows =
+        JPA.em()
+            .createQuery(
+                "SELECT self.product.id, self.unit.id, SUM(self.qty), SUM(self.companyExTaxTotal)"
+                    + " FROM PurchaseOrderLine self"
+                    + " WHERE (self.purchaseOrder.statusSelect = :statusValidated OR self.purchaseOrder.statusSelect = :statusFinished)"
+                    + " AND self.purchaseOrder.validationDateTime >= :startDate"
+                    + " AND self.purchaseOrder.validationDateTime <= :endDate"
+                    + " AND self.product IN :productList"
+                    + " GROUP BY self.product.id, self.unit.id",
+                Object[].class)
+            .setParameter("statusValidated", PurchaseOrderRepository.STATUS_VALIDATED)
+            .setParameter("statusFinished", PurchaseOrderRepository.STATUS_FINISHED)
+            .setParameter("startDate", abcAnalysis.getStartDate().atStartOfDay())
+            .setParameter("endDate", abcAnalysis.getEndDate().atTime(LocalTime.MAX))
+            .setParameter("productList", productList)
+            .getResultList();
+
+    addGroupedProductValues(productList, rows, 2, productValuesMap);
   }
 
   @Override
@@ -29,7 +29,6 @@ import com.axelor.meta.db.repo.MetaModelRepository;
 import com.axelor.meta.db.repo.MetaModuleRepository;
 import com.axelor.studio.app.service.AppVersionService;
 import com.axelor.studio.db.AppPurchase;
-import com.axelor.studio.db.repo.AppPurchaseRepository;
 import com.axelor.studio.db.repo.AppRepository;
 import com.axelor.studio.service.AppSettingsStudioService;
 import com.google.inject.Inject;
@@ -40,8 +39,6 @@ import java.util.List;
 @Singleton
 public class AppPurchaseServiceImpl extends AppBaseServiceImpl implements AppPurchaseService {
 
-  protected AppPurchaseRepository appPurchaseRepo;
-
   protected CompanyRepository companyRepo;
 
   protected PurchaseConfigRepository purchaseConfigRepo;
@@ -55,7 +52,6 @@ public class AppPurchaseServiceImpl extends AppBaseServiceImpl implements AppPur
       AppSettingsStudioService appSettingsService,
       MetaModuleRepository metaModuleRepo,
       MetaFileRepository metaFileRepo,
-      AppPurchaseRepository appPurchaseRepo,
       CompanyRepository companyRepo,
       PurchaseConfigRepository purchaseConfigRepo) {
     super(
@@ -66,14 +62,13 @@ public class AppPurchaseServiceImpl extends AppBaseServiceImpl implements AppPur
         appSettingsService,
         metaModuleRepo,
         metaFileRepo);
-    this.appPurchaseRepo = appPurchaseRepo;
     this.companyRepo = companyRepo;
     this.purchaseConfigRepo = purchaseConfigRepo;
   }
 
   @Override
   public AppPurchase getAppPurchase() {
-    return appPurchaseRepo.all().fetchOne();
+    return getAppConfigSnapshotService().getApp(AppPurchase.class);
   }
 
   @Override
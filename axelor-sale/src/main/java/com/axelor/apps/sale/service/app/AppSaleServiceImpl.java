@@ -30,7 +30,6 @@ import com.axelor.meta.db.repo.MetaModuleRepository;
 import com.axelor.studio.app.service.AppVersionService;
 import com.axelor.studio.db.AppSale;
 import com.axelor.studio.db.repo.AppRepository;
-import com.axelor.studio.db.repo.AppSaleRepository;
 import com.axelor.studio.service.AppSettingsStudioService;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
@@ -40,8 +39,6 @@ import java.util.List;
 @Singleton
 public class AppSaleServiceImpl extends AppBaseServiceImpl implements AppSaleService {
 
-  protected AppSaleRepository appSaleRepo;
-
   protected CompanyRepository companyRepo;
 
   protected SaleConfigRepository saleConfigRepo;
@@ -55,7 +52,6 @@ public class AppSaleServiceImpl extends AppBaseServiceImpl implements AppSaleSer
       AppSettingsStudioService appSettingsService,
       MetaModuleRepository metaModuleRepo,
       MetaFileRepository metaFileRepo,
-      AppSaleRepository appSaleRepo,
       CompanyRepository companyRepo,
       SaleConfigRepository saleConfigRepo) {
     super(
@@ -66,14 +62,13 @@ public class AppSaleServiceImpl extends AppBaseServiceImpl implements AppSaleSer
         appSettingsService,
         metaModuleRepo,
         metaFileRepo);
-    this.appSaleRepo = appSaleRepo;
     this.companyRepo = companyRepo;
     this.saleConfigRepo = saleConfigRepo;
   }
 
   @Override
   public AppSale getAppSale() {
-    return appSaleRepo.all().fetchOne();
+    return getAppConfigSnapshotService().getApp(AppSale.class);
   }
 
   @Override
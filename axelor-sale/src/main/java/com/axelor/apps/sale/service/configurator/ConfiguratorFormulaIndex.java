@@ -0,0 +1,147 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.sale.service.configurator;
+
+import com.axelor.apps.sale.db.ConfiguratorCreator;
+import com.axelor.apps.sale.db.ConfiguratorFormula;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Formulas of a configurator creator indexed by the name of the field they compute, along with the
+ * identifiers each formula reads. Built once per version of the creator and its formulas.
+ */
+public class ConfiguratorFormulaIndex {
+
+  protected static final Pattern IDENTIFIER_PATTERN = Pattern.compile("[A-Za-z_$][\\w$]*");
+
+  /** Identifier followed by a property access, such as <code>product.salePrice</code>. */
+  protected static final Pattern DOTTED_ACCESS_PATTERN =
+      Pattern.compile("(?<![\\w$.])([A-Za-z_$][\\w$]*)\\s*\\??\\.\\s*[A-Za-z_$]");
+
+  /** Prefix of the variables added by the framework, such as __user__ or __date__. */
+  protected static final String SPECIAL_VARIABLE_PREFIX = "__";
+
+  protected final String fingerprint;
+  protected final Map<String, String> formulaByFieldName = new HashMap<>();
+  protected final Map<String, Set<String>> identifiersByFieldName = new HashMap<>();
+  protected final Map<String, Set<String>> dottedIdentifiersByFieldName = new HashMap<>();
+
+  public ConfiguratorFormulaIndex(ConfiguratorCreator creator) {
+    this.fingerprint = computeFingerprint(creator);
+    for (ConfiguratorFormula formula : getFormulas(creator)) {
+      // first matching formula wins, as when searching the list
+      if (formula.getMetaJsonField() != null) {
+        put(
+            formula.getMetaField().getName() + "$" + formula.getMetaJsonField().getName(),
+            formula.getFormula());
+      }
+      put(formula.getMetaField().getName(), formula.getFormula());
+    }
+  }
+
+  protected void put(String fieldName, String formula) {
+    if (formulaByFieldName.containsKey(fieldName)) {
+      return;
+    }
+    formulaByFieldName.put(fieldName, formula);
+    identifiersByFieldName.put(fieldName, extractIdentifiers(formula, IDENTIFIER_PATTERN, 0));
+    dottedIdentifiersByFieldName.put(
+        fieldName, extractIdentifiers(formula, DOTTED_ACCESS_PATTERN, 1));
+  }
+
+  protected Set<String> extractIdentifiers(String formula, Pattern pattern, int group) {
+    if (formula == null) {
+      return Collections.emptySet();
+    }
+    Set<String> identifiers = new HashSet<>();
+    Matcher matcher = pattern.matcher(formula);
+    while (matcher.find()) {
+      identifiers.add(matcher.group(group));
+    }
+    return identifiers;
+  }
+
+  public static List<? extends ConfiguratorFormula> getFormulas(ConfiguratorCreator creator) {
+    List<? extends ConfiguratorFormula> formulas =
+        creator.getGenerateProduct()
+            ? creator.getConfiguratorProductFormulaList()
+            : creator.getConfiguratorSOLineFormulaList();
+    return formulas != null ? formulas : Collections.emptyList();
+  }
+
+  /** Changes whenever the creator or one of its formulas is created, updated or removed. */
+  public static String computeFingerprint(ConfiguratorCreator creator) {
+    StringBuilder fingerprint =
+        new StringBuilder()
+            .append(creator.getVersion())
+            .append('|')
+            .append(creator.getGenerateProduct());
+    for (ConfiguratorFormula formula : getFormulas(creator)) {
+      fingerprint.append('|').append(formula.getId()).append(':').append(formula.getVersion());
+    }
+    return fingerprint.toString();
+  }
+
+  public String getFingerprint() {
+    return fingerprint;
+  }
+
+  public String getFormula(String fieldName) {
+    return formulaByFieldName.get(fieldName);
+  }
+
+  /**
+   * Whether the formula of the field may give a different result than with the previous values.
+   * Records are compared by id only, so a formula reading a field of a record attribute (e.g.
+   * <code>product.salePrice</code>) always depends on it, as the record may have been modified.
+   *
+   * @param fieldName the name of the computed field
+   * @param changedAttributes names of the attributes that changed, null if unknown
+   * @param recordAttributes names of the attributes holding records
+   * @return false only if the formula reads none of the changed attributes, no field of a record
+   *     attribute and no framework variable
+   */
+  public boolean dependsOn(
+      String fieldName, Collection<String> changedAttributes, Collection<String> recordAttributes) {
+    Set<String> identifiers = identifiersByFieldName.get(fieldName);
+    if (changedAttributes == null || identifiers == null) {
+      return true;
+    }
+    for (String identifier : dottedIdentifiersByFieldName.get(fieldName)) {
+      if (recordAttributes.contains(identifier)) {
+        return true;
+      }
+    }
+    for (String identifier : identifiers) {
+      if (identifier.startsWith(SPECIAL_VARIABLE_PREFIX)
+          || changedAttributes.contains(identifier)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
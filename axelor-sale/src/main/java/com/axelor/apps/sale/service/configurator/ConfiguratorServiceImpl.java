@@ -45,10 +45,12 @@ import com.axelor.apps.sale.service.saleorderline.creation.SaleOrderLineGenerato
 import com.axelor.apps.sale.service.saleorderline.product.SaleOrderLineOnProductChangeService;
 import com.axelor.auth.AuthUtils;
 import com.axelor.auth.db.User;
+import com.axelor.common.StringUtils;
 import com.axelor.db.EntityHelper;
 import com.axelor.db.JPA;
 import com.axelor.db.Model;
 import com.axelor.db.mapper.Mapper;
+import com.axelor.db.tenants.TenantResolver;
 import com.axelor.i18n.I18n;
 import com.axelor.meta.db.MetaField;
 import com.axelor.meta.db.MetaJsonField;
@@ -57,6 +59,10 @@ import com.axelor.rpc.JsonContext;
 import com.axelor.script.GroovyScriptHelper;
 import com.axelor.script.ScriptHelper;
 import com.axelor.utils.helpers.MetaHelper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.inject.Inject;
 import com.google.inject.persist.Transactional;
 import groovy.lang.MissingPropertyException;
@@ -65,6 +71,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -73,12 +80,16 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class ConfiguratorServiceImpl implements ConfiguratorService {
 
+  protected static final Cache<String, ConfiguratorFormulaIndex> FORMULA_INDEX_CACHE =
+      CacheBuilder.newBuilder().maximumSize(1000).expireAfterAccess(1, TimeUnit.HOURS).build();
+
   protected AppBaseService appBaseService;
   protected ConfiguratorFormulaService configuratorFormulaService;
   protected ProductRepository productRepository;
@@ -150,11 +161,25 @@ public class ConfiguratorServiceImpl implements ConfiguratorService {
       jsonAttributes.putIfAbsent(metaJsonField.getName(), metaJsonField.getDefaultValue());
     }
 
+    ConfiguratorFormulaIndex formulaIndex = getFormulaIndex(configuratorCreator);
+    Map<String, String> attributeValues = getComparableValues(jsonAttributes);
+    Set<String> changedAttributes =
+        getChangedAttributes(configurator, formulaIndex, attributeValues);
+    Set<String> recordAttributes = getRecordAttributes(jsonAttributes);
+    ScriptHelper scriptHelper = createScriptHelper(jsonAttributes);
+
     for (MetaJsonField indicator : indicators) {
       try {
         String indicatorName = indicator.getName();
+        String fieldName = getIndicatorFieldName(indicatorName);
 
-        Object calculatedValue = computeIndicatorValue(configurator, indicatorName, jsonAttributes);
+        // the value computed on a previous change is still valid
+        if (jsonIndicators.containsKey(indicatorName)
+            && !formulaIndex.dependsOn(fieldName, changedAttributes, recordAttributes)) {
+          continue;
+        }
+        String groovyFormula = formulaIndex.getFormula(fieldName);
+        Object calculatedValue = groovyFormula != null ? scriptHelper.eval(groovyFormula) : null;
         checkType(calculatedValue, indicator);
         jsonIndicators.put(indicatorName, calculatedValue);
       } catch (MissingPropertyException e) {
@@ -162,6 +187,139 @@ public class ConfiguratorServiceImpl implements ConfiguratorService {
         continue;
       }
     }
+
+    configurator.setIndicatorsAttributes(
+        getIndicatorsAttributes(formulaIndex.getFingerprint(), attributeValues));
+  }
+
+  protected ConfiguratorFormulaIndex getFormulaIndex(ConfiguratorCreator creator) {
+    if (creator.getId() == null) {
+      return new ConfiguratorFormulaIndex(creator);
+    }
+    String key = TenantResolver.currentTenantIdentifier() + ":" + creator.getId();
+    ConfiguratorFormulaIndex formulaIndex = FORMULA_INDEX_CACHE.getIfPresent(key);
+    if (formulaIndex == null
+        || !formulaIndex
+            .getFingerprint()
+            .equals(ConfiguratorFormulaIndex.computeFingerprint(creator))) {
+      formulaIndex = new ConfiguratorFormulaIndex(creator);
+      FORMULA_INDEX_CACHE.put(key, formulaIndex);
+    }
+    return formulaIndex;
+  }
+
+  protected String getIndicatorFieldName(String indicatorName) {
+    return indicatorName.substring(0, indicatorName.indexOf('_'));
+  }
+
+  /**
+   * Get the names of the attributes whose value changed since the indicators of this configurator
+   * were computed. The values used by this computation are kept on the configurator, with the
+   * version of the creator's formulas.
+   *
+   * @return the changed attribute names, or null if the previous values are unknown
+   */
+  protected Set<String> getChangedAttributes(
+      Configurator configurator,
+      ConfiguratorFormulaIndex formulaIndex,
+      Map<String, String> attributeValues) {
+    Map<String, String> lastAttributeValues =
+        getLastAttributeValues(configurator, formulaIndex.getFingerprint());
+    if (lastAttributeValues == null) {
+      return null;
+    }
+    Set<String> changedAttributes = new HashSet<>();
+    for (Entry<String, String> entry : attributeValues.entrySet()) {
+      if (!lastAttributeValues.containsKey(entry.getKey())
+          || !Objects.equals(entry.getValue(), lastAttributeValues.get(entry.getKey()))) {
+        changedAttributes.add(entry.getKey());
+      }
+    }
+    for (String name : lastAttributeValues.keySet()) {
+      if (!attributeValues.containsKey(name)) {
+        changedAttributes.add(name);
+      }
+    }
+    return changedAttributes;
+  }
+
+  protected Map<String, String> getLastAttributeValues(
+      Configurator configurator, String fingerprint) {
+    String indicatorsAttributes = configurator.getIndicatorsAttributes();
+    if (StringUtils.isEmpty(indicatorsAttributes)) {
+      return null;
+    }
+    try {
+      IndicatorsAttributes lastIndicatorsAttributes =
+          new ObjectMapper().readValue(indicatorsAttributes, IndicatorsAttributes.class);
+      // values computed with another version of the creator's formulas must not be kept
+      if (!fingerprint.equals(lastIndicatorsAttributes.fingerprint)) {
+        return null;
+      }
+      return lastIndicatorsAttributes.values;
+    } catch (JsonProcessingException e) {
+      return null;
+    }
+  }
+
+  protected String getIndicatorsAttributes(
+      String fingerprint, Map<String, String> attributeValues) {
+    IndicatorsAttributes indicatorsAttributes = new IndicatorsAttributes();
+    indicatorsAttributes.fingerprint = fingerprint;
+    indicatorsAttributes.values = attributeValues;
+    try {
+      return new ObjectMapper().writeValueAsString(indicatorsAttributes);
+    } catch (JsonProcessingException e) {
+      return null;
+    }
+  }
+
+  /** Attribute values used to compute the indicators of a configurator. */
+  protected static class IndicatorsAttributes {
+    public String fingerprint;
+    public Map<String, String> values;
+  }
+
+  /** Copy the attribute values as text, replacing records by their ids so they can be stored. */
+  protected Map<String, String> getComparableValues(JsonContext jsonAttributes) {
+    Map<String, String> values = new HashMap<>();
+    for (Entry<String, Object> entry : jsonAttributes.entrySet()) {
+      Object value = getComparableValue(entry.getValue());
+      values.put(entry.getKey(), value == null ? null : String.valueOf(value));
+    }
+    return values;
+  }
+
+  /** Get the names of the attributes holding records, which are only compared by id. */
+  protected Set<String> getRecordAttributes(JsonContext jsonAttributes) {
+    Set<String> recordAttributes = new HashSet<>();
+    for (Entry<String, Object> entry : jsonAttributes.entrySet()) {
+      if (isRecord(entry.getValue())) {
+        recordAttributes.add(entry.getKey());
+      }
+    }
+    return recordAttributes;
+  }
+
+  protected boolean isRecord(Object value) {
+    if (value instanceof Collection) {
+      return ((Collection<?>) value).stream().anyMatch(this::isRecord);
+    }
+    return value instanceof Model || value instanceof Map;
+  }
+
+  protected Object getComparableValue(Object value) {
+    if (value instanceof Model) {
+      return EntityHelper.getEntityClass(value).getName() + ":" + ((Model) value).getId();
+    }
+    if (value instanceof Collection) {
+      return ((Collection<?>) value)
+          .stream().map(this::getComparableValue).collect(Collectors.toList());
+    }
+    if (value instanceof Map) {
+      return String.valueOf(value);
+    }
+    return value;
   }
 
   /**
@@ -501,31 +659,9 @@ public class ConfiguratorServiceImpl implements ConfiguratorService {
    */
   protected Object computeIndicatorValue(
       Configurator configurator, String indicatorName, JsonContext jsonAttributes) {
-    ConfiguratorCreator creator = configurator.getConfiguratorCreator();
-    List<? extends ConfiguratorFormula> formulas;
-    if (creator.getGenerateProduct()) {
-      formulas = creator.getConfiguratorProductFormulaList();
-    } else {
-      formulas = creator.getConfiguratorSOLineFormulaList();
-    }
-    String groovyFormula = null;
-    for (ConfiguratorFormula formula : formulas) {
-      String fieldName = indicatorName;
-      fieldName = fieldName.substring(0, fieldName.indexOf('_'));
-
-      MetaField metaField = formula.getMetaField();
-      // Adding this check since meta json can be specified in ConfiguratorFormula
-      if (formula.getMetaJsonField() != null
-          && fieldName.equals(
-              formula.getMetaField().getName() + "$" + formula.getMetaJsonField().getName())) {
-        // fieldName should be like attr.fieldName, so we must only keep fieldName
-        groovyFormula = formula.getFormula();
-        break;
-      } else if (metaField.getName().equals(fieldName)) {
-        groovyFormula = formula.getFormula();
-        break;
-      }
-    }
+    String groovyFormula =
+        getFormulaIndex(configurator.getConfiguratorCreator())
+            .getFormula(getIndicatorFieldName(indicatorName));
     if (groovyFormula == null || jsonAttributes == null) {
       return null;
     }
@@ -534,15 +670,21 @@ public class ConfiguratorServiceImpl implements ConfiguratorService {
 
   @Override
   public Object computeFormula(String groovyFormula, JsonContext values) {
+    return createScriptHelper(values).eval(groovyFormula);
+  }
+
+  /**
+   * Create a script helper on the given values, which can be reused to evaluate every formula of a
+   * configurator as long as the values do not change.
+   */
+  protected ScriptHelper createScriptHelper(JsonContext values) {
     User currentUser = AuthUtils.getUser();
     Company company = currentUser != null ? currentUser.getActiveCompany() : null;
 
     values.put("__user__", currentUser);
     values.put("__date__", appBaseService.getTodayDate(company));
     values.put("__datetime__", appBaseService.getTodayDateTime(company));
-    ScriptHelper scriptHelper = new GroovyScriptHelper(values);
-
-    return scriptHelper.eval(groovyFormula);
+    return new GroovyScriptHelper(values);
   }
 
   public boolean areCompatible(String targetClassName, String fromClassName) {
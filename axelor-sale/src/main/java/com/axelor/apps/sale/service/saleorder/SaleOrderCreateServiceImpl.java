@@ -29,6 +29,7 @@ import com.axelor.apps.base.db.TradingName;
 import com.axelor.apps.base.db.repo.PriceListRepository;
 import com.axelor.apps.base.service.PartnerPriceListService;
 import com.axelor.apps.base.service.PartnerService;
+import com.axelor.apps.base.service.PriceListLineIndexService;
 import com.axelor.apps.base.service.TradingNameService;
 import com.axelor.apps.sale.db.SaleOrder;
 import com.axelor.apps.sale.db.SaleOrderLine;
@@ -47,6 +48,7 @@ import java.lang.invoke.MethodHandles;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -218,6 +220,12 @@ public class SaleOrderCreateServiceImpl implements SaleOrderCreateService {
   public void updateSaleOrderLineList(SaleOrder saleOrder) throws AxelorException {
     List<SaleOrderLine> saleOrderLineList = saleOrder.getSaleOrderLineList();
     if (saleOrderLineList != null) {
+      Beans.get(PriceListLineIndexService.class)
+          .preloadPriceListLines(
+              saleOrder.getPriceList(),
+              saleOrderLineList.stream()
+                  .map(SaleOrderLine::getProduct)
+                  .collect(Collectors.toList()));
       for (SaleOrderLine saleOrderLine : saleOrderLineList) {
         if (saleOrderLine.getProduct() != null) {
           if (!saleOrder.getTemplate()) {
@@ -57,12 +57,16 @@ public class ConfiguratorController {
     Configurator configurator = request.getContext().asType(Configurator.class);
     JsonContext jsonAttributes = (JsonContext) request.getContext().get("$attributes");
     JsonContext jsonIndicators = (JsonContext) request.getContext().get("$indicators");
+    String indicatorsAttributes = configurator.getIndicatorsAttributes();
     configurator = Beans.get(ConfiguratorRepository.class).find(configurator.getId());
+    // the displayed indicators were computed from the attribute values sent by the form
+    configurator.setIndicatorsAttributes(indicatorsAttributes);
     try {
       Beans.get(ConfiguratorService.class)
           .updateIndicators(
               configurator, jsonAttributes, jsonIndicators, getSaleOrderId(request.getContext()));
       response.setValue("indicators", request.getContext().get("indicators"));
+      response.setValue("indicatorsAttributes", configurator.getIndicatorsAttributes());
     } catch (Exception e) {
       TraceBackService.trace(response, e);
     }
@@ -48,6 +48,7 @@ import com.axelor.apps.stock.exception.StockExceptionMessage;
 import com.axelor.apps.stock.service.config.StockConfigService;
 import com.axelor.auth.AuthUtils;
 import com.axelor.common.ObjectUtils;
+import com.axelor.db.JPA;
 import com.axelor.db.Query;
 import com.axelor.i18n.I18n;
 import com.axelor.i18n.L10n;
@@ -57,6 +58,7 @@ import com.axelor.meta.db.MetaFile;
 import com.axelor.utils.helpers.StringHtmlListBuilder;
 import com.axelor.utils.helpers.file.CsvHelper;
 import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import com.google.inject.persist.Transactional;
 import java.io.File;
@@ -66,6 +68,8 @@ import java.io.InputStream;
 import java.lang.invoke.MethodHandles;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
@@ -76,16 +80,24 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.apache.commons.lang3.LocaleUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -106,6 +118,8 @@ public class InventoryService {
   private final String X_MARK = "X";
 
   static final int INVENTORY_LINE_WITHOUT_STOCK_LOCATION_DISPLAY_LIMIT = 15;
+  protected static final int IMPORT_CHUNK_SIZE = 500;
+  protected static final int STOCK_MOVE_LINE_CHUNK_SIZE = 500;
 
   protected InventoryLineRepository inventoryLineRepository;
   protected InventoryLineService inventoryLineService;
@@ -211,49 +225,231 @@ public class InventoryService {
     return ref;
   }
 
+  /**
+   * Import the inventory lines from the inventory file. The file is read as a stream and the lines
+   * are processed and saved by chunks, so the memory used does not depend on the file size.
+   */
   @Transactional(rollbackOn = {Exception.class})
   public Path importFile(Inventory inventory) throws AxelorException {
 
-    HashMap<String, InventoryLine> inventoryLineMap = this.getInventoryLines(inventory);
-
+    Long inventoryId = inventory.getId();
+    List<Long> previousInventoryLineIdList =
+        JPA.em()
+            .createQuery(
+                "SELECT self.id FROM InventoryLine self WHERE self.inventory = :inventory",
+                Long.class)
+            .setParameter("inventory", inventory)
+            .getResultList();
+    Map<String, Long> inventoryLineIdMap = this.getInventoryLineIds(inventory);
     Path filePath = MetaFiles.getPath(inventory.getImportFile());
-    List<CSVRecord> data = this.getDatas(filePath);
-
-    inventory.clearInventoryLineList();
+    boolean isEmpty = true;
+
+    try (CSVParser csvParser =
+        CSVFormat.DEFAULT
+            .withDelimiter(';')
+            .withFirstRecordAsHeader()
+            .withIgnoreEmptyLines()
+            .parse(Files.newBufferedReader(filePath, StandardCharsets.UTF_8))) {
+      List<CSVRecord> lineList = new ArrayList<>();
+
+      for (CSVRecord line : csvParser) {
+        isEmpty = false;
+        lineList.add(line);
+        if (lineList.size() == IMPORT_CHUNK_SIZE) {
+          this.importInventoryLines(inventoryRepo.find(inventoryId), inventoryLineIdMap, lineList);
+          lineList.clear();
+        }
+      }
+      if (!lineList.isEmpty()) {
+        this.importInventoryLines(inventoryRepo.find(inventoryId), inventoryLineIdMap, lineList);
+      }
+    } catch (IOException | IllegalArgumentException | IllegalStateException e) {
+      throw new AxelorException(
+          e.getCause(),
+          TraceBackRepository.CATEGORY_CONFIGURATION_ERROR,
+          I18n.get(StockExceptionMessage.INVENTORY_5));
+    }
 
-    for (CSVRecord line : data) {
-      inventory.addInventoryLineListItem(createInventoryLine(inventory, inventoryLineMap, line));
+    if (isEmpty) {
+      throw new AxelorException(
+          new Throwable(I18n.get(StockExceptionMessage.INVENTORY_3_DATA_NULL_OR_EMPTY)),
+          TraceBackRepository.CATEGORY_CONFIGURATION_ERROR,
+          I18n.get(StockExceptionMessage.INVENTORY_3));
     }
 
-    inventoryRepo.save(inventory);
+    // The lines which were there before the import are replaced by the imported ones
+    for (List<Long> idList : Lists.partition(previousInventoryLineIdList, IMPORT_CHUNK_SIZE)) {
+      JPA.em()
+          .createQuery("DELETE FROM InventoryLine self WHERE self.id IN (:ids)")
+          .setParameter("ids", idList)
+          .executeUpdate();
+    }
 
     return filePath;
   }
 
-  protected InventoryLine createInventoryLine(
-      Inventory inventory, HashMap<String, InventoryLine> inventoryLineMap, CSVRecord line)
+  /** Get the ids of the inventory lines, by product code, tracking number and stock location. */
+  protected Map<String, Long> getInventoryLineIds(Inventory inventory) {
+    Map<String, Long> inventoryLineIdMap = new HashMap<>();
+
+    List<Object[]> rowList =
+        JPA.em()
+            .createQuery(
+                "SELECT self.id, product.code, trackingNumber.trackingNumberSeq, stockLocation.name "
+                    + "FROM InventoryLine self "
+                    + "LEFT JOIN self.product product "
+                    + "LEFT JOIN self.trackingNumber trackingNumber "
+                    + "LEFT JOIN self.stockLocation stockLocation "
+                    + "WHERE self.inventory = :inventory "
+                    + "ORDER BY self.id",
+                Object[].class)
+            .setParameter("inventory", inventory)
+            .getResultList();
+
+    for (Object[] row : rowList) {
+      StringBuilder key = new StringBuilder();
+      for (int i = 1; i < row.length; i++) {
+        if (row[i] != null) {
+          key.append(row[i]);
+        }
+      }
+      inventoryLineIdMap.put(key.toString(), (Long) row[0]);
+    }
+
+    return inventoryLineIdMap;
+  }
+
+  /**
+   * Create and save the inventory lines of a chunk of the imported file, with the products,
+   * tracking numbers and stock locations of the chunk loaded at once.
+   */
+  protected void importInventoryLines(
+      Inventory inventory, Map<String, Long> inventoryLineIdMap, List<CSVRecord> lineList)
       throws AxelorException {
-    if (line.size() < 6) {
-      throw new AxelorException(
-          new Throwable(I18n.get(StockExceptionMessage.INVENTORY_3_LINE_LENGHT)),
-          inventory,
-          TraceBackRepository.CATEGORY_CONFIGURATION_ERROR,
-          I18n.get(StockExceptionMessage.INVENTORY_3));
+
+    Set<String> codeSet = new HashSet<>();
+    Set<String> stockLocationNameSet = new HashSet<>();
+    Set<String> trackingNumberSeqSet = new HashSet<>();
+    Set<Long> inventoryLineIdSet = new HashSet<>();
+
+    for (CSVRecord line : lineList) {
+      if (line.size() < 6) {
+        throw new AxelorException(
+            new Throwable(I18n.get(StockExceptionMessage.INVENTORY_3_LINE_LENGHT)),
+            inventory,
+            TraceBackRepository.CATEGORY_CONFIGURATION_ERROR,
+            I18n.get(StockExceptionMessage.INVENTORY_3));
+      }
+      String code = line.get(PRODUCT_CODE).replace("\"", "");
+      String trackingNumberSeq = line.get(TRACKING_NUMBER).replace("\"", "");
+      String stockLocationName = line.get(STOCK_LOCATION).replace("\"", "");
+      codeSet.add(code);
+      stockLocationNameSet.add(stockLocationName);
+      if (!StringUtils.isEmpty(trackingNumberSeq)) {
+        trackingNumberSeqSet.add(trackingNumberSeq);
+      }
+      Long inventoryLineId = inventoryLineIdMap.get(code + trackingNumberSeq + stockLocationName);
+      if (inventoryLineId != null) {
+        inventoryLineIdSet.add(inventoryLineId);
+      }
     }
 
+    Map<String, List<Product>> productMap =
+        productRepo
+            .all()
+            .filter("self.code IN (:codes) AND self.dtype = 'Product'")
+            .bind("codes", codeSet)
+            .fetch()
+            .stream()
+            .collect(Collectors.groupingBy(Product::getCode));
+
+    Map<String, StockLocation> stockLocationMap = new HashMap<>();
+    for (StockLocation stockLocation :
+        stockLocationRepository
+            .all()
+            .filter("self.name IN (:names)")
+            .bind("names", stockLocationNameSet)
+            .order("id")
+            .fetch()) {
+      stockLocationMap.putIfAbsent(stockLocation.getName(), stockLocation);
+    }
+
+    Map<String, TrackingNumber> trackingNumberMap = new HashMap<>();
+    if (!trackingNumberSeqSet.isEmpty()) {
+      for (TrackingNumber trackingNumber :
+          trackingNumberRepository
+              .all()
+              .filter("self.trackingNumberSeq IN (:sequences) AND self.product.code IN (:codes)")
+              .bind("sequences", trackingNumberSeqSet)
+              .bind("codes", codeSet)
+              .order("id")
+              .fetch()) {
+        trackingNumberMap.putIfAbsent(
+            getTrackingNumberKey(
+                trackingNumber.getTrackingNumberSeq(), trackingNumber.getProduct()),
+            trackingNumber);
+      }
+    }
+
+    Map<Long, InventoryLine> existingInventoryLineMap =
+        inventoryLineIdSet.isEmpty()
+            ? Collections.emptyMap()
+            : inventoryLineRepository
+                .all()
+                .filter("self.id IN (:ids)")
+                .bind("ids", inventoryLineIdSet)
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(InventoryLine::getId, Function.identity()));
+
+    List<InventoryLine> inventoryLineList = new ArrayList<>();
+    for (CSVRecord line : lineList) {
+      inventoryLineList.add(
+          createInventoryLine(
+              inventory,
+              inventoryLineIdMap,
+              existingInventoryLineMap,
+              productMap,
+              stockLocationMap,
+              trackingNumberMap,
+              line));
+    }
+
+    Set<Pair<Long, Long>> presentProductSet = this.getPresentProducts(inventoryLineList);
+    for (InventoryLine inventoryLine : inventoryLineList) {
+      if (inventoryLine.getStockLocation() != null
+          && presentProductSet.contains(
+              Pair.of(
+                  inventoryLine.getStockLocation().getId(), inventoryLine.getProduct().getId()))) {
+        inventoryLine.setPrice(BigDecimal.ZERO);
+      }
+      inventoryLineRepository.save(inventoryLine);
+    }
+
+    JPA.flush();
+    JPA.clear();
+  }
+
+  protected InventoryLine createInventoryLine(
+      Inventory inventory,
+      Map<String, Long> inventoryLineIdMap,
+      Map<Long, InventoryLine> existingInventoryLineMap,
+      Map<String, List<Product>> productMap,
+      Map<String, StockLocation> stockLocationMap,
+      Map<String, TrackingNumber> trackingNumberMap,
+      CSVRecord line)
+      throws AxelorException {
+
     String code = line.get(PRODUCT_CODE).replace("\"", "");
     String rack = line.get(RACK).replace("\"", "");
     String trackingNumberSeq = line.get(TRACKING_NUMBER).replace("\"", "");
     String description = line.get(DESCRIPTION).replace("\"", "");
     String stockLocationName = line.get(STOCK_LOCATION).replace("\"", "");
-    StockLocation stockLocation = null;
-    if (stockLocationName != null) {
-      stockLocation = stockLocationRepository.findByName(stockLocationName);
-    }
+    StockLocation stockLocation = stockLocationMap.get(stockLocationName);
     String key = code + trackingNumberSeq + stockLocationName;
     BigDecimal realQty = getRealQty(inventory, line);
     BigDecimal currentQty = getCurrentQty(inventory, line);
-    Product product = getProduct(inventory, code);
+    Product product = getProduct(inventory, code, productMap.get(code));
     BigDecimal price = getPrice(line.get(PRICE));
 
     if (product == null
@@ -264,27 +460,25 @@ public class InventoryService {
           I18n.get(StockExceptionMessage.INVENTORY_4) + " " + code);
     }
 
+    InventoryLine existingInventoryLine = existingInventoryLineMap.get(inventoryLineIdMap.get(key));
     InventoryLine inventoryLine;
-    if (inventoryLineMap.containsKey(key)) {
-      inventoryLine =
-          copyAndEditInventoryLine(inventoryLineMap.get(key), description, realQty, price);
+    if (existingInventoryLine != null) {
+      inventoryLine = copyAndEditInventoryLine(existingInventoryLine, description, realQty, price);
     } else {
       inventoryLine =
-          createInventoryLine(
+          inventoryLineService.createInventoryLine(
               inventory,
+              product,
+              currentQty,
               rack,
-              trackingNumberSeq,
-              description,
+              this.getTrackingNumber(trackingNumberSeq, product, trackingNumberMap),
               realQty,
-              currentQty,
-              product,
-              stockLocation);
+              description,
+              stockLocation,
+              null);
       inventoryLine.setPrice(price);
     }
 
-    if (inventoryLineService.isPresentInStockLocation(inventoryLine)) {
-      inventoryLine.setPrice(BigDecimal.ZERO);
-    }
     return inventoryLine;
   }
 
@@ -311,36 +505,8 @@ public class InventoryService {
     return inventoryLineResult;
   }
 
-  protected InventoryLine createInventoryLine(
-      Inventory inventory,
-      String rack,
-      String trackingNumberSeq,
-      String description,
-      BigDecimal realQty,
-      BigDecimal currentQty,
-      Product product,
-      StockLocation stockLocation)
+  protected Product getProduct(Inventory inventory, String code, List<Product> productList)
       throws AxelorException {
-
-    return inventoryLineService.createInventoryLine(
-        inventory,
-        product,
-        currentQty,
-        rack,
-        this.getTrackingNumber(trackingNumberSeq, product, realQty),
-        realQty,
-        description,
-        stockLocation,
-        null);
-  }
-
-  protected Product getProduct(Inventory inventory, String code) throws AxelorException {
-    List<Product> productList =
-        productRepo
-            .all()
-            .filter("self.code = :code AND self.dtype = 'Product'")
-            .bind("code", code)
-            .fetch();
     if (CollectionUtils.isNotEmpty(productList)) {
       if (productList.size() > 1) {
         throw new AxelorException(
@@ -357,6 +523,36 @@ public class InventoryService {
     }
   }
 
+  /** Get the (stock location id, product id) pairs of the lines having stock location lines. */
+  protected Set<Pair<Long, Long>> getPresentProducts(List<InventoryLine> inventoryLineList) {
+    Set<Long> stockLocationIdSet = new HashSet<>();
+    Set<Long> productIdSet = new HashSet<>();
+    for (InventoryLine inventoryLine : inventoryLineList) {
+      if (inventoryLine.getStockLocation() != null && inventoryLine.getProduct() != null) {
+        stockLocationIdSet.add(inventoryLine.getStockLocation().getId());
+        productIdSet.add(inventoryLine.getProduct().getId());
+      }
+    }
+
+    if (stockLocationIdSet.isEmpty()) {
+      return Collections.emptySet();
+    }
+
+    return JPA
+        .em()
+        .createQuery(
+            "SELECT self.stockLocation.id, self.product.id FROM StockLocationLine self "
+                + "WHERE self.stockLocation.id IN (:stockLocationIds) "
+                + "AND self.product.id IN (:productIds)",
+            Object[].class)
+        .setParameter("stockLocationIds", stockLocationIdSet)
+        .setParameter("productIds", productIdSet)
+        .getResultList()
+        .stream()
+        .map(row -> Pair.of((Long) row[0], (Long) row[1]))
+        .collect(Collectors.toSet());
+  }
+
   protected BigDecimal getCurrentQty(Inventory inventory, CSVRecord line) throws AxelorException {
     int qtyScale = appBaseService.getAppBase().getNbDecimalDigitForQty();
     try {
@@ -453,6 +649,27 @@ public class InventoryService {
     return trackingNumber;
   }
 
+  protected TrackingNumber getTrackingNumber(
+      String sequence, Product product, Map<String, TrackingNumber> trackingNumberMap) {
+
+    if (StringUtils.isEmpty(sequence)) {
+      return null;
+    }
+
+    return trackingNumberMap.computeIfAbsent(
+        getTrackingNumberKey(sequence, product),
+        key -> {
+          TrackingNumber trackingNumber = new TrackingNumber();
+          trackingNumber.setTrackingNumberSeq(sequence);
+          trackingNumber.setProduct(product);
+          return trackingNumber;
+        });
+  }
+
+  protected String getTrackingNumberKey(String sequence, Product product) {
+    return sequence + "|" + (product != null ? product.getId() : null);
+  }
+
   @Transactional(rollbackOn = {Exception.class})
   public void planInventory(Inventory inventory) throws AxelorException {
     if (inventory.getStatusSelect() == null
@@ -527,7 +744,7 @@ public class InventoryService {
           I18n.get(StockExceptionMessage.INVENTORY_VALIDATE_WRONG_STATUS));
     }
 
-    checkMissingStockLocation(inventory.getInventoryLineList());
+    checkMissingStockLocation(inventory);
     inventory.setValidatedOn(
         appBaseService.getTodayDateTime(inventory.getCompany()).toLocalDateTime());
     inventory.setStatusSelect(InventoryRepository.STATUS_VALIDATED);
@@ -580,25 +797,34 @@ public class InventoryService {
   }
 
   protected void storeLastInventoryData(Inventory inventory) {
-    Map<Pair<Product, TrackingNumber>, BigDecimal> realQties = new HashMap<>();
-    Map<Product, BigDecimal> consolidatedRealQties = new HashMap<>();
-    Map<Product, String> realRacks = new HashMap<>();
-
-    List<InventoryLine> inventoryLineList = inventory.getInventoryLineList();
-
-    if (inventoryLineList != null) {
-      for (InventoryLine inventoryLine : inventoryLineList) {
-        Product product = inventoryLine.getProduct();
-        TrackingNumber trackingNumber = inventoryLine.getTrackingNumber();
-
-        realQties.put(Pair.of(product, trackingNumber), inventoryLine.getRealQty());
-
-        BigDecimal realQty = consolidatedRealQties.getOrDefault(product, BigDecimal.ZERO);
-        realQty = realQty.add(inventoryLine.getRealQty());
-        consolidatedRealQties.put(product, realQty);
-
-        realRacks.put(product, inventoryLine.getRack());
-      }
+    Map<Pair<Long, Long>, BigDecimal> realQties = new HashMap<>();
+    Map<Long, BigDecimal> consolidatedRealQties = new HashMap<>();
+    Map<Long, String> realRacks = new HashMap<>();
+
+    List<Object[]> rowList =
+        JPA.em()
+            .createQuery(
+                "SELECT product.id, trackingNumber.id, self.realQty, self.rack "
+                    + "FROM InventoryLine self "
+                    + "JOIN self.product product "
+                    + "LEFT JOIN self.trackingNumber trackingNumber "
+                    + "WHERE self.inventory.id = :inventoryId "
+                    + "ORDER BY self.id",
+                Object[].class)
+            .setParameter("inventoryId", inventory.getId())
+            .getResultList();
+
+    for (Object[] row : rowList) {
+      Long productId = (Long) row[0];
+      BigDecimal lineRealQty = (BigDecimal) row[2];
+
+      realQties.put(Pair.of(productId, (Long) row[1]), lineRealQty);
+
+      BigDecimal realQty = consolidatedRealQties.getOrDefault(productId, BigDecimal.ZERO);
+      realQty = realQty.add(lineRealQty);
+      consolidatedRealQties.put(productId, realQty);
+
+      realRacks.put(productId, (String) row[3]);
     }
 
     List<StockLocationLine> stockLocationLineList =
@@ -606,15 +832,15 @@ public class InventoryService {
 
     if (stockLocationLineList != null) {
       for (StockLocationLine stockLocationLine : stockLocationLineList) {
-        Product product = stockLocationLine.getProduct();
-        BigDecimal realQty = consolidatedRealQties.get(product);
+        Long productId = stockLocationLine.getProduct().getId();
+        BigDecimal realQty = consolidatedRealQties.get(productId);
         if (realQty != null) {
           stockLocationLine.setLastInventoryRealQty(realQty);
           stockLocationLine.setLastInventoryDateT(
               inventory.getValidatedOn().atZone(ZoneOffset.UTC));
         }
 
-        String rack = realRacks.get(product);
+        String rack = realRacks.get(productId);
         if (rack != null) {
           stockLocationLine.setRack(rack);
         }
@@ -626,16 +852,18 @@ public class InventoryService {
 
     if (detailsStockLocationLineList != null) {
       for (StockLocationLine detailsStockLocationLine : detailsStockLocationLineList) {
-        Product product = detailsStockLocationLine.getProduct();
+        Long productId = detailsStockLocationLine.getProduct().getId();
         TrackingNumber trackingNumber = detailsStockLocationLine.getTrackingNumber();
-        BigDecimal realQty = realQties.get(Pair.of(product, trackingNumber));
+        BigDecimal realQty =
+            realQties.get(
+                Pair.of(productId, trackingNumber != null ? trackingNumber.getId() : null));
         if (realQty != null) {
           detailsStockLocationLine.setLastInventoryRealQty(realQty);
           detailsStockLocationLine.setLastInventoryDateT(
               inventory.getValidatedOn().atZone(ZoneOffset.UTC));
         }
 
-        String rack = realRacks.get(product);
+        String rack = realRacks.get(productId);
         if (rack != null) {
           detailsStockLocationLine.setRack(rack);
         }
@@ -643,28 +871,183 @@ public class InventoryService {
     }
   }
 
+  /**
+   * Generate the stock moves of the inventory. Only the lines having a gap in the given direction
+   * are taken, and they are moved by chunks, with one stock move per stock location and chunk.
+   *
+   * <p>The average prices and the presence of the products are loaded once per stock location,
+   * before realizing any of its chunks, so that every line is priced as if the stock location had
+   * been moved at once. Processed lines and stock moves are detached after each chunk.
+   */
   public void generateStockMoves(Inventory inventory, boolean isEnteringStock)
       throws AxelorException {
-    Set<StockLocation> stockLocationSet = new HashSet<>();
 
-    for (InventoryLine inventoryLine : inventory.getInventoryLineList()) {
-      if (inventoryLine.getStockLocation() != null) {
-        stockLocationSet.add(inventoryLine.getStockLocation());
+    Map<Long, List<Long>> inventoryLineIdMap =
+        getInventoryLineIdsWithGap(inventory, isEnteringStock);
+    if (inventoryLineIdMap.isEmpty()) {
+      return;
+    }
+    int total = inventoryLineIdMap.values().stream().mapToInt(List::size).sum();
+    int done = 0;
+
+    Long virtualStockLocationId =
+        stockConfigService
+            .getInventoryVirtualStockLocation(
+                stockConfigService.getStockConfig(inventory.getCompany()))
+            .getId();
+
+    for (Map.Entry<Long, List<Long>> entry : inventoryLineIdMap.entrySet()) {
+      Long stockLocationId = entry.getKey();
+      Map<Long, BigDecimal> avgPriceMap =
+          getAvgPrices(
+              inventory,
+              stockLocationId,
+              isEnteringStock ? stockLocationId : virtualStockLocationId,
+              isEnteringStock);
+      Set<Pair<Long, Long>> presentProductSet =
+          getPresentProducts(inventory, stockLocationId, isEnteringStock);
+
+      for (List<Long> idList : Lists.partition(entry.getValue(), STOCK_MOVE_LINE_CHUNK_SIZE)) {
+        List<InventoryLine> inventoryLineList =
+            inventoryLineRepository
+                .all()
+                .filter("self.id IN (:ids)")
+                .bind("ids", idList)
+                .order("product.id")
+                .order("id")
+                .fetch();
+
+        StockMove stockMove =
+            generateStockMove(
+                inventory, inventoryLineList, isEnteringStock, avgPriceMap, presentProductSet);
+        JPA.flush();
+        detach(inventory, inventoryLineList, stockMove);
+
+        done += idList.size();
+        log.debug(
+            "Inventory {} : {}/{} {} lines moved",
+            inventory.getInventorySeq(),
+            done,
+            total,
+            isEnteringStock ? "incoming" : "outgoing");
       }
     }
+  }
 
-    InventoryLineRepository inventoryLineRepo = Beans.get(InventoryLineRepository.class);
-    for (StockLocation stockLocation : stockLocationSet) {
-      List<InventoryLine> inventoryLineList =
-          inventoryLineRepo
-              .all()
-              .filter(
-                  "self.stockLocation.id = ? AND self.inventory.id = ?",
-                  stockLocation.getId(),
-                  inventory.getId())
-              .fetch();
+  /**
+   * Get the ids of the inventory lines having a gap in the given direction, by stock location.
+   *
+   * @param inventory an inventory.
+   * @param isEnteringStock whether we want the lines with a real quantity greater or lower than the
+   *     current quantity.
+   * @return a map of the inventory line ids, ordered by product, by stock location id.
+   */
+  protected Map<Long, List<Long>> getInventoryLineIdsWithGap(
+      Inventory inventory, boolean isEnteringStock) {
+    List<Object[]> rowList =
+        JPA.em()
+            .createQuery(
+                "SELECT stockLocation.id, self.id FROM InventoryLine self "
+                    + "JOIN self.stockLocation stockLocation "
+                    + "LEFT JOIN self.product product "
+                    + "WHERE self.inventory.id = :inventoryId "
+                    + (isEnteringStock
+                        ? "AND self.realQty > self.currentQty "
+                        : "AND self.realQty < self.currentQty ")
+                    + "ORDER BY stockLocation.id, product.id, self.id",
+                Object[].class)
+            .setParameter("inventoryId", inventory.getId())
+            .getResultList();
+
+    Map<Long, List<Long>> inventoryLineIdMap = new LinkedHashMap<>();
+    for (Object[] row : rowList) {
+      inventoryLineIdMap
+          .computeIfAbsent((Long) row[0], key -> new ArrayList<>())
+          .add((Long) row[1]);
+    }
+    return inventoryLineIdMap;
+  }
+
+  /**
+   * Get the JPQL query selecting the ids of the products of the inventory lines of a stock location
+   * having a gap in the given direction.
+   */
+  protected String getProductIdsWithGapQuery(boolean isEnteringStock) {
+    return "SELECT self.product.id FROM InventoryLine self "
+        + "WHERE self.inventory.id = :inventoryId "
+        + "AND self.stockLocation.id = :stockLocationId "
+        + (isEnteringStock
+            ? "AND self.realQty > self.currentQty"
+            : "AND self.realQty < self.currentQty");
+  }
+
+  /**
+   * Get the average prices, in the destination stock location, of the products of the inventory
+   * lines of a stock location having a gap in the given direction.
+   *
+   * @return a map of the average prices by product id.
+   */
+  protected Map<Long, BigDecimal> getAvgPrices(
+      Inventory inventory, Long stockLocationId, Long toStockLocationId, boolean isEnteringStock) {
+    List<Object[]> rowList =
+        JPA.em()
+            .createQuery(
+                "SELECT stockLocationLine.product.id, stockLocationLine.avgPrice "
+                    + "FROM StockLocationLine stockLocationLine "
+                    + "WHERE stockLocationLine.stockLocation.id = :toStockLocationId "
+                    + "AND stockLocationLine.product.stockManaged = true "
+                    + "AND stockLocationLine.product.id IN ("
+                    + getProductIdsWithGapQuery(isEnteringStock)
+                    + ") ORDER BY stockLocationLine.id",
+                Object[].class)
+            .setParameter("toStockLocationId", toStockLocationId)
+            .setParameter("inventoryId", inventory.getId())
+            .setParameter("stockLocationId", stockLocationId)
+            .getResultList();
+
+    Map<Long, BigDecimal> avgPriceMap = new HashMap<>();
+    for (Object[] row : rowList) {
+      avgPriceMap.putIfAbsent((Long) row[0], (BigDecimal) row[1]);
+    }
+    return avgPriceMap;
+  }
 
-      generateStockMove(inventory, inventoryLineList, isEnteringStock);
+  /**
+   * Get the (stock location id, product id) pairs having a stock location line, for the inventory
+   * lines of a stock location having a gap in the given direction.
+   */
+  protected Set<Pair<Long, Long>> getPresentProducts(
+      Inventory inventory, Long stockLocationId, boolean isEnteringStock) {
+    return JPA
+        .em()
+        .createQuery(
+            "SELECT stockLocationLine.product.id FROM StockLocationLine stockLocationLine "
+                + "WHERE stockLocationLine.stockLocation.id = :stockLocationId "
+                + "AND stockLocationLine.product.id IN ("
+                + getProductIdsWithGapQuery(isEnteringStock)
+                + ")",
+            Long.class)
+        .setParameter("inventoryId", inventory.getId())
+        .setParameter("stockLocationId", stockLocationId)
+        .getResultList()
+        .stream()
+        .map(productId -> Pair.of(stockLocationId, productId))
+        .collect(Collectors.toSet());
+  }
+
+  /**
+   * Detach the processed inventory lines and the generated stock move, once flushed. The inventory
+   * lines are kept when the inventory line list of the inventory is loaded, as they are still
+   * referenced by it.
+   */
+  protected void detach(
+      Inventory inventory, List<InventoryLine> inventoryLineList, StockMove stockMove) {
+    EntityManager em = JPA.em();
+    if (!Hibernate.isInitialized(inventory.getInventoryLineList())) {
+      inventoryLineList.forEach(em::detach);
+    }
+    if (em.contains(stockMove)) {
+      em.detach(stockMove);
     }
   }
 
@@ -680,6 +1063,39 @@ public class InventoryService {
   public StockMove generateStockMove(
       Inventory inventory, List<InventoryLine> inventoryLineList, boolean isEnteringStock)
       throws AxelorException {
+    StockLocation toStockLocation =
+        isEnteringStock
+            ? inventoryLineList.get(0).getStockLocation()
+            : stockConfigService.getInventoryVirtualStockLocation(
+                stockConfigService.getStockConfig(inventory.getCompany()));
+    return generateStockMove(
+        inventory,
+        inventoryLineList,
+        isEnteringStock,
+        getAvgPrices(toStockLocation, inventoryLineList),
+        getPresentProducts(inventoryLineList));
+  }
+
+  /**
+   * Generate a stock move from an inventory, with the average prices and the stock location
+   * presence of the products loaded beforehand.
+   *
+   * @param inventory a realized inventory.
+   * @param isEnteringStock whether we want to create incoming or upcoming stock move of this
+   *     inventory.
+   * @param avgPriceMap the average prices in the destination stock location, by product id.
+   * @param presentProductSet the (stock location id, product id) pairs having a stock location
+   *     line.
+   * @return the generated stock move.
+   * @throws AxelorException
+   */
+  protected StockMove generateStockMove(
+      Inventory inventory,
+      List<InventoryLine> inventoryLineList,
+      boolean isEnteringStock,
+      Map<Long, BigDecimal> avgPriceMap,
+      Set<Pair<Long, Long>> presentProductSet)
+      throws AxelorException {
 
     StockLocation toStockLocation;
     StockLocation fromStockLocation;
@@ -719,7 +1135,13 @@ public class InventoryService {
 
     for (InventoryLine inventoryLine : inventoryLineList) {
       generateStockMoveLines(
-          inventoryLine, stockMove, isEnteringStock, fromStockLocation, toStockLocation);
+          inventoryLine,
+          stockMove,
+          isEnteringStock,
+          fromStockLocation,
+          toStockLocation,
+          avgPriceMap,
+          presentProductSet);
     }
     if (stockMove.getStockMoveLineList() != null && !stockMove.getStockMoveLineList().isEmpty()) {
 
@@ -746,6 +1168,38 @@ public class InventoryService {
       StockLocation fromStockLocation,
       StockLocation toStockLocation)
       throws AxelorException {
+    List<InventoryLine> inventoryLineList = Collections.singletonList(inventoryLine);
+    generateStockMoveLines(
+        inventoryLine,
+        stockMove,
+        isEnteringStock,
+        fromStockLocation,
+        toStockLocation,
+        getAvgPrices(toStockLocation, inventoryLineList),
+        getPresentProducts(inventoryLineList));
+  }
+
+  /**
+   * Generate lines for the given stock move, with the average prices and the stock location
+   * presence of the products loaded beforehand.
+   *
+   * @param inventoryLine an inventory line
+   * @param stockMove a stock move being created
+   * @param isEnteringStock whether we are creating an incoming or outgoing stock move.
+   * @param avgPriceMap the average prices in the destination stock location, by product id.
+   * @param presentProductSet the (stock location id, product id) pairs having a stock location
+   *     line.
+   * @throws AxelorException
+   */
+  protected void generateStockMoveLines(
+      InventoryLine inventoryLine,
+      StockMove stockMove,
+      boolean isEnteringStock,
+      StockLocation fromStockLocation,
+      StockLocation toStockLocation,
+      Map<Long, BigDecimal> avgPriceMap,
+      Set<Pair<Long, Long>> presentProductSet)
+      throws AxelorException {
     Product product = inventoryLine.getProduct();
     TrackingNumber trackingNumber = inventoryLine.getTrackingNumber();
     BigDecimal diff = inventoryLine.getRealQty().subtract(inventoryLine.getCurrentQty());
@@ -754,10 +1208,10 @@ public class InventoryService {
     }
     if (diff.signum() > 0) {
 
-      StockLocationLine stockLocationLine =
-          stockLocationLineFetchService.getStockLocationLine(toStockLocation, product);
-      BigDecimal unitPrice = getAvgPrice(stockLocationLine);
-      if (!inventoryLineService.isPresentInStockLocation(inventoryLine)) {
+      BigDecimal unitPrice = avgPriceMap.getOrDefault(product.getId(), BigDecimal.ZERO);
+      if (inventoryLine.getStockLocation() == null
+          || !presentProductSet.contains(
+              Pair.of(inventoryLine.getStockLocation().getId(), product.getId()))) {
         unitPrice = inventoryLine.getPrice();
       }
 
@@ -790,6 +1244,40 @@ public class InventoryService {
     }
   }
 
+  /**
+   * Get the average prices of the products of the given inventory lines in the stock location.
+   *
+   * @return a map of the average prices by product id.
+   */
+  protected Map<Long, BigDecimal> getAvgPrices(
+      StockLocation stockLocation, List<InventoryLine> inventoryLineList) {
+    Set<Long> productIdSet = new HashSet<>();
+    for (InventoryLine inventoryLine : inventoryLineList) {
+      Product product = inventoryLine.getProduct();
+      if (product != null && product.getStockManaged()) {
+        productIdSet.add(product.getId());
+      }
+    }
+
+    Map<Long, BigDecimal> avgPriceMap = new HashMap<>();
+    if (stockLocation == null || productIdSet.isEmpty()) {
+      return avgPriceMap;
+    }
+
+    for (StockLocationLine stockLocationLine :
+        stockLocationLineRepository
+            .all()
+            .filter("self.stockLocation.id = :stockLocationId AND self.product.id IN (:productIds)")
+            .bind("stockLocationId", stockLocation.getId())
+            .bind("productIds", productIdSet)
+            .order("id")
+            .fetch()) {
+      avgPriceMap.putIfAbsent(
+          stockLocationLine.getProduct().getId(), getAvgPrice(stockLocationLine));
+    }
+    return avgPriceMap;
+  }
+
   protected BigDecimal getAvgPrice(StockLocationLine stockLocationLine) {
     BigDecimal avgPrice;
     if (stockLocationLine != null) {
@@ -811,39 +1299,52 @@ public class InventoryService {
     }
 
     this.initInventoryLines(inventory);
+    inventoryRepo.save(inventory);
+    JPA.flush();
 
-    List<? extends StockLocationLine> stockLocationLineList = this.getStockLocationLines(inventory);
+    Long inventoryId = inventory.getId();
+    List<Object> params = new ArrayList<>();
+    String filter = this.getStockLocationLineFilter(inventory, params);
+    Set<Long> trackedProductIdSet = this.getTrackedProductIds(inventory, filter, params);
+    Query<StockLocationLine> stockLocationLineQuery =
+        stockLocationLineRepository.all().filter(filter, params.toArray()).order("id");
 
-    if (stockLocationLineList != null) {
-      Boolean succeed = false;
+    Boolean succeed = false;
+    int offset = 0;
+    List<StockLocationLine> stockLocationLineList;
+
+    while (!(stockLocationLineList = stockLocationLineQuery.fetch(IMPORT_CHUNK_SIZE, offset))
+        .isEmpty()) {
+      inventory = inventoryRepo.find(inventoryId);
       for (StockLocationLine stockLocationLine : stockLocationLineList) {
-        if (ObjectUtils.isEmpty(stockLocationLine.getTrackingNumber())) {
-          long numberOfTrackingNumberOnAProduct =
-              stockLocationLineList.stream()
-                  .filter(
-                      sll ->
-                          stockLocationLine.getProduct() != null
-                              && stockLocationLine.getProduct().equals(sll.getProduct())
-                              && sll.getTrackingNumber() != null
-                              && inventory.getStockLocation().equals(sll.getDetailsStockLocation()))
-                  .count();
-
-          if (numberOfTrackingNumberOnAProduct != 0) {
-            continue;
-          }
+        if (ObjectUtils.isEmpty(stockLocationLine.getTrackingNumber())
+            && stockLocationLine.getProduct() != null
+            && trackedProductIdSet.contains(stockLocationLine.getProduct().getId())) {
+          continue;
         }
-        inventory.addInventoryLineListItem(this.createInventoryLine(inventory, stockLocationLine));
+        inventoryLineRepository.save(this.createInventoryLine(inventory, stockLocationLine));
         succeed = true;
       }
-      inventoryRepo.save(inventory);
-      return succeed;
+      offset += stockLocationLineList.size();
+      JPA.flush();
+      JPA.clear();
     }
-    return null;
+
+    return succeed;
   }
 
   public List<StockLocationLine> getStockLocationLines(Inventory inventory) {
-    String query = "";
     List<Object> params = new ArrayList<>();
+    String filter = this.getStockLocationLineFilter(inventory, params);
+    return stockLocationLineRepository.all().filter(filter, params.toArray()).fetch();
+  }
+
+  /**
+   * Build the filter of the stock location lines to take into account in the inventory, the
+   * positional parameters of the filter are added to the given list.
+   */
+  protected String getStockLocationLineFilter(Inventory inventory, List<Object> params) {
+    String query = "";
     Set<StockLocation> stockLocations = new HashSet<>();
 
     if (inventory.getIncludeSubStockLocation()) {
@@ -894,7 +1395,31 @@ public class InventoryService {
       params.add(inventory.getToRack());
     }
 
-    return stockLocationLineRepository.all().filter(query, params.toArray()).fetch();
+    return query;
+  }
+
+  /**
+   * Get the ids of the products having tracked stock location lines in the stock location of the
+   * inventory, their untracked lines are not added to the inventory.
+   */
+  protected Set<Long> getTrackedProductIds(
+      Inventory inventory, String filter, List<Object> params) {
+    List<Object> trackedParams = new ArrayList<>(params);
+    trackedParams.add(inventory.getStockLocation());
+
+    return stockLocationLineRepository
+        .all()
+        .filter(
+            "("
+                + filter
+                + ") AND self.trackingNumber IS NOT NULL AND self.detailsStockLocation = ?",
+            trackedParams.toArray())
+        .select("product.id")
+        .fetch(0, 0)
+        .stream()
+        .map(row -> (Long) row.get("product.id"))
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet());
   }
 
   public Set<StockLocation> getStockLocations(Set<StockLocation> stockLocationSet) {
@@ -1076,14 +1601,14 @@ public class InventoryService {
     }
   }
 
-  protected void checkMissingStockLocation(List<InventoryLine> inventoryLineList)
-      throws AxelorException {
-    List<InventoryLine> inventoryLinesWithMissingStockLocation = new ArrayList<>();
-    for (InventoryLine inventoryLine : inventoryLineList) {
-      if (inventoryLine.getStockLocation() == null) {
-        inventoryLinesWithMissingStockLocation.add(inventoryLine);
-      }
-    }
+  protected void checkMissingStockLocation(Inventory inventory) throws AxelorException {
+    List<InventoryLine> inventoryLinesWithMissingStockLocation =
+        inventoryLineRepository
+            .all()
+            .filter("self.inventory.id = :inventoryId AND self.stockLocation IS NULL")
+            .bind("inventoryId", inventory.getId())
+            .order("id")
+            .fetch(INVENTORY_LINE_WITHOUT_STOCK_LOCATION_DISPLAY_LIMIT + 1);
 
     StringHtmlListBuilder stringHTMLListInventoryLine = new StringHtmlListBuilder();
     inventoryLinesWithMissingStockLocation.stream()
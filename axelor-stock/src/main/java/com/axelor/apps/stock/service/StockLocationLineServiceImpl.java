@@ -40,6 +40,7 @@ import com.axelor.apps.stock.db.repo.StockRulesRepository;
 import com.axelor.apps.stock.exception.StockExceptionMessage;
 import com.axelor.auth.AuthUtils;
 import com.axelor.auth.db.User;
+import com.axelor.db.JPA;
 import com.axelor.db.Query;
 import com.axelor.i18n.I18n;
 import com.google.inject.Inject;
@@ -52,6 +53,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import javax.persistence.LockModeType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -177,6 +179,7 @@ public class StockLocationLineServiceImpl implements StockLocationLineService {
         lastFutureStockMoveDate);
 
     if (generateOrder && isIncrement) {
+      lockStockLocationLine(stockLocationLine);
       maxStockRules(product, qty, stockLocationLine, current, future);
     }
 
@@ -436,10 +439,11 @@ public class StockLocationLineServiceImpl implements StockLocationLineService {
       throws AxelorException {
 
     if (current) {
-      if (isIncrement) {
-        stockLocationLine.setCurrentQty(stockLocationLine.getCurrentQty().add(qty));
+      BigDecimal delta = isIncrement ? qty : qty.negate();
+      if (stockLocationLine.getId() == null) {
+        stockLocationLine.setCurrentQty(stockLocationLine.getCurrentQty().add(delta));
       } else {
-        stockLocationLine.setCurrentQty(stockLocationLine.getCurrentQty().subtract(qty));
+        incrementCurrentQty(stockLocationLine, delta);
       }
     }
     if (future) {
@@ -450,6 +454,36 @@ public class StockLocationLineServiceImpl implements StockLocationLineService {
     return stockLocationLine;
   }
 
+  /**
+   * Applies the delta with a single update statement, so that concurrent realizations on the same
+   * product and stock location cannot overwrite each other. The row stays locked until the end of
+   * the transaction and the line is refreshed to get the resulting quantity.
+   */
+  protected void incrementCurrentQty(StockLocationLine stockLocationLine, BigDecimal delta) {
+    JPA.flush();
+    JPA.em()
+        .createQuery(
+            "UPDATE StockLocationLine self "
+                + "SET self.currentQty = self.currentQty + :delta, self.version = self.version + 1 "
+                + "WHERE self.id = :id")
+        .setParameter("delta", delta)
+        .setParameter("id", stockLocationLine.getId())
+        .executeUpdate();
+    JPA.em().refresh(stockLocationLine);
+  }
+
+  /**
+   * Locks the stock location line row until the end of the transaction and reloads its quantities,
+   * so checks made on them in java are not done on stale values.
+   */
+  protected void lockStockLocationLine(StockLocationLine stockLocationLine) {
+    if (stockLocationLine.getId() == null) {
+      return;
+    }
+    JPA.flush();
+    JPA.em().refresh(stockLocationLine, LockModeType.PESSIMISTIC_WRITE);
+  }
+
   @Override
   public StockLocationLine getOrCreateStockLocationLine(
       StockLocation stockLocation, Product product) {
@@ -51,6 +51,7 @@ import com.axelor.apps.stock.db.repo.StockMoveRepository;
 import com.axelor.apps.stock.db.repo.TrackingNumberRepository;
 import com.axelor.apps.stock.exception.StockExceptionMessage;
 import com.axelor.apps.stock.service.app.AppStockService;
+import com.axelor.db.JPA;
 import com.axelor.i18n.I18n;
 import com.axelor.inject.Beans;
 import com.axelor.studio.db.AppStock;
@@ -64,15 +65,25 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
+import javax.persistence.LockModeType;
+import javax.persistence.TypedQuery;
 import org.apache.commons.collections.CollectionUtils;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -614,6 +625,8 @@ public class StockMoveLineServiceImpl implements StockMoveLineService {
 
     stockMoveLineList = MoreObjects.firstNonNull(stockMoveLineList, Collections.emptyList());
 
+    lockStockLocationLines(stockMoveLineList);
+
     for (StockMoveLine stockMoveLine : stockMoveLineList) {
       StockLocation fromStockLocation = stockMoveLine.getFromStockLocation();
       StockLocation toStockLocation = stockMoveLine.getToStockLocation();
@@ -668,6 +681,87 @@ public class StockMoveLineServiceImpl implements StockMoveLineService {
     }
   }
 
+  /**
+   * Stock location lines are row locked while their quantities are updated. The lines of every
+   * stock location and product updated by the moves, and the tracking number detail lines, are
+   * locked beforehand, ordered by stock location then line: two moves realized concurrently take
+   * their locks in the same global order and wait on each other instead of deadlocking.
+   */
+  protected void lockStockLocationLines(List<StockMoveLine> stockMoveLineList) {
+    Map<Long, SortedSet<Long>> productIdsByStockLocationId = new TreeMap<>();
+    Map<Long, SortedSet<Long>> trackingNumberIdsByStockLocationId = new HashMap<>();
+    for (StockMoveLine stockMoveLine : stockMoveLineList) {
+      Product product = stockMoveLine.getProduct();
+      if (product == null
+          || !product.getProductTypeSelect().equals(ProductRepository.PRODUCT_TYPE_STORABLE)
+          || !product.getStockManaged()) {
+        continue;
+      }
+      TrackingNumber trackingNumber = stockMoveLine.getTrackingNumber();
+      for (StockLocation stockLocation :
+          Arrays.asList(stockMoveLine.getFromStockLocation(), stockMoveLine.getToStockLocation())) {
+        if (stockLocation == null || stockLocation.getId() == null) {
+          continue;
+        }
+        productIdsByStockLocationId
+            .computeIfAbsent(stockLocation.getId(), key -> new TreeSet<>())
+            .add(product.getId());
+        if (trackingNumber != null && trackingNumber.getId() != null) {
+          trackingNumberIdsByStockLocationId
+              .computeIfAbsent(stockLocation.getId(), key -> new TreeSet<>())
+              .add(trackingNumber.getId());
+        }
+      }
+    }
+    if (productIdsByStockLocationId.isEmpty()) {
+      return;
+    }
+
+    JPA.flush();
+    // a locking select does not reload the lines already in the session
+    Set<Object> managedStockLocationLines = getManagedStockLocationLines();
+    for (Map.Entry<Long, SortedSet<Long>> entry : productIdsByStockLocationId.entrySet()) {
+      SortedSet<Long> trackingNumberIds = trackingNumberIdsByStockLocationId.get(entry.getKey());
+      String filter =
+          "(self.stockLocation.id = :stockLocationId AND self.product.id IN (:productIds))";
+      if (trackingNumberIds != null) {
+        filter +=
+            " OR (self.detailsStockLocation.id = :stockLocationId "
+                + "AND self.product.id IN (:productIds) "
+                + "AND self.trackingNumber.id IN (:trackingNumberIds))";
+      }
+      // rows are locked in the order of the query
+      TypedQuery<StockLocationLine> query =
+          JPA.em()
+              .createQuery(
+                  "SELECT self FROM StockLocationLine self WHERE " + filter + " ORDER BY self.id",
+                  StockLocationLine.class)
+              .setParameter("stockLocationId", entry.getKey())
+              .setParameter("productIds", entry.getValue())
+              .setLockMode(LockModeType.PESSIMISTIC_WRITE);
+      if (trackingNumberIds != null) {
+        query.setParameter("trackingNumberIds", trackingNumberIds);
+      }
+      for (StockLocationLine stockLocationLine : query.getResultList()) {
+        if (managedStockLocationLines.contains(stockLocationLine)) {
+          JPA.em().refresh(stockLocationLine);
+        }
+      }
+    }
+  }
+
+  protected Set<Object> getManagedStockLocationLines() {
+    Set<Object> managedStockLocationLines = Collections.newSetFromMap(new IdentityHashMap<>());
+    SessionImplementor session = JPA.em().unwrap(SessionImplementor.class);
+    for (Map.Entry<Object, EntityEntry> mapEntry :
+        session.getPersistenceContext().reentrantSafeEntityEntries()) {
+      if (mapEntry.getKey() instanceof StockLocationLine) {
+        managedStockLocationLines.add(mapEntry.getKey());
+      }
+    }
+    return managedStockLocationLines;
+  }
+
   @Override
   public void updateAveragePriceAndLocationLineHistory(
       StockLocation stockLocation,
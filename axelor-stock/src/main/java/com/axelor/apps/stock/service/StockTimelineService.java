@@ -0,0 +1,56 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.stock.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.SortedMap;
+
+public interface StockTimelineService {
+
+  /**
+   * Compute the stock of the given products in the given stock locations for each day of the
+   * period, from the stock moves that are not canceled and whose estimated or real date is reached.
+   *
+   * @param productIds the products
+   * @param stockLocationIds the stock locations
+   * @param fromDate the first day of the period
+   * @param toDate the last day of the period
+   * @return the quantity of each day, by product id then by stock location id
+   */
+  Map<Long, Map<Long, SortedMap<LocalDate, BigDecimal>>> getStockPerDate(
+      Collection<Long> productIds,
+      Collection<Long> stockLocationIds,
+      LocalDate fromDate,
+      LocalDate toDate);
+
+  /**
+   * Compute the stock of a product in a stock location for each day of the period.
+   *
+   * @param productId the product
+   * @param stockLocationId the stock location
+   * @param fromDate the first day of the period
+   * @param toDate the last day of the period
+   * @return the quantity of each day
+   */
+  SortedMap<LocalDate, BigDecimal> getStockPerDate(
+      Long productId, Long stockLocationId, LocalDate fromDate, LocalDate toDate);
+}
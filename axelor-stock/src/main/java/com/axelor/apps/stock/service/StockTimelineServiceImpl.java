@@ -0,0 +1,161 @@
+/*
+ * Axelor Business Solutions
+ *
+ * Copyright (C) 2005-2025 Axelor (<http://axelor.com>).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.axelor.apps.stock.service;
+
+import com.axelor.apps.stock.db.repo.StockMoveRepository;
+import com.axelor.db.JPA;
+import com.google.common.collect.Lists;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+public class StockTimelineServiceImpl implements StockTimelineService {
+
+  protected static final int ID_CHUNK_SIZE = 500;
+
+  @Override
+  public Map<Long, Map<Long, SortedMap<LocalDate, BigDecimal>>> getStockPerDate(
+      Collection<Long> productIds,
+      Collection<Long> stockLocationIds,
+      LocalDate fromDate,
+      LocalDate toDate) {
+
+    Map<Long, Map<Long, TreeMap<LocalDate, BigDecimal>>> movementMap = new HashMap<>();
+    for (Long productId : productIds) {
+      Map<Long, TreeMap<LocalDate, BigDecimal>> productMovementMap = new HashMap<>();
+      for (Long stockLocationId : stockLocationIds) {
+        productMovementMap.put(stockLocationId, new TreeMap<>());
+      }
+      movementMap.put(productId, productMovementMap);
+    }
+
+    if (!productIds.isEmpty() && !stockLocationIds.isEmpty() && !fromDate.isAfter(toDate)) {
+      List<Long> stockLocationIdList = new ArrayList<>(stockLocationIds);
+      for (List<Long> productIdList : Lists.partition(new ArrayList<>(productIds), ID_CHUNK_SIZE)) {
+        addMovements(movementMap, productIdList, stockLocationIdList, toDate);
+      }
+    }
+
+    Map<Long, Map<Long, SortedMap<LocalDate, BigDecimal>>> stockMap = new HashMap<>();
+    for (Map.Entry<Long, Map<Long, TreeMap<LocalDate, BigDecimal>>> productEntry :
+        movementMap.entrySet()) {
+      Map<Long, SortedMap<LocalDate, BigDecimal>> productStockMap = new HashMap<>();
+      for (Map.Entry<Long, TreeMap<LocalDate, BigDecimal>> locationEntry :
+          productEntry.getValue().entrySet()) {
+        productStockMap.put(
+            locationEntry.getKey(),
+            computeRunningStock(locationEntry.getValue(), fromDate, toDate));
+      }
+      stockMap.put(productEntry.getKey(), productStockMap);
+    }
+
+    return stockMap;
+  }
+
+  @Override
+  public SortedMap<LocalDate, BigDecimal> getStockPerDate(
+      Long productId, Long stockLocationId, LocalDate fromDate, LocalDate toDate) {
+    return getStockPerDate(
+            Collections.singletonList(productId),
+            Collections.singletonList(stockLocationId),
+            fromDate,
+            toDate)
+        .get(productId)
+        .get(stockLocationId);
+  }
+
+  /**
+   * Add the net quantity moved in or out of the stock locations, grouped by day. A line counts from
+   * the earliest of the estimated and real dates of its stock move.
+   */
+  protected void addMovements(
+      Map<Long, Map<Long, TreeMap<LocalDate, BigDecimal>>> movementMap,
+      List<Long> productIdList,
+      List<Long> stockLocationIdList,
+      LocalDate toDate) {
+
+    List<Object[]> rows =
+        JPA.em()
+            .createQuery(
+                "SELECT self.product.id, self.fromStockLocation.id, self.toStockLocation.id,"
+                    + " stockMove.estimatedDate, stockMove.realDate, SUM(self.qty)"
+                    + " FROM StockMoveLine self JOIN self.stockMove stockMove"
+                    + " WHERE self.product.id IN (:productIds)"
+                    + " AND (self.fromStockLocation.id IN (:stockLocationIds)"
+                    + " OR self.toStockLocation.id IN (:stockLocationIds))"
+                    + " AND stockMove.statusSelect != :canceledStatus"
+                    + " AND (stockMove.estimatedDate <= :toDate OR stockMove.realDate <= :toDate)"
+                    + " GROUP BY self.product.id, self.fromStockLocation.id,"
+                    + " self.toStockLocation.id, stockMove.estimatedDate, stockMove.realDate",
+                Object[].class)
+            .setParameter("productIds", productIdList)
+            .setParameter("stockLocationIds", stockLocationIdList)
+            .setParameter("canceledStatus", StockMoveRepository.STATUS_CANCELED)
+            .setParameter("toDate", toDate)
+            .getResultList();
+
+    for (Object[] row : rows) {
+      Map<Long, TreeMap<LocalDate, BigDecimal>> productMovementMap = movementMap.get(row[0]);
+      LocalDate date = getMovementDate((LocalDate) row[3], (LocalDate) row[4]);
+      BigDecimal qty = (BigDecimal) row[5];
+      if (productMovementMap == null || date == null || qty == null) {
+        continue;
+      }
+
+      TreeMap<LocalDate, BigDecimal> fromMovements = productMovementMap.get(row[1]);
+      if (fromMovements != null) {
+        fromMovements.merge(date, qty.negate(), BigDecimal::add);
+      }
+      TreeMap<LocalDate, BigDecimal> toMovements = productMovementMap.get(row[2]);
+      if (toMovements != null) {
+        toMovements.merge(date, qty, BigDecimal::add);
+      }
+    }
+  }
+
+  protected LocalDate getMovementDate(LocalDate estimatedDate, LocalDate realDate) {
+    if (estimatedDate == null || (realDate != null && realDate.isBefore(estimatedDate))) {
+      return realDate;
+    }
+    return estimatedDate;
+  }
+
+  protected SortedMap<LocalDate, BigDecimal> computeRunningStock(
+      TreeMap<LocalDate, BigDecimal> movements, LocalDate fromDate, LocalDate toDate) {
+
+    SortedMap<LocalDate, BigDecimal> stock = new TreeMap<>();
+    BigDecimal qty =
+        movements.headMap(fromDate, false).values().stream()
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+    for (LocalDate date = fromDate; !date.isAfter(toDate); date = date.plusDays(1)) {
+      qty = qty.add(movements.getOrDefault(date, BigDecimal.ZERO));
+      stock.put(date, qty);
+    }
+
+    return stock;
+  }
+}
@@ -20,10 +20,10 @@ package com.axelor.apps.stock.service.app;
 
 import com.axelor.apps.base.db.Company;
 import com.axelor.apps.base.db.repo.CompanyRepository;
+import com.axelor.apps.base.service.app.AppConfigSnapshotService;
 import com.axelor.apps.stock.db.StockConfig;
 import com.axelor.apps.stock.db.repo.StockConfigRepository;
 import com.axelor.studio.db.AppStock;
-import com.axelor.studio.db.repo.AppStockRepository;
 import com.google.inject.Inject;
 import com.google.inject.persist.Transactional;
 import java.util.List;
@@ -34,7 +34,7 @@ public class AppStockServiceImpl implements AppStockService {
 
   @Inject private StockConfigRepository stockConfigRepo;
 
-  @Inject private AppStockRepository appStockRepository;
+  @Inject private AppConfigSnapshotService appConfigSnapshotService;
 
   @Override
   @Transactional
@@ -51,6 +51,6 @@ public class AppStockServiceImpl implements AppStockService {
 
   @Override
   public AppStock getAppStock() {
-    return appStockRepository.all().fetchOne();
+    return appConfigSnapshotService.getApp(AppStock.class);
   }
 }
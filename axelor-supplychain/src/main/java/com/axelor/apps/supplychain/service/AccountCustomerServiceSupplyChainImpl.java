@@ -27,6 +27,7 @@ import com.axelor.apps.base.AxelorException;
 import com.axelor.apps.base.service.app.AppBaseService;
 import com.google.inject.Inject;
 import com.google.inject.persist.Transactional;
+import java.math.BigDecimal;
 
 public class AccountCustomerServiceSupplyChainImpl extends AccountCustomerServiceImpl {
 
@@ -65,4 +66,14 @@ public class AccountCustomerServiceSupplyChainImpl extends AccountCustomerServic
 
     return accountingSituation;
   }
+
+  @Override
+  protected void updateAccountingSituationBalances(
+      AccountingSituation accountingSituation, BigDecimal balanceDelta) throws AxelorException {
+    super.updateAccountingSituationBalances(accountingSituation, balanceDelta);
+
+    if (balanceDelta.signum() != 0 && appBaseService.isApp("supplychain")) {
+      accountingSituationService.updateCustomerCredit(accountingSituation.getPartner());
+    }
+  }
 }
@@ -30,7 +30,6 @@ import com.axelor.meta.db.repo.MetaModuleRepository;
 import com.axelor.studio.app.service.AppVersionService;
 import com.axelor.studio.db.AppSupplychain;
 import com.axelor.studio.db.repo.AppRepository;
-import com.axelor.studio.db.repo.AppSupplychainRepository;
 import com.axelor.studio.service.AppSettingsStudioService;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
@@ -40,8 +39,6 @@ import java.util.List;
 @Singleton
 public class AppSupplychainServiceImpl extends AppBaseServiceImpl implements AppSupplychainService {
 
-  protected AppSupplychainRepository appSupplychainRepo;
-
   protected CompanyRepository companyRepo;
 
   protected SupplyChainConfigRepository supplyChainConfigRepo;
@@ -55,7 +52,6 @@ public class AppSupplychainServiceImpl extends AppBaseServiceImpl implements App
       AppSettingsStudioService appSettingsService,
       MetaModuleRepository metaModuleRepo,
       MetaFileRepository metaFileRepo,
-      AppSupplychainRepository appSupplychainRepo,
       CompanyRepository companyRepo,
       SupplyChainConfigRepository supplyChainConfigRepo) {
     super(
@@ -66,14 +62,13 @@ public class AppSupplychainServiceImpl extends AppBaseServiceImpl implements App
         appSettingsService,
         metaModuleRepo,
         metaFileRepo);
-    this.appSupplychainRepo = appSupplychainRepo;
     this.companyRepo = companyRepo;
     this.supplyChainConfigRepo = supplyChainConfigRepo;
   }
 
   @Override
   public AppSupplychain getAppSupplychain() {
-    return appSupplychainRepo.all().fetchOne();
+    return getAppConfigSnapshotService().getApp(AppSupplychain.class);
   }
 
   @Override